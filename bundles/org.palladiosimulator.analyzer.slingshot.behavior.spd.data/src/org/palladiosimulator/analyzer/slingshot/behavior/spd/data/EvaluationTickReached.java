@@ -0,0 +1,43 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.data;
+
+import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
+
+/**
+ * An event that is scheduled periodically for each target group, at which the trigger checkers of
+ * that target group evaluate their aggregated values. The measurements in between are only
+ * aggregated, so that the number of trigger evaluations depends on the period instead of on how
+ * often the monitors measure.
+ * 
+ * This event also carries a necessary target group (identifier) in order to correctly identify
+ * whether this event belongs to the right scaling policy.
+ * 
+ * @author agent
+ */
+public class EvaluationTickReached extends AbstractSimulationEvent implements SpdBasedEvent {
+
+    private final String targetGroupId;
+    private final double period;
+
+    /**
+     * @param targetGroupId
+     *            The target group identifier this event belongs to.
+     * @param simulationTime
+     *            The simulation time of the tick.
+     * @param period
+     *            The positive time until the next tick.
+     */
+    public EvaluationTickReached(final String targetGroupId, final double simulationTime, final double period) {
+        super(0);
+        this.targetGroupId = targetGroupId;
+        this.setTime(simulationTime);
+        this.period = period;
+    }
+
+    public double getPeriod() {
+        return period;
+    }
+
+    public String getTargetGroupId() {
+        return targetGroupId;
+    }
+}
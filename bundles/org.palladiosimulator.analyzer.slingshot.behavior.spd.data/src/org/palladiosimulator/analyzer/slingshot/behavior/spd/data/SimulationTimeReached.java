@@ -2,16 +2,14 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.data;
 
 import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
 
-/* 
- * TODO: Currently, it could happen that multiple events are spawned at the same
- * 		 simulation time, which will affect performance. Look at how only one event
- * 		 for a certain simulation time is spawned at the same time ==> Then, no target
- * 		 group checking is needed in this case.
- */
 /**
  * An event that is scheduled at an exact simulation time. In context of SPD,
  * this is needed especially for triggers with simulation time stimulus.
  * 
+ * If the timers are coalesced, the events are not scheduled on their own, but
+ * handed to the scaling policies of their target group when the
+ * {@link SpdTimerReached} of their simulation time is reached.
+ * 
  * This event also carries a necessary target group (identifier) in order to
  * correctly identify whether this event belongs to the right scaling policy.
  * 
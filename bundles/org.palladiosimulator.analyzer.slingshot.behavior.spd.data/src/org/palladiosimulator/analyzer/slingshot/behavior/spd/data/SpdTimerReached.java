@@ -0,0 +1,24 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.data;
+
+import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
+
+/**
+ * An event that is scheduled once for each distinct simulation time at which
+ * {@link SimulationTimeReached}, {@link RepeatedSimulationTimeReached} or
+ * {@link EvaluationTickReached} events of any target group are due. The events
+ * themselves are kept by the SPD interpreter and handed to the scaling policies
+ * of their target group when this event is reached, instead of being scheduled
+ * each on their own.
+ * 
+ * @author agent
+ */
+public class SpdTimerReached extends AbstractSimulationEvent implements SpdBasedEvent {
+
+	/**
+	 * @param simulationTime The simulation time at which the timers are due.
+	 */
+	public SpdTimerReached(final double simulationTime) {
+		super(0);
+		this.setTime(simulationTime);
+	}
+}
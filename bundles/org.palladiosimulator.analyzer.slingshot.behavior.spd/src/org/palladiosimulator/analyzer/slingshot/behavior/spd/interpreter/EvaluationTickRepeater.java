@@ -0,0 +1,34 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import static org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality.SINGLE;
+
+import javax.inject.Inject;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
+import org.palladiosimulator.analyzer.slingshot.common.annotations.Nullable;
+import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
+import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
+import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.OnEvent;
+import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
+import org.palladiosimulator.spd.SPD;
+
+/**
+ * Schedules the next {@link EvaluationTickReached} of a target group one period after the current
+ * one.
+ *
+ * @author agent
+ */
+@OnEvent(when = EvaluationTickReached.class, then = EvaluationTickReached.class, cardinality = SINGLE)
+public class EvaluationTickRepeater implements SimulationBehaviorExtension {
+
+    @Inject
+    public EvaluationTickRepeater(@Nullable final SPD spdModel) {
+    }
+
+    @Subscribe
+    public Result<SpdBasedEvent> onEvaluationTickReached(final EvaluationTickReached evaluationTickReached) {
+        return Result.of(new EvaluationTickReached(evaluationTickReached.getTargetGroupId(),
+                evaluationTickReached.time() + evaluationTickReached.getPeriod(), evaluationTickReached.getPeriod()));
+    }
+}
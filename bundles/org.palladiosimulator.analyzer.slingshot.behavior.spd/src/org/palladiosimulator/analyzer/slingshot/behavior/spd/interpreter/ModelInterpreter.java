@@ -3,6 +3,8 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AnyStimulusAggregator;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.ManagedElementAggregator;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.ModelAggregatorWrapper;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.RollupStoreRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowFactory;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.model.FuzzyQLearningModelEvaluator;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.model.FuzzySARSAModelEvaluator;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.model.ModelEvaluator;
@@ -18,10 +20,36 @@ import org.palladiosimulator.spd.triggers.stimuli.Stimulus;
 
 public class ModelInterpreter extends ModelsSwitch<ModelEvaluator> {
 
+    private final RollupStoreRegistry rollups;
+    private final WindowFactory windows;
+    private final String targetGroupId;
+
+    public ModelInterpreter() {
+        this(null, new WindowFactory(), null);
+    }
+
+    /**
+     * @param rollups
+     *            the registry to answer the aggregators from, or {@code null} if every aggregator
+     *            keeps its own window.
+     * @param windows
+     *            the factory of the windows of the aggregators, which may share them with other
+     *            consumers.
+     * @param targetGroupId
+     *            the id of the target group of the model's policy.
+     */
+    public ModelInterpreter(final RollupStoreRegistry rollups, final WindowFactory windows,
+            final String targetGroupId) {
+        this.rollups = rollups;
+        this.windows = windows;
+        this.targetGroupId = targetGroupId;
+    }
+
     @SuppressWarnings("rawtypes")
     public ModelAggregatorWrapper getAggregatorForStimulus(final Stimulus stimulus, final LearningBasedModel model) {
         if (stimulus instanceof final ManagedElementsStateStimulus managedElementsStateStimulus) {
-            return new ManagedElementAggregator<>(managedElementsStateStimulus, model.getInterval());
+            return new ManagedElementAggregator<>(managedElementsStateStimulus, model.getInterval(), this.rollups,
+                    this.windows, this.targetGroupId);
         } else {
             // TODO currently using average aggregation by default for non-aggregated
             // stimuli, this might need to be changed
@@ -31,7 +59,8 @@ public class ModelInterpreter extends ModelsSwitch<ModelEvaluator> {
 
     public <T extends Stimulus> ModelAggregatorWrapper<T> getAggregatorForStimulus(final T stimulus,
             final LearningBasedModel model, final AGGREGATIONMETHOD aggregationMethod) {
-        return new AnyStimulusAggregator<>(stimulus, model.getInterval(), aggregationMethod);
+        return new AnyStimulusAggregator<>(stimulus, model.getInterval(), aggregationMethod, this.rollups,
+                this.windows, this.targetGroupId);
     }
 
     @Override
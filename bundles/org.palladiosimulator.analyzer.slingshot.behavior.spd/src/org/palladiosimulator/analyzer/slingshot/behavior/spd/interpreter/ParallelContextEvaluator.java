@@ -0,0 +1,137 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementBatch;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.SPDAdjustorContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.TargetGroupUtils;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+
+/**
+ * Evaluates the adjustor contexts interested in an event in parallel, one task per target group.
+ *
+ * Contexts of the same target group share their {@code TargetGroupState}, so they are evaluated
+ * sequentially within one task, in order of interpretation. Contexts that are not
+ * {@link SPDAdjustorContext#isParallelizable() parallelizable}, e.g. because they draw from a
+ * shared random number generator, are evaluated on the calling thread, also in order of
+ * interpretation, together with the other contexts of their target group.
+ *
+ * The resulting events are merged in the order of the given contexts, so the result is the same
+ * as if all contexts were evaluated sequentially.
+ *
+ * The shared structures the contexts would otherwise fill on first use are filled before the
+ * evaluation is forked: the measurements are decoded and the topology index is built. The
+ * {@link MeasurementDecoder} is read-only while the tasks run, so that a missed write fails the
+ * evaluation.
+ *
+ * @author agent
+ */
+final class ParallelContextEvaluator {
+
+    private final ForkJoinPool pool;
+
+    private final MeasurementDecoder decoder;
+
+    ParallelContextEvaluator(final int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.decoder = MeasurementDecoder.getInstance();
+    }
+
+    /**
+     * Passes the event to each context and returns the resulting events in order of the contexts.
+     */
+    List<DESEvent> evaluate(final List<SPDAdjustorContext> contexts, final DESEvent event) {
+        final Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        final List<String> localGroups = new ArrayList<>(1);
+        for (int i = 0; i < contexts.size(); i++) {
+            final SPDAdjustorContext context = contexts.get(i);
+            final String targetGroupId = context.getScalingPolicy()
+                .getTargetGroup()
+                .getId();
+            groups.computeIfAbsent(targetGroupId, id -> new ArrayList<>())
+                .add(i);
+            if (!context.isParallelizable() && !localGroups.contains(targetGroupId)) {
+                localGroups.add(targetGroupId);
+            }
+        }
+
+        final DESEvent[] results = new DESEvent[contexts.size()];
+        if (groups.size() - localGroups.size() < 2) {
+            for (int i = 0; i < contexts.size(); i++) {
+                results[i] = contexts.get(i)
+                    .process(event)
+                    .orElse(null);
+            }
+            return collect(results);
+        }
+
+        this.prepare(event);
+        this.decoder.beginParallelEvaluation();
+        try {
+            final List<ForkJoinTask<?>> tasks = new ArrayList<>(groups.size());
+            for (final Map.Entry<String, List<Integer>> group : groups.entrySet()) {
+                if (!localGroups.contains(group.getKey())) {
+                    tasks.add(this.pool.submit(() -> evaluateGroup(contexts, group.getValue(), event, results)));
+                }
+            }
+            for (final String local : localGroups) {
+                evaluateGroup(contexts, groups.get(local), event, results);
+            }
+            for (final ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        } finally {
+            this.decoder.endParallelEvaluation();
+        }
+        return collect(results);
+    }
+
+    void shutdown() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Decodes the measurements of the event and, for a single measurement whose measuring point
+     * is checked against the target groups, builds the topology index.
+     */
+    private void prepare(final DESEvent event) {
+        if (event instanceof final MeasurementMade measurementMade) {
+            this.decoder.decode(measurementMade);
+            TargetGroupUtils.getTopologyIndex();
+        } else if (event instanceof final MeasurementBatch batch) {
+            for (final MeasurementMade measurementMade : batch.getMeasurements()) {
+                this.decoder.decode(measurementMade);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the contexts of one target group. Every task writes to distinct indices of
+     * {@code results}, and {@link ForkJoinTask#join()} makes the writes visible to the caller.
+     */
+    private static void evaluateGroup(final List<SPDAdjustorContext> contexts, final List<Integer> indices,
+            final DESEvent event, final DESEvent[] results) {
+        for (final int index : indices) {
+            results[index] = contexts.get(index)
+                .process(event)
+                .orElse(null);
+        }
+    }
+
+    private static List<DESEvent> collect(final DESEvent[] results) {
+        final List<DESEvent> collected = new ArrayList<>(1);
+        for (final DESEvent result : results) {
+            if (result != null) {
+                collected.add(result);
+            }
+        }
+        return collected;
+    }
+}
@@ -12,6 +12,7 @@ public class SPDInterpreterModule extends AbstractSlingshotExtension {
 		install(SPDModelConfiguration.class);
 		install(SpdBehavior.class);
 		install(RepeatedSimulationTimeReachedRepeater.class);
+		install(EvaluationTickRepeater.class);
 		provideModel(SPD.class, SPDModelProvider.class);
 	}
 
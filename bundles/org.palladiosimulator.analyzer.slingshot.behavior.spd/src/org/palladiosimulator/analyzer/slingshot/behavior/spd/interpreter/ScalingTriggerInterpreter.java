@@ -1,15 +1,21 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.LogicalANDComboundFilter;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.LogicalORCompoundFilter;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.LogicalXORCompoundFilter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowFactory;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.Subscriber;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.metricspec.MetricSetDescription;
 import org.palladiosimulator.spd.ScalingPolicy;
 import org.palladiosimulator.spd.triggers.ComposedTrigger;
 import org.palladiosimulator.spd.triggers.LogicalOperator;
@@ -21,9 +27,17 @@ public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInte
 
     final ScalingPolicy policy;
 
+    /** The factory of the windows of the trigger checkers, which may share them. */
+    final WindowFactory windows;
+
     public ScalingTriggerInterpreter(final ScalingPolicy policy) {
+        this(policy, new WindowFactory());
+    }
+
+    public ScalingTriggerInterpreter(final ScalingPolicy policy, final WindowFactory windows) {
         super();
         this.policy = policy;
+        this.windows = windows;
     }
 
     @Override
@@ -32,7 +46,7 @@ public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInte
             .stream()
             .map(this::doSwitch)
             .reduce((res1, res2) -> res1.addFrom(res2, object.getLogicalOperator()))
-            .orElseGet(InterpretationResult::new);
+            .orElseGet(() -> new InterpretationResult(this.windows.getSettings()));
     }
 
     @Override
@@ -43,15 +57,27 @@ public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInte
 
     @Override
     public InterpretationResult caseSimpleFireOnTrend(final SimpleFireOnTrend object) {
-        // TODO Auto-generated method stub
-        return super.caseSimpleFireOnTrend(object);
+        final StimuliInterpreter stimuliInterpreter = new StimuliInterpreter(this, object);
+        return stimuliInterpreter.doSwitch(object.getStimulus());
     }
 
     static final class InterpretationResult {
 
+        /** Whether the {@link SpdEventDispatcher} routes the events instead of subscribers. */
+        private final boolean dispatched;
+        /** Whether the compound filters reorder their side-effect-free filters. */
+        private final boolean planned;
+
         private Filter triggerChecker;
         private final List<SpdBasedEvent> eventsToSchedule = new ArrayList<>();
         private final List<Subscriber.Builder<? extends DESEvent>> eventsToListen = new ArrayList<>();
+        private final Set<String> measuredMetrics = new LinkedHashSet<>();
+        private final Set<Class<? extends DESEvent>> eventTypes = new LinkedHashSet<>();
+
+        InterpretationResult(final SpdInterpreterSettings settings) {
+            this.dispatched = settings.isMeasurementDispatcherEnabled();
+            this.planned = settings.isFilterPlannerEnabled();
+        }
 
         public InterpretationResult triggerChecker(final Filter triggerChecker) {
             this.triggerChecker = triggerChecker;
@@ -68,6 +94,54 @@ public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInte
             return this;
         }
 
+        /**
+         * Declares that the trigger checker needs events of the given type. If the
+         * {@link SpdEventDispatcher} is disabled, a subscriber with the given name is listened to
+         * instead.
+         *
+         * @param name
+         *            the name of the subscriber, or {@code null} for an unnamed subscriber.
+         */
+        public InterpretationResult listenEvent(final Class<? extends DESEvent> eventType, final String name) {
+            this.eventTypes.add(eventType);
+            if (!this.dispatched) {
+                this.listenEvent(name == null ? Subscriber.builder(eventType)
+                        : Subscriber.builder(eventType)
+                            .name(name));
+            }
+            return this;
+        }
+
+        public InterpretationResult listenEvent(final Class<? extends DESEvent> eventType) {
+            return this.listenEvent(eventType, null);
+        }
+
+        /**
+         * Declares that the trigger checker needs {@link MeasurementMade} events of the given
+         * metric. If the {@link SpdEventDispatcher} is disabled, a subscriber with the given name is
+         * listened to instead.
+         */
+        public InterpretationResult listenMeasurements(final MetricSetDescription metric, final String name) {
+            this.measuredMetrics.add(metric.getId());
+            if (!this.dispatched) {
+                this.listenEvent(Subscriber.builder(MeasurementMade.class)
+                    .name(name));
+            }
+            return this;
+        }
+
+        /**
+         * Declares that the trigger checker needs every {@link MeasurementMade} event, regardless
+         * of its metric.
+         */
+        public InterpretationResult listenAllMeasurements() {
+            this.measuredMetrics.add(SpdEventDispatcher.ANY_METRIC);
+            if (!this.dispatched) {
+                this.listenEvent(Subscriber.builder(MeasurementMade.class));
+            }
+            return this;
+        }
+
         public Filter getTriggerChecker() {
             return this.triggerChecker;
         }
@@ -80,10 +154,20 @@ public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInte
             return this.eventsToListen;
         }
 
+        public Set<String> getMeasuredMetrics() {
+            return this.measuredMetrics;
+        }
+
+        public Set<Class<? extends DESEvent>> getEventTypes() {
+            return this.eventTypes;
+        }
+
         // TODO: Please look at code style again..
         public InterpretationResult addFrom(final InterpretationResult other, final LogicalOperator operator) {
             this.eventsToSchedule.addAll(other.eventsToSchedule);
             this.eventsToListen.addAll(other.eventsToListen);
+            this.measuredMetrics.addAll(other.measuredMetrics);
+            this.eventTypes.addAll(other.eventTypes);
 
             if (this.triggerChecker == null) {
                 /* We then simply set as the other */
@@ -95,7 +179,7 @@ public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInte
                     if (temp instanceof final LogicalANDComboundFilter chain) {
                         chain.add(other.triggerChecker);
                     } else {
-                        final LogicalANDComboundFilter comboundFilter = new LogicalANDComboundFilter();
+                        final LogicalANDComboundFilter comboundFilter = new LogicalANDComboundFilter(this.planned);
                         comboundFilter.add(temp);
                         comboundFilter.add(other.triggerChecker);
                         this.triggerChecker = comboundFilter;
@@ -103,7 +187,7 @@ public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInte
                 }
                     break;
                 case OR: {
-                    final LogicalORCompoundFilter comboundFilter = new LogicalORCompoundFilter();
+                    final LogicalORCompoundFilter comboundFilter = new LogicalORCompoundFilter(this.planned);
                     comboundFilter.add(this.triggerChecker);
                     comboundFilter.add(other.triggerChecker);
                     this.triggerChecker = comboundFilter;
@@ -2,19 +2,39 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
 
 import static org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality.MANY;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.inject.Inject;
 import org.palladiosimulator.analyzer.slingshot.common.annotations.Nullable;
 
 import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdTimerReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.SpdInterpreter.InterpretationResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementBatch;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.RollupStoreRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.TargetGroupUtils;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.AllocationChange;
+import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.ModelAdjusted;
+import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.ModelChange;
+import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.ResourceEnvironmentChange;
 import org.palladiosimulator.analyzer.slingshot.core.api.SimulationDriver;
 import org.palladiosimulator.analyzer.slingshot.core.events.PreSimulationConfigurationStarted;
+import org.palladiosimulator.analyzer.slingshot.core.events.SimulationFinished;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.OnEvent;
+import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.Subscriber;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.pcm.allocation.AllocationContext;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
 import org.palladiosimulator.spd.SPD;
 
 /**
@@ -25,6 +45,10 @@ import org.palladiosimulator.spd.SPD;
  * <li> Events that are directly scheduled at a certain time, such as {@link SimulationTimeReached}
  * </ul>
  *
+ * If enabled in the settings, the events scheduled at a certain time are kept
+ * by an {@link SpdTimerService} instead, which only schedules one
+ * {@link SpdTimerReached} per distinct simulation time.
+ *
  * @author Julijan Katic
  */
 @OnEvent(when = PreSimulationConfigurationStarted.class, then = SpdBasedEvent.class, cardinality = MANY)
@@ -50,10 +74,21 @@ public class SpdBehavior implements SimulationBehaviorExtension {
 
 	@Subscribe
 	public Result<SpdBasedEvent> onPreSimulationConfigurationStarted(final PreSimulationConfigurationStarted configurationStarted) {
-		final SpdInterpreter interpreter = new SpdInterpreter();
+		/* The ids of the decoder are interned anew by the consumers created below. */
+		MeasurementDecoder.reset();
+		/* The topology of a previous simulation in the same JVM must not be reused. */
+		TargetGroupUtils.reset();
+		/* The switches are read once, and are fixed for the whole simulation. */
+		final SpdInterpreterSettings settings = SpdInterpreterSettings.fromSystemProperties();
+		final RollupStoreRegistry rollups = settings.isRollupEnabled() ? new RollupStoreRegistry() : null;
+		final AggregatorRegistry aggregators = settings.isAggregatorSharingEnabled() ? new AggregatorRegistry(settings) : null;
+		final SpdInterpreter interpreter = new SpdInterpreter(rollups, aggregators, settings);
 		final InterpretationResult result = interpreter.doSwitch(this.spdModel);
 		
 		LOGGER.debug("The result of the SPD interpretation is not null: " + (result != null));
+		if (aggregators != null) {
+			LOGGER.debug("Number of shared aggregator windows: " + aggregators.size());
+		}
 		
 		
 		result.getAdjustorContexts().stream()
@@ -61,6 +96,116 @@ public class SpdBehavior implements SimulationBehaviorExtension {
 								    .flatMap(ac -> ac.getAssociatedHandlers().stream())
 								    .forEach(driver::registerEventHandler);
 
-		return Result.from(result.getEventsToSchedule());
+		driver.registerEventHandler(Subscriber.builder(ModelAdjusted.class)
+											  .name("spdTopologyInvalidation")
+											  .handler(this::onModelAdjusted)
+											  .build());
+
+		final SpdProfilingReport report = settings.isProfilingEnabled()
+				? new SpdProfilingReport(result.getAdjustorContexts().stream()
+											   .flatMap(ac -> ac.getProfile().stream())
+											   .toList(),
+										 settings.getProfilingReportPath())
+				: null;
+
+		SpdTimerService timers = null;
+		if (settings.isMeasurementDispatcherEnabled()) {
+			final SpdEventDispatcher dispatcher = new SpdEventDispatcher(result.getMeasuredMetrics(), result.getEventTypes(), rollups, aggregators, settings);
+			if (report != null) {
+				dispatcher.onSimulationFinished(report::write);
+			}
+			this.registerDispatcher(dispatcher);
+			if (settings.isTimerCoalescingEnabled()) {
+				timers = new SpdTimerService(dispatcher);
+				driver.registerEventHandler(Subscriber.builder(SpdTimerReached.class)
+													  .name("spdTimerService")
+													  .handler(timers::onTimerReached)
+													  .build());
+			}
+		} else if (report != null) {
+			driver.registerEventHandler(Subscriber.builder(SimulationFinished.class)
+												  .name("spdProfilingReport")
+												  .handler(report::onSimulationFinished)
+												  .build());
+		}
+
+		if (timers == null) {
+			return Result.from(result.getEventsToSchedule());
+		}
+		return Result.from(this.coalesceTimers(timers, result.getEventsToSchedule()));
+	}
+
+	/**
+	 * Hands the time events to the timer service, which returns one
+	 * {@link SpdTimerReached} per distinct simulation time to be scheduled
+	 * instead.
+	 */
+	private List<SpdBasedEvent> coalesceTimers(final SpdTimerService timers, final List<SpdBasedEvent> eventsToSchedule) {
+		final List<SpdBasedEvent> coalesced = new ArrayList<>(eventsToSchedule.size());
+		for (final SpdBasedEvent event : eventsToSchedule) {
+			if (!SpdTimerService.isTimer(event)) {
+				coalesced.add(event);
+				continue;
+			}
+			final SpdTimerReached timerReached = timers.schedule(event);
+			if (timerReached != null) {
+				coalesced.add(timerReached);
+			}
+		}
+		return coalesced;
+	}
+
+	/**
+	 * Updates the topology index with the added allocation contexts and the
+	 * deleted containers, and drops the cached target group memberships, but only
+	 * if resource containers or allocation contexts have actually changed.
+	 */
+	private Result<SpdBasedEvent> onModelAdjusted(final ModelAdjusted modelAdjusted) {
+		boolean topologyChanged = false;
+		final List<AllocationContext> newAllocationContexts = new ArrayList<>();
+		final List<ResourceContainer> deletedContainers = new ArrayList<>();
+		for (final ModelChange<?> change : modelAdjusted.getChanges()) {
+			if (change instanceof final ResourceEnvironmentChange resourceEnvironmentChange) {
+				deletedContainers.addAll(resourceEnvironmentChange.getDeletedResourceContainers());
+				topologyChanged = true;
+			} else if (change instanceof final AllocationChange allocationChange) {
+				newAllocationContexts.addAll(allocationChange.getNewAllocationContexts());
+				topologyChanged = true;
+			}
+		}
+
+		if (topologyChanged) {
+			TargetGroupUtils.topologyChanged(newAllocationContexts, deletedContainers);
+		}
+		return Result.empty();
+	}
+
+	/**
+	 * Registers the dispatcher as the only subscriber of the SPD interpretation
+	 * for each event type the adjustor contexts listen to.
+	 */
+	private void registerDispatcher(final SpdEventDispatcher dispatcher) {
+		dispatcher.getEventTypes().forEach(eventType -> this.registerDispatcher(dispatcher, eventType));
+
+		if (!dispatcher.hasMeasurementRoutes()) {
+			return;
+		}
+		driver.registerEventHandler(Subscriber.builder(MeasurementMade.class)
+											  .name("spdMeasurementDispatcher")
+											  .handler(dispatcher::onMeasurementMade)
+											  .build());
+		if (dispatcher.isBatching()) {
+			driver.registerEventHandler(Subscriber.builder(MeasurementBatch.class)
+												  .name("spdMeasurementBatchDispatcher")
+												  .handler(dispatcher::onMeasurementBatch)
+												  .build());
+		}
+	}
+
+	private <T extends DESEvent> void registerDispatcher(final SpdEventDispatcher dispatcher, final Class<T> eventType) {
+		driver.registerEventHandler(Subscriber.builder(eventType)
+											  .name("spd" + eventType.getSimpleName() + "Dispatcher")
+											  .handler(event -> dispatcher.onEvent(eventType, event))
+											  .build());
 	}
 }
@@ -0,0 +1,398 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.RepeatedSimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DecodedMeasurement;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementBatch;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.SPDAdjustorContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.RollupStoreRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.TargetGroupUtils;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.core.events.SimulationFinished;
+import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+
+/**
+ * Routes the events of the SPD interpretation to the {@link SPDAdjustorContext}s that can make use
+ * of them, so that there is only one subscriber per event type instead of one per context.
+ *
+ * Events other than measurements are routed by their type (see {@link #getEventTypes()}). Events
+ * that carry a target group, i.e. {@link SimulationTimeReached},
+ * {@link RepeatedSimulationTimeReached} and {@link EvaluationTickReached}, are only passed to the
+ * contexts of that target group.
+ *
+ * {@link MeasurementMade} events are decoded once by the {@link MeasurementDecoder}, and routed by
+ * the interned ids of their metric and measuring point. This routing index is built in two steps:
+ * At interpretation time, each context declares the ids of the metric set descriptions its trigger
+ * needs (or {@link #ANY_METRIC}). At simulation time, the contexts of a metric are narrowed down to
+ * those whose target group contains the measuring point of the measurement. The latter is computed
+ * once per (metric, measuring point) and dropped whenever the topology changes (see
+ * {@link TargetGroupUtils#getTopologyVersion()}).
+ *
+ * Contexts are always invoked in the order of their interpretation, so that the order of the
+ * resulting events does not depend on the routing.
+ *
+ * If batching is enabled (see {@link SpdInterpreterSettings#isMeasurementBatchingEnabled()}), the
+ * measurements are not passed on directly. Instead, the measurements of a target group at the same
+ * simulation time are collected into a {@link MeasurementBatch}, which is scheduled without delay
+ * when the first of them arrives. The interested contexts then evaluate the batch once.
+ *
+ * If rollups are enabled (see {@link SpdInterpreterSettings#isRollupEnabled()}), each measurement is
+ * recorded once per target group of the interested contexts in the {@link RollupStoreRegistry},
+ * before any context evaluates it. The same holds for the shared windows of the
+ * {@link AggregatorRegistry} if aggregator sharing is enabled (see
+ * {@link SpdInterpreterSettings#isAggregatorSharingEnabled()}).
+ *
+ * If parallel evaluation is enabled (see
+ * {@link SpdInterpreterSettings#isParallelEvaluationEnabled()}), the contexts of different target
+ * groups are evaluated by a {@link ParallelContextEvaluator}.
+ *
+ * @author agent
+ */
+final class SpdEventDispatcher {
+
+    private static final Logger LOGGER = Logger.getLogger(SpdEventDispatcher.class);
+
+    /** Metric id declaring that a context is interested in every measurement. */
+    static final String ANY_METRIC = "*";
+
+    /** All contexts interested in measurements, in order of interpretation. */
+    private final List<SPDAdjustorContext> contexts;
+    private final Map<SPDAdjustorContext, Set<String>> measuredMetrics;
+
+    /** event type -> contexts listening to it, in order of interpretation. */
+    private final Map<Class<? extends DESEvent>, List<SPDAdjustorContext>> contextsByEventType =
+            new LinkedHashMap<>();
+
+    /** event type -> target group id -> contexts listening to it. */
+    private final Map<Class<? extends DESEvent>, Map<String, List<SPDAdjustorContext>>> contextsByTargetGroup =
+            new HashMap<>();
+
+    /** metric set description id -> contexts declaring that metric or {@link #ANY_METRIC}. */
+    private final Map<String, List<SPDAdjustorContext>> contextsByMetric = new HashMap<>();
+
+    /**
+     * metric id -> measuring point id -> contexts whose target group matches, or {@code null} if not
+     * computed yet. The ids are those of the {@link MeasurementDecoder}.
+     */
+    private final List<List<List<SPDAdjustorContext>>> routes = new ArrayList<>();
+    private long routesVersion = -1;
+
+    private final MeasurementDecoder decoder;
+
+    private final boolean batching;
+
+    /** Actions to run on {@link SimulationFinished}. */
+    private final List<Runnable> finishActions = new ArrayList<>(1);
+
+    /**
+     * Evaluates the contexts of different target groups in parallel if enabled, otherwise
+     * {@code null}.
+     */
+    private final ParallelContextEvaluator parallelEvaluator;
+
+    /** The rollup stores fed with the measurements, or {@code null} if disabled. */
+    private final RollupStoreRegistry rollups;
+
+    /** The shared windows fed with the measurements, or {@code null} if disabled. */
+    private final AggregatorRegistry aggregators;
+
+    /** target group id -> the batch that has not been delivered yet. */
+    private final Map<String, PendingBatch> pendingBatches = new HashMap<>();
+
+    /**
+     * @param measuredMetrics
+     *            the ids of the metric set descriptions for each context, in order of
+     *            interpretation.
+     * @param eventTypes
+     *            the types of the other events for each context, in order of interpretation.
+     * @param rollups
+     *            the rollup stores to feed, or {@code null}.
+     * @param aggregators
+     *            the shared windows to feed, or {@code null}.
+     * @param settings
+     *            the settings that select batching and parallel evaluation.
+     */
+    SpdEventDispatcher(final Map<SPDAdjustorContext, Set<String>> measuredMetrics,
+            final Map<SPDAdjustorContext, Set<Class<? extends DESEvent>>> eventTypes,
+            final RollupStoreRegistry rollups, final AggregatorRegistry aggregators,
+            final SpdInterpreterSettings settings) {
+        this.measuredMetrics = measuredMetrics;
+        this.rollups = rollups;
+        this.aggregators = aggregators;
+        this.decoder = MeasurementDecoder.getInstance();
+        this.contexts = measuredMetrics.entrySet()
+            .stream()
+            .filter(entry -> !entry.getValue()
+                .isEmpty())
+            .map(Map.Entry::getKey)
+            .toList();
+        this.batching = settings.isMeasurementBatchingEnabled();
+        this.parallelEvaluator = settings.isParallelEvaluationEnabled()
+                ? new ParallelContextEvaluator(settings.getParallelism())
+                : null;
+
+        eventTypes.forEach((context, types) -> types.forEach(type -> this.contextsByEventType
+            .computeIfAbsent(type, t -> new ArrayList<>())
+            .add(context)));
+        if (this.parallelEvaluator != null) {
+            this.onSimulationFinished(this.parallelEvaluator::shutdown);
+        }
+    }
+
+    /**
+     * Registers an action that is run when the simulation has finished, after the contexts have
+     * processed the {@link SimulationFinished} event.
+     */
+    void onSimulationFinished(final Runnable action) {
+        this.contextsByEventType.computeIfAbsent(SimulationFinished.class, t -> new ArrayList<>());
+        this.finishActions.add(action);
+    }
+
+    /**
+     * @return the event types other than {@link MeasurementMade} that need a subscriber, each of
+     *         which should be handled by {@link #onEvent(Class, DESEvent)}.
+     */
+    Set<Class<? extends DESEvent>> getEventTypes() {
+        return this.contextsByEventType.keySet();
+    }
+
+    boolean isBatching() {
+        return this.batching;
+    }
+
+    /**
+     * @return true iff at least one context is interested in measurements.
+     */
+    boolean hasMeasurementRoutes() {
+        return !this.contexts.isEmpty();
+    }
+
+    /**
+     * Passes the measurement to every interested context and collects the resulting events.
+     */
+    Result<DESEvent> onMeasurementMade(final MeasurementMade measurementMade) {
+        final DecodedMeasurement decoded = this.decoder.decode(measurementMade);
+        final List<SPDAdjustorContext> interested = this.route(measurementMade, decoded);
+        if (interested.isEmpty()) {
+            return Result.empty();
+        }
+        if (this.rollups != null || this.aggregators != null) {
+            this.record(measurementMade, decoded, interested);
+        }
+        if (this.batching) {
+            return this.batch(measurementMade, interested);
+        }
+        return this.evaluate(interested, measurementMade);
+    }
+
+    /**
+     * Passes a complete batch to the contexts that were interested in any of its measurements.
+     */
+    Result<DESEvent> onMeasurementBatch(final MeasurementBatch batch) {
+        final PendingBatch pending = this.pendingBatches.get(batch.getTargetGroupId());
+        if (pending == null || pending.batch != batch) {
+            return Result.empty();
+        }
+        this.pendingBatches.remove(batch.getTargetGroupId());
+
+        final List<SPDAdjustorContext> interested = this.contexts.stream()
+            .filter(pending.contexts::contains)
+            .toList();
+        return this.evaluate(interested, batch);
+    }
+
+    /**
+     * Passes the event to every context listening to the given type and, if the event carries a
+     * target group, belonging to that target group. On {@link SimulationFinished}, the actions
+     * registered by {@link #onSimulationFinished(Runnable)} are run afterwards.
+     *
+     * @param eventType
+     *            the type the subscriber was registered for.
+     */
+    Result<DESEvent> onEvent(final Class<? extends DESEvent> eventType, final DESEvent event) {
+        final List<SPDAdjustorContext> interested = this.interested(eventType, event);
+
+        final Result<DESEvent> result = interested.isEmpty() ? Result.empty() : this.evaluate(interested, event);
+        if (event instanceof SimulationFinished) {
+            this.finishActions.forEach(Runnable::run);
+        }
+        return result;
+    }
+
+    /**
+     * Passes a timer event that is due to the contexts of its target group, like
+     * {@link #onEvent(Class, DESEvent)}, and returns the resulting events.
+     */
+    List<DESEvent> dispatchTimer(final SpdBasedEvent event) {
+        final List<SPDAdjustorContext> interested = this.interested(event.getClass(), event);
+        return interested.isEmpty() ? List.of() : this.collect(interested, event);
+    }
+
+    /**
+     * @return the contexts listening to the given type and, if the event carries a target group,
+     *         belonging to that target group.
+     */
+    private List<SPDAdjustorContext> interested(final Class<? extends DESEvent> eventType, final DESEvent event) {
+        final List<SPDAdjustorContext> listening = this.contextsByEventType.getOrDefault(eventType, List.of());
+        final String targetGroupId = targetGroupIdOf(event);
+        return targetGroupId == null ? listening
+                : this.contextsByTargetGroup.computeIfAbsent(eventType, type -> new HashMap<>())
+                    .computeIfAbsent(targetGroupId, id -> listening.stream()
+                        .filter(context -> id.equals(context.getScalingPolicy()
+                            .getTargetGroup()
+                            .getId()))
+                        .toList());
+    }
+
+    /**
+     * Records the measurement in the rollup stores and shared windows once for each target group of
+     * the interested contexts.
+     */
+    private void record(final MeasurementMade measurementMade, final DecodedMeasurement decoded,
+            final List<SPDAdjustorContext> interested) {
+        final List<String> recorded = new ArrayList<>(1);
+        for (final SPDAdjustorContext context : interested) {
+            final String targetGroupId = context.getScalingPolicy()
+                .getTargetGroup()
+                .getId();
+            if (!recorded.contains(targetGroupId)) {
+                recorded.add(targetGroupId);
+                if (this.rollups != null) {
+                    this.rollups.record(targetGroupId, measurementMade, decoded);
+                }
+                if (this.aggregators != null) {
+                    this.aggregators.record(targetGroupId, measurementMade, decoded);
+                }
+            }
+        }
+    }
+
+    private static String targetGroupIdOf(final DESEvent event) {
+        if (event instanceof final SimulationTimeReached simulationTimeReached) {
+            return simulationTimeReached.getTargetGroupId();
+        }
+        if (event instanceof final RepeatedSimulationTimeReached repeatedSimulationTimeReached) {
+            return repeatedSimulationTimeReached.getTargetGroupId();
+        }
+        if (event instanceof final EvaluationTickReached evaluationTickReached) {
+            return evaluationTickReached.getTargetGroupId();
+        }
+        return null;
+    }
+
+    /**
+     * Passes the event to the contexts, in parallel if enabled, and collects the resulting events in
+     * order of the contexts.
+     */
+    private Result<DESEvent> evaluate(final List<SPDAdjustorContext> interested, final DESEvent event) {
+        return Result.from(this.collect(interested, event));
+    }
+
+    private List<DESEvent> collect(final List<SPDAdjustorContext> interested, final DESEvent event) {
+        if (this.parallelEvaluator != null && interested.size() > 1) {
+            return this.parallelEvaluator.evaluate(interested, event);
+        }
+        final List<DESEvent> results = new ArrayList<>(1);
+        for (final SPDAdjustorContext context : interested) {
+            context.process(event)
+                .ifPresent(results::add);
+        }
+        return results;
+    }
+
+    /**
+     * Adds the measurement to the pending batch of each target group, and returns the batches
+     * that have to be scheduled because they were just opened.
+     */
+    private Result<DESEvent> batch(final MeasurementMade measurementMade, final List<SPDAdjustorContext> interested) {
+        final List<DESEvent> openedBatches = new ArrayList<>(1);
+        for (final SPDAdjustorContext context : interested) {
+            final String targetGroupId = context.getScalingPolicy()
+                .getTargetGroup()
+                .getId();
+
+            PendingBatch pending = this.pendingBatches.get(targetGroupId);
+            if (pending == null || pending.batch.time() != measurementMade.time()) {
+                pending = new PendingBatch(new MeasurementBatch(targetGroupId, measurementMade.time()));
+                this.pendingBatches.put(targetGroupId, pending);
+                openedBatches.add(pending.batch);
+            }
+            if (!pending.lastMeasurementIs(measurementMade)) {
+                pending.batch.add(measurementMade);
+            }
+            pending.contexts.add(context);
+        }
+        return Result.from(openedBatches);
+    }
+
+    private List<SPDAdjustorContext> route(final MeasurementMade measurementMade, final DecodedMeasurement decoded) {
+        final long version = TargetGroupUtils.getTopologyVersion();
+        if (version != this.routesVersion) {
+            LOGGER.debug("Topology has changed, invalidating measurement routes.");
+            this.routes.clear();
+            this.routesVersion = version;
+        }
+
+        while (this.routes.size() <= decoded.metricId()) {
+            this.routes.add(new ArrayList<>());
+        }
+        final List<List<SPDAdjustorContext>> routesOfMetric = this.routes.get(decoded.metricId());
+        while (routesOfMetric.size() <= decoded.measuringPointId()) {
+            routesOfMetric.add(null);
+        }
+        List<SPDAdjustorContext> route = routesOfMetric.get(decoded.measuringPointId());
+        if (route == null) {
+            final MeasuringPoint measuringPoint = measurementMade.getEntity()
+                .getMeasuringPoint();
+            route = this.contextsByMetric(this.decoder.getMetricDescriptionId(decoded.metricId()))
+                .stream()
+                .filter(context -> context.isRelevant(measuringPoint))
+                .toList();
+            routesOfMetric.set(decoded.measuringPointId(), route);
+        }
+        return route;
+    }
+
+    /**
+     * A batch that is scheduled but not delivered yet, together with the contexts it is
+     * relevant for.
+     */
+    private static final class PendingBatch {
+        private final MeasurementBatch batch;
+        private final Set<SPDAdjustorContext> contexts = new HashSet<>();
+
+        private PendingBatch(final MeasurementBatch batch) {
+            this.batch = batch;
+        }
+
+        private boolean lastMeasurementIs(final MeasurementMade measurementMade) {
+            final List<MeasurementMade> measurements = this.batch.getMeasurements();
+            return !measurements.isEmpty() && measurements.get(measurements.size() - 1) == measurementMade;
+        }
+    }
+
+    private List<SPDAdjustorContext> contextsByMetric(final String metricId) {
+        return this.contextsByMetric.computeIfAbsent(metricId, id -> this.contexts.stream()
+            .filter(context -> this.measuredMetrics.get(context)
+                .contains(id)
+                    || this.measuredMetrics.get(context)
+                        .contains(ANY_METRIC))
+            .toList());
+    }
+}
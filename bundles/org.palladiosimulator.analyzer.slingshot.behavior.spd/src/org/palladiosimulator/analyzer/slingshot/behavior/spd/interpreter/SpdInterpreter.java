@@ -3,21 +3,28 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.RepeatedSimulationTimeReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterChain;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.SPDAdjustorContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.TargetGroupState;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.RollupStoreRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowFactory;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.model.ModelEvaluator;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.ModelBasedTriggerChecker;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.core.events.SimulationFinished;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.Subscriber;
-import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.spd.ModelBasedScalingPolicy;
 import org.palladiosimulator.spd.SPD;
 import org.palladiosimulator.spd.TriggerBasedScalingPolicy;
@@ -37,6 +44,24 @@ class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
 
     private final Map<TargetGroup, TargetGroupState> targetGroupStates = new HashMap<>();
 
+    /** The rollup stores shared by the model aggregators, or {@code null} if disabled. */
+    private final RollupStoreRegistry rollups;
+
+    /** The factory of the windows of the trigger checkers and model aggregators. */
+    private final WindowFactory windows;
+
+    private final SpdInterpreterSettings settings;
+
+    /** The ids of the target groups whose evaluation ticks are already scheduled. */
+    private final Set<String> tickedTargetGroups = new HashSet<>();
+
+    SpdInterpreter(final RollupStoreRegistry rollups, final AggregatorRegistry aggregators,
+            final SpdInterpreterSettings settings) {
+        this.rollups = rollups;
+        this.windows = new WindowFactory(settings, aggregators);
+        this.settings = settings;
+    }
+
     @Override
     public InterpretationResult caseSPD(final SPD spd) {
         LOGGER.debug("Interpreting SPD Model " + spd.getEntityName() + "[" + spd.getId() + "]");
@@ -61,11 +86,16 @@ class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
             return new InterpretationResult();
         }
 
-        final ScalingTriggerInterpreter.InterpretationResult intrResult = (new ScalingTriggerInterpreter(policy))
+        final ScalingTriggerInterpreter.InterpretationResult intrResult = (new ScalingTriggerInterpreter(policy, this.windows))
             .doSwitch(policy.getScalingTrigger());
+        if (intrResult.getEventTypes()
+            .contains(EvaluationTickReached.class)) {
+            this.scheduleEvaluationTicks(intrResult, policy.getTargetGroup());
+        }
         return (new InterpretationResult())
             .adjustorContext(new SPDAdjustorContext(policy, intrResult.getTriggerChecker(),
-                    intrResult.getEventsToListen(), this.targetGroupStates.get(policy.getTargetGroup())))
+                    intrResult.getEventsToListen(), this.targetGroupStates.get(policy.getTargetGroup()), this.settings),
+                    intrResult.getMeasuredMetrics(), intrResult.getEventTypes())
             .eventsToSchedule(intrResult.getEventsToSchedule());
     }
 
@@ -100,22 +130,37 @@ class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
         final RepeatedSimulationTimeReached event = new RepeatedSimulationTimeReached(policy.getTargetGroup()
             .getId(), model.getInterval() + model.getIntervalOffset(), 0.f, model.getInterval());
 
-        final ModelInterpreter modelInterpreter = new ModelInterpreter();
+        final ModelInterpreter modelInterpreter = new ModelInterpreter(this.rollups, this.windows,
+                policy.getTargetGroup()
+                    .getId());
         final ModelEvaluator modelEvaluator = modelInterpreter.doSwitch(model);
 
-        final ScalingTriggerInterpreter.InterpretationResult intrResult = (new ScalingTriggerInterpreter.InterpretationResult())
+        final ScalingTriggerInterpreter.InterpretationResult intrResult = (new ScalingTriggerInterpreter.InterpretationResult(this.settings))
             .scheduleEvent(event)
-            .listenEvent(Subscriber.builder(RepeatedSimulationTimeReached.class))
-            .listenEvent(Subscriber.builder(MeasurementMade.class))
-            .listenEvent(Subscriber.builder(SimulationFinished.class))
+            .listenEvent(RepeatedSimulationTimeReached.class)
+            .listenAllMeasurements()
+            .listenEvent(SimulationFinished.class)
             .triggerChecker(new ModelBasedTriggerChecker(modelEvaluator));
 
         return (new InterpretationResult())
             .adjustorContext(new SPDAdjustorContext(policy, intrResult.getTriggerChecker(),
-                    intrResult.getEventsToListen(), this.targetGroupStates.get(policy.getTargetGroup())))
+                    intrResult.getEventsToListen(), this.targetGroupStates.get(policy.getTargetGroup()), this.settings),
+                    intrResult.getMeasuredMetrics(), intrResult.getEventTypes())
             .eventsToSchedule(intrResult.getEventsToSchedule());
     }
 
+    /**
+     * Schedules the first evaluation tick of the target group, unless another policy of the target
+     * group already did. The {@link EvaluationTickRepeater} schedules the following ones.
+     */
+    private void scheduleEvaluationTicks(final ScalingTriggerInterpreter.InterpretationResult intrResult,
+            final TargetGroup targetGroup) {
+        if (this.tickedTargetGroups.add(targetGroup.getId())) {
+            final double period = this.settings.getEvaluationTickPeriod();
+            intrResult.scheduleEvent(new EvaluationTickReached(targetGroup.getId(), period, period));
+        }
+    }
+
     /**
      * An object that combines all the necessary information of interpretation result.
      *
@@ -128,6 +173,8 @@ class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
         private final List<SPDAdjustorContext> adjustorContexts;
         private final List<SpdBasedEvent> eventsToSchedule;
         private final List<Subscriber<? extends DESEvent>> subscribers;
+        private final Map<SPDAdjustorContext, Set<String>> measuredMetrics = new LinkedHashMap<>();
+        private final Map<SPDAdjustorContext, Set<Class<? extends DESEvent>>> eventTypes = new LinkedHashMap<>();
 
         InterpretationResult() {
             this.adjustorContexts = new ArrayList<>();
@@ -156,6 +203,20 @@ class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
             return this;
         }
 
+        /**
+         * Adds an adjustor context together with the ids of the metric set descriptions whose
+         * measurements it needs, and the types of the other events it needs.
+         *
+         * @see SpdEventDispatcher
+         */
+        public InterpretationResult adjustorContext(final SPDAdjustorContext adjustorContext,
+                final Set<String> measuredMetrics, final Set<Class<? extends DESEvent>> eventTypes) {
+            this.adjustorContexts.add(adjustorContext);
+            this.measuredMetrics.put(adjustorContext, measuredMetrics);
+            this.eventTypes.put(adjustorContext, eventTypes);
+            return this;
+        }
+
         public InterpretationResult adjustorContext(final Collection<? extends SPDAdjustorContext> adjustorContexts) {
             this.adjustorContexts.addAll(adjustorContexts);
             return this;
@@ -178,6 +239,14 @@ class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
             return this.subscribers;
         }
 
+        public Map<SPDAdjustorContext, Set<String>> getMeasuredMetrics() {
+            return this.measuredMetrics;
+        }
+
+        public Map<SPDAdjustorContext, Set<Class<? extends DESEvent>>> getEventTypes() {
+            return this.eventTypes;
+        }
+
         /**
          * Adds the results from another interpretation result to this.
          *
@@ -188,6 +257,8 @@ class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
         public InterpretationResult add(final InterpretationResult other) {
             this.adjustorContexts.addAll(other.adjustorContexts);
             this.eventsToSchedule.addAll(other.eventsToSchedule);
+            this.measuredMetrics.putAll(other.measuredMetrics);
+            this.eventTypes.putAll(other.eventTypes);
             return this;
         }
     }
@@ -0,0 +1,155 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.AdjustorContextProfile;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterStatistics;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.analyzer.slingshot.core.events.SimulationFinished;
+import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
+
+/**
+ * Writes the profiles of the adjustor contexts as a JSON report when the simulation has finished.
+ * The report is written to the file given by {@link SpdInterpreterSettings#PROFILING_REPORT}, or
+ * logged if no file is given or the file cannot be written.
+ *
+ * The report has the following form, where every statistics object contains the fields
+ * {@code invocations}, {@code totalNanos}, {@code successes}, {@code disregards} and
+ * {@code disregardReasons}:
+ *
+ * <pre>
+ * { "policies": [ { "policyId": ..., "policyName": ..., "chain": {...},
+ *                   "filters": [ { "position": 0, "filter": "TargetGroupChecker", ... } ] } ] }
+ * </pre>
+ *
+ * @author agent
+ */
+final class SpdProfilingReport {
+
+    private static final Logger LOGGER = Logger.getLogger(SpdProfilingReport.class);
+
+    private final List<AdjustorContextProfile> profiles;
+
+    /** The path of the report, or {@code null} if it is logged. */
+    private final String path;
+
+    SpdProfilingReport(final List<AdjustorContextProfile> profiles, final String path) {
+        this.profiles = profiles;
+        this.path = path;
+    }
+
+    Result<SpdBasedEvent> onSimulationFinished(final SimulationFinished simulationFinished) {
+        this.write();
+        return Result.empty();
+    }
+
+    /**
+     * Writes the report to the configured file, or logs it.
+     */
+    void write() {
+        final String report = this.toJson();
+        if (this.path == null) {
+            LOGGER.info("SPD profiling report: " + report);
+            return;
+        }
+        try {
+            Files.writeString(Path.of(this.path), report, StandardCharsets.UTF_8);
+            LOGGER.info("SPD profiling report written to " + this.path);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.error("Could not write the SPD profiling report to " + this.path, e);
+            LOGGER.info("SPD profiling report: " + report);
+        }
+    }
+
+    String toJson() {
+        final StringBuilder json = new StringBuilder();
+        json.append("{\"policies\":[");
+        for (int i = 0; i < this.profiles.size(); i++) {
+            final AdjustorContextProfile profile = this.profiles.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"policyId\":");
+            appendString(json, profile.getPolicyId());
+            json.append(",\"policyName\":");
+            appendString(json, profile.getPolicyName());
+            json.append(",\"chain\":{");
+            appendStatistics(json, profile.getChain());
+            json.append("},\"filters\":[");
+            final List<FilterStatistics> filters = profile.getFilters();
+            for (int position = 0; position < filters.size(); position++) {
+                if (position > 0) {
+                    json.append(',');
+                }
+                json.append("{\"position\":")
+                    .append(position)
+                    .append(",\"filter\":");
+                appendString(json, filters.get(position)
+                    .getName());
+                json.append(',');
+                appendStatistics(json, filters.get(position));
+                json.append('}');
+            }
+            json.append("]}");
+        }
+        return json.append("]}")
+            .toString();
+    }
+
+    private static void appendStatistics(final StringBuilder json, final FilterStatistics statistics) {
+        json.append("\"invocations\":")
+            .append(statistics.getInvocations())
+            .append(",\"totalNanos\":")
+            .append(statistics.getNanos())
+            .append(",\"successes\":")
+            .append(statistics.getSuccesses())
+            .append(",\"disregards\":")
+            .append(statistics.getDisregards())
+            .append(",\"disregardReasons\":{");
+        boolean first = true;
+        for (final Map.Entry<String, Long> reason : statistics.getDisregardReasons()
+            .entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            appendString(json, reason.getKey());
+            json.append(':')
+                .append(reason.getValue());
+        }
+        json.append('}');
+    }
+
+    private static void appendString(final StringBuilder json, final String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+            case '"' -> json.append("\\\"");
+            case '\\' -> json.append("\\\\");
+            case '\n' -> json.append("\\n");
+            case '\r' -> json.append("\\r");
+            case '\t' -> json.append("\\t");
+            default -> {
+                if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,118 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.RepeatedSimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdTimerReached;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
+
+/**
+ * Keeps the time events of all target groups, i.e. {@link SimulationTimeReached},
+ * {@link RepeatedSimulationTimeReached} and {@link EvaluationTickReached}, and schedules only one
+ * {@link SpdTimerReached} per distinct simulation time at which any of them are due. When it is
+ * reached, the due events are handed by the {@link SpdEventDispatcher} to the contexts of their
+ * target group only, and the repeating events are kept again for their next time. This replaces
+ * the {@link RepeatedSimulationTimeReachedRepeater} and {@link EvaluationTickRepeater}, which do
+ * not see the events anymore.
+ *
+ * The events are kept in a map sorted by their simulation time, so that each of them costs
+ * O(log n) for n distinct pending simulation times. Events with a delay are not kept, but
+ * scheduled on their own as before.
+ *
+ * @author agent
+ */
+final class SpdTimerService {
+
+    private final SpdEventDispatcher dispatcher;
+
+    /** simulation time -> the events due at that time, in order of their registration. */
+    private final NavigableMap<Double, List<SpdBasedEvent>> timers = new TreeMap<>();
+
+    SpdTimerService(final SpdEventDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * @return true iff the event is a time event without delay that can be kept by this service.
+     */
+    static boolean isTimer(final DESEvent event) {
+        return (event instanceof SimulationTimeReached || event instanceof RepeatedSimulationTimeReached
+                || event instanceof EvaluationTickReached) && event.delay() == 0;
+    }
+
+    /**
+     * Keeps the event until its simulation time is reached.
+     *
+     * @return the {@link SpdTimerReached} that needs to be scheduled for the event, or {@code null}
+     *         if one is already scheduled for its simulation time.
+     */
+    SpdTimerReached schedule(final SpdBasedEvent event) {
+        final List<SpdBasedEvent> due = this.timers.get(event.time());
+        if (due != null) {
+            due.add(event);
+            return null;
+        }
+        final List<SpdBasedEvent> newDue = new ArrayList<>(1);
+        newDue.add(event);
+        this.timers.put(event.time(), newDue);
+        return new SpdTimerReached(event.time());
+    }
+
+    /**
+     * Hands the events that are due to the contexts of their target groups, and keeps the next
+     * occurrence of the repeating ones.
+     *
+     * @return the events resulting from the contexts, and the {@link SpdTimerReached} of simulation
+     *         times that became due.
+     */
+    Result<DESEvent> onTimerReached(final SpdTimerReached timerReached) {
+        return Result.from(this.fire(timerReached));
+    }
+
+    /**
+     * Like {@link #onTimerReached(SpdTimerReached)}, but returns the resulting events as a list, in
+     * the order in which they are scheduled.
+     */
+    List<DESEvent> fire(final SpdTimerReached timerReached) {
+        final List<SpdBasedEvent> due = this.timers.remove(timerReached.time());
+        if (due == null) {
+            return List.of();
+        }
+        final List<DESEvent> results = new ArrayList<>();
+        for (final SpdBasedEvent event : due) {
+            results.addAll(this.dispatcher.dispatchTimer(event));
+
+            final SpdBasedEvent next = nextOf(event);
+            if (next != null) {
+                final SpdTimerReached scheduled = this.schedule(next);
+                if (scheduled != null) {
+                    results.add(scheduled);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return the next occurrence of a repeating event, as scheduled by the repeaters otherwise, or
+     *         {@code null} if the event does not repeat.
+     */
+    private static SpdBasedEvent nextOf(final SpdBasedEvent event) {
+        if (event instanceof final RepeatedSimulationTimeReached repeated) {
+            return new RepeatedSimulationTimeReached(repeated.getTargetGroupId(),
+                    repeated.time() + repeated.getRepetitionTime(), repeated.delay(), repeated.getRepetitionTime());
+        }
+        if (event instanceof final EvaluationTickReached tick) {
+            return new EvaluationTickReached(tick.getTargetGroupId(), tick.time() + tick.getPeriod(),
+                    tick.getPeriod());
+        }
+        return null;
+    }
+}
@@ -1,24 +1,31 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.ScalingTriggerInterpreter.InterpretationResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.AggregatedOperationResponseTimeTriggerChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.CPUUtilizationTriggerChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.OperationResponseTimeTriggerChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.QueueLengthTriggerChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.SimulationTimeChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.TaskCountTriggerChecker;
-import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.Subscriber;
-import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.spd.targets.CompetingConsumersGroup;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+import org.palladiosimulator.spd.triggers.BaseTrigger;
+import org.palladiosimulator.spd.triggers.SimpleFireOnTrend;
 import org.palladiosimulator.spd.triggers.SimpleFireOnValue;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedCount;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedPercentage;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedTime;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedValue;
+import org.palladiosimulator.spd.triggers.expectations.NoExpectation;
 import org.palladiosimulator.spd.triggers.stimuli.CPUUtilization;
 import org.palladiosimulator.spd.triggers.stimuli.OperationResponseTime;
 import org.palladiosimulator.spd.triggers.stimuli.QueueLength;
 import org.palladiosimulator.spd.triggers.stimuli.SimulationTime;
+import org.palladiosimulator.spd.triggers.stimuli.Stimulus;
 import org.palladiosimulator.spd.triggers.stimuli.TaskCount;
 import org.palladiosimulator.spd.triggers.stimuli.util.StimuliSwitch;
 
@@ -27,25 +34,32 @@ import com.google.common.base.Preconditions;
 final class StimuliInterpreter extends StimuliSwitch<InterpretationResult> {
 
 	private final ScalingTriggerInterpreter scalingTriggerInterpreter;
-	private final SimpleFireOnValue trigger;
-
-	public StimuliInterpreter(final ScalingTriggerInterpreter scalingTriggerInterpreter, final SimpleFireOnValue trigger) {
+	private final BaseTrigger trigger;
+	private final SpdInterpreterSettings settings;
+
+	/**
+	 * @param trigger either a {@link SimpleFireOnValue}, or a
+	 *                {@link SimpleFireOnTrend}, which is only supported for
+	 *                the aggregated stimuli of managed elements.
+	 */
+	public StimuliInterpreter(final ScalingTriggerInterpreter scalingTriggerInterpreter, final BaseTrigger trigger) {
 		super();
 		this.scalingTriggerInterpreter = scalingTriggerInterpreter;
 		this.trigger = trigger;
+		this.settings = scalingTriggerInterpreter.windows.getSettings();
 	}
 
 
 
 	@Override
 	public InterpretationResult caseSimulationTime(final SimulationTime object) {
+		this.checkNoTrend(object);
 		final ExpectedTime expectedTime = this.checkExpectedValue(ExpectedTime.class);
 
 		final SimulationTimeReached event = new SimulationTimeReached(this.scalingTriggerInterpreter.policy.getTargetGroup().getId(), expectedTime.getValue());
 
-		return (new InterpretationResult()).scheduleEvent(event)
-										   .listenEvent(Subscriber.builder(SimulationTimeReached.class)
-												   				  .name("something"))
+		return (new InterpretationResult(this.settings)).scheduleEvent(event)
+										   .listenEvent(SimulationTimeReached.class, "something")
 										   .triggerChecker(new SimulationTimeChecker(this.trigger));
 	}
 
@@ -53,48 +67,112 @@ final class StimuliInterpreter extends StimuliSwitch<InterpretationResult> {
 
 	@Override
 	public InterpretationResult caseOperationResponseTime(final OperationResponseTime object) {
+		this.checkNoTrend(object);
 		this.checkExpectedValue(ExpectedTime.class);
-		return (new InterpretationResult()).listenEvent(Subscriber.builder(MeasurementMade.class)
-																  .name("measurementMade"))
+		final AGGREGATIONMETHOD aggregationMethod = this.settings.getResponseTimeAggregation();
+		if (aggregationMethod != null) {
+			return this.listenEvaluationTicks(new InterpretationResult(this.settings))
+											   .listenMeasurements(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+																	  "measurementMade")
+											   .triggerChecker(new AggregatedOperationResponseTimeTriggerChecker(
+													   				   this.trigger,
+																	   object,
+																	   this.scalingTriggerInterpreter.policy.getTargetGroup(),
+																	   aggregationMethod,
+																	   this.settings.getResponseTimeWindow(),
+																	   this.scalingTriggerInterpreter.windows));
+		}
+		return (new InterpretationResult(this.settings)).listenMeasurements(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+																  "measurementMade")
 									       .triggerChecker(new OperationResponseTimeTriggerChecker(this.trigger));
 	}
 	
 	@Override
 	public InterpretationResult caseCPUUtilization(final CPUUtilization object) {
-		final ExpectedPercentage expectedPercentage = this.checkExpectedValue(ExpectedPercentage.class);
-		Preconditions.checkArgument(0 <= expectedPercentage.getValue() && expectedPercentage.getValue() <= 100, 
+		final ExpectedPercentage expectedPercentage = this.checkExpectedValueOfTrend(ExpectedPercentage.class);
+		Preconditions.checkArgument(expectedPercentage == null
+									|| 0 <= expectedPercentage.getValue() && expectedPercentage.getValue() <= 100, 
 									"The expected percentage must be between 0 and 100");
 		
 		
-		return (new InterpretationResult()).listenEvent(Subscriber.builder(MeasurementMade.class)
-																  .name("cpuUtilizationMade"))
+		return this.listenEvaluationTicks(new InterpretationResult(this.settings))
+										   .listenMeasurements(MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE,
+																  "cpuUtilizationMade")
 										   .triggerChecker(new CPUUtilizationTriggerChecker(
 												   				   this.trigger, 
 																   object, 
-																   this.scalingTriggerInterpreter.policy.getTargetGroup())
+																   this.scalingTriggerInterpreter.policy.getTargetGroup(),
+																   this.scalingTriggerInterpreter.windows)
 												   		  );
 	}
 
 	@Override
 	public InterpretationResult caseTaskCount(final TaskCount object) {
-		this.checkExpectedValue(ExpectedCount.class);
+		this.checkExpectedValueOfTrend(ExpectedCount.class);
 		
-		return (new InterpretationResult()).listenEvent(Subscriber.builder(MeasurementMade.class)
-																  .name("taskCount"))
-										   .triggerChecker(new TaskCountTriggerChecker(this.trigger, object, this.scalingTriggerInterpreter.policy.getTargetGroup()));
+		return this.listenEvaluationTicks(new InterpretationResult(this.settings))
+										   .listenMeasurements(MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC_TUPLE,
+																  "taskCount")
+										   .triggerChecker(new TaskCountTriggerChecker(this.trigger, object, this.scalingTriggerInterpreter.policy.getTargetGroup(),
+																					   this.scalingTriggerInterpreter.windows));
 	}
 
 
 	@Override
 	public InterpretationResult caseQueueLength(final QueueLength object) {
+		this.checkNoTrend(object);
 		if (!(this.scalingTriggerInterpreter.policy.getTargetGroup() instanceof CompetingConsumersGroup)) {
 			throw new IllegalArgumentException("The QueueLength trigger is only for CompetingConsumersGroup");
 		}
 
-		return (new InterpretationResult()).listenEvent(Subscriber.builder(MeasurementMade.class).name("queueLength"))
+		if (this.settings.getQueueLengthAggregation() != null) {
+			return this.listenEvaluationTicks(new InterpretationResult(this.settings))
+					.listenMeasurements(MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC_TUPLE, "queueLength")
+					.triggerChecker(new QueueLengthTriggerChecker(this.trigger, object,
+							this.scalingTriggerInterpreter.policy.getTargetGroup(),
+							this.scalingTriggerInterpreter.windows));
+		}
+		return (new InterpretationResult(this.settings)).listenMeasurements(MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC_TUPLE, "queueLength")
 				.triggerChecker(new QueueLengthTriggerChecker(this.trigger, object));
 	}
 
+	/**
+	 * Declares that the trigger checker is evaluated on the evaluation ticks of
+	 * its target group, if enabled. The ticks themselves are scheduled once per
+	 * target group by the {@link SpdInterpreter}.
+	 */
+	private InterpretationResult listenEvaluationTicks(final InterpretationResult result) {
+		if (this.settings.isEvaluationTickEnabled()) {
+			result.listenEvent(EvaluationTickReached.class, "evaluationTick");
+		}
+		return result;
+	}
+
+	/**
+	 * Trends are only supported for stimuli that are aggregated over a window,
+	 * since single values have no trend.
+	 */
+	private void checkNoTrend(final Stimulus stimulus) {
+		if (this.trigger instanceof SimpleFireOnTrend) {
+			throw new IllegalArgumentException(String.format("The SimpleFireOnTrend trigger is not supported for the stimulus %s",
+					stimulus.eClass().getName()));
+		}
+	}
+
+	/**
+	 * Like {@link #checkExpectedValue(Class)}, but a {@link SimpleFireOnTrend} may
+	 * also have no expectation, in which case any change in the direction of the
+	 * trend fires.
+	 * 
+	 * @return the expected value, or {@code null} if a trend has no expectation.
+	 */
+	private <T extends ExpectedValue> T checkExpectedValueOfTrend(final Class<T> expectedType) {
+		if (this.trigger instanceof SimpleFireOnTrend && this.trigger.getExpectedValue() instanceof NoExpectation) {
+			return null;
+		}
+		return this.checkExpectedValue(expectedType);
+	}
+
 	@SuppressWarnings("unchecked")
 	private <T extends ExpectedValue> T checkExpectedValue(final Class<T> expectedType) {
 		if (!(expectedType.isAssignableFrom(this.trigger.getExpectedValue().getClass()))) {
@@ -0,0 +1,63 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.palladiosimulator.spd.ScalingPolicy;
+
+/**
+ * The profile of a single {@link SPDAdjustorContext}: the statistics of its
+ * whole filter chain, and of every filter in the chain.
+ *
+ * @author agent
+ */
+public final class AdjustorContextProfile {
+
+	private final String policyId;
+	private final String policyName;
+	private final FilterStatistics chain;
+	private final List<FilterStatistics> filters = new ArrayList<>();
+
+	public AdjustorContextProfile(final ScalingPolicy policy) {
+		this.policyId = policy.getId();
+		this.policyName = policy.getEntityName();
+		this.chain = new FilterStatistics("chain");
+	}
+
+	/**
+	 * Wraps the filter such that its invocations are profiled. Filters must be
+	 * instrumented in the order of the chain.
+	 *
+	 * @param filter The filter to add to the chain.
+	 * @return The decorated filter.
+	 */
+	public Filter instrument(final Filter filter) {
+		final FilterStatistics statistics = new FilterStatistics(filter.getClass().getSimpleName());
+		this.filters.add(statistics);
+		return new ProfilingFilter(filter, statistics);
+	}
+
+	public String getPolicyId() {
+		return this.policyId;
+	}
+
+	public String getPolicyName() {
+		return this.policyName;
+	}
+
+	/**
+	 * @return the statistics of the chain as a whole; it is successful iff an
+	 *         event was produced.
+	 */
+	public FilterStatistics getChain() {
+		return this.chain;
+	}
+
+	/**
+	 * @return the statistics of each filter, in the order of the chain.
+	 */
+	public List<FilterStatistics> getFilters() {
+		return Collections.unmodifiableList(this.filters);
+	}
+}
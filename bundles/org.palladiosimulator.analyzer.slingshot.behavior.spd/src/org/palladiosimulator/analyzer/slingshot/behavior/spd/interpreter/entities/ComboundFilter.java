@@ -2,6 +2,8 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entiti
 
 public abstract class ComboundFilter extends FilterChain implements Filter {
 
+	private static final String NO_RESULT = "The filter did not return a result.";
+
 	public ComboundFilter(SPDAdjustorState state) {
 		super(state);
 	}
@@ -16,4 +18,62 @@ public abstract class ComboundFilter extends FilterChain implements Filter {
 		super(null);
 	}
 
+	/**
+	 * A compound filter is side-effect free if all of its children are.
+	 */
+	@Override
+	public boolean isSideEffectFree() {
+		for (final Filter filter : this.getFilterArray()) {
+			if (!filter.isSideEffectFree()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Evaluates the children in the order given by the planner, with each child
+	 * receiving the original event, until the result is decided by the first
+	 * disregard of a conjunction or the first success of a disjunction. As the
+	 * planner only reorders side-effect-free children, every child with side
+	 * effects sees exactly the events it would see in model order.
+	 *
+	 * @param event       The event to filter.
+	 * @param planner     The planner deciding the order of the children.
+	 * @param conjunctive true for a logical AND, false for a logical OR.
+	 * @return success with the original event, or disregard with the reason of
+	 *         the last disregarding child.
+	 */
+	protected FilterResult evaluatePlanned(final FilterObjectWrapper event, final CostBasedFilterPlanner planner,
+			final boolean conjunctive) {
+		final Filter[] children = this.getFilterArray();
+		planner.setFilters(children);
+		final boolean sample = planner.beginPass();
+		final int[] order = planner.order();
+
+		boolean outcome = conjunctive;
+		Object lastReason = NO_RESULT;
+
+		for (final int index : order) {
+			final long start = sample ? System.nanoTime() : 0;
+			FilterResult result;
+			try {
+				result = children[index].doProcess(event);
+			} catch (final Exception e) {
+				result = FilterResult.disregard(e);
+			}
+			final boolean passed = result instanceof FilterResult.Success;
+			planner.record(index, passed, sample ? System.nanoTime() - start : -1);
+
+			if (result instanceof final FilterResult.Disregard disregard) {
+				lastReason = disregard.reason();
+			}
+			if (passed != conjunctive) {
+				outcome = passed;
+				break;
+			}
+		}
+
+		return outcome ? FilterResult.success(event.getEventToFilter()) : FilterResult.disregard(lastReason);
+	}
 }
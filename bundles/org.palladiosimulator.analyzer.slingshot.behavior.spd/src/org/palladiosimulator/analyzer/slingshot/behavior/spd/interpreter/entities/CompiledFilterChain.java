@@ -0,0 +1,102 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import java.util.function.Consumer;
+
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+
+/**
+ * A {@link FilterChain} that flattens its filters into an array and passes an
+ * event through them in a loop instead of recursing through
+ * {@link #next(DESEvent)}. A single {@link FilterObjectWrapper} is reused for
+ * every filter step, so the chain itself does not allocate anything per event.
+ * The {@link FilterResult}s are created by the filters, and are immutable
+ * records that the profiles may keep, so they are not reused. Only a filter
+ * that throws gets a {@link FilterResult.Disregard} created by the chain,
+ * which keeps the exception as the reason.
+ * <p>
+ * The {@link Filter} contract stays the same: A {@link FilterResult.Success}
+ * hands its event to the next filter, a {@link FilterResult.Disregard} stops
+ * the chain and is delegated to the disregard callback. In contrast to the
+ * recursive chain, a filter returning {@code null} also stops the chain,
+ * instead of leaving the chain in use for the next event.
+ * <p>
+ * If enabled, a {@link CostBasedFilterPlanner} reorders the side-effect-free
+ * filters of the chain.
+ * <p>
+ * Compound filters rely on the recursive behavior of {@link FilterChain},
+ * which is why this chain is only used as the top-level chain of an
+ * {@link SPDAdjustorContext}.
+ *
+ * @author agent
+ */
+public class CompiledFilterChain extends FilterChain {
+
+	private static final String NO_RESULT = "The filter did not return a result.";
+
+	private final FilterObjectWrapper wrapper;
+
+	/** Reorders side-effect-free filters if enabled, otherwise {@code null}. */
+	private final CostBasedFilterPlanner planner;
+
+	public CompiledFilterChain(final Consumer<Object> doOnDisregard, final SPDAdjustorState state) {
+		this(doOnDisregard, state, false);
+	}
+
+	/**
+	 * @param planned whether a {@link CostBasedFilterPlanner} reorders the
+	 *                side-effect-free filters.
+	 */
+	public CompiledFilterChain(final Consumer<Object> doOnDisregard, final SPDAdjustorState state,
+			final boolean planned) {
+		super(doOnDisregard, state);
+		this.wrapper = new FilterObjectWrapper(null, state);
+		this.planner = planned ? CostBasedFilterPlanner.forChain() : null;
+	}
+
+	/**
+	 * Passes the event through every filter of the chain. The chain is never
+	 * left in use, so {@link #filterIsBeingUsed()} is false after this call.
+	 *
+	 * @param event The event to pass to the first filter.
+	 */
+	@Override
+	public void next(final DESEvent event) {
+		final Filter[] filters = this.getFilterArray();
+		int[] order = null;
+		boolean sample = false;
+		if (this.planner != null) {
+			this.planner.setFilters(filters);
+			sample = this.planner.beginPass();
+			order = this.planner.order();
+		}
+
+		DESEvent current = event;
+		for (int i = 0; i < filters.length; i++) {
+			final int index = order == null ? i : order[i];
+			final long start = sample ? System.nanoTime() : 0;
+			this.wrapper.rewrap(current);
+			FilterResult result;
+			try {
+				result = filters[index].doProcess(this.wrapper);
+			} catch (final Exception e) {
+				result = FilterResult.disregard(e);
+			}
+			this.latestResult = result;
+			if (this.planner != null) {
+				this.planner.record(index, result instanceof FilterResult.Success,
+						sample ? System.nanoTime() - start : -1);
+			}
+
+			if (result instanceof final FilterResult.Success success) {
+				current = success.nextEvent();
+			} else {
+				this.wrapper.rewrap(null);
+				this.disregard(result instanceof final FilterResult.Disregard disregard
+						? disregard.reason()
+						: NO_RESULT);
+				return;
+			}
+		}
+		this.wrapper.rewrap(null);
+	}
+}
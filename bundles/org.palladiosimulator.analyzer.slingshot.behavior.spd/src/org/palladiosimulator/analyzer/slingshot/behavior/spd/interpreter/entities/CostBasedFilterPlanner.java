@@ -0,0 +1,182 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Decides in which order the filters of a chain or a compound filter are
+ * evaluated, based on their cost and selectivity measured at runtime.
+ * <p>
+ * Only filters that are {@link Filter#isSideEffectFree() side-effect free} are
+ * moved, so that filters which aggregate measurements or change the state still
+ * see exactly the events they would see in model order. In a
+ * {@link #forChain() chain} as well as in a {@link #forCompound(boolean)
+ * compound filter}, every filter may decide the result and cut off the filters
+ * behind it. Hence, side-effect-free filters are only reordered within a
+ * maximal run of side-effect-free filters; all other filters keep their
+ * position, and a run is reached under the same conditions in every order.
+ * <p>
+ * For a conjunction, the filters are sorted by {@code cost / (1 - passRate)},
+ * i.e. cheap filters that disregard often go first. For a disjunction, they are
+ * sorted by {@code cost / passRate}.
+ * <p>
+ * The cost is only sampled every {@value #SAMPLE_INTERVAL}th pass, and the
+ * order is re-planned every {@value #PLAN_INTERVAL} passes.
+ *
+ * @author agent
+ */
+public final class CostBasedFilterPlanner {
+
+	private static final int SAMPLE_INTERVAL = 16;
+	private static final int PLAN_INTERVAL = 1024;
+	private static final double EPSILON = 1e-3;
+
+	private final boolean conjunctive;
+
+	private Filter[] filters = new Filter[0];
+	private boolean[] sideEffectFree = new boolean[0];
+	private long[] invocations = new long[0];
+	private long[] passes = new long[0];
+	private long[] samples = new long[0];
+	private long[] sampledNanos = new long[0];
+	private int[] order = new int[0];
+
+	private long passCount;
+
+	private CostBasedFilterPlanner(final boolean conjunctive) {
+		this.conjunctive = conjunctive;
+	}
+
+	/**
+	 * Creates a planner for a {@link FilterChain}, where the filters are
+	 * evaluated one after another until the first disregard.
+	 */
+	public static CostBasedFilterPlanner forChain() {
+		return new CostBasedFilterPlanner(true);
+	}
+
+	/**
+	 * Creates a planner for a compound filter, where the children are evaluated
+	 * one after another until the result is decided.
+	 *
+	 * @param conjunctive true for a logical AND, false for a logical OR.
+	 */
+	public static CostBasedFilterPlanner forCompound(final boolean conjunctive) {
+		return new CostBasedFilterPlanner(conjunctive);
+	}
+
+	/**
+	 * Sets the filters to plan for, and resets all statistics. Does nothing if
+	 * the filters are the same as before.
+	 *
+	 * @param filters The filters in model order.
+	 */
+	public void setFilters(final Filter[] filters) {
+		if (filters == this.filters) {
+			return;
+		}
+		final int n = filters.length;
+		this.filters = filters;
+		this.sideEffectFree = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			this.sideEffectFree[i] = filters[i].isSideEffectFree();
+		}
+		this.invocations = new long[n];
+		this.passes = new long[n];
+		this.samples = new long[n];
+		this.sampledNanos = new long[n];
+		this.order = this.initialOrder();
+		this.passCount = 0;
+	}
+
+	/**
+	 * Starts a new pass through the filters, and re-plans the order if due.
+	 *
+	 * @return true iff the cost of the filters should be sampled in this pass.
+	 */
+	public boolean beginPass() {
+		this.passCount++;
+		if (this.passCount % PLAN_INTERVAL == 0) {
+			this.plan();
+		}
+		return this.passCount % SAMPLE_INTERVAL == 0;
+	}
+
+	/**
+	 * Returns the indices of the filters in the order they should be evaluated.
+	 * The array must not be modified.
+	 */
+	public int[] order() {
+		return this.order;
+	}
+
+	/**
+	 * Records the outcome of a filter.
+	 *
+	 * @param index  The index of the filter in model order.
+	 * @param passed Whether the filter was successful.
+	 * @param nanos  The time the filter took, or a negative number if it was not
+	 *               sampled.
+	 */
+	public void record(final int index, final boolean passed, final long nanos) {
+		this.invocations[index]++;
+		if (passed) {
+			this.passes[index]++;
+		}
+		if (nanos >= 0) {
+			this.samples[index]++;
+			this.sampledNanos[index] += nanos;
+		}
+	}
+
+	private int[] initialOrder() {
+		final int n = this.filters.length;
+		final int[] result = new int[n];
+		for (int i = 0; i < n; i++) {
+			result[i] = i;
+		}
+		return result;
+	}
+
+	private void plan() {
+		final int[] newOrder = this.initialOrder();
+		final Comparator<Integer> byRank = Comparator.comparingDouble(this::rank);
+
+		int start = 0;
+		while (start < newOrder.length) {
+			if (!this.sideEffectFree[newOrder[start]]) {
+				start++;
+				continue;
+			}
+			int end = start;
+			while (end < newOrder.length && this.sideEffectFree[newOrder[end]]) {
+				end++;
+			}
+			final Integer[] run = new Integer[end - start];
+			for (int i = start; i < end; i++) {
+				run[i - start] = newOrder[i];
+			}
+			Arrays.sort(run, byRank); // stable, so ties keep model order
+			for (int i = start; i < end; i++) {
+				newOrder[i] = run[i - start];
+			}
+			start = end;
+		}
+		this.order = newOrder;
+	}
+
+	/**
+	 * Filters that were not measured yet get the lowest rank, so that they are
+	 * evaluated (and measured) early in the next period.
+	 */
+	private double rank(final int index) {
+		if (this.invocations[index] == 0 || this.samples[index] == 0) {
+			return 0;
+		}
+		final double cost = (double) this.sampledNanos[index] / this.samples[index];
+		final double passRate = (double) this.passes[index] / this.invocations[index];
+		return this.conjunctive
+				? cost / Math.max(1 - passRate, EPSILON)
+				: cost / Math.max(passRate, EPSILON);
+	}
+}
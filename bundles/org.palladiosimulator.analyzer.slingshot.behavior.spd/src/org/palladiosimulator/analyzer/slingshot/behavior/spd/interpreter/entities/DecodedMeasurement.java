@@ -0,0 +1,24 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+
+/**
+ * The primitive values of a {@code MeasurementMade} that the SPD interpretation
+ * reads, as decoded once per measurement by the {@link MeasurementDecoder}.
+ * The ids are those interned by the decoder.
+ *
+ * @param time             the point in time of the measurement, or the time of
+ *                         the event if the measurement has none.
+ * @param value            the value of the measured metric (see
+ *                         {@link MeasurementDecoder#getValueMetric(int)}), or
+ *                         {@link Double#NaN} if there is none.
+ * @param metricId         the id of the metric description of the
+ *                         measurement.
+ * @param measuringPointId the id of the measuring point.
+ * @param containerIndex   the id of the resource container the measuring point
+ *                         refers to, or {@link MeasurementDecoder#NO_CONTAINER}.
+ *
+ * @author agent
+ */
+public record DecodedMeasurement(double time, double value, int metricId, int measuringPointId, int containerIndex) {
+}
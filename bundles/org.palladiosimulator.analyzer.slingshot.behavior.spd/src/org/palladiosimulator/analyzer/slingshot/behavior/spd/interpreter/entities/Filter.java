@@ -19,4 +19,16 @@ public interface Filter {
 	 */
 	public FilterResult doProcess(final FilterObjectWrapper event);
 
+	/**
+	 * Returns whether this filter neither changes any state nor transforms the
+	 * event, i.e. whether it is safe to skip it or to evaluate it in a different
+	 * order (see {@link CostBasedFilterPlanner}). Filters that aggregate
+	 * measurements are not side-effect free.
+	 * 
+	 * @return true iff the filter is side-effect free. Defaults to false.
+	 */
+	public default boolean isSideEffectFree() {
+		return false;
+	}
+
 }
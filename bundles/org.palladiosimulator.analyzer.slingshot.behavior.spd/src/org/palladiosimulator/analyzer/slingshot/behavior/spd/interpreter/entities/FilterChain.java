@@ -28,10 +28,13 @@ public class FilterChain {
 
 	protected final List<Filter> filters = new ArrayList<>();
 	private final Consumer<Object> doOnDisregard;
-	private final SPDAdjustorState state;
+	protected final SPDAdjustorState state;
 	
 	protected Iterator<Filter> iterator;
-	private FilterResult latestResult;
+	protected FilterResult latestResult;
+
+	/** The filters as an array, or {@code null} if the chain was changed since. */
+	private Filter[] filterArray;
 	
 	/**
 	 * Constructs a new and empty filter chain. A non-null delegator
@@ -63,11 +66,13 @@ public class FilterChain {
 	public void add(final Filter filter) {
 		this.checkThatChainIsNotCurrentlyUsed();
 		this.filters.add(filter);
+		this.filterArray = null;
 	}
 
 	public void addAll(final Collection<? extends Filter> filters) {
 		this.checkThatChainIsNotCurrentlyUsed();
 		this.filters.addAll(filters);
+		this.filterArray = null;
 	}
 
 	/**
@@ -85,6 +90,7 @@ public class FilterChain {
 	public void add(final int i, final Filter filter) {
 		this.checkThatChainIsNotCurrentlyUsed();
 		this.filters.add(i, filter);
+		this.filterArray = null;
 	}
 
 	/**
@@ -153,6 +159,19 @@ public class FilterChain {
 		return this.filters.size();
 	}
 
+	/**
+	 * Returns the filters of this chain as an array, which is only copied again
+	 * after the chain was changed. The array must not be modified.
+	 *
+	 * @return the filters in their order.
+	 */
+	protected Filter[] getFilterArray() {
+		if (this.filterArray == null) {
+			this.filterArray = this.filters.toArray(new Filter[0]);
+		}
+		return this.filterArray;
+	}
+
 	private void checkThatChainIsNotCurrentlyUsed() {
 		if (this.filterIsBeingUsed()) {
 			throw new IllegalStateException("The filter chain is currently in use (next() was called before) or hasn't reached "
@@ -12,7 +12,7 @@ import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
  */
 public final class FilterObjectWrapper {
 
-	private final DESEvent eventToFilter;
+	private DESEvent eventToFilter;
 	private final SPDAdjustorState state;
 	
 	public FilterObjectWrapper(DESEvent objectToFilter, SPDAdjustorState state) {
@@ -29,5 +29,13 @@ public final class FilterObjectWrapper {
 		return state;
 	}
 	
+	/**
+	 * Replaces the wrapped event, so that the same wrapper can be passed to
+	 * every filter of a {@link CompiledFilterChain}.
+	 */
+	void rewrap(final DESEvent objectToFilter) {
+		this.eventToFilter = objectToFilter;
+	}
+	
 	
 }
@@ -0,0 +1,165 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+
+/**
+ * Counts how often a filter (or a whole chain) was invoked, how long it took,
+ * and how often it was successful or disregarded. The reasons for disregarding
+ * are kept in a histogram of at most {@value #MAX_REASONS} distinct reason
+ * categories; further categories are counted as {@value #OTHER_REASONS}. The
+ * category of a message is its template, i.e. the message with the numbers
+ * and embedded events masked, so that messages like
+ * {@code "Max number scales reached: 3 >= 2"} share one slot.
+ * <p>
+ * All counters are {@link LongAdder}s, so recording only locks the first time
+ * a category is seen.
+ *
+ * @author agent
+ */
+public final class FilterStatistics {
+
+	public static final int MAX_REASONS = 32;
+	public static final String OTHER_REASONS = "<other>";
+	public static final String NO_RESULT = "<no result>";
+
+	private static final Pattern EMBEDDED_EVENT = Pattern.compile("\\[\\[.*?\\]\\]");
+	private static final Pattern IDENTITY_HASH = Pattern.compile("@[0-9a-fA-F]+\\b");
+	private static final Pattern NUMBER = Pattern.compile("[-+]?(?:\\d+\\.?\\d*|\\.\\d+)(?:[eE][-+]?\\d+)?|NaN|-?Infinity");
+
+	private final String name;
+
+	private final LongAdder invocations = new LongAdder();
+	private final LongAdder nanos = new LongAdder();
+	private final LongAdder successes = new LongAdder();
+	private final LongAdder disregards = new LongAdder();
+	private final Map<String, LongAdder> disregardReasons = new ConcurrentHashMap<>();
+
+	public FilterStatistics(final String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Records one invocation.
+	 *
+	 * @param nanos  The time the invocation took.
+	 * @param result The result of the invocation, may be {@code null}.
+	 */
+	public void record(final long nanos, final FilterResult result) {
+		if (result instanceof final FilterResult.Disregard disregard) {
+			this.recordDisregard(nanos, disregard.reason());
+		} else if (result instanceof FilterResult.Success) {
+			this.invocations.increment();
+			this.nanos.add(nanos);
+			this.successes.increment();
+		} else {
+			this.recordDisregard(nanos, NO_RESULT);
+		}
+	}
+
+	/**
+	 * Records one invocation that did not succeed.
+	 *
+	 * @param nanos  The time the invocation took.
+	 * @param reason The reason, as given to {@link FilterResult#disregard(Object)}
+	 *               or the exception that was thrown.
+	 */
+	public void recordDisregard(final long nanos, final Object reason) {
+		this.invocations.increment();
+		this.nanos.add(nanos);
+		this.disregards.increment();
+
+		final String key = reasonKey(reason);
+		LongAdder counter = this.disregardReasons.get(key);
+		if (counter == null) {
+			counter = this.newReasonCounter(key);
+		}
+		counter.increment();
+	}
+
+	/**
+	 * Adds the counter of a category, or of {@value #OTHER_REASONS} if the
+	 * histogram is full. Synchronized, so that parallel evaluations cannot exceed
+	 * the limit between checking the size and inserting.
+	 */
+	private synchronized LongAdder newReasonCounter(final String key) {
+		final LongAdder counter = this.disregardReasons.get(key);
+		if (counter != null) {
+			return counter;
+		}
+		final String slot = this.disregardReasons.size() < MAX_REASONS ? key : OTHER_REASONS;
+		return this.disregardReasons.computeIfAbsent(slot, k -> new LongAdder());
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	public long getInvocations() {
+		return this.invocations.sum();
+	}
+
+	public long getNanos() {
+		return this.nanos.sum();
+	}
+
+	public long getSuccesses() {
+		return this.successes.sum();
+	}
+
+	public long getDisregards() {
+		return this.disregards.sum();
+	}
+
+	/**
+	 * @return a snapshot of the disregard reasons, the most frequent first.
+	 */
+	public Map<String, Long> getDisregardReasons() {
+		final Map<String, Long> snapshot = new LinkedHashMap<>();
+		this.disregardReasons.entrySet()
+				.stream()
+				.sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum())
+						.reversed())
+				.forEach(entry -> snapshot.put(entry.getKey(), entry.getValue().sum()));
+		return snapshot;
+	}
+
+	/**
+	 * Maps a reason to its histogram key. Events and exceptions are reduced to
+	 * their type, and enum constants such as a {@code NotEmittableReason} to
+	 * their name, as the string representations of the former are different for
+	 * every instance. Messages are reduced to their template.
+	 */
+	private static String reasonKey(final Object reason) {
+		if (reason == null) {
+			return NO_RESULT;
+		}
+		if (reason instanceof final DESEvent event) {
+			return "event " + event.getClass().getSimpleName();
+		}
+		if (reason instanceof final Throwable throwable) {
+			return "exception " + throwable.getClass().getName();
+		}
+		if (reason instanceof final Enum<?> constant) {
+			return constant.getDeclaringClass().getSimpleName() + "." + constant.name();
+		}
+		return template(reason.toString());
+	}
+
+	/**
+	 * Masks the parts of a message that differ between otherwise equal
+	 * messages: embedded events in {@code [[...]]}, identity hash codes, and
+	 * numbers.
+	 */
+	static String template(final String message) {
+		final String withoutEvents = EMBEDDED_EVENT.matcher(message).replaceAll("[[...]]");
+		final String withoutHashes = IDENTITY_HASH.matcher(withoutEvents).replaceAll("@#");
+		return NUMBER.matcher(withoutHashes).replaceAll("#");
+	}
+}
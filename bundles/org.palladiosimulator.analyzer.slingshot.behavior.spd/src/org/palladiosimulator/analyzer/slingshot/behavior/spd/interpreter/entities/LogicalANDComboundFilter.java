@@ -4,10 +4,28 @@ import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 
 public class LogicalANDComboundFilter extends ComboundFilter {
 
+	/** Reorders side-effect-free filters if enabled, otherwise {@code null}. */
+	private final CostBasedFilterPlanner planner;
+
 	private FilterResult result;
 
+	public LogicalANDComboundFilter() {
+		this(false);
+	}
+
+	/**
+	 * @param planned whether a {@link CostBasedFilterPlanner} reorders the
+	 *                side-effect-free filters.
+	 */
+	public LogicalANDComboundFilter(final boolean planned) {
+		this.planner = planned ? CostBasedFilterPlanner.forCompound(true) : null;
+	}
+
 	@Override
 	public FilterResult doProcess(final FilterObjectWrapper event) {
+		if (this.planner != null) {
+			return this.evaluatePlanned(event, this.planner, true);
+		}
 		result = null;
 		this.next(event.getEventToFilter());
 		return result;
@@ -4,12 +4,30 @@ import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 
 public class LogicalORCompoundFilter extends ComboundFilter {
 
+	/** Reorders side-effect-free filters if enabled, otherwise {@code null}. */
+	private final CostBasedFilterPlanner planner;
+
 	private FilterResult result = null;
 	private DESEvent eventToProcess;
 	private int numberDisregarded;
 
+	public LogicalORCompoundFilter() {
+		this(false);
+	}
+
+	/**
+	 * @param planned whether a {@link CostBasedFilterPlanner} reorders the
+	 *                side-effect-free filters.
+	 */
+	public LogicalORCompoundFilter(final boolean planned) {
+		this.planner = planned ? CostBasedFilterPlanner.forCompound(false) : null;
+	}
+
 	@Override
 	public FilterResult doProcess(final FilterObjectWrapper event) {
+		if (this.planner != null) {
+			return this.evaluatePlanned(event, this.planner, false);
+		}
 		result = null;
 		this.eventToProcess = event.getEventToFilter();
 		this.numberDisregarded = 0;
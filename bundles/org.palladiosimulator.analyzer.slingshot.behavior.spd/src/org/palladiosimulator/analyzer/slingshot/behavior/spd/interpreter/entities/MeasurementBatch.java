@@ -0,0 +1,54 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
+import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+
+/**
+ * An event that carries all the measurements of a target group that were made
+ * at the same simulation time. It is scheduled without delay when the first
+ * measurement of that time arrives, and collects every further measurement
+ * until it is delivered. The filter chains then evaluate the whole batch once,
+ * instead of once per measurement.
+ *
+ * Like {@link org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached},
+ * this event carries the target group (identifier) it belongs to.
+ *
+ * @author agent
+ */
+public class MeasurementBatch extends AbstractSimulationEvent implements SpdBasedEvent {
+
+	private final String targetGroupId;
+	private final List<MeasurementMade> measurements = new ArrayList<>();
+
+	/**
+	 * Constructs a new, empty batch.
+	 *
+	 * @param targetGroupId  The target group identifier this batch belongs to.
+	 * @param simulationTime The simulation time of the measurements.
+	 */
+	public MeasurementBatch(final String targetGroupId, final double simulationTime) {
+		super(0);
+		this.targetGroupId = targetGroupId;
+		this.setTime(simulationTime);
+	}
+
+	public void add(final MeasurementMade measurementMade) {
+		this.measurements.add(measurementMade);
+	}
+
+	public String getTargetGroupId() {
+		return targetGroupId;
+	}
+
+	/**
+	 * @return the measurements in the order of their arrival.
+	 */
+	public List<MeasurementMade> getMeasurements() {
+		return Collections.unmodifiableList(measurements);
+	}
+}
@@ -0,0 +1,45 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+/**
+ * A decorator that records the outcome and the duration of every invocation of
+ * a filter into {@link FilterStatistics}.
+ *
+ * @author agent
+ */
+public final class ProfilingFilter implements Filter {
+
+	private final Filter delegate;
+	private final FilterStatistics statistics;
+
+	public ProfilingFilter(final Filter delegate, final FilterStatistics statistics) {
+		this.delegate = delegate;
+		this.statistics = statistics;
+	}
+
+	@Override
+	public FilterResult doProcess(final FilterObjectWrapper event) {
+		final long start = System.nanoTime();
+		final FilterResult result;
+		try {
+			result = this.delegate.doProcess(event);
+		} catch (final RuntimeException e) {
+			this.statistics.recordDisregard(System.nanoTime() - start, e);
+			throw e;
+		}
+		this.statistics.record(System.nanoTime() - start, result);
+		return result;
+	}
+
+	@Override
+	public boolean isSideEffectFree() {
+		return this.delegate.isSideEffectFree();
+	}
+
+	public Filter getDelegate() {
+		return this.delegate;
+	}
+
+	public FilterStatistics getStatistics() {
+		return this.statistics;
+	}
+}
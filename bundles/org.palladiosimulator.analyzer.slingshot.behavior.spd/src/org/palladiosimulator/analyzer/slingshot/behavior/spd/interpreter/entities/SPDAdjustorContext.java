@@ -3,6 +3,7 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entiti
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -11,10 +12,12 @@ import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.constraint.AbstractConstraintFilter;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.targetgroup.TargetGroupChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.TriggerChecker;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.EventHandler;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.Subscriber;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.spd.ModelBasedScalingPolicy;
 import org.palladiosimulator.spd.ScalingPolicy;
 import org.palladiosimulator.spd.constraints.policy.IntervalConstraint;
@@ -40,21 +43,41 @@ public final class SPDAdjustorContext {
     private static final Logger LOGGER = Logger.getLogger(SPDAdjustorContext.class);
 
     private final FilterChain filterChain;
+    private final TargetGroupChecker targetGroupChecker;
     private final ScalingPolicy scalingPolicy;
     private final Set<Subscriber<? extends DESEvent>> associatedHandlers;
 
+    /** The profile of the filter chain if profiling is enabled, otherwise {@code null}. */
+    private final AdjustorContextProfile profile;
+
     private SPDAdjustorState state;
     private final SPDAdjustorState previousState;
 
     public SPDAdjustorContext(final ScalingPolicy policy, final Filter triggerChecker,
             final List<Subscriber.Builder<? extends DESEvent>> associatedHandlers,
             final TargetGroupState targetGroupState) {
+        this(policy, triggerChecker, associatedHandlers, targetGroupState, SpdInterpreterSettings.DEFAULTS);
+    }
+
+    /**
+     * @param settings
+     *            the settings that select the filter chain and whether it is profiled.
+     */
+    public SPDAdjustorContext(final ScalingPolicy policy, final Filter triggerChecker,
+            final List<Subscriber.Builder<? extends DESEvent>> associatedHandlers,
+            final TargetGroupState targetGroupState, final SpdInterpreterSettings settings) {
         this.scalingPolicy = policy;
 
         state = new SPDAdjustorState(policy, targetGroupState);
         previousState = new SPDAdjustorState(policy, targetGroupState);
 
-        this.filterChain = new FilterChain(this::doOnDisregard, state);
+        this.targetGroupChecker = new TargetGroupChecker(policy.getTargetGroup());
+
+        this.filterChain = settings.isCompiledFilterChainEnabled()
+                ? new CompiledFilterChain(this::doOnDisregard, state, settings.isFilterPlannerEnabled())
+                : new FilterChain(this::doOnDisregard, state);
+
+        this.profile = settings.isProfilingEnabled() ? new AdjustorContextProfile(policy) : null;
 
         initializeFilterChain(triggerChecker);
 
@@ -77,26 +100,31 @@ public final class SPDAdjustorContext {
      *            filter to check the policie's {@link ScalingTrigger}.
      */
     private void initializeFilterChain(final Filter triggerChecker) {
-        this.filterChain.add(new TargetGroupChecker(this.scalingPolicy.getTargetGroup()));
+        this.addFilter(this.targetGroupChecker);
 
-        this.filterChain.add(triggerChecker);
+        this.addFilter(triggerChecker);
 
         scalingPolicy.getTargetGroup()
             .getTargetConstraints()
             .stream()
             .filter(constraint -> constraint instanceof final ThrashingConstraint thrashingConstraint)
             .map(constraint -> (ThrashingConstraint) constraint)
-            .forEach(constraint -> this.filterChain
-                .add(AbstractConstraintFilter.createAbstractConstraintFilter(constraint)));
+            .forEach(constraint -> this.addFilter(AbstractConstraintFilter.createAbstractConstraintFilter(constraint)));
 
         scalingPolicy.getPolicyConstraints()
             .stream()
             .filter(constraint -> !(this.scalingPolicy instanceof ModelBasedScalingPolicy
                     && constraint instanceof IntervalConstraint))
-            .forEach(constraint -> this.filterChain
-                .add(AbstractConstraintFilter.createAbstractConstraintFilter(constraint)));
+            .forEach(constraint -> this.addFilter(AbstractConstraintFilter.createAbstractConstraintFilter(constraint)));
+
+        this.addFilter(new Adjustor(this.scalingPolicy));
+    }
 
-        this.filterChain.add(new Adjustor(this.scalingPolicy));
+    /**
+     * Adds the filter to the end of the chain, decorated for profiling if enabled.
+     */
+    private void addFilter(final Filter filter) {
+        this.filterChain.add(this.profile == null ? filter : this.profile.instrument(filter));
     }
 
     public FilterChain getFilterChain() {
@@ -111,9 +139,72 @@ public final class SPDAdjustorContext {
         return associatedHandlers;
     }
 
+    /**
+     * @return the profile of this context, or empty if profiling is disabled (see
+     *         {@link SpdInterpreterSettings#isProfilingEnabled()}).
+     */
+    public Optional<AdjustorContextProfile> getProfile() {
+        return Optional.ofNullable(this.profile);
+    }
+
+    /**
+     * Checks whether measurements of the given measuring point can be relevant for this context,
+     * i.e. whether the measuring point is inside the policy's target group.
+     *
+     * @param measuringPoint
+     *            the measuring point of a measurement.
+     * @return true iff the {@link TargetGroupChecker} of this context would accept the measurement.
+     */
+    public boolean isRelevant(final MeasuringPoint measuringPoint) {
+        return this.targetGroupChecker.isRelevant(measuringPoint);
+    }
+
+    /**
+     * Checks whether this context may be evaluated on another thread than the other contexts. This
+     * is not the case for model-based policies, as their models draw from shared random number
+     * generators, which would make the results depend on the thread scheduling.
+     *
+     * @return true iff this context can be evaluated in parallel to contexts of other target
+     *         groups.
+     */
+    public boolean isParallelizable() {
+        return !(this.scalingPolicy instanceof ModelBasedScalingPolicy);
+    }
+
+    /**
+     * Passes the event through the filter chain of this context.
+     *
+     * @param event
+     *            the event to filter.
+     * @return the resulting event if all filters were successful, otherwise empty.
+     */
+    public Optional<DESEvent> process(final DESEvent event) {
+        final long start = this.profile == null ? 0 : System.nanoTime();
+        filterChain.next(event);
+        final FilterResult filterResult = filterChain.getLatestResult();
+        if (this.profile != null) {
+            this.profile.getChain()
+                .record(System.nanoTime() - start, filterResult);
+        }
+
+        if (filterResult instanceof final FilterResult.Success success) {
+            final DESEvent result = success.nextEvent();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Got a result after filtering! " + result.getClass()
+                    .getSimpleName());
+            }
+
+            return Optional.of(result);
+        }
+        return Optional.empty();
+    }
+
     private void doOnDisregard(final Object reason) {
         this.state = previousState;
-        LOGGER.debug("Filter was not successful: " + reason.toString());
+        /* Most events are disregarded, so the message is only built if it is logged. */
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Filter was not successful: " + reason.toString());
+        }
     }
 
     @Override
@@ -139,15 +230,9 @@ public final class SPDAdjustorContext {
 
         @Override
         public Result<?> acceptEvent(final DESEvent event) throws Exception {
-            filterChain.next(event);
-            final FilterResult filterResult = filterChain.getLatestResult();
-
-            if (filterResult instanceof final FilterResult.Success success) {
-                final Object result = success.nextEvent();
-                LOGGER.debug("Got a result after filtering! " + result.getClass()
-                    .getSimpleName());
-
-                return Result.of(result);
+            final Optional<DESEvent> result = process(event);
+            if (result.isPresent()) {
+                return Result.of(result.get());
             } else {
                 return Result.empty();
             }
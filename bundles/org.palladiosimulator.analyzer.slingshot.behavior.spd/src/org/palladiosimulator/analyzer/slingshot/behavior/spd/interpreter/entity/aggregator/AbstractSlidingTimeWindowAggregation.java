@@ -0,0 +1,128 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.IncrementalMeanAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.IncrementalRateOfChangeAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.IncrementalSumAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Base class for sliding time windows that maintain their aggregate incrementally. The windows
+ * share the following semantics:
+ *
+ * <ul>
+ * <li>When a value arrives at {@code time}, every value with a timestamp
+ * {@code <= time - windowSize} leaves the window.
+ * <li>A value can be emitted once the last timestamp is larger than the window size, and at most
+ * every {@code noEmitDuration} seconds.
+ * </ul>
+ *
+ * Subclasses only maintain their data structure in {@link #evict(double)} and
+ * {@link #add(double, double)}, and compute the aggregate in {@link #evaluate()}. The values are
+ * expected to arrive in the order of their timestamps.
+ *
+ * @author agent
+ */
+public abstract class AbstractSlidingTimeWindowAggregation extends AbstractWindowAggregation {
+
+    protected final double windowSizeInSeconds;
+    private final double durationNoEmit; // determines the emitting frequency
+
+    private boolean hasValues;
+    private double lastTimestamp;
+    private double emitTime;
+
+    protected AbstractSlidingTimeWindowAggregation(final double winSizeSeconds, final double noEmitDuration) {
+        this.windowSizeInSeconds = winSizeSeconds;
+        this.durationNoEmit = noEmitDuration;
+        this.emitTime = 0.0;
+    }
+
+    /**
+     * Creates a sliding time window for the given aggregation method. MIN and MAX are served by a
+     * {@link SlidingTimeWindowExtremumAggregation}, MEDIAN and the percentiles by a
+     * {@link SlidingTimeWindowQuantileAggregation}, and SUM, AVERAGE and RATEOFCHANGE by a
+     * {@link SlidingTimeWindowIncrementalAggregation}. None of them revisit the whole window on
+     * every emit. The quantiles are exact.
+     */
+    public static AbstractSlidingTimeWindowAggregation getFromAggregationMethod(
+            final AGGREGATIONMETHOD aggregationMethod, final double winSizeSeconds, final double noEmitDuration) {
+        return getFromAggregationMethod(aggregationMethod, winSizeSeconds, noEmitDuration,
+                SpdInterpreterSettings.DEFAULTS);
+    }
+
+    /**
+     * Creates a sliding time window for the given aggregation method, whose quantiles are estimated
+     * as configured in the settings.
+     */
+    public static AbstractSlidingTimeWindowAggregation getFromAggregationMethod(
+            final AGGREGATIONMETHOD aggregationMethod, final double winSizeSeconds, final double noEmitDuration,
+            final SpdInterpreterSettings settings) {
+        return switch (aggregationMethod) {
+        case MIN -> SlidingTimeWindowExtremumAggregation.min(winSizeSeconds, noEmitDuration);
+        case AVERAGE -> new SlidingTimeWindowIncrementalAggregation(winSizeSeconds, noEmitDuration,
+                new IncrementalMeanAggregation());
+        case MAX -> SlidingTimeWindowExtremumAggregation.max(winSizeSeconds, noEmitDuration);
+        case MEDIAN -> SlidingTimeWindowQuantileAggregation.median(winSizeSeconds, noEmitDuration,
+                QuantileEstimator.fromSettings(settings, winSizeSeconds));
+        case SUM -> new SlidingTimeWindowIncrementalAggregation(winSizeSeconds, noEmitDuration,
+                new IncrementalSumAggregation());
+        case RATEOFCHANGE -> new SlidingTimeWindowIncrementalAggregation(winSizeSeconds, noEmitDuration,
+                new IncrementalRateOfChangeAggregation());
+        case PERCENTILE95 -> SlidingTimeWindowQuantileAggregation.percentile(winSizeSeconds, noEmitDuration, 0.95,
+                QuantileEstimator.fromSettings(settings, winSizeSeconds));
+        case PERCENTILE90 -> SlidingTimeWindowQuantileAggregation.percentile(winSizeSeconds, noEmitDuration, 0.90,
+                QuantileEstimator.fromSettings(settings, winSizeSeconds));
+        default -> throw new IllegalArgumentException("Unexpected value: " + aggregationMethod);
+        };
+    }
+
+    @Override
+    public final double aggregate(final double time, final double newValue) {
+        this.evict(time - this.windowSizeInSeconds);
+        this.add(time, newValue);
+        this.hasValues = true;
+        this.lastTimestamp = time;
+        return this.evaluate();
+    }
+
+    /**
+     * It is emittable whenever the last timestamp is larger than the window or the emit time
+     * frequency has been reached.
+     */
+    @Override
+    protected final NotEmittableReason getNotEmittableReason() {
+        if (!this.hasValues) {
+            return NotEmittableReason.NO_DATA;
+        }
+        if (this.lastTimestamp <= this.windowSizeInSeconds) {
+            return NotEmittableReason.WINDOW_NOT_FILLED;
+        }
+        if (this.lastTimestamp - this.emitTime <= this.durationNoEmit) {
+            return NotEmittableReason.RATE_LIMITED;
+        }
+        return null;
+    }
+
+    @Override
+    protected final double getCurrentVal() {
+        this.emitTime = this.lastTimestamp;
+        return this.evaluate();
+    }
+
+    /**
+     * Removes every value whose timestamp is {@code <= horizon}.
+     */
+    protected abstract void evict(double horizon);
+
+    /**
+     * Adds a value that has just arrived.
+     */
+    protected abstract void add(double time, double value);
+
+    /**
+     * @return the aggregate of the values currently in the window. Only called if the window is not
+     *         empty.
+     */
+    protected abstract double evaluate();
+}
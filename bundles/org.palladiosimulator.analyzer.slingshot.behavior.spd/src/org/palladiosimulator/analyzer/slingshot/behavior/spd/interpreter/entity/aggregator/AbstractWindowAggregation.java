@@ -7,19 +7,35 @@ public abstract non-sealed class AbstractWindowAggregation implements WindowAggr
 	}
 
 	@Override
-	public double getCurrentValue() throws AssertionError {
-		if (!isEmittable())
-		    	throw new IllegalStateException("Cant get current value when it is non emittable.");
+	public AggregatedValue getCurrentValue() {
+		final NotEmittableReason reason = getNotEmittableReason();
+		if (reason != null) {
+			return AggregatedValue.notEmittable(reason);
+		}
 		
-		return getCurrentVal();
+		return AggregatedValue.of(getCurrentVal());
 	}
 	
 	protected abstract double getCurrentVal();
 
 	@Override
-	public abstract boolean isEmittable();
+	public boolean isEmittable() {
+		return getNotEmittableReason() == null;
+	}
+
+	/**
+	 * Returns why the aggregation cannot emit a value at the moment.
+	 * 
+	 * @return the reason, or {@code null} iff a value can be emitted.
+	 */
+	protected abstract NotEmittableReason getNotEmittableReason();
 
 	@Override
 	public abstract double aggregate(double time, double newValue);
 
+	@Override
+	public double aggregate(final int element, final double time, final double newValue) {
+		return aggregate(time, newValue);
+	}
+
 }
@@ -0,0 +1,75 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The result of asking a {@link WindowAggregation} or a {@link ModelAggregatorWrapper} for its
+ * current value. Similar to {@link java.util.OptionalDouble}, it either holds a value or, if the
+ * aggregation cannot emit yet, the {@link NotEmittableReason} why.
+ *
+ * Being not emittable is the normal case while the windows fill up, so the non-emittable results
+ * are shared instances and only an actual value is allocated.
+ *
+ * @author agent
+ */
+public final class AggregatedValue {
+
+    private static final Map<NotEmittableReason, AggregatedValue> NOT_EMITTABLE = new EnumMap<>(
+            NotEmittableReason.class);
+
+    static {
+        for (final NotEmittableReason reason : NotEmittableReason.values()) {
+            NOT_EMITTABLE.put(reason, new AggregatedValue(Double.NaN, reason));
+        }
+    }
+
+    private final double value;
+    private final NotEmittableReason reason;
+
+    private AggregatedValue(final double value, final NotEmittableReason reason) {
+        this.value = value;
+        this.reason = reason;
+    }
+
+    public static AggregatedValue of(final double value) {
+        return new AggregatedValue(value, null);
+    }
+
+    public static AggregatedValue notEmittable(final NotEmittableReason reason) {
+        return NOT_EMITTABLE.get(reason);
+    }
+
+    /**
+     * @return true iff this result holds a value.
+     */
+    public boolean isPresent() {
+        return this.reason == null;
+    }
+
+    /**
+     * @return the aggregated value.
+     * @throws NoSuchElementException
+     *             if there is no value, i.e. {@link #isPresent()} returns false.
+     */
+    public double getAsDouble() {
+        if (this.reason != null) {
+            throw new NoSuchElementException("No value present: " + this.reason);
+        }
+        return this.value;
+    }
+
+    /**
+     * @return the reason why there is no value, or {@code null} if {@link #isPresent()}.
+     */
+    public NotEmittableReason getReason() {
+        return this.reason;
+    }
+
+    @Override
+    public String toString() {
+        return this.isPresent() ? "AggregatedValue[" + this.value + "]"
+                : "AggregatedValue.notEmittable[" + this.reason + "]";
+    }
+}
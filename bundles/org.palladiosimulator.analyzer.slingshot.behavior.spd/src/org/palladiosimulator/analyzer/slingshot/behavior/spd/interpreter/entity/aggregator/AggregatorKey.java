@@ -0,0 +1,40 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Identifies a window created by the {@link WindowFactory}, which the {@link AggregatorRegistry}
+ * can share: two consumers with equal keys aggregate the same measurements of the same target group
+ * in the same way, and only differ in how often they read the value.
+ *
+ * @param series
+ *            which measurements of the target group are aggregated, and which of their values.
+ * @param targetGroupId
+ *            the id of the target group the measurements come from.
+ * @param windowType
+ *            the kind of window.
+ * @param windowSize
+ *            the size of the window, in seconds for time windows and in values for
+ *            {@link WindowType#FIXED_LENGTH}.
+ * @param aggregationMethod
+ *            how the values of the window are aggregated.
+ *
+ * @author agent
+ */
+public record AggregatorKey(RollupSeries series, String targetGroupId, WindowType windowType, double windowSize,
+        AGGREGATIONMETHOD aggregationMethod) {
+
+    public enum WindowType {
+        /** A {@link SlidingTimeWindowAggregationBasedOnEMA}, for averages only. */
+        EXPONENTIAL_MOVING_AVERAGE,
+
+        /** A {@link TimeWeightedAverageAggregation}, for averages only. */
+        TIME_WEIGHTED_AVERAGE,
+
+        /** A sliding time window of {@link AbstractSlidingTimeWindowAggregation#getFromAggregationMethod}. */
+        SLIDING_TIME,
+
+        /** A {@link FixedLengthWindowSimpleAggregation} over the last values. */
+        FIXED_LENGTH;
+    }
+}
@@ -0,0 +1,122 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DecodedMeasurement;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.SharedWindowAggregation.SharedWindow;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+
+/**
+ * Hands out shared windows, so that the trigger checkers and model aggregators watching the same
+ * stimulus of the same target group ingest every measurement once instead of once per consumer.
+ *
+ * Each consumer {@link #acquire(AggregatorKey, double) acquires} its own
+ * {@link SharedWindowAggregation}, a read cursor with its own emitting rate over the window of the
+ * key. The windows are created while interpreting the SPD model and kept for the simulation. Like
+ * the {@link RollupStoreRegistry}, they are fed by
+ * {@link #record(String, MeasurementMade, DecodedMeasurement)} once per measurement and target
+ * group, before the measurement is passed to the adjustor contexts, so every consumer of a window
+ * reads the same measurements regardless of which of them it was passed itself. The consumers
+ * therefore only read their cursors, which refuse to aggregate values.
+ *
+ * As the windows are fed before the contexts are evaluated, and each window belongs to one target
+ * group, the registry needs no synchronization, also when the target groups are evaluated in
+ * parallel.
+ *
+ * @author agent
+ */
+public final class AggregatorRegistry {
+
+    /** The no-emit duration of windows that can emit on every value. */
+    public static final double NO_RATE_LIMIT = Double.NEGATIVE_INFINITY;
+
+    private final Map<AggregatorKey, SharedWindow> windows = new HashMap<>();
+
+    /** target group id -> metric id -> the windows of its series, or {@code null}. */
+    private final Map<String, List<List<SharedWindow>>> windowsByMetric = new HashMap<>();
+
+    private final MeasurementDecoder decoder = MeasurementDecoder.getInstance();
+
+    /** The settings the windows are created with. */
+    private final SpdInterpreterSettings settings;
+
+    public AggregatorRegistry(final SpdInterpreterSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Returns a new cursor over the window of the key, which is created if absent.
+     *
+     * @param noEmitDuration
+     *            the duration in seconds after an emitted value in which the cursor does not emit
+     *            another one, or {@link #NO_RATE_LIMIT}.
+     */
+    public SharedWindowAggregation acquire(final AggregatorKey key, final double noEmitDuration) {
+        SharedWindow window = this.windows.get(key);
+        if (window == null) {
+            window = new SharedWindow(key, WindowFactory.create(key, NO_RATE_LIMIT, this.settings));
+            this.windows.put(key, window);
+            this.indexByMetric(window);
+        }
+        return new SharedWindowAggregation(window, noEmitDuration);
+    }
+
+    /**
+     * Aggregates the measurement in every window of the target group whose series it belongs to.
+     * The measuring point of the measurement is expected to be inside the target group.
+     *
+     * @param decoded
+     *            the measurement as decoded by the {@link MeasurementDecoder}.
+     */
+    public void record(final String targetGroupId, final MeasurementMade measurementMade,
+            final DecodedMeasurement decoded) {
+        final List<List<SharedWindow>> byMetric = this.windowsByMetric.get(targetGroupId);
+        if (byMetric == null || decoded.metricId() < 0 || decoded.metricId() >= byMetric.size()) {
+            return;
+        }
+        final List<SharedWindow> candidates = byMetric.get(decoded.metricId());
+        if (candidates == null) {
+            return;
+        }
+        final SlingshotMeasuringValue measuringValue = measurementMade.getEntity();
+        for (final SharedWindow window : candidates) {
+            final RollupSeries series = window.key.series();
+            if (series.accepts(measuringValue)) {
+                if (window.decodedValue == null) {
+                    window.decodedValue = this.decoder.isValueMetric(decoded.metricId(),
+                            series.baseMetricDescription());
+                }
+                window.record(decoded.measuringPointId(), decoded.time(),
+                        window.decodedValue ? decoded.value() : series.valueOf(measuringValue));
+            }
+        }
+    }
+
+    /**
+     * @return the number of shared windows.
+     */
+    public int size() {
+        return this.windows.size();
+    }
+
+    private void indexByMetric(final SharedWindow window) {
+        final List<List<SharedWindow>> byMetric = this.windowsByMetric.computeIfAbsent(window.key.targetGroupId(),
+                id -> new ArrayList<>());
+        final int metricId = this.decoder.metricId(window.key.series()
+            .metricSetDescriptionId());
+        while (byMetric.size() <= metricId) {
+            byMetric.add(null);
+        }
+        if (byMetric.get(metricId) == null) {
+            byMetric.set(metricId, new ArrayList<>(1));
+        }
+        byMetric.get(metricId)
+            .add(window);
+    }
+}
@@ -1,19 +1,19 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
 
-import java.util.Optional;
-
-import javax.measure.Measure;
-import javax.measure.quantity.Dimensionless;
-import javax.measure.quantity.Duration;
+import java.util.Arrays;
 
 import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DecodedMeasurement;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorKey.WindowType;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.targetgroup.TargetGroupChecker;
-import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.IdRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.pcm.repository.OperationSignature;
 import org.palladiosimulator.pcmmeasuringpoint.OperationReference;
+import org.palladiosimulator.pcmmeasuringpoint.PassiveResourceReference;
 import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
 import org.palladiosimulator.spd.triggers.stimuli.ManagedElementsStateStimulus;
 import org.palladiosimulator.spd.triggers.stimuli.NumberOfElements;
@@ -31,6 +31,17 @@ import org.palladiosimulator.spd.triggers.stimuli.Stimulus;
  * the target group. This is done in the {@link TargetGroupChecker} filter, that should be placed
  * before this filter.
  * 
+ * If a {@link RollupStoreRegistry} is given and can answer the window, the values are read from the
+ * shared {@link RollupStore} of the target group, which is fed by the registry instead of this
+ * aggregator. Otherwise, the window is created by the {@link WindowFactory}, which may share it
+ * with the other consumers of the same stimulus and target group.
+ * 
+ * The queue length and the number of elements are states that hold until the next measurement.
+ * Their average is weighted by time in a {@link TimeWeightedAverageAggregation}, whose memory does
+ * not grow with the number of measurements.
+ * 
+ * The measurements are read as decoded by the {@link MeasurementDecoder}.
+ * 
  * @author Jens Berberich, based on work by Julijan Katic
  *
  * @param <T>
@@ -38,7 +49,7 @@ import org.palladiosimulator.spd.triggers.stimuli.Stimulus;
  */
 public class AnyStimulusAggregator<T extends Stimulus> extends ModelAggregatorWrapper<T> {
     abstract class StimulusChecker {
-        abstract Optional<Measure<Double, ?>> checkStimulus(MeasurementMade measurementMade);
+        abstract boolean checkStimulus(MeasuringPoint measuringPoint);
     }
 
     class OperationResponseTimeStimulusChecker extends StimulusChecker {
@@ -48,29 +59,97 @@ public class AnyStimulusAggregator<T extends Stimulus> extends ModelAggregatorWr
             this.operationSignature = operationResponseTime.getOperationSignature();
         }
 
-        Optional<Measure<Double, ?>> checkStimulus(MeasurementMade measurementMade) {
-            final SlingshotMeasuringValue measuringValue = measurementMade.getEntity();
-
-            final MeasuringPoint point = measuringValue.getMeasuringPoint();
+        boolean checkStimulus(MeasuringPoint point) {
             if (point instanceof final OperationReference reference) {
                 final OperationSignature referencedSignature = reference.getOperationSignature();
                 final OperationSignature thisSignature = this.operationSignature;
-                if (thisSignature.getId()
-                    .equals(referencedSignature.getId())) {
-                    return Optional
-                        .of(measuringValue.getMeasureForMetric(MetricDescriptionConstants.RESPONSE_TIME_METRIC));
+                return thisSignature.getId()
+                    .equals(referencedSignature.getId());
+            }
+            return false;
+        }
+    }
+
+    class QueueLengthStimulusChecker extends StimulusChecker {
+        private final String passiveResourceId;
+
+        QueueLengthStimulusChecker(QueueLength queueLength) {
+            this.passiveResourceId = queueLength.getPassiveResource()
+                .getId();
+        }
 
-                }
+        boolean checkStimulus(MeasuringPoint point) {
+            if (point instanceof final PassiveResourceReference reference) {
+                return this.passiveResourceId.equals(reference.getPassiveResource()
+                    .getId());
             }
-            return Optional.empty();
+            return false;
+        }
+    }
+
+    class NumberOfElementsStimulusChecker extends StimulusChecker {
+        boolean checkStimulus(MeasuringPoint point) {
+            // The number of resource containers is measured for the whole resource environment
+            return true;
         }
     }
 
     protected final WindowAggregation aggregator;
     private AnyStimulusAggregator<T>.StimulusChecker stimulusChecker;
+    /** Whether the aggregator is answered from rollups that are fed elsewhere. */
+    private final boolean fedByRollups;
+    /** Whether the aggregator is a window shared through, and fed by, the {@link AggregatorRegistry}. */
+    private final boolean fedByRegistry;
+    private final MeasurementDecoder decoder;
+    /** The id of the metric set description as interned by the decoder. */
+    private final int metricId;
+    /**
+     * measuring point id -> whether its measurements are part of the stimulus: {@code 0} if not
+     * checked yet, {@code 1} if accepted, {@code -1} otherwise.
+     */
+    private byte[] acceptedMeasuringPoints = new byte[16];
     private static final Logger LOGGER = Logger.getLogger(AnyStimulusAggregator.class);
 
     public AnyStimulusAggregator(final T stimulus, double windowSize, AGGREGATIONMETHOD aggregationMethod) {
+        this(stimulus, windowSize, aggregationMethod, null, new WindowFactory(), null);
+    }
+
+    /**
+     * @param rollups
+     *            the registry of the rollup stores, or {@code null} to keep an own window.
+     * @param windows
+     *            the factory of the window, which may share it with other consumers. Only used if
+     *            the window is not answered from rollups.
+     * @param targetGroupId
+     *            the id of the target group whose measurements are aggregated.
+     */
+    public AnyStimulusAggregator(final T stimulus, double windowSize, AGGREGATIONMETHOD aggregationMethod,
+            final RollupStoreRegistry rollups, final WindowFactory windows, final String targetGroupId) {
+        this(stimulus, windowSize, aggregationMethod, rollups, windows, targetGroupId, false, 0.0);
+    }
+
+    /**
+     * Creates the aggregator of a trigger checker. Unlike for the models, the average of values
+     * that are no state is the plain mean of the window instead of an exponential moving average,
+     * and the window emits at most once per no-emit duration.
+     *
+     * @param windows
+     *            the factory of the window, which may share it with other consumers.
+     * @param targetGroupId
+     *            the id of the target group whose measurements are aggregated.
+     * @param noEmitDuration
+     *            the duration in seconds after an emitted value in which no other one is emitted,
+     *            or {@link AggregatorRegistry#NO_RATE_LIMIT}.
+     */
+    public AnyStimulusAggregator(final T stimulus, final double windowSize, final AGGREGATIONMETHOD aggregationMethod,
+            final WindowFactory windows, final String targetGroupId, final double noEmitDuration) {
+        this(stimulus, windowSize, aggregationMethod, null, windows, targetGroupId, true, noEmitDuration);
+    }
+
+    private AnyStimulusAggregator(final T stimulus, final double windowSize, final AGGREGATIONMETHOD aggregationMethod,
+            final RollupStoreRegistry rollups, final WindowFactory windows, final String targetGroupId,
+            final boolean plainMean, final double noEmitDuration) {
+        String operationSignatureId = null;
         if (stimulus instanceof ManagedElementsStateStimulus) {
             LOGGER.error("Function only for non-aggregated stimuli!");
             throw new IllegalArgumentException("Function only for non-aggregated stimuli!");
@@ -78,39 +157,60 @@ public class AnyStimulusAggregator<T extends Stimulus> extends ModelAggregatorWr
         // QueueLength, NumberOfElements, OperationResponseTime
         else if (stimulus instanceof OperationResponseTime operationResponseTime) {
             this.stimulusChecker = new OperationResponseTimeStimulusChecker(operationResponseTime);
+            operationSignatureId = operationResponseTime.getOperationSignature()
+                .getId();
             this.baseMetricDescription = MetricDescriptionConstants.RESPONSE_TIME_METRIC;
             this.metricSetDescription = MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE;
-        } else if (stimulus instanceof NumberOfElements numberOfElements) {
-            LOGGER.info("Number of Elements stimuli are not yet supported");
-            // TODO implement number of elements aggregator
+        } else if (stimulus instanceof NumberOfElements) {
+            this.stimulusChecker = new NumberOfElementsStimulusChecker();
             this.baseMetricDescription = MetricDescriptionConstants.NUMBER_OF_RESOURCE_CONTAINERS;
             this.metricSetDescription = MetricDescriptionConstants.NUMBER_OF_RESOURCE_CONTAINERS_OVER_TIME;
         } else if (stimulus instanceof QueueLength queueLength) {
-            LOGGER.info("Queue Length stimuli are not yet supported");
-            // TODO implement queue length aggregator
+            this.stimulusChecker = new QueueLengthStimulusChecker(queueLength);
             this.baseMetricDescription = MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC;
             this.metricSetDescription = MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC_TUPLE;
         }
-        if (aggregationMethod.equals(AGGREGATIONMETHOD.AVERAGE)) {
-            this.aggregator = new SlidingTimeWindowAggregationBasedOnEMA(windowSize, windowSize / 2, 0.2);
+        this.decoder = MeasurementDecoder.getInstance();
+        this.metricId = this.metricSetDescription == null ? IdRegistry.UNKNOWN
+                : this.decoder.metricId(this.metricSetDescription);
+        final boolean timeWeighted = isState(stimulus) && aggregationMethod.equals(AGGREGATIONMETHOD.AVERAGE);
+        // The rollups average the values, not the time they hold
+        this.fedByRollups = rollups != null && stimulus instanceof OperationResponseTime
+                && RollupWindowAggregation.supports(aggregationMethod, windowSize);
+        // A series cannot tell the passive resources apart, so queue lengths are never shared
+        final RollupSeries series = this.stimulusChecker == null || stimulus instanceof QueueLength ? null
+                : new RollupSeries(this.metricSetDescription.getId(), this.baseMetricDescription,
+                        operationSignatureId);
+        if (this.fedByRollups) {
+            this.aggregator = new RollupWindowAggregation(rollups.getStore(targetGroupId, series), windowSize, 0.0,
+                    aggregationMethod);
+        } else if (timeWeighted) {
+            this.aggregator = windows.acquire(new AggregatorKey(series, targetGroupId,
+                    WindowType.TIME_WEIGHTED_AVERAGE, windowSize, aggregationMethod), noEmitDuration);
+        } else if (plainMean) {
+            this.aggregator = windows.acquire(
+                    new AggregatorKey(series, targetGroupId, WindowType.SLIDING_TIME, windowSize, aggregationMethod),
+                    noEmitDuration);
         } else {
-            this.aggregator = SlidingTimeWindowAggregation.getFromAggregationMethod(aggregationMethod, windowSize, 0.0);
+            this.aggregator = windows.acquireTimeWindow(series, targetGroupId, windowSize, aggregationMethod);
         }
+        this.fedByRegistry = this.aggregator instanceof SharedWindowAggregation;
     }
 
     /**
-     * Helper method to retrieve the filter result. If the aggregated value is in accordance with
-     * the specified trigger, success is returned. If not all measurements were made yet, or if the
-     * value was not in accordance, then disregard.
-     * 
-     * @throws NotEmittableException
-     *             if {@link #aggregator} cannot currently emit a value
+     * @return true iff the measurements of the stimulus are a state that holds until the next
+     *         measurement, so that its average is weighted by time.
      */
-    public double getResult() throws NotEmittableException {
-        if (!this.aggregator.isEmittable()) {
-            throw new NotEmittableException("Values for " + this.stimulusChecker.getClass()
-                .getSimpleName() + " not emittable.");
-        }
+    public static boolean isState(final Stimulus stimulus) {
+        return stimulus instanceof QueueLength || stimulus instanceof NumberOfElements;
+    }
+
+    /**
+     * Helper method to retrieve the aggregated value. If not enough measurements were made yet, or
+     * if the aggregator is rate limited, the result is not present and carries the reason.
+     */
+    @Override
+    public AggregatedValue getResult() {
         return this.aggregator.getCurrentValue();
     }
 
@@ -119,27 +219,29 @@ public class AnyStimulusAggregator<T extends Stimulus> extends ModelAggregatorWr
      * resource containers in the target group.
      */
     public void aggregateMeasurement(final MeasurementMade measurementMade) {
-        if (measurementMade.getEntity()
-            .getMetricDesciption()
-            .getId()
-            .equals(this.metricSetDescription.getId())) {
-            Optional<Measure<Double, ?>> measure = this.stimulusChecker.checkStimulus(measurementMade);
-            if (measure.isPresent()) {
-                aggregator.aggregate(getPointInTime(measurementMade.getEntity()), measure.get()
-                    .getValue());
-            }
+        if (this.fedByRollups || this.fedByRegistry || this.stimulusChecker == null) {
+            return;
+        }
+        final DecodedMeasurement decoded = this.decoder.decode(measurementMade);
+        if (decoded.metricId() == this.metricId && this.accepts(decoded.measuringPointId(), measurementMade)) {
+            // The response time, queue length and number of containers are the value metric of their tuple
+            aggregator.aggregate(decoded.measuringPointId(), decoded.time(), decoded.value());
         }
     }
 
-    protected double getPointInTime(final SlingshotMeasuringValue smv) {
-        final Measure<Double, Duration> pointInTime = smv
-            .getMeasureForMetric(MetricDescriptionConstants.POINT_IN_TIME_METRIC);
-        return pointInTime.getValue();
-    }
-
-    protected double getValueForAggregation(final SlingshotMeasuringValue smv) {
-        final Measure<Double, Dimensionless> measure = smv.getMeasureForMetric(this.baseMetricDescription);
-
-        return measure.getValue();
+    /**
+     * Checks the measuring point against the stimulus once, and remembers the answer.
+     */
+    private boolean accepts(final int measuringPointId, final MeasurementMade measurementMade) {
+        if (measuringPointId >= this.acceptedMeasuringPoints.length) {
+            this.acceptedMeasuringPoints = Arrays.copyOf(this.acceptedMeasuringPoints,
+                    Math.max(measuringPointId + 1, this.acceptedMeasuringPoints.length * 2));
+        }
+        if (this.acceptedMeasuringPoints[measuringPointId] == 0) {
+            this.acceptedMeasuringPoints[measuringPointId] = this.stimulusChecker.checkStimulus(measurementMade
+                .getEntity()
+                .getMeasuringPoint()) ? (byte) 1 : (byte) -1;
+        }
+        return this.acceptedMeasuringPoints[measuringPointId] > 0;
     }
 }
@@ -0,0 +1,132 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A growable ring buffer of data points, stored as two primitive arrays of timestamps and values.
+ * Data points are added at the end and removed from either end in O(1), without allocating an
+ * object per data point.
+ *
+ * @author agent
+ */
+public final class DataPointBuffer implements DataPointView {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] timestamps;
+    private double[] values;
+    private int head;
+    private int size;
+
+    public DataPointBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity
+     *            the number of data points that fit into the buffer before it grows.
+     */
+    public DataPointBuffer(final int initialCapacity) {
+        final int capacity = Math.max(1, initialCapacity);
+        this.timestamps = new double[capacity];
+        this.values = new double[capacity];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public double getTimestamp(final int index) {
+        return this.timestamps[this.index(this.checkIndex(index))];
+    }
+
+    @Override
+    public double getValue(final int index) {
+        return this.values[this.index(this.checkIndex(index))];
+    }
+
+    public double getFirstTimestamp() {
+        return this.getTimestamp(0);
+    }
+
+    public double getFirstValue() {
+        return this.getValue(0);
+    }
+
+    public double getLastTimestamp() {
+        return this.getTimestamp(this.size - 1);
+    }
+
+    public double getLastValue() {
+        return this.getValue(this.size - 1);
+    }
+
+    /**
+     * Adds the data point as the newest one.
+     */
+    public void addLast(final double timestamp, final double value) {
+        if (this.size == this.timestamps.length) {
+            this.grow();
+        }
+        final int tail = this.index(this.size);
+        this.timestamps[tail] = timestamp;
+        this.values[tail] = value;
+        this.size++;
+    }
+
+    /**
+     * Removes the oldest data point.
+     *
+     * @return the value of the removed data point.
+     */
+    public double removeFirst() {
+        final double value = this.getFirstValue();
+        this.head = this.index(1);
+        this.size--;
+        return value;
+    }
+
+    /**
+     * Removes the newest data point.
+     *
+     * @return the value of the removed data point.
+     */
+    public double removeLast() {
+        final double value = this.getLastValue();
+        this.size--;
+        return value;
+    }
+
+    public void clear() {
+        this.head = 0;
+        this.size = 0;
+    }
+
+    private int index(final int offset) {
+        final int index = this.head + offset;
+        return index < this.timestamps.length ? index : index - this.timestamps.length;
+    }
+
+    private int checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new NoSuchElementException("No data point at index " + index + " of " + this.size);
+        }
+        return index;
+    }
+
+    private void grow() {
+        final int capacity = this.timestamps.length * 2;
+        final double[] newTimestamps = new double[capacity];
+        final double[] newValues = new double[capacity];
+        final int firstPart = Math.min(this.size, this.timestamps.length - this.head);
+        System.arraycopy(this.timestamps, this.head, newTimestamps, 0, firstPart);
+        System.arraycopy(this.values, this.head, newValues, 0, firstPart);
+        System.arraycopy(this.timestamps, 0, newTimestamps, firstPart, this.size - firstPart);
+        System.arraycopy(this.values, 0, newValues, firstPart, this.size - firstPart);
+        this.timestamps = newTimestamps;
+        this.values = newValues;
+        this.head = 0;
+    }
+}
@@ -0,0 +1,43 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * A read-only view on the data points of a window, each consisting of a timestamp and a value.
+ * The data points are indexed in order of arrival, i.e. index 0 is the oldest data point.
+ *
+ * The aggregation functions read the window through this view, so that the window can store its
+ * data points as primitives instead of one object per data point.
+ *
+ * @author agent
+ */
+public interface DataPointView {
+
+    /**
+     * @return the number of data points.
+     */
+    int size();
+
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * @return the timestamp of the data point at the given index, in order of arrival.
+     */
+    double getTimestamp(int index);
+
+    /**
+     * @return the value of the data point at the given index, in order of arrival.
+     */
+    double getValue(int index);
+
+    /**
+     * @return a copy of the values in order of arrival.
+     */
+    default double[] toValueArray() {
+        final double[] values = new double[this.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.getValue(i);
+        }
+        return values;
+    }
+}
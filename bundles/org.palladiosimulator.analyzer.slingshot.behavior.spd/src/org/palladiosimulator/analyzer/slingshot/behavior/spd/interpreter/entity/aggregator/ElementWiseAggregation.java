@@ -0,0 +1,344 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.Arrays;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Aggregates in two levels, as the {@code AGGREGATIONMETHOD} of a managed element stimulus is meant
+ * over the elements: first, each element, e.g. the processing resource of a container, keeps a
+ * state of O(1) size, namely its latest value or a time-weighted mean of its values. Second, the
+ * aggregation method is applied across the states of the elements. Hence, a busy element that
+ * reports often counts as much as an idle one.
+ *
+ * The states are kept in primitive arrays indexed by a slot per element, which is looked up by the
+ * id of the element, e.g. the id of its measuring point as interned by the decoder. The cross-element
+ * aggregate is maintained whenever an element updates: the sum for SUM and AVERAGE, and a sorted
+ * array of the states for MIN, MAX, MEDIAN and the percentiles, which is updated by a binary search
+ * and an array copy. RATEOFCHANGE has no meaning across elements and is not supported.
+ *
+ * An element that has not reported within the window leaves the aggregation, like its values would
+ * leave a time window, so that removed elements do not count forever. The emitting semantics are
+ * those of the other sliding time windows.
+ *
+ * @author agent
+ */
+public class ElementWiseAggregation extends AbstractWindowAggregation {
+
+    /**
+     * The state each element keeps of its values.
+     */
+    public enum ElementState {
+        /** The latest value of the element. */
+        LATEST,
+
+        /**
+         * The mean of the element's values weighted by how long each was held, decaying
+         * exponentially with the window size as time constant. The mean is as of the latest update
+         * of the element.
+         */
+        TIME_WEIGHTED_MEAN;
+    }
+
+    private static final int NONE = -1;
+    /** The id of the element of values without one. */
+    private static final int UNNAMED = -1;
+
+    private final double windowSizeInSeconds;
+    private final double durationNoEmit; // determines the emitting frequency
+    private final AGGREGATIONMETHOD aggregationMethod;
+    private final ElementState elementState;
+    private final boolean ordered;
+
+    /* The slot per element, indexed by the element id + 1, or NONE. */
+    private int[] slots = newSlots(8);
+    private int[] elements = new int[8];
+    /* The value the element has held since its last update. */
+    private double[] levels = new double[8];
+    /* The state of the element that enters the cross-element aggregate. */
+    private double[] states = new double[8];
+    private double[] updates = new double[8];
+    /* The slots as a list from the least to the most recently updated. */
+    private int[] older = new int[8];
+    private int[] newer = new int[8];
+    private int oldest = NONE;
+    private int newest = NONE;
+    private int[] freeSlots = new int[8];
+    private int freeCount;
+    private int usedSlots;
+    private int size;
+
+    private double sum;
+    private int removalsSinceRecompute;
+    /* The states of the elements in order, if the aggregation method needs them. */
+    private double[] sorted;
+
+    private boolean hasValues;
+    private double lastTimestamp;
+    private double emitTime;
+
+    /**
+     * @throws IllegalArgumentException
+     *             if the aggregation method is not {@link #supports(AGGREGATIONMETHOD) supported}.
+     */
+    public ElementWiseAggregation(final double winSizeSeconds, final double noEmitDuration,
+            final AGGREGATIONMETHOD aggregationMethod, final ElementState elementState) {
+        if (!supports(aggregationMethod)) {
+            throw new IllegalArgumentException("Cannot aggregate over elements with " + aggregationMethod);
+        }
+        this.windowSizeInSeconds = winSizeSeconds;
+        this.durationNoEmit = noEmitDuration;
+        this.aggregationMethod = aggregationMethod;
+        this.elementState = elementState;
+        this.ordered = aggregationMethod != AGGREGATIONMETHOD.SUM && aggregationMethod != AGGREGATIONMETHOD.AVERAGE;
+        this.sorted = this.ordered ? new double[8] : null;
+        this.emitTime = 0.0;
+    }
+
+    public static boolean supports(final AGGREGATIONMETHOD aggregationMethod) {
+        return aggregationMethod != AGGREGATIONMETHOD.RATEOFCHANGE;
+    }
+
+    /**
+     * @return true iff the settings enable the aggregation over elements and the method is
+     *         supported.
+     * @see SpdInterpreterSettings#ELEMENT_WISE
+     */
+    public static boolean isEnabledFor(final SpdInterpreterSettings settings,
+            final AGGREGATIONMETHOD aggregationMethod) {
+        return settings.isElementWiseAggregationEnabled() && supports(aggregationMethod);
+    }
+
+    /**
+     * Creates the aggregation with the element state configured in the settings.
+     */
+    public static ElementWiseAggregation fromSettings(final SpdInterpreterSettings settings,
+            final double winSizeSeconds, final double noEmitDuration, final AGGREGATIONMETHOD aggregationMethod) {
+        return new ElementWiseAggregation(winSizeSeconds, noEmitDuration, aggregationMethod,
+                settings.isElementWiseTimeWeighted() ? ElementState.TIME_WEIGHTED_MEAN
+                        : ElementState.LATEST);
+    }
+
+    /**
+     * Values without an element are treated as coming from one unnamed element.
+     */
+    @Override
+    public double aggregate(final double time, final double newValue) {
+        return this.update(UNNAMED, time, newValue);
+    }
+
+    /**
+     * Updates the state of the element with the new value. The values are expected to arrive in
+     * the order of their timestamps.
+     *
+     * @param element
+     *            the id of the element, e.g. of its measuring point, which is not negative.
+     * @return the aggregate across the elements.
+     */
+    @Override
+    public double aggregate(final int element, final double time, final double newValue) {
+        return this.update(element, time, newValue);
+    }
+
+    private double update(final int element, final double time, final double newValue) {
+        this.expire(time - this.windowSizeInSeconds);
+
+        final int index = element + 1;
+        final int existing = index < this.slots.length ? this.slots[index] : NONE;
+        if (existing == NONE) {
+            final int slot = this.allocate(element);
+            this.levels[slot] = newValue;
+            this.states[slot] = newValue;
+            this.enter(newValue);
+            this.updates[slot] = time;
+            this.link(slot);
+        } else {
+            final int slot = existing;
+            final double state = this.nextState(slot, time, newValue);
+            this.unlink(slot);
+            this.leave(this.states[slot]);
+            this.enter(state);
+            this.levels[slot] = newValue;
+            this.states[slot] = state;
+            this.updates[slot] = time;
+            this.link(slot);
+        }
+
+        this.hasValues = true;
+        this.lastTimestamp = time;
+        return this.evaluate();
+    }
+
+    /**
+     * @return the number of elements currently in the aggregation.
+     */
+    public int getElementCount() {
+        return this.size;
+    }
+
+    @Override
+    protected NotEmittableReason getNotEmittableReason() {
+        if (!this.hasValues || this.size == 0) {
+            return NotEmittableReason.NO_DATA;
+        }
+        if (this.lastTimestamp <= this.windowSizeInSeconds) {
+            return NotEmittableReason.WINDOW_NOT_FILLED;
+        }
+        if (this.lastTimestamp - this.emitTime <= this.durationNoEmit) {
+            return NotEmittableReason.RATE_LIMITED;
+        }
+        return null;
+    }
+
+    @Override
+    protected double getCurrentVal() {
+        this.emitTime = this.lastTimestamp;
+        return this.evaluate();
+    }
+
+    private double nextState(final int slot, final double time, final double newValue) {
+        if (this.elementState == ElementState.LATEST) {
+            return newValue;
+        }
+        // The previous level was held since the last update
+        final double decay = Math.exp(-(time - this.updates[slot]) / this.windowSizeInSeconds);
+        return this.states[slot] * decay + this.levels[slot] * (1 - decay);
+    }
+
+    private double evaluate() {
+        if (this.size == 0) {
+            return Double.NaN;
+        }
+        return switch (this.aggregationMethod) {
+        case SUM -> this.sum;
+        case AVERAGE -> this.sum / this.size;
+        case MIN -> this.sorted[0];
+        case MAX -> this.sorted[this.size - 1];
+        case MEDIAN -> this.size % 2 == 0 ? (this.sorted[this.size / 2 - 1] + this.sorted[this.size / 2]) / 2
+                : this.sorted[this.size / 2];
+        case PERCENTILE95 -> this.valueAtQuantile(0.95);
+        case PERCENTILE90 -> this.valueAtQuantile(0.90);
+        default -> throw new IllegalStateException("Unsupported aggregation method: " + this.aggregationMethod);
+        };
+    }
+
+    /**
+     * @return the quantile according to the nearest-rank method.
+     */
+    private double valueAtQuantile(final double quantile) {
+        final int rank = (int) Math.ceil(this.size * quantile);
+        return this.sorted[Math.min(this.size, Math.max(1, rank)) - 1];
+    }
+
+    /**
+     * Removes the elements whose last update is {@code <= horizon}.
+     */
+    private void expire(final double horizon) {
+        while (this.oldest != NONE && this.updates[this.oldest] <= horizon) {
+            final int slot = this.oldest;
+            this.unlink(slot);
+            this.leave(this.states[slot]);
+            this.slots[this.elements[slot] + 1] = NONE;
+            this.freeSlots[this.freeCount++] = slot;
+        }
+    }
+
+    private void enter(final double state) {
+        this.sum += state;
+        if (this.ordered) {
+            int index = Arrays.binarySearch(this.sorted, 0, this.size, state);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            System.arraycopy(this.sorted, index, this.sorted, index + 1, this.size - index);
+            this.sorted[index] = state;
+        }
+        this.size++;
+    }
+
+    /**
+     * Removes the state from the cross-element aggregate. The slot of the state must already be
+     * unlinked.
+     */
+    private void leave(final double state) {
+        this.size--;
+        if (this.ordered) {
+            final int index = Arrays.binarySearch(this.sorted, 0, this.size + 1, state);
+            System.arraycopy(this.sorted, index + 1, this.sorted, index, this.size - index);
+        }
+        this.sum -= state;
+        this.removalsSinceRecompute++;
+        if (this.removalsSinceRecompute >= Math.max(this.size, 16)) {
+            // Shed the rounding errors accumulated by the removals
+            this.sum = 0;
+            for (int slot = this.oldest; slot != NONE; slot = this.newer[slot]) {
+                this.sum += this.states[slot];
+            }
+            this.removalsSinceRecompute = 0;
+        }
+    }
+
+    private int allocate(final int element) {
+        final int slot;
+        if (this.freeCount > 0) {
+            slot = this.freeSlots[--this.freeCount];
+        } else {
+            if (this.usedSlots == this.elements.length) {
+                this.grow(this.usedSlots * 2);
+            }
+            slot = this.usedSlots++;
+        }
+        this.elements[slot] = element;
+        if (element + 1 >= this.slots.length) {
+            final int length = this.slots.length;
+            this.slots = Arrays.copyOf(this.slots, Math.max(element + 2, length * 2));
+            Arrays.fill(this.slots, length, this.slots.length, NONE);
+        }
+        this.slots[element + 1] = slot;
+        return slot;
+    }
+
+    private static int[] newSlots(final int capacity) {
+        final int[] slots = new int[capacity];
+        Arrays.fill(slots, NONE);
+        return slots;
+    }
+
+    private void grow(final int capacity) {
+        this.elements = Arrays.copyOf(this.elements, capacity);
+        this.levels = Arrays.copyOf(this.levels, capacity);
+        this.states = Arrays.copyOf(this.states, capacity);
+        this.updates = Arrays.copyOf(this.updates, capacity);
+        this.older = Arrays.copyOf(this.older, capacity);
+        this.newer = Arrays.copyOf(this.newer, capacity);
+        this.freeSlots = Arrays.copyOf(this.freeSlots, capacity);
+        if (this.ordered) {
+            this.sorted = Arrays.copyOf(this.sorted, capacity);
+        }
+    }
+
+    private void link(final int slot) {
+        this.older[slot] = this.newest;
+        this.newer[slot] = NONE;
+        if (this.newest == NONE) {
+            this.oldest = slot;
+        } else {
+            this.newer[this.newest] = slot;
+        }
+        this.newest = slot;
+    }
+
+    private void unlink(final int slot) {
+        if (this.older[slot] == NONE) {
+            this.oldest = this.newer[slot];
+        } else {
+            this.newer[this.older[slot]] = this.newer[slot];
+        }
+        if (this.newer[slot] == NONE) {
+            this.newest = this.older[slot];
+        } else {
+            this.older[this.newer[slot]] = this.older[slot];
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the values of the window twice: in order of arrival to know which values expire, and as a
+ * sorted array to answer rank queries in O(1). Adding and removing a value is a binary search
+ * followed by an array copy, which is far cheaper than sorting the whole window on every emit.
+ *
+ * The values are ordered like {@link Double#compare(double, double)}, as when sorting the boxed
+ * values.
+ *
+ * @author agent
+ */
+final class ExactQuantileEstimator implements QuantileEstimator {
+
+    /* The values in order of arrival. */
+    private final DataPointBuffer arrivals = new DataPointBuffer();
+
+    /* The same values, sorted. */
+    private double[] sorted = new double[16];
+
+    @Override
+    public void evict(final double horizon) {
+        while (!this.arrivals.isEmpty() && this.arrivals.getFirstTimestamp() <= horizon) {
+            final int size = this.arrivals.size();
+            final int index = Arrays.binarySearch(this.sorted, 0, size, this.arrivals.removeFirst());
+            System.arraycopy(this.sorted, index + 1, this.sorted, index, size - index - 1);
+        }
+    }
+
+    @Override
+    public void add(final double time, final double value) {
+        final int size = this.arrivals.size();
+        if (size == this.sorted.length) {
+            this.sorted = Arrays.copyOf(this.sorted, size * 2);
+        }
+        int index = Arrays.binarySearch(this.sorted, 0, size, value);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        System.arraycopy(this.sorted, index, this.sorted, index + 1, size - index);
+        this.sorted[index] = value;
+        this.arrivals.addLast(time, value);
+    }
+
+    @Override
+    public int size() {
+        return this.arrivals.size();
+    }
+
+    @Override
+    public double valueAtRank(final int rank) {
+        return this.sorted[rank - 1];
+    }
+}
@@ -1,16 +1,14 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
 
-import java.util.ArrayDeque;
-import java.util.Collection;
-import java.util.Queue;
-import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.IncrementalMeanAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.IncrementalRateOfChangeAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.IncrementalSumAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.IncrementalWindowFunction;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MaxAggregation;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MeanAggregation;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MedianAggregation;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MinAggregation;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.RateOfChangeAggregation;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.SumAggregation;
 import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
 
 /**
@@ -29,7 +27,8 @@ import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
  * For simulation, this implementation is not advised while it has to keep all measurements in the
  * queue and is inefficient and slow. Therefore, more efficient aggregations have to be employed,
  * see {@link #SlidingTimeWindowAggregationBasedOnEMA} which is an efficient variant when the
- * aggregation method is AVERAGE.
+ * aggregation method is AVERAGE. SUM, AVERAGE and RATEOFCHANGE are maintained by an
+ * {@link IncrementalWindowFunction}, which is updated in O(1) per value.
  * 
  * @author Julijan Katic, Floriment Klinaku
  */
@@ -38,17 +37,28 @@ public class FixedLengthWindowSimpleAggregation extends AbstractWindowAggregatio
     public static final int DEFAULT_WINDOW_SIZE = 10;
 
     protected final int windowSize;
-    protected final Queue<DataPoint> valuesToConsider;
+    protected final DataPointBuffer valuesToConsider;
 
     /** The aggregated value so far. */
     private double currentValue;
-    private final Function<Collection<DataPoint>, Double> aggrFunction;
+    private final ToDoubleFunction<DataPointView> aggrFunction;
+    private final IncrementalWindowFunction incrementalFunction;
+    private int evictionsSinceRecompute;
 
     private FixedLengthWindowSimpleAggregation(final int windowSize,
-            final Function<Collection<DataPoint>, Double> aggrFunction) {
+            final ToDoubleFunction<DataPointView> aggrFunction) {
         this.windowSize = windowSize;
-        this.valuesToConsider = new ArrayDeque<>(windowSize);
+        this.valuesToConsider = new DataPointBuffer(windowSize);
         this.aggrFunction = aggrFunction;
+        this.incrementalFunction = null;
+    }
+
+    private FixedLengthWindowSimpleAggregation(final int windowSize,
+            final IncrementalWindowFunction incrementalFunction) {
+        this.windowSize = windowSize;
+        this.valuesToConsider = new DataPointBuffer(windowSize);
+        this.aggrFunction = null;
+        this.incrementalFunction = incrementalFunction;
     }
 
     /**
@@ -61,19 +71,26 @@ public class FixedLengthWindowSimpleAggregation extends AbstractWindowAggregatio
     @Override
     public final double aggregate(final double time, final double newValue) {
         this.consider(time, newValue);
-        this.currentValue = aggrFunction.apply(valuesToConsider)
-            .doubleValue();
+        if (this.incrementalFunction != null) {
+            this.currentValue = this.incrementalFunction.getValue();
+        } else {
+            this.currentValue = aggrFunction.applyAsDouble(valuesToConsider);
+        }
         return this.currentValue;
     }
 
     /**
-     * Returns whether the window is full or whether some measurements are still missing.
-     * 
-     * @return true iff the window is full.
+     * The window is emittable as soon as it is full.
      */
     @Override
-    public boolean isEmittable() {
-        return this.valuesToConsider.size() == this.windowSize;
+    protected NotEmittableReason getNotEmittableReason() {
+        if (this.valuesToConsider.isEmpty()) {
+            return NotEmittableReason.NO_DATA;
+        }
+        if (this.valuesToConsider.size() < this.windowSize) {
+            return NotEmittableReason.WINDOW_NOT_FILLED;
+        }
+        return null;
     }
 
     /**
@@ -86,20 +103,36 @@ public class FixedLengthWindowSimpleAggregation extends AbstractWindowAggregatio
      */
     private void consider(final double time, final double newValue) {
         if (valuesToConsider.size() == windowSize) {
-            valuesToConsider.poll();
+            final double evictedTime = valuesToConsider.getFirstTimestamp();
+            final double evictedValue = valuesToConsider.removeFirst();
+            if (incrementalFunction != null) {
+                incrementalFunction.evict(evictedTime, evictedValue);
+                evictionsSinceRecompute++;
+            }
+        }
+        valuesToConsider.addLast(time, newValue);
+        if (incrementalFunction == null) {
+            return;
+        }
+        if (evictionsSinceRecompute >= windowSize) {
+            // Shed the rounding errors accumulated by the evictions
+            incrementalFunction.recompute(valuesToConsider);
+            evictionsSinceRecompute = 0;
+        } else {
+            incrementalFunction.insert(time, newValue);
         }
-        valuesToConsider.offer(new DataPoint(time, newValue));
     }
 
     public static FixedLengthWindowSimpleAggregation getFromAggregationMethod(final AGGREGATIONMETHOD aggregationMethod,
             final int windowSize) {
         return switch (aggregationMethod) {
         case MIN -> new FixedLengthWindowSimpleAggregation(windowSize, new MinAggregation());
-        case AVERAGE -> new FixedLengthWindowSimpleAggregation(windowSize, new MeanAggregation());
+        case AVERAGE -> new FixedLengthWindowSimpleAggregation(windowSize, new IncrementalMeanAggregation());
         case MAX -> new FixedLengthWindowSimpleAggregation(windowSize, new MaxAggregation());
         case MEDIAN -> new FixedLengthWindowSimpleAggregation(windowSize, new MedianAggregation());
-        case SUM -> new FixedLengthWindowSimpleAggregation(windowSize, new SumAggregation());
-        case RATEOFCHANGE -> new FixedLengthWindowSimpleAggregation(windowSize, new RateOfChangeAggregation());
+        case SUM -> new FixedLengthWindowSimpleAggregation(windowSize, new IncrementalSumAggregation());
+        case RATEOFCHANGE -> new FixedLengthWindowSimpleAggregation(windowSize,
+                new IncrementalRateOfChangeAggregation());
         default -> throw new IllegalArgumentException("Unexpected value: " + aggregationMethod);
         };
     }
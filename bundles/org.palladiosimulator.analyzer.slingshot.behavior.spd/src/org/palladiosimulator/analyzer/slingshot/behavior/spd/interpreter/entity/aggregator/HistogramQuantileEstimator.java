@@ -0,0 +1,105 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Counts the values of the window in {@link LogarithmicBuckets}, so that every returned value is
+ * within the relative accuracy of a value of the window.
+ *
+ * The counts of the whole window are kept in a Fenwick tree, so adding a value and finding the
+ * value at a rank are O(log b) for b buckets. For expiry, the window is split into time slices
+ * that each count which buckets their values went to; when the whole slice has left the window,
+ * its counts are subtracted again. Hence, the memory is bounded by the number of buckets and
+ * slices, and values leave the window at the granularity of slices.
+ *
+ * @author agent
+ */
+final class HistogramQuantileEstimator implements QuantileEstimator {
+
+    private final LogarithmicBuckets buckets;
+    private final double sliceWidth;
+
+    /* Fenwick tree over the bucket positions, 1-based. */
+    private final int[] tree;
+    private final int highestPowerOfTwo;
+    private int size;
+
+    private final Deque<Slice> slices = new ArrayDeque<>();
+    private final Deque<Slice> freeSlices = new ArrayDeque<>();
+
+    HistogramQuantileEstimator(final double relativeAccuracy, final double windowSize, final int slices) {
+        if (slices < 1) {
+            throw new IllegalArgumentException("There must be at least one slice: " + slices);
+        }
+        this.buckets = new LogarithmicBuckets(relativeAccuracy);
+        this.sliceWidth = windowSize / slices;
+        this.tree = new int[this.buckets.size() + 1];
+        this.highestPowerOfTwo = Integer.highestOneBit(this.buckets.size());
+    }
+
+    @Override
+    public void evict(final double horizon) {
+        while (!this.slices.isEmpty() && (this.slices.peekFirst().id + 1) * this.sliceWidth <= horizon) {
+            final Slice slice = this.slices.removeFirst();
+            final SparseCounts counts = slice.counts;
+            for (int slot = 0; slot < counts.capacity(); slot++) {
+                if (counts.countAt(slot) > 0) {
+                    this.update(counts.positionAt(slot), -counts.countAt(slot));
+                    this.size -= counts.countAt(slot);
+                }
+            }
+            counts.clear();
+            this.freeSlices.addLast(slice);
+        }
+    }
+
+    @Override
+    public void add(final double time, final double value) {
+        final long id = this.sliceWidth > 0 ? (long) Math.floor(time / this.sliceWidth) : 0;
+        Slice slice = this.slices.peekLast();
+        if (slice == null || slice.id != id) {
+            slice = this.freeSlices.isEmpty() ? new Slice() : this.freeSlices.removeFirst();
+            slice.id = id;
+            this.slices.addLast(slice);
+        }
+        final int position = this.buckets.position(value);
+        slice.counts.increment(position);
+        this.update(position, 1);
+        this.size++;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public double valueAtRank(final int rank) {
+        // Find the first position whose prefix sum reaches the rank
+        int position = 0;
+        int remaining = rank;
+        for (int step = this.highestPowerOfTwo; step > 0; step >>= 1) {
+            final int next = position + step;
+            if (next < this.tree.length && this.tree[next] < remaining) {
+                position = next;
+                remaining -= this.tree[next];
+            }
+        }
+        return this.buckets.representative(position);
+    }
+
+    private void update(final int position, final int delta) {
+        for (int i = position + 1; i < this.tree.length; i += i & -i) {
+            this.tree[i] += delta;
+        }
+    }
+
+    /**
+     * The buckets that the values of one time slice went to.
+     */
+    private static final class Slice {
+        private long id;
+        private final SparseCounts counts = new SparseCounts();
+    }
+}
@@ -0,0 +1,93 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * Forecasts a value by double exponential smoothing (Holt's linear method): a smoothed level and a
+ * smoothed trend per second are updated with each observation, and the forecast extrapolates the
+ * level along the trend. The observations are typically the aggregated values of a
+ * {@link WindowAggregation} read at regular times, but the trend is scaled by the time in between,
+ * so irregular times are handled as well.
+ *
+ * The state is a few doubles, and an update is O(1); no observations are kept.
+ *
+ * @author agent
+ */
+public class HoltForecaster {
+
+    public static final double DEFAULT_LEVEL_SMOOTHING = 0.5;
+    public static final double DEFAULT_TREND_SMOOTHING = 0.3;
+
+    private final double alpha;
+    private final double beta;
+
+    private int observations;
+    private double lastTime;
+    private double level;
+    private double trend;
+
+    public HoltForecaster() {
+        this(DEFAULT_LEVEL_SMOOTHING, DEFAULT_TREND_SMOOTHING);
+    }
+
+    /**
+     * @param alpha
+     *            the smoothing factor of the level, in (0, 1].
+     * @param beta
+     *            the smoothing factor of the trend, in (0, 1].
+     */
+    public HoltForecaster(final double alpha, final double beta) {
+        if (!(alpha > 0 && alpha <= 1) || !(beta > 0 && beta <= 1)) {
+            throw new IllegalArgumentException("Invalid smoothing factors " + alpha + " and " + beta);
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * Updates the level and trend with the value observed at the time. Observations that are not
+     * after the previous one are ignored.
+     */
+    public void update(final double time, final double value) {
+        if (this.observations == 0) {
+            this.level = value;
+            this.trend = 0;
+        } else {
+            final double elapsed = time - this.lastTime;
+            if (!(elapsed > 0)) {
+                return;
+            }
+            final double previousLevel = this.level;
+            if (this.observations == 1) {
+                this.level = value;
+                this.trend = (value - previousLevel) / elapsed;
+            } else {
+                this.level = this.alpha * value + (1 - this.alpha) * (previousLevel + this.trend * elapsed);
+                this.trend = this.beta * (this.level - previousLevel) / elapsed + (1 - this.beta) * this.trend;
+            }
+        }
+        this.lastTime = time;
+        this.observations = Math.min(this.observations + 1, 2);
+    }
+
+    /**
+     * @return the value forecast for the horizon in seconds after the last observation, or not
+     *         present if there were not two observations yet to derive a trend from.
+     */
+    public AggregatedValue forecast(final double horizon) {
+        if (this.observations == 0) {
+            return AggregatedValue.notEmittable(NotEmittableReason.NO_DATA);
+        }
+        if (this.observations == 1) {
+            return AggregatedValue.notEmittable(NotEmittableReason.WINDOW_NOT_FILLED);
+        }
+        return AggregatedValue.of(this.level + this.trend * horizon);
+    }
+
+    /**
+     * @return the value forecast for the time, which is measured from the last observation rather
+     *         than from the time of the call.
+     * @see #forecast(double)
+     */
+    public AggregatedValue forecastAt(final double time) {
+        return this.forecast(time - this.lastTime);
+    }
+}
@@ -0,0 +1,76 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * Maps values to buckets with logarithmically growing bounds, such that a value {@code v} in the
+ * bucket {@code (gamma^(i-1), gamma^i]} is represented with a relative error of at most
+ * {@code (gamma - 1) / (gamma + 1)}, the relative accuracy. Negative values are mirrored, and values
+ * closer to zero than {@link #MIN_TRACKABLE} share a bucket for zero. Values beyond
+ * {@link #MAX_TRACKABLE} are clamped to the outermost buckets.
+ *
+ * The buckets are numbered by position from the most negative bucket over zero to the most
+ * positive bucket, so that the positions are ordered like the values.
+ *
+ * @author agent
+ */
+final class LogarithmicBuckets {
+
+    static final double MIN_TRACKABLE = 1e-9;
+    static final double MAX_TRACKABLE = 1e12;
+
+    private final double logGamma;
+    private final double representativeFactor;
+    private final int minIndex;
+    private final int bucketsPerSign;
+    private final int zeroPosition;
+
+    LogarithmicBuckets(final double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("The relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        final double gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.representativeFactor = 2 / (1 + gamma);
+        this.minIndex = this.logIndex(MIN_TRACKABLE);
+        this.bucketsPerSign = this.logIndex(MAX_TRACKABLE) - this.minIndex + 1;
+        this.zeroPosition = this.bucketsPerSign;
+    }
+
+    /**
+     * @return the number of positions.
+     */
+    int size() {
+        return 2 * this.bucketsPerSign + 1;
+    }
+
+    /**
+     * @return the position of the value's bucket. {@code NaN} is put into the last position.
+     */
+    int position(final double value) {
+        if (Double.isNaN(value)) {
+            return 2 * this.bucketsPerSign;
+        }
+        final double magnitude = Math.abs(value);
+        if (magnitude < MIN_TRACKABLE) {
+            return this.zeroPosition;
+        }
+        final int bucket = Math.min(this.bucketsPerSign - 1,
+                Math.max(0, this.logIndex(Math.min(magnitude, MAX_TRACKABLE)) - this.minIndex));
+        return value > 0 ? this.zeroPosition + 1 + bucket : this.zeroPosition - 1 - bucket;
+    }
+
+    /**
+     * @return the value representing all values of the bucket at the position.
+     */
+    double representative(final int position) {
+        if (position == this.zeroPosition) {
+            return 0.0;
+        }
+        final int bucket = Math.abs(position - this.zeroPosition) - 1;
+        final double magnitude = this.representativeFactor * Math.exp((bucket + this.minIndex) * this.logGamma);
+        return position > this.zeroPosition ? magnitude : -magnitude;
+    }
+
+    private int logIndex(final double value) {
+        return (int) Math.ceil(Math.log(value) / this.logGamma);
+    }
+}
@@ -1,10 +1,12 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
 
 import javax.measure.Measure;
-import javax.measure.quantity.Dimensionless;
-import javax.measure.quantity.Duration;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DecodedMeasurement;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorKey.WindowType;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.targetgroup.TargetGroupChecker;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.IdRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
@@ -26,6 +28,16 @@ import org.palladiosimulator.spd.triggers.stimuli.TaskCount;
  * the target group. This is done in the {@link TargetGroupChecker} filter, that should be placed
  * before this filter.
  *
+ * If a {@link RollupStoreRegistry} is given and can answer the window, the values are read from the
+ * shared {@link RollupStore} of the target group, which is fed by the registry instead of this
+ * aggregator. Otherwise, the window is created by the {@link WindowFactory}: if enabled in the
+ * settings, an {@link ElementWiseAggregation} applies the aggregation method across the elements;
+ * otherwise, the window may be shared with the other consumers of the same stimulus and target
+ * group. If selected in the settings, the utilization is averaged by a
+ * {@link TimeWeightedAverageAggregation} instead of an exponential moving average.
+ *
+ * The measurements are read as decoded by the {@link MeasurementDecoder}.
+ *
  * @author Jens Berberich, based on work by Julijan Katic
  *
  * @param <T>
@@ -34,8 +46,31 @@ import org.palladiosimulator.spd.triggers.stimuli.TaskCount;
 public class ManagedElementAggregator<T extends ManagedElementsStateStimulus> extends ModelAggregatorWrapper<T> {
     protected final WindowAggregation aggregator;
     private final T stimulus;
+    /** Whether the aggregator is answered from rollups that are fed elsewhere. */
+    private final boolean fedByRollups;
+    /** Whether the aggregator is a window shared through, and fed by, the {@link AggregatorRegistry}. */
+    private final boolean fedByRegistry;
+    private final MeasurementDecoder decoder;
+    /** The id of the metric set description as interned by the decoder. */
+    private final int metricId;
+    /** Whether the decoded value is the value of the base metric description. */
+    private final boolean decodedValue;
 
     public ManagedElementAggregator(final T stimulus, final double windowSize) {
+        this(stimulus, windowSize, null, new WindowFactory(), null);
+    }
+
+    /**
+     * @param rollups
+     *            the registry of the rollup stores, or {@code null} to keep an own window.
+     * @param windows
+     *            the factory of the window, which may share it with other consumers. Only used if
+     *            the window is not answered from rollups.
+     * @param targetGroupId
+     *            the id of the target group whose measurements are aggregated.
+     */
+    public ManagedElementAggregator(final T stimulus, final double windowSize, final RollupStoreRegistry rollups,
+            final WindowFactory windows, final String targetGroupId) {
         this.stimulus = stimulus;
         if (stimulus instanceof TaskCount) {
             // TODO set metricSetDescription + baseMetricDescription
@@ -57,29 +92,40 @@ public class ManagedElementAggregator<T extends ManagedElementsStateStimulus> ex
             this.metricSetDescription = MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE;
             this.baseMetricDescription = MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE;
         }
-        if (stimulus.getAggregationOverElements()
-            .equals(AGGREGATIONMETHOD.AVERAGE)) {
-            this.aggregator = new SlidingTimeWindowAggregationBasedOnEMA(windowSize, windowSize / 2, 0.2);
+        this.decoder = MeasurementDecoder.getInstance();
+        this.metricId = this.metricSetDescription == null ? IdRegistry.UNKNOWN
+                : this.decoder.metricId(this.metricSetDescription);
+        this.decodedValue = this.metricSetDescription != null
+                && this.decoder.isValueMetric(this.metricId, this.baseMetricDescription);
+        final AGGREGATIONMETHOD aggregationMethod = stimulus.getAggregationOverElements();
+        final boolean timeWeighted = aggregationMethod.equals(AGGREGATIONMETHOD.AVERAGE)
+                && windows.isTimeWeighted(stimulus);
+        this.fedByRollups = rollups != null && this.metricSetDescription != null
+                && RollupWindowAggregation.supports(aggregationMethod, windowSize);
+        final RollupSeries series = this.metricSetDescription == null ? null
+                : new RollupSeries(this.metricSetDescription.getId(), this.baseMetricDescription, null);
+        final ElementWiseAggregation elementWise = this.fedByRollups ? null
+                : windows.elementWise(windowSize, 0.0, aggregationMethod);
+        if (this.fedByRollups) {
+            this.aggregator = new RollupWindowAggregation(rollups.getStore(targetGroupId, series), windowSize, 0.0,
+                    aggregationMethod);
+        } else if (elementWise != null) {
+            this.aggregator = elementWise;
+        } else if (timeWeighted) {
+            this.aggregator = windows.acquire(new AggregatorKey(series, targetGroupId,
+                    WindowType.TIME_WEIGHTED_AVERAGE, windowSize, aggregationMethod), 0.0);
         } else {
-            this.aggregator = SlidingTimeWindowAggregation
-                .getFromAggregationMethod(stimulus.getAggregationOverElements(), windowSize, 0.0);
+            this.aggregator = windows.acquireTimeWindow(series, targetGroupId, windowSize, aggregationMethod);
         }
+        this.fedByRegistry = this.aggregator instanceof SharedWindowAggregation;
     }
 
     /**
-     * Helper method to retrieve the filter result. If the aggregated value is in accordance with
-     * the specified trigger, success is returned. If not all measurements were made yet, or if the
-     * value was not in accordance, then disregard.
-     *
-     * @throws Exception
-     *             if {@link #aggregator} cannot currently emit a value
+     * Helper method to retrieve the aggregated value. If not enough measurements were made yet, or
+     * if the aggregator is rate limited, the result is not present and carries the reason.
      */
     @Override
-    public double getResult() throws NotEmittableException {
-        if (!this.aggregator.isEmittable()) {
-            throw new NotEmittableException("Values for Aggregator of " + this.stimulus.getClass()
-                .getSimpleName() + " not emittable.");
-        }
+    public AggregatedValue getResult() {
         return this.aggregator.getCurrentValue();
     }
 
@@ -89,23 +135,25 @@ public class ManagedElementAggregator<T extends ManagedElementsStateStimulus> ex
      */
     @Override
     public void aggregateMeasurement(final MeasurementMade measurementMade) {
-        if (measurementMade.getEntity()
-            .getMetricDesciption()
-            .getId()
-            .equals(this.metricSetDescription.getId())) {
-            this.aggregator.aggregate(this.getPointInTime(measurementMade.getEntity()),
-                    this.getValueForAggregation(measurementMade.getEntity()));
+        if (this.fedByRollups || this.fedByRegistry) {
+            return;
         }
+        final DecodedMeasurement decoded = this.decoder.decode(measurementMade);
+        if (decoded.metricId() != this.metricId) {
+            return;
+        }
+        final SlingshotMeasuringValue measuringValue = measurementMade.getEntity();
+        final double value = this.decodedValue ? decoded.value() : this.getValueForAggregation(measuringValue);
+        this.aggregator.aggregate(decoded.measuringPointId(), decoded.time(), value);
     }
 
-    protected double getPointInTime(final SlingshotMeasuringValue smv) {
-        final Measure<Double, Duration> pointInTime = smv
-            .getMeasureForMetric(MetricDescriptionConstants.POINT_IN_TIME_METRIC);
-        return pointInTime.getValue();
-    }
-
+    /**
+     * Reads the value of the base metric description from the measurement. Only needed if the
+     * {@link MeasurementDecoder} decodes another metric of the metric set description. The value may
+     * be of any numeric type, e.g. a task count.
+     */
     protected double getValueForAggregation(final SlingshotMeasuringValue smv) {
-        final Measure<Double, Dimensionless> measure = smv.getMeasureForMetric(this.baseMetricDescription);
-        return measure.getValue();
+        final Measure<?, ?> measure = smv.getMeasureForMetric(this.baseMetricDescription);
+        return ((Number) measure.getValue()).doubleValue();
     }
 }
@@ -10,7 +10,10 @@ public abstract class ModelAggregatorWrapper<T extends Stimulus> {
     protected MetricSetDescription metricSetDescription;
     protected BaseMetricDescription baseMetricDescription;
 
-    public abstract double getResult() throws NotEmittableException;
+    /**
+     * @return the aggregated value, or the reason why it cannot be emitted yet.
+     */
+    public abstract AggregatedValue getResult();
 
     public abstract void aggregateMeasurement(final MeasurementMade measurementMade);
 }
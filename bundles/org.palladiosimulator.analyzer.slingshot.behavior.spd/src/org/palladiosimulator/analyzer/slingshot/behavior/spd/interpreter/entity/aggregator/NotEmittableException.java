@@ -1,15 +0,0 @@
-package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
-
-public class NotEmittableException extends Exception {
-
-    private static final long serialVersionUID = -8765774659699658921L;
-
-    public NotEmittableException(String string) {
-        super(string);
-    }
-
-    public NotEmittableException() {
-        super();
-    }
-
-}
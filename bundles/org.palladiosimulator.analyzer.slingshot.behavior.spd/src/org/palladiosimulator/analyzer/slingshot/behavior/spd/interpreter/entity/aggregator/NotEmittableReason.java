@@ -0,0 +1,22 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * The reason why an aggregator or a model cannot provide a value yet.
+ *
+ * @author agent
+ */
+public enum NotEmittableReason {
+
+    /** No value has been aggregated yet. */
+    NO_DATA,
+
+    /** The window does not contain enough values or does not span enough time yet. */
+    WINDOW_NOT_FILLED,
+
+    /** A value has been emitted recently, and the emitting rate does not allow another one yet. */
+    RATE_LIMITED,
+
+    /** The model has not made a decision yet. */
+    NO_DECISION;
+
+}
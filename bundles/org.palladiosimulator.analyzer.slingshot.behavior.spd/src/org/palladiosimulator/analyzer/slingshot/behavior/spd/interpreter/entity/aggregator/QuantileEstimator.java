@@ -0,0 +1,106 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+
+/**
+ * Maintains the values of a sliding time window such that quantiles can be queried without sorting
+ * the window. Each {@link SlidingTimeWindowQuantileAggregation} owns its own estimator, so the
+ * trade-off between accuracy and memory can be chosen per window:
+ *
+ * <ul>
+ * <li>{@link #exact()} keeps every value in sorted order and yields exactly the same results as
+ * {@code PercentileAggregation} and {@code MedianAggregation}. Its memory grows with the number of
+ * values in the window.
+ * <li>{@link #approximate(double, double, int)} keeps a histogram with logarithmic buckets per time
+ * slice. Its memory is bounded by the number of buckets and slices, independent of the number of
+ * values.
+ * </ul>
+ *
+ * @author agent
+ */
+public interface QuantileEstimator {
+
+    /**
+     * Removes every value whose timestamp is {@code <= horizon}.
+     */
+    void evict(double horizon);
+
+    /**
+     * Adds a value. The values are expected to arrive in the order of their timestamps.
+     */
+    void add(double time, double value);
+
+    /**
+     * @return the number of values currently held.
+     */
+    int size();
+
+    /**
+     * Returns the value at the given rank of the sorted values.
+     *
+     * @param rank
+     *            the rank, starting at 1 for the smallest value.
+     */
+    double valueAtRank(int rank);
+
+    /**
+     * @return the quantile according to the nearest-rank method, or 0.0 if empty.
+     */
+    default double quantile(final double quantile) {
+        final int size = this.size();
+        if (size == 0) {
+            return 0.0;
+        }
+        final int rank = (int) Math.ceil(size * quantile);
+        return this.valueAtRank(Math.min(size, Math.max(1, rank)));
+    }
+
+    /**
+     * @return the median, i.e. the mean of the two middle values for an even number of values, or
+     *         0.0 if empty.
+     */
+    default double median() {
+        final int size = this.size();
+        if (size == 0) {
+            return 0.0;
+        }
+        if (size % 2 == 0) {
+            return (this.valueAtRank(size / 2 + 1) + this.valueAtRank(size / 2)) / 2;
+        }
+        return this.valueAtRank((size + 1) / 2);
+    }
+
+    /**
+     * @return an estimator that keeps every value of the window.
+     */
+    static QuantileEstimator exact() {
+        return new ExactQuantileEstimator();
+    }
+
+    /**
+     * Creates an estimator with bounded memory. Every returned value is within the relative
+     * accuracy of a value of the window. The window is split into {@code slices} time slices which
+     * expire as a whole, so a value may stay up to {@code windowSize / slices} seconds longer than
+     * its exact expiry.
+     *
+     * @param relativeAccuracy
+     *            the relative accuracy, e.g. 0.01 for 1%.
+     * @param windowSize
+     *            the size of the window in seconds.
+     * @param slices
+     *            the number of time slices of the window.
+     */
+    static QuantileEstimator approximate(final double relativeAccuracy, final double windowSize, final int slices) {
+        return new HistogramQuantileEstimator(relativeAccuracy, windowSize, slices);
+    }
+
+    /**
+     * @return an estimator as configured by {@link SpdInterpreterSettings#QUANTILE_MODE}.
+     */
+    static QuantileEstimator fromSettings(final SpdInterpreterSettings settings, final double windowSize) {
+        if (settings.isApproximateQuantileEnabled()) {
+            return approximate(settings.getQuantileAccuracy(), windowSize, settings.getQuantileSlices());
+        }
+        return exact();
+    }
+}
@@ -0,0 +1,50 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import javax.measure.Measure;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
+import org.palladiosimulator.metricspec.BaseMetricDescription;
+import org.palladiosimulator.pcmmeasuringpoint.OperationReference;
+
+/**
+ * Identifies the measurements of a target group that go into one {@link RollupStore} or shared
+ * window of the {@link AggregatorRegistry}: those of a metric set description, optionally
+ * restricted to the response times of one operation signature, of which the value of the base
+ * metric description is recorded.
+ *
+ * @param metricSetDescriptionId
+ *            the id of the metric set description of the measurements.
+ * @param baseMetricDescription
+ *            the metric whose value is recorded.
+ * @param operationSignatureId
+ *            the id of the operation signature the measuring point has to refer to, or
+ *            {@code null} for any measuring point.
+ *
+ * @author agent
+ */
+public record RollupSeries(String metricSetDescriptionId, BaseMetricDescription baseMetricDescription,
+        String operationSignatureId) {
+
+    /**
+     * @return true iff the measurement belongs to this series. The metric set description is
+     *         expected to match already.
+     */
+    boolean accepts(final SlingshotMeasuringValue measuringValue) {
+        if (this.operationSignatureId == null) {
+            return true;
+        }
+        return measuringValue.getMeasuringPoint() instanceof final OperationReference reference
+                && this.operationSignatureId.equals(reference.getOperationSignature()
+                    .getId());
+    }
+
+    /**
+     * Reads the value of the base metric description, which may be of any numeric type. Only needed
+     * if the {@link MeasurementDecoder} decodes another metric of the metric set description.
+     */
+    double valueOf(final SlingshotMeasuringValue measuringValue) {
+        final Measure<?, ?> measure = measuringValue.getMeasureForMetric(this.baseMetricDescription);
+        return ((Number) measure.getValue()).doubleValue();
+    }
+}
@@ -0,0 +1,343 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.Arrays;
+
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Summarizes the measurements of one series, e.g. the utilization of a target group, in fixed-size
+ * time buckets at several {@link #RESOLUTIONS resolutions}. Each bucket holds the count, sum,
+ * minimum and maximum of its values, and optionally a sketch of {@link LogarithmicBuckets} for
+ * quantiles.
+ *
+ * A window of any size that is a multiple of a bucket width is answered from the buckets of the
+ * coarsest such resolution, so several windows over the same series share one store, and the
+ * memory does not grow with the measurement rate. A window of size {@code n * width} consists of
+ * the last {@code n} buckets including the current one, hence it spans between
+ * {@code (n - 1) * width} and {@code n * width} seconds.
+ *
+ * Each resolution only keeps as many buckets as the largest window {@link #require(double, boolean)
+ * required} from it. The values are expected to arrive in the order of their timestamps.
+ *
+ * @author agent
+ */
+public final class RollupStore {
+
+    /** The bucket widths in seconds, from the finest to the coarsest. */
+    public static final double[] RESOLUTIONS = { 1, 10, 60 };
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+
+    private final Resolution[] resolutions = new Resolution[RESOLUTIONS.length];
+
+    private LogarithmicBuckets sketchBuckets;
+    private int[] mergedSketch;
+
+    private boolean hasValues;
+    private double lastTimestamp;
+
+    public RollupStore() {
+        for (int i = 0; i < RESOLUTIONS.length; i++) {
+            this.resolutions[i] = new Resolution(RESOLUTIONS[i]);
+        }
+    }
+
+    /**
+     * @return true iff the window size is a multiple of one of the bucket widths.
+     */
+    public static boolean supportsWindow(final double windowSize) {
+        return resolutionFor(windowSize) >= 0;
+    }
+
+    /**
+     * @return true iff the aggregation method can be answered from the buckets.
+     */
+    public static boolean supportsMethod(final AGGREGATIONMETHOD aggregationMethod) {
+        return aggregationMethod != AGGREGATIONMETHOD.RATEOFCHANGE;
+    }
+
+    /**
+     * Makes the store keep enough buckets to answer windows of the given size.
+     *
+     * @param quantiles
+     *            whether the window needs quantiles, i.e. the buckets need a sketch.
+     * @throws IllegalArgumentException
+     *             if the window size is not {@link #supportsWindow(double) supported}.
+     */
+    public void require(final double windowSize, final boolean quantiles) {
+        final int index = resolutionFor(windowSize);
+        if (index < 0) {
+            throw new IllegalArgumentException("The window size " + windowSize
+                    + " is not a multiple of any bucket width " + Arrays.toString(RESOLUTIONS));
+        }
+        if (quantiles && this.sketchBuckets == null) {
+            this.sketchBuckets = new LogarithmicBuckets(RELATIVE_ACCURACY);
+            this.mergedSketch = new int[this.sketchBuckets.size()];
+        }
+        this.resolutions[index].require(bucketsOf(windowSize, index), quantiles);
+    }
+
+    public void record(final double time, final double value) {
+        final int position = this.sketchBuckets == null ? -1 : this.sketchBuckets.position(value);
+        for (final Resolution resolution : this.resolutions) {
+            resolution.record(time, value, position);
+        }
+        this.hasValues = true;
+        this.lastTimestamp = time;
+    }
+
+    public boolean hasValues() {
+        return this.hasValues;
+    }
+
+    public double getLastTimestamp() {
+        return this.lastTimestamp;
+    }
+
+    /**
+     * @return the number of values in the window ending at the last timestamp.
+     */
+    public long count(final double windowSize) {
+        final Resolution resolution = this.resolution(windowSize);
+        long count = 0;
+        for (final int slot : resolution.slots(bucketsOf(windowSize, resolution), this.lastTimestamp)) {
+            count += resolution.counts[slot];
+        }
+        return count;
+    }
+
+    /**
+     * Computes the aggregate of the window ending at the last timestamp.
+     *
+     * @return the aggregate, or {@code NaN} if the window is empty.
+     * @throws IllegalArgumentException
+     *             if the aggregation method is not {@link #supportsMethod(AGGREGATIONMETHOD) supported}.
+     */
+    public double aggregate(final double windowSize, final AGGREGATIONMETHOD aggregationMethod) {
+        final Resolution resolution = this.resolution(windowSize);
+        final int[] slots = resolution.slots(bucketsOf(windowSize, resolution), this.lastTimestamp);
+        long count = 0;
+        double sum = 0;
+        double min = Double.NaN;
+        double max = Double.NaN;
+        for (final int slot : slots) {
+            if (count == 0 || Double.compare(resolution.mins[slot], min) < 0) {
+                min = resolution.mins[slot];
+            }
+            if (count == 0 || Double.compare(resolution.maxs[slot], max) > 0) {
+                max = resolution.maxs[slot];
+            }
+            count += resolution.counts[slot];
+            sum += resolution.sums[slot];
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return switch (aggregationMethod) {
+        case SUM -> sum;
+        case AVERAGE -> sum / count;
+        case MIN -> min;
+        case MAX -> max;
+        case MEDIAN -> this.quantile(resolution, slots, -1);
+        case PERCENTILE95 -> this.quantile(resolution, slots, 0.95);
+        case PERCENTILE90 -> this.quantile(resolution, slots, 0.90);
+        default -> throw new IllegalArgumentException("Unsupported aggregation method: " + aggregationMethod);
+        };
+    }
+
+    /**
+     * Merges the sketches of the buckets and returns the quantile with the nearest-rank method, or
+     * the median if {@code quantile} is negative.
+     */
+    private double quantile(final Resolution resolution, final int[] slots, final double quantile) {
+        if (resolution.sketches == null) {
+            throw new IllegalStateException("Quantiles have not been required for this window size.");
+        }
+        // Count from the sketches, as values recorded before the sketches were required are missing
+        long count = 0;
+        for (final int slot : slots) {
+            final SparseCounts sketch = resolution.sketches[slot];
+            for (int i = 0; i < sketch.capacity(); i++) {
+                if (sketch.countAt(i) > 0) {
+                    this.mergedSketch[sketch.positionAt(i)] += sketch.countAt(i);
+                    count += sketch.countAt(i);
+                }
+            }
+        }
+        final double result;
+        if (count == 0) {
+            result = Double.NaN;
+        } else if (quantile < 0) {
+            final double lower = this.valueAtRank((count + 1) / 2);
+            result = count % 2 == 0 ? (lower + this.valueAtRank(count / 2 + 1)) / 2 : lower;
+        } else {
+            result = this.valueAtRank(Math.min(count, Math.max(1, (long) Math.ceil(count * quantile))));
+        }
+        Arrays.fill(this.mergedSketch, 0);
+        return result;
+    }
+
+    private double valueAtRank(final long rank) {
+        long seen = 0;
+        for (int position = 0; position < this.mergedSketch.length; position++) {
+            seen += this.mergedSketch[position];
+            if (seen >= rank) {
+                return this.sketchBuckets.representative(position);
+            }
+        }
+        throw new IllegalStateException("Rank " + rank + " exceeds the number of values " + seen);
+    }
+
+    private Resolution resolution(final double windowSize) {
+        final int index = resolutionFor(windowSize);
+        if (index < 0 || this.resolutions[index].capacity() < bucketsOf(windowSize, index)) {
+            throw new IllegalArgumentException("The window size " + windowSize + " has not been required.");
+        }
+        return this.resolutions[index];
+    }
+
+    /**
+     * @return the index of the coarsest resolution whose width divides the window size, or -1.
+     */
+    private static int resolutionFor(final double windowSize) {
+        for (int i = RESOLUTIONS.length - 1; i >= 0; i--) {
+            final double buckets = windowSize / RESOLUTIONS[i];
+            if (buckets >= 1 && Math.abs(buckets - Math.rint(buckets)) < 1e-9) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int bucketsOf(final double windowSize, final int index) {
+        return (int) Math.rint(windowSize / RESOLUTIONS[index]);
+    }
+
+    private static int bucketsOf(final double windowSize, final Resolution resolution) {
+        return (int) Math.rint(windowSize / resolution.width);
+    }
+
+    /**
+     * The buckets of one width as a ring, indexed by {@code floor(time / width)} modulo the
+     * capacity. A slot whose bucket index is outdated is reset before it is reused.
+     */
+    private static final class Resolution {
+
+        private final double width;
+
+        private long[] indices = new long[0];
+        private long[] counts = new long[0];
+        private double[] sums = new double[0];
+        private double[] mins = new double[0];
+        private double[] maxs = new double[0];
+        private SparseCounts[] sketches;
+
+        private Resolution(final double width) {
+            this.width = width;
+        }
+
+        private int capacity() {
+            return this.indices.length;
+        }
+
+        private void require(final int buckets, final boolean quantiles) {
+            if (buckets > this.capacity()) {
+                this.resize(buckets);
+            }
+            if (quantiles && this.sketches == null) {
+                this.sketches = new SparseCounts[this.capacity()];
+                for (int i = 0; i < this.sketches.length; i++) {
+                    this.sketches[i] = new SparseCounts();
+                }
+            }
+        }
+
+        private void record(final double time, final double value, final int position) {
+            if (this.capacity() == 0) {
+                return;
+            }
+            final long index = this.indexOf(time);
+            final int slot = (int) Math.floorMod(index, (long) this.capacity());
+            if (this.indices[slot] != index || this.counts[slot] == 0) {
+                this.indices[slot] = index;
+                this.counts[slot] = 0;
+                this.sums[slot] = 0;
+                if (this.sketches != null) {
+                    this.sketches[slot].clear();
+                }
+            }
+            if (this.counts[slot] == 0 || Double.compare(value, this.mins[slot]) < 0) {
+                this.mins[slot] = value;
+            }
+            if (this.counts[slot] == 0 || Double.compare(value, this.maxs[slot]) > 0) {
+                this.maxs[slot] = value;
+            }
+            this.counts[slot]++;
+            this.sums[slot] += value;
+            if (this.sketches != null && position >= 0) {
+                this.sketches[slot].increment(position);
+            }
+        }
+
+        /**
+         * @return the slots of the last {@code buckets} buckets up to the one containing
+         *         {@code time}, skipping outdated slots.
+         */
+        private int[] slots(final int buckets, final double time) {
+            final long current = this.indexOf(time);
+            final int[] slots = new int[buckets];
+            int found = 0;
+            for (long index = current - buckets + 1; index <= current; index++) {
+                final int slot = (int) Math.floorMod(index, (long) this.capacity());
+                if (this.indices[slot] == index && this.counts[slot] > 0) {
+                    slots[found++] = slot;
+                }
+            }
+            return found == buckets ? slots : Arrays.copyOf(slots, found);
+        }
+
+        private long indexOf(final double time) {
+            return (long) Math.floor(time / this.width);
+        }
+
+        /**
+         * Grows the ring, moving every bucket to its slot for the new capacity.
+         */
+        private void resize(final int capacity) {
+            final long[] oldIndices = this.indices;
+            final long[] oldCounts = this.counts;
+            final double[] oldSums = this.sums;
+            final double[] oldMins = this.mins;
+            final double[] oldMaxs = this.maxs;
+            final SparseCounts[] oldSketches = this.sketches;
+
+            this.indices = new long[capacity];
+            this.counts = new long[capacity];
+            this.sums = new double[capacity];
+            this.mins = new double[capacity];
+            this.maxs = new double[capacity];
+            this.sketches = oldSketches == null ? null : new SparseCounts[capacity];
+            for (int i = 0; i < oldIndices.length; i++) {
+                if (oldCounts[i] == 0) {
+                    continue;
+                }
+                final int slot = (int) Math.floorMod(oldIndices[i], (long) capacity);
+                this.indices[slot] = oldIndices[i];
+                this.counts[slot] = oldCounts[i];
+                this.sums[slot] = oldSums[i];
+                this.mins[slot] = oldMins[i];
+                this.maxs[slot] = oldMaxs[i];
+                if (oldSketches != null) {
+                    this.sketches[slot] = oldSketches[i];
+                }
+            }
+            if (this.sketches != null) {
+                for (int i = 0; i < capacity; i++) {
+                    if (this.sketches[i] == null) {
+                        this.sketches[i] = new SparseCounts();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DecodedMeasurement;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+
+/**
+ * Holds one {@link RollupStore} per target group and {@link RollupSeries}, so that every window
+ * over the same series is answered from the same buckets.
+ *
+ * The stores are created while interpreting the SPD model, and are fed by
+ * {@link #record(String, MeasurementMade)} once per measurement and target group, before the
+ * measurement is passed to the adjustor contexts.
+ *
+ * @author agent
+ */
+public final class RollupStoreRegistry {
+
+    /** target group id -> metric id -> the stores of its series, or {@code null}. */
+    private final Map<String, List<List<Entry>>> stores = new HashMap<>();
+
+    private final MeasurementDecoder decoder = MeasurementDecoder.getInstance();
+
+    /**
+     * @return the store of the series in the target group, created if absent.
+     */
+    public RollupStore getStore(final String targetGroupId, final RollupSeries series) {
+        final List<List<Entry>> byMetric = this.stores.computeIfAbsent(targetGroupId, id -> new ArrayList<>());
+        final int metricId = this.decoder.metricId(series.metricSetDescriptionId());
+        while (byMetric.size() <= metricId) {
+            byMetric.add(null);
+        }
+        List<Entry> entries = byMetric.get(metricId);
+        if (entries == null) {
+            entries = new ArrayList<>(1);
+            byMetric.set(metricId, entries);
+        }
+        for (final Entry entry : entries) {
+            if (entry.series.equals(series)) {
+                return entry.store;
+            }
+        }
+        final Entry entry = new Entry(series, new RollupStore());
+        entries.add(entry);
+        return entry.store;
+    }
+
+    /**
+     * Records the measurement in every store of the target group whose series it belongs to. The
+     * measuring point of the measurement is expected to be inside the target group.
+     *
+     * @param decoded
+     *            the measurement as decoded by the {@link MeasurementDecoder}.
+     */
+    public void record(final String targetGroupId, final MeasurementMade measurementMade,
+            final DecodedMeasurement decoded) {
+        final List<List<Entry>> byMetric = this.stores.get(targetGroupId);
+        if (byMetric == null || decoded.metricId() >= byMetric.size()) {
+            return;
+        }
+        final List<Entry> entries = byMetric.get(decoded.metricId());
+        if (entries == null) {
+            return;
+        }
+        final SlingshotMeasuringValue measuringValue = measurementMade.getEntity();
+        for (final Entry entry : entries) {
+            if (entry.series.accepts(measuringValue)) {
+                if (entry.decodedValue == null) {
+                    entry.decodedValue = this.decoder.isValueMetric(decoded.metricId(),
+                            entry.series.baseMetricDescription());
+                }
+                entry.store.record(decoded.time(),
+                        entry.decodedValue ? decoded.value() : entry.series.valueOf(measuringValue));
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final RollupSeries series;
+        private final RollupStore store;
+        /** Whether the decoded value is that of the series, or {@code null} if not known yet. */
+        private Boolean decodedValue;
+
+        private Entry(final RollupSeries series, final RollupStore store) {
+            this.series = series;
+            this.store = store;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * A sliding time window that is answered from a shared {@link RollupStore} instead of keeping its
+ * own values. It follows the emitting semantics of the other sliding time windows, where the window
+ * ends at the last timestamp recorded in the store.
+ *
+ * The store is usually fed by the {@link RollupStoreRegistry}, so the owners of this window do not
+ * {@link #aggregate(double, double) aggregate} the measurements themselves. If they do, the value is
+ * recorded in the store.
+ *
+ * @author agent
+ */
+public class RollupWindowAggregation extends AbstractWindowAggregation {
+
+    private final RollupStore store;
+    private final double windowSizeInSeconds;
+    private final double durationNoEmit; // determines the emitting frequency
+    private final AGGREGATIONMETHOD aggregationMethod;
+    private double emitTime;
+
+    /**
+     * @throws IllegalArgumentException
+     *             if the store cannot answer the window size or aggregation method, see
+     *             {@link #supports(AGGREGATIONMETHOD, double)}.
+     */
+    public RollupWindowAggregation(final RollupStore store, final double winSizeSeconds, final double noEmitDuration,
+            final AGGREGATIONMETHOD aggregationMethod) {
+        if (!supports(aggregationMethod, winSizeSeconds)) {
+            throw new IllegalArgumentException(
+                    "Rollups cannot answer " + aggregationMethod + " over " + winSizeSeconds + " seconds.");
+        }
+        this.store = store;
+        this.windowSizeInSeconds = winSizeSeconds;
+        this.durationNoEmit = noEmitDuration;
+        this.aggregationMethod = aggregationMethod;
+        this.emitTime = 0.0;
+        store.require(winSizeSeconds, needsQuantiles(aggregationMethod));
+    }
+
+    public static boolean supports(final AGGREGATIONMETHOD aggregationMethod, final double winSizeSeconds) {
+        return RollupStore.supportsMethod(aggregationMethod) && RollupStore.supportsWindow(winSizeSeconds);
+    }
+
+    private static boolean needsQuantiles(final AGGREGATIONMETHOD aggregationMethod) {
+        return aggregationMethod == AGGREGATIONMETHOD.MEDIAN || aggregationMethod == AGGREGATIONMETHOD.PERCENTILE95
+                || aggregationMethod == AGGREGATIONMETHOD.PERCENTILE90;
+    }
+
+    @Override
+    public double aggregate(final double time, final double newValue) {
+        this.store.record(time, newValue);
+        return this.store.aggregate(this.windowSizeInSeconds, this.aggregationMethod);
+    }
+
+    @Override
+    protected NotEmittableReason getNotEmittableReason() {
+        if (!this.store.hasValues() || this.store.count(this.windowSizeInSeconds) == 0) {
+            return NotEmittableReason.NO_DATA;
+        }
+        final double lastTimestamp = this.store.getLastTimestamp();
+        if (lastTimestamp <= this.windowSizeInSeconds) {
+            return NotEmittableReason.WINDOW_NOT_FILLED;
+        }
+        if (lastTimestamp - this.emitTime <= this.durationNoEmit) {
+            return NotEmittableReason.RATE_LIMITED;
+        }
+        return null;
+    }
+
+    @Override
+    protected double getCurrentVal() {
+        this.emitTime = this.store.getLastTimestamp();
+        return this.store.aggregate(this.windowSizeInSeconds, this.aggregationMethod);
+    }
+}
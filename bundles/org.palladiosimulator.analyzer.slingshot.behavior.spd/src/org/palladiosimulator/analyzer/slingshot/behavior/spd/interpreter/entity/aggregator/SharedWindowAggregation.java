@@ -0,0 +1,90 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * A read cursor over a window shared by several consumers, see {@link AggregatorRegistry}.
+ *
+ * The shared window is fed once per measurement by the registry, so that it does not depend on
+ * which of its consumers see which measurements, e.g. when a compound trigger short-circuits. Like
+ * the owners of a {@link RollupWindowAggregation}, the consumers must therefore not
+ * {@link #aggregate(double, double) aggregate} the measurements themselves.
+ *
+ * The window itself is never rate limited. Instead, each cursor keeps its own emit time, so that
+ * reading the value through one cursor does not hold back the others.
+ *
+ * @author agent
+ */
+public final class SharedWindowAggregation extends AbstractWindowAggregation {
+
+    private final SharedWindow shared;
+    private final double durationNoEmit; // determines the emitting frequency
+    private double emitTime;
+
+    SharedWindowAggregation(final SharedWindow shared, final double noEmitDuration) {
+        this.shared = shared;
+        this.durationNoEmit = noEmitDuration;
+        this.emitTime = 0.0;
+    }
+
+    /**
+     * @throws UnsupportedOperationException
+     *             always, as the shared window is fed by the {@link AggregatorRegistry}.
+     */
+    @Override
+    public double aggregate(final double time, final double newValue) {
+        throw new UnsupportedOperationException("A shared window is fed by the AggregatorRegistry.");
+    }
+
+    /**
+     * @throws UnsupportedOperationException
+     *             always, as the shared window is fed by the {@link AggregatorRegistry}.
+     */
+    @Override
+    public double aggregate(final int element, final double time, final double newValue) {
+        throw new UnsupportedOperationException("A shared window is fed by the AggregatorRegistry.");
+    }
+
+    @Override
+    protected NotEmittableReason getNotEmittableReason() {
+        final NotEmittableReason reason = this.shared.window.getNotEmittableReason();
+        if (reason != null) {
+            return reason;
+        }
+        if (this.shared.lastTimestamp - this.emitTime <= this.durationNoEmit) {
+            return NotEmittableReason.RATE_LIMITED;
+        }
+        return null;
+    }
+
+    @Override
+    protected double getCurrentVal() {
+        this.emitTime = this.shared.lastTimestamp;
+        return this.shared.window.getCurrentVal();
+    }
+
+    public AggregatorKey getKey() {
+        return this.shared.key;
+    }
+
+    /**
+     * The window of a key together with the time of its last value.
+     */
+    static final class SharedWindow {
+
+        final AggregatorKey key;
+        final AbstractWindowAggregation window;
+        /** Whether the decoded value is that of the series, or {@code null} if not known yet. */
+        Boolean decodedValue;
+
+        private double lastTimestamp;
+
+        SharedWindow(final AggregatorKey key, final AbstractWindowAggregation window) {
+            this.key = key;
+            this.window = window;
+        }
+
+        void record(final int element, final double time, final double value) {
+            this.lastTimestamp = time;
+            this.window.aggregate(element, time, value);
+        }
+    }
+}
@@ -24,13 +24,17 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
  * more the overall utilization is decreased.
  * 
  * Caution: This EMA Aggregation method is suitable for how the utilization of active resources is
- * implemented in Slingshot. It may not be applicable to other types of measurements.
+ * implemented in Slingshot. It may not be applicable to other types of measurements. For a
+ * time-weighted average of the utilization, see {@link TimeWeightedAverageAggregation}.
  * 
  * @author Floriment Klinaku, Sarah Stieß
  *
  */
 public class SlidingTimeWindowAggregationBasedOnEMA extends AbstractWindowAggregation {
 
+    /** The smoothing factor the SPD interpreter uses for its moving averages. */
+    public static final double DEFAULT_SMOOTHING_FACTOR = 0.2;
+
     private double windowSizeInSeconds; // Size of the sliding window in seconds
     private double currentValue; // Aggregate value of the current window
     private double emitTime;
@@ -77,8 +81,14 @@ public class SlidingTimeWindowAggregationBasedOnEMA extends AbstractWindowAggreg
      * frequency has been reached.
      */
     @Override
-    public boolean isEmittable() {
-        return lastUpdateTime > windowSizeInSeconds && lastUpdateTime - emitTime > durationNoEmit;
+    protected NotEmittableReason getNotEmittableReason() {
+        if (lastUpdateTime <= windowSizeInSeconds) {
+            return NotEmittableReason.WINDOW_NOT_FILLED;
+        }
+        if (lastUpdateTime - emitTime <= durationNoEmit) {
+            return NotEmittableReason.RATE_LIMITED;
+        }
+        return null;
     }
 
     @Override
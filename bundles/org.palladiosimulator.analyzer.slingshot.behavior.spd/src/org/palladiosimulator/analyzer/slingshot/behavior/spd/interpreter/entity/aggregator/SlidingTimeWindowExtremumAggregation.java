@@ -0,0 +1,66 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * A sliding time window that yields the minimum or the maximum of its values, exactly like a
+ * {@code MinAggregation} or {@code MaxAggregation} applied to all values of the window, but
+ * without keeping all of them.
+ *
+ * Instead, it keeps a monotonic deque of the values that can still become the extremum: When a
+ * value is added, every older value that is not better than it is dropped, as the new value will
+ * stay in the window longer. Hence, the first element of the deque is always the extremum of the
+ * window, and each value is added and removed at most once. This makes both
+ * {@link #aggregate(double, double)} and {@link #getCurrentValue()} O(1) amortized.
+ *
+ * @author agent
+ */
+public class SlidingTimeWindowExtremumAggregation extends AbstractSlidingTimeWindowAggregation {
+
+    private final boolean maximum;
+
+    /* The monotonic deque of the values that can still become the extremum. */
+    private final DataPointBuffer deque = new DataPointBuffer();
+
+    private SlidingTimeWindowExtremumAggregation(final double winSizeSeconds, final double noEmitDuration,
+            final boolean maximum) {
+        super(winSizeSeconds, noEmitDuration);
+        this.maximum = maximum;
+    }
+
+    public static SlidingTimeWindowExtremumAggregation min(final double winSizeSeconds, final double noEmitDuration) {
+        return new SlidingTimeWindowExtremumAggregation(winSizeSeconds, noEmitDuration, false);
+    }
+
+    public static SlidingTimeWindowExtremumAggregation max(final double winSizeSeconds, final double noEmitDuration) {
+        return new SlidingTimeWindowExtremumAggregation(winSizeSeconds, noEmitDuration, true);
+    }
+
+    @Override
+    protected void evict(final double horizon) {
+        while (!this.deque.isEmpty() && this.deque.getFirstTimestamp() <= horizon) {
+            this.deque.removeFirst();
+        }
+    }
+
+    @Override
+    protected void add(final double time, final double value) {
+        // Remove the values that can never become the extremum again
+        while (!this.deque.isEmpty() && !this.isBetter(this.deque.getLastValue(), value)) {
+            this.deque.removeLast();
+        }
+        this.deque.addLast(time, value);
+    }
+
+    @Override
+    protected double evaluate() {
+        return this.deque.getFirstValue();
+    }
+
+    /**
+     * Whether the older value stays in the deque next to the newer value, i.e. whether it is
+     * strictly better. Uses {@link Double#compare(double, double)} like the aggregation functions.
+     */
+    private boolean isBetter(final double older, final double newer) {
+        final int comparison = Double.compare(older, newer);
+        return this.maximum ? comparison > 0 : comparison < 0;
+    }
+}
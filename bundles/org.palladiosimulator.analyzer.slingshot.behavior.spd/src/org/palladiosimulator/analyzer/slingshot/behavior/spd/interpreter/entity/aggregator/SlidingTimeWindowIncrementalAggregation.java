@@ -0,0 +1,49 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.IncrementalWindowFunction;
+
+/**
+ * A sliding time window whose aggregate is maintained by an {@link IncrementalWindowFunction}. The
+ * function is told about every value that enters or leaves the window, so that neither
+ * {@link #aggregate(double, double)} nor {@link #getCurrentValue()} revisit the whole window.
+ * Only once the window has been replaced by evictions, the function recomputes its state to shed
+ * accumulated rounding errors.
+ *
+ * @author agent
+ */
+public class SlidingTimeWindowIncrementalAggregation extends AbstractSlidingTimeWindowAggregation {
+
+    private final DataPointBuffer window = new DataPointBuffer();
+    private final IncrementalWindowFunction function;
+    private int evictionsSinceRecompute;
+
+    public SlidingTimeWindowIncrementalAggregation(final double winSizeSeconds, final double noEmitDuration,
+            final IncrementalWindowFunction function) {
+        super(winSizeSeconds, noEmitDuration);
+        this.function = function;
+    }
+
+    @Override
+    protected void evict(final double horizon) {
+        while (!this.window.isEmpty() && this.window.getFirstTimestamp() <= horizon) {
+            final double timestamp = this.window.getFirstTimestamp();
+            this.function.evict(timestamp, this.window.removeFirst());
+            this.evictionsSinceRecompute++;
+        }
+        if (this.evictionsSinceRecompute > 0 && this.evictionsSinceRecompute >= this.window.size()) {
+            this.function.recompute(this.window);
+            this.evictionsSinceRecompute = 0;
+        }
+    }
+
+    @Override
+    protected void add(final double time, final double value) {
+        this.window.addLast(time, value);
+        this.function.insert(time, value);
+    }
+
+    @Override
+    protected double evaluate() {
+        return this.function.getValue();
+    }
+}
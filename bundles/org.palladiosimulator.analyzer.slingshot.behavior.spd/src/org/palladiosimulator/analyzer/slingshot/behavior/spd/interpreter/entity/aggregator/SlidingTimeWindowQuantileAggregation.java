@@ -0,0 +1,57 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * A sliding time window that yields a percentile or the median of its values, like a
+ * {@code PercentileAggregation} or {@code MedianAggregation} applied to all values of the window,
+ * but without sorting the whole window on every emit. Instead, the values
+ * are maintained by a {@link QuantileEstimator}, which determines the accuracy and memory of the
+ * window.
+ *
+ * @author agent
+ */
+public class SlidingTimeWindowQuantileAggregation extends AbstractSlidingTimeWindowAggregation {
+
+    /** Marks the median, which averages the two middle values for an even number of values. */
+    private static final double MEDIAN = -1;
+
+    private final double quantile;
+    private final QuantileEstimator estimator;
+
+    private SlidingTimeWindowQuantileAggregation(final double winSizeSeconds, final double noEmitDuration,
+            final double quantile, final QuantileEstimator estimator) {
+        super(winSizeSeconds, noEmitDuration);
+        this.quantile = quantile;
+        this.estimator = estimator;
+    }
+
+    public static SlidingTimeWindowQuantileAggregation percentile(final double winSizeSeconds,
+            final double noEmitDuration, final double percentile, final QuantileEstimator estimator) {
+        if (!(percentile > 0 && percentile <= 1)) {
+            throw new IllegalArgumentException("The percentile must be in (0, 1]: " + percentile);
+        }
+        return new SlidingTimeWindowQuantileAggregation(winSizeSeconds, noEmitDuration, percentile, estimator);
+    }
+
+    public static SlidingTimeWindowQuantileAggregation median(final double winSizeSeconds,
+            final double noEmitDuration, final QuantileEstimator estimator) {
+        return new SlidingTimeWindowQuantileAggregation(winSizeSeconds, noEmitDuration, MEDIAN, estimator);
+    }
+
+    @Override
+    protected void evict(final double horizon) {
+        this.estimator.evict(horizon);
+    }
+
+    @Override
+    protected void add(final double time, final double value) {
+        this.estimator.add(time, value);
+    }
+
+    @Override
+    protected double evaluate() {
+        if (this.quantile == MEDIAN) {
+            return this.estimator.median();
+        }
+        return this.estimator.quantile(this.quantile);
+    }
+}
@@ -0,0 +1,86 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.Arrays;
+
+/**
+ * A small open-addressing map from bucket positions to counts, for the few buckets that the values
+ * of a short period of time fall into. The entries are visited by slot, where a slot is either
+ * unused or holds a position with a positive count:
+ *
+ * <pre>
+ * for (int slot = 0; slot &lt; counts.capacity(); slot++) {
+ *     if (counts.countAt(slot) &gt; 0) { ... counts.positionAt(slot) ... }
+ * }
+ * </pre>
+ *
+ * @author agent
+ */
+final class SparseCounts {
+
+    private static final int EMPTY = -1;
+
+    private int[] positions = newPositions(8);
+    private int[] counts = new int[8];
+    private int used;
+
+    void increment(final int position) {
+        if (2 * (this.used + 1) > this.positions.length) {
+            this.rehash(this.positions.length * 2);
+        }
+        final int slot = find(this.positions, position);
+        if (this.positions[slot] == EMPTY) {
+            this.positions[slot] = position;
+            this.used++;
+        }
+        this.counts[slot]++;
+    }
+
+    void clear() {
+        if (this.used > 0) {
+            Arrays.fill(this.positions, EMPTY);
+            Arrays.fill(this.counts, 0);
+            this.used = 0;
+        }
+    }
+
+    int capacity() {
+        return this.positions.length;
+    }
+
+    int positionAt(final int slot) {
+        return this.positions[slot];
+    }
+
+    int countAt(final int slot) {
+        return this.counts[slot];
+    }
+
+    private static int find(final int[] table, final int position) {
+        final int mask = table.length - 1;
+        int slot = (position * 0x9E3779B9 >>> 16) & mask;
+        while (table[slot] != EMPTY && table[slot] != position) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(final int capacity) {
+        final int[] newPositions = newPositions(capacity);
+        final int[] newCounts = new int[capacity];
+        for (int i = 0; i < this.positions.length; i++) {
+            if (this.positions[i] != EMPTY) {
+                final int slot = find(newPositions, this.positions[i]);
+                newPositions[slot] = this.positions[i];
+                newCounts[slot] = this.counts[i];
+            }
+        }
+        this.positions = newPositions;
+        this.counts = newCounts;
+    }
+
+    private static int[] newPositions(final int capacity) {
+        final int[] positions = new int[capacity];
+        Arrays.fill(positions, EMPTY);
+        return positions;
+    }
+}
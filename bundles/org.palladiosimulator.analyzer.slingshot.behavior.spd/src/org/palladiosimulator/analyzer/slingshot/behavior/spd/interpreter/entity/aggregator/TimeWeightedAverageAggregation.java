@@ -0,0 +1,296 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.Arrays;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.spd.triggers.stimuli.CPUUtilization;
+import org.palladiosimulator.spd.triggers.stimuli.HDDUtilization;
+import org.palladiosimulator.spd.triggers.stimuli.Stimulus;
+
+/**
+ * The time-weighted average of step functions over a sliding time window, as an alternative to
+ * {@link SlidingTimeWindowAggregationBasedOnEMA} for utilization. In Slingshot, the utilization of
+ * an active resource is only measured when a job arrives or leaves, so each value holds until the
+ * next one. Instead of correcting a moving average for the time in between, this aggregation
+ * integrates the step function.
+ *
+ * The values of a target group come from several elements, e.g. the processing resources of its
+ * containers, each with its own step function. Each element keeps its latest value, and the mean
+ * across the elements is integrated, so the values of different elements do not overwrite each
+ * other. Like in the {@link ElementWiseAggregation}, an element that has not reported within the
+ * window leaves the mean, so that removed elements do not count forever. While no element is left,
+ * the time is not part of the window.
+ *
+ * The window is split into a fixed number of buckets, each holding the integral of the mean within
+ * it and the time it covers, so the memory is O(buckets + elements) and an update is O(1) amortized
+ * for a constant number of elements. The average is the integral over the window divided by the
+ * time the window covers; the oldest bucket, which the window starts in, is prorated by the
+ * fraction of it inside the window. Before the first value, the step functions are unknown and not
+ * part of the window.
+ *
+ * The emitting semantics are those of the other sliding time windows.
+ *
+ * @author agent
+ */
+public class TimeWeightedAverageAggregation extends AbstractWindowAggregation {
+
+    public static final int DEFAULT_BUCKETS = 60;
+
+    /** The slot of the values without an element. */
+    private static final int UNNAMED = 0;
+
+    private final double windowSizeInSeconds;
+    private final double durationNoEmit; // determines the emitting frequency
+    private final double bucketWidth;
+    private final int buckets;
+
+    /* The ring of buckets, one more than the window needs for the oldest bucket. */
+    private final double[] integrals;
+    private final double[] durations;
+    private final long[] bucketIds;
+    private double total;
+    private double totalDuration;
+    private int resetsSinceRecompute;
+
+    /* The latest value and its time per element, indexed by the element id + 1. */
+    private double[] levels = new double[8];
+    private double[] updates = new double[8];
+    private boolean[] present = new boolean[8];
+    private int count;
+    private double levelSum;
+    private double oldestUpdate;
+
+    private boolean hasValues;
+    private double firstTimestamp;
+    private double lastTimestamp;
+    private double emitTime;
+
+    public TimeWeightedAverageAggregation(final double winSizeSeconds, final double noEmitDuration) {
+        this(winSizeSeconds, noEmitDuration, DEFAULT_BUCKETS);
+    }
+
+    public TimeWeightedAverageAggregation(final double winSizeSeconds, final double noEmitDuration,
+            final int buckets) {
+        if (!(winSizeSeconds > 0) || buckets < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid window size " + winSizeSeconds + " or number of buckets " + buckets);
+        }
+        this.windowSizeInSeconds = winSizeSeconds;
+        this.durationNoEmit = noEmitDuration;
+        this.buckets = buckets;
+        this.bucketWidth = winSizeSeconds / buckets;
+        this.integrals = new double[buckets + 1];
+        this.durations = new double[buckets + 1];
+        this.bucketIds = new long[buckets + 1];
+        this.emitTime = 0.0;
+    }
+
+    /**
+     * @return true iff the settings select the time-weighted average over the exponential moving
+     *         average, and the stimulus is a utilization whose measurements form a step function.
+     * @see SpdInterpreterSettings#AVERAGE_MODE
+     */
+    public static boolean isSelectedFor(final SpdInterpreterSettings settings, final Stimulus stimulus) {
+        return settings.isTimeWeightedAverageEnabled()
+                && (stimulus instanceof CPUUtilization || stimulus instanceof HDDUtilization);
+    }
+
+    /**
+     * Values without an element are treated as coming from one unnamed element.
+     */
+    @Override
+    public double aggregate(final double time, final double newValue) {
+        return this.update(UNNAMED, time, newValue);
+    }
+
+    /**
+     * Integrates the mean across the elements up to the time, after which the new value of the
+     * element holds. The values are expected to arrive in the order of their timestamps.
+     *
+     * @param element
+     *            the id of the element, e.g. of its measuring point, which is not negative.
+     */
+    @Override
+    public double aggregate(final int element, final double time, final double newValue) {
+        return this.update(element + 1, time, newValue);
+    }
+
+    private double update(final int slot, final double time, final double newValue) {
+        if (!this.hasValues) {
+            this.hasValues = true;
+            this.firstTimestamp = time;
+            this.lastTimestamp = time;
+            final long id = this.bucketOf(time);
+            final int bucket = this.slotOf(id);
+            this.bucketIds[bucket] = id;
+            this.integrals[bucket] = 0;
+            this.durations[bucket] = 0;
+        } else if (time > this.lastTimestamp) {
+            this.advance(time);
+        }
+
+        if (slot >= this.levels.length) {
+            final int capacity = Math.max(slot + 1, this.levels.length * 2);
+            this.levels = Arrays.copyOf(this.levels, capacity);
+            this.updates = Arrays.copyOf(this.updates, capacity);
+            this.present = Arrays.copyOf(this.present, capacity);
+        }
+        if (this.present[slot]) {
+            this.levelSum += newValue - this.levels[slot];
+        } else {
+            this.present[slot] = true;
+            this.levelSum += newValue;
+            this.oldestUpdate = this.count == 0 ? time : Math.min(this.oldestUpdate, time);
+            this.count++;
+        }
+        this.levels[slot] = newValue;
+        this.updates[slot] = time;
+        return this.evaluate();
+    }
+
+    @Override
+    protected NotEmittableReason getNotEmittableReason() {
+        if (!this.hasValues || this.count == 0) {
+            return NotEmittableReason.NO_DATA;
+        }
+        if (this.lastTimestamp <= this.windowSizeInSeconds) {
+            return NotEmittableReason.WINDOW_NOT_FILLED;
+        }
+        if (this.lastTimestamp - this.emitTime <= this.durationNoEmit) {
+            return NotEmittableReason.RATE_LIMITED;
+        }
+        return null;
+    }
+
+    @Override
+    protected double getCurrentVal() {
+        this.emitTime = this.lastTimestamp;
+        return this.evaluate();
+    }
+
+    /**
+     * @return the number of elements currently in the mean.
+     */
+    public int getElementCount() {
+        return this.count;
+    }
+
+    /**
+     * @return the average over the window ending at the last timestamp.
+     */
+    private double evaluate() {
+        final double windowStart = this.lastTimestamp - this.windowSizeInSeconds;
+        double integral = this.total;
+        double covered = this.totalDuration;
+        if (windowStart > this.firstTimestamp) {
+            // Prorate the oldest bucket, which the window starts in
+            final long oldest = this.bucketOf(this.lastTimestamp) - this.buckets;
+            final int slot = this.slotOf(oldest);
+            if (this.bucketIds[slot] == oldest) {
+                final double bucketStart = Math.max(oldest * this.bucketWidth, this.firstTimestamp);
+                final double bucketEnd = (oldest + 1) * this.bucketWidth;
+                if (bucketEnd > bucketStart) {
+                    final double outside = (windowStart - bucketStart) / (bucketEnd - bucketStart);
+                    integral -= this.integrals[slot] * outside;
+                    covered -= this.durations[slot] * outside;
+                }
+            }
+        }
+        if (covered <= 0) {
+            return this.count == 0 ? Double.NaN : this.levelSum / this.count;
+        }
+        return integral / covered;
+    }
+
+    /**
+     * Integrates the mean up to the time, and removes the elements that have not reported within
+     * the window at the time they leave it.
+     */
+    private void advance(final double time) {
+        while (this.count > 0 && this.oldestUpdate + this.windowSizeInSeconds <= time) {
+            final double expiry = this.oldestUpdate + this.windowSizeInSeconds;
+            if (expiry > this.lastTimestamp) {
+                this.integrate(this.lastTimestamp, expiry);
+                this.lastTimestamp = expiry;
+            }
+            this.expire(this.oldestUpdate);
+        }
+        this.integrate(this.lastTimestamp, time);
+        this.lastTimestamp = time;
+    }
+
+    /**
+     * Removes the elements whose last update is {@code <= horizon}, and recomputes the sum of the
+     * levels and the oldest update of the remaining ones.
+     */
+    private void expire(final double horizon) {
+        this.count = 0;
+        this.levelSum = 0;
+        this.oldestUpdate = Double.POSITIVE_INFINITY;
+        for (int slot = 0; slot < this.present.length; slot++) {
+            if (this.present[slot]) {
+                if (this.updates[slot] <= horizon) {
+                    this.present[slot] = false;
+                } else {
+                    this.count++;
+                    this.levelSum += this.levels[slot];
+                    this.oldestUpdate = Math.min(this.oldestUpdate, this.updates[slot]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the integral of the current mean over {@code [from, to]} to the buckets. Without an
+     * element, the buckets are only moved along.
+     */
+    private void integrate(final double from, final double to) {
+        final double level = this.count == 0 ? 0 : this.levelSum / this.count;
+        final long first = this.bucketOf(from);
+        final long last = this.bucketOf(to);
+        // Buckets that the ring cannot hold anymore need no integration
+        final long start = Math.max(first, last - this.buckets);
+        for (long id = start; id <= last; id++) {
+            final int slot = this.slotOf(id);
+            if (this.bucketIds[slot] != id) {
+                this.reset(slot, id);
+            }
+            final double segmentStart = Math.max(from, id * this.bucketWidth);
+            final double segmentEnd = Math.min(to, (id + 1) * this.bucketWidth);
+            if (this.count > 0 && segmentEnd > segmentStart) {
+                final double integral = level * (segmentEnd - segmentStart);
+                this.integrals[slot] += integral;
+                this.total += integral;
+                this.durations[slot] += segmentEnd - segmentStart;
+                this.totalDuration += segmentEnd - segmentStart;
+            }
+        }
+    }
+
+    private void reset(final int slot, final long id) {
+        this.total -= this.integrals[slot];
+        this.totalDuration -= this.durations[slot];
+        this.integrals[slot] = 0;
+        this.durations[slot] = 0;
+        this.bucketIds[slot] = id;
+        this.resetsSinceRecompute++;
+        if (this.resetsSinceRecompute >= this.integrals.length) {
+            // Shed the rounding errors accumulated by the resets
+            this.total = 0;
+            this.totalDuration = 0;
+            for (int bucket = 0; bucket < this.integrals.length; bucket++) {
+                this.total += this.integrals[bucket];
+                this.totalDuration += this.durations[bucket];
+            }
+            this.resetsSinceRecompute = 0;
+        }
+    }
+
+    private long bucketOf(final double time) {
+        return (long) Math.floor(time / this.bucketWidth);
+    }
+
+    private int slotOf(final long id) {
+        return (int) Math.floorMod(id, (long) this.integrals.length);
+    }
+}
@@ -27,8 +27,9 @@ import org.palladiosimulator.spd.triggers.stimuli.ManagedElementsStateStimulus;
  * on the number of datapoints in the window.
  * 
  * The {@link #getCurrentValue()} allows to retrieve the current aggregated
- * value. The method must throw an AssertionError in case {@link #isEmittable()}
- * returns false.
+ * value. In case {@link #isEmittable()} returns false, it does not throw but
+ * returns a non-emittable {@link AggregatedValue} with the reason, as this is
+ * the common case while the window fills up.
  * 
  * @author Floriment Klinaku
  *
@@ -38,11 +39,12 @@ public sealed interface WindowAggregation permits AbstractWindowAggregation {
 	/**
 	 * This method should return the current aggregated value. The implementation
 	 * should only yield a value when the emittable condition evaluates true.
-	 * Otherwise an AssertionError is thrown.
+	 * Otherwise, the result is not present and carries the
+	 * {@link NotEmittableReason}.
 	 * 
-	 * @return The aggregated value.
+	 * @return The aggregated value, or the reason why it is not emittable.
 	 */
-	public double getCurrentValue() throws AssertionError;
+	public AggregatedValue getCurrentValue();
 
 	/**
 	 * Returns whether the window is full or whether some measurements are still
@@ -63,4 +65,15 @@ public sealed interface WindowAggregation permits AbstractWindowAggregation {
 	 */
 	public double aggregate(double time, double newValue);
 
+	/**
+	 * Includes a new datapoint of an element, e.g. of a measuring point, for
+	 * implementations that keep the elements apart. The others ignore the element.
+	 * 
+	 * @param element the id of the element, which is not negative.
+	 * @param time
+	 * @param newValue
+	 * @return The aggregated value after the newValue has been included.
+	 */
+	public double aggregate(int element, double time, double newValue);
+
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorKey.WindowType;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+import org.palladiosimulator.spd.triggers.stimuli.Stimulus;
+
+/**
+ * Creates the windows of the trigger checkers and model aggregators from the {@link AggregatorKey}
+ * that describes them. If an {@link AggregatorRegistry} is given, the window of a key is shared with
+ * the other consumers of the same key, and the consumer gets a {@link SharedWindowAggregation} that
+ * it must not aggregate into. Otherwise, each consumer gets its own window. The factory also carries
+ * the {@link SpdInterpreterSettings} of the simulation, which select the kind of the windows.
+ *
+ * @author agent
+ */
+public final class WindowFactory {
+
+    private final SpdInterpreterSettings settings;
+
+    /** The registry to share the windows through, or {@code null} if every consumer has its own. */
+    private final AggregatorRegistry aggregators;
+
+    /**
+     * Creates a factory with the default settings whose consumers each have their own window.
+     */
+    public WindowFactory() {
+        this(SpdInterpreterSettings.DEFAULTS, null);
+    }
+
+    /**
+     * @param settings
+     *            the settings of the simulation.
+     * @param aggregators
+     *            the registry to share the windows through, or {@code null} if every consumer has
+     *            its own window.
+     */
+    public WindowFactory(final SpdInterpreterSettings settings, final AggregatorRegistry aggregators) {
+        this.settings = settings;
+        this.aggregators = aggregators;
+    }
+
+    public SpdInterpreterSettings getSettings() {
+        return this.settings;
+    }
+
+    /**
+     * Returns the window of the key. Keys without a series are never shared, as the registry cannot
+     * tell their measurements apart.
+     *
+     * @param noEmitDuration
+     *            the duration in seconds after an emitted value in which the window does not emit
+     *            another one, or {@link AggregatorRegistry#NO_RATE_LIMIT}.
+     */
+    public WindowAggregation acquire(final AggregatorKey key, final double noEmitDuration) {
+        if (this.aggregators != null && key.series() != null) {
+            return this.aggregators.acquire(key, noEmitDuration);
+        }
+        return create(key, noEmitDuration, this.settings);
+    }
+
+    /**
+     * Returns the time window the model aggregators use: an exponential moving average that emits at
+     * most every half window for averages, and a sliding time window that emits on every new
+     * timestamp otherwise.
+     */
+    public WindowAggregation acquireTimeWindow(final RollupSeries series, final String targetGroupId,
+            final double windowSize, final AGGREGATIONMETHOD aggregationMethod) {
+        if (aggregationMethod == AGGREGATIONMETHOD.AVERAGE) {
+            return this.acquire(new AggregatorKey(series, targetGroupId, WindowType.EXPONENTIAL_MOVING_AVERAGE,
+                    windowSize, aggregationMethod), windowSize / 2);
+        }
+        return this.acquire(
+                new AggregatorKey(series, targetGroupId, WindowType.SLIDING_TIME, windowSize, aggregationMethod),
+                0.0);
+    }
+
+    /**
+     * Returns a window that applies the aggregation method across the elements, if enabled in the
+     * settings. It is never shared, as the elements are told apart by the consumer.
+     *
+     * @return the window, or {@code null} if the values of all elements go into one window.
+     */
+    public ElementWiseAggregation elementWise(final double windowSize, final double noEmitDuration,
+            final AGGREGATIONMETHOD aggregationMethod) {
+        if (!ElementWiseAggregation.isEnabledFor(this.settings, aggregationMethod)) {
+            return null;
+        }
+        return ElementWiseAggregation.fromSettings(this.settings, windowSize, noEmitDuration, aggregationMethod);
+    }
+
+    /**
+     * @return true iff the average of the stimulus is a {@link WindowType#TIME_WEIGHTED_AVERAGE}
+     *         instead of an {@link WindowType#EXPONENTIAL_MOVING_AVERAGE}.
+     */
+    public boolean isTimeWeighted(final Stimulus stimulus) {
+        return TimeWeightedAverageAggregation.isSelectedFor(this.settings, stimulus);
+    }
+
+    /**
+     * Creates a new window of the key.
+     *
+     * @param noEmitDuration
+     *            the duration in seconds after an emitted value in which the window does not emit
+     *            another one, or {@link AggregatorRegistry#NO_RATE_LIMIT}. Ignored by
+     *            {@link WindowType#FIXED_LENGTH} windows, which emit once they are full.
+     * @param settings
+     *            the settings that select how the quantiles are estimated.
+     */
+    static AbstractWindowAggregation create(final AggregatorKey key, final double noEmitDuration,
+            final SpdInterpreterSettings settings) {
+        return switch (key.windowType()) {
+        case EXPONENTIAL_MOVING_AVERAGE -> {
+            if (key.aggregationMethod() != AGGREGATIONMETHOD.AVERAGE) {
+                throw new IllegalArgumentException(
+                        "An exponential moving average cannot aggregate " + key.aggregationMethod());
+            }
+            yield new SlidingTimeWindowAggregationBasedOnEMA(key.windowSize(), noEmitDuration,
+                    SlidingTimeWindowAggregationBasedOnEMA.DEFAULT_SMOOTHING_FACTOR);
+        }
+        case TIME_WEIGHTED_AVERAGE -> {
+            if (key.aggregationMethod() != AGGREGATIONMETHOD.AVERAGE) {
+                throw new IllegalArgumentException(
+                        "A time-weighted average cannot aggregate " + key.aggregationMethod());
+            }
+            yield new TimeWeightedAverageAggregation(key.windowSize(), noEmitDuration);
+        }
+        case SLIDING_TIME -> AbstractSlidingTimeWindowAggregation.getFromAggregationMethod(key.aggregationMethod(),
+                key.windowSize(), noEmitDuration, settings);
+        case FIXED_LENGTH -> FixedLengthWindowSimpleAggregation.getFromAggregationMethod(key.aggregationMethod(),
+                (int) key.windowSize());
+        };
+    }
+}
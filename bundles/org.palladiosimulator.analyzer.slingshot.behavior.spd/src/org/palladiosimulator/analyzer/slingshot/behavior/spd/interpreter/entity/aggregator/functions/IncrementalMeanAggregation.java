@@ -0,0 +1,19 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The incremental variant of {@link MeanAggregation}.
+ *
+ * @author agent
+ */
+public class IncrementalMeanAggregation extends IncrementalSumAggregation {
+
+    @Override
+    public double getValue() {
+        if (this.getCount() == 0) {
+            throw new NoSuchElementException("No value present");
+        }
+        return super.getValue() / this.getCount();
+    }
+}
@@ -0,0 +1,70 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
+
+/**
+ * The incremental variant of {@link RateOfChangeAggregation}, i.e. the slope of the least-squares
+ * line through the values of the window over their timestamps.
+ *
+ * Instead of raw sums of the timestamps and their squares, which cancel catastrophically once the
+ * simulation time is large compared to the window, it keeps the means and the centered co-moments
+ * of timestamps and values. These are updated in O(1) when a value enters or leaves the window
+ * (Welford's method and its reversal).
+ *
+ * Like {@link RateOfChangeAggregation}, the slope is 0.0 for an empty window and {@code NaN} if the
+ * timestamps do not vary, e.g. for a single value.
+ *
+ * @author agent
+ */
+public class IncrementalRateOfChangeAggregation implements IncrementalWindowFunction {
+
+    private int count;
+    private double meanTime;
+    private double meanValue;
+    /* The sum of squared deviations of the timestamps from their mean */
+    private double timeMoment;
+    /* The sum of the products of the deviations of timestamps and values */
+    private double coMoment;
+
+    @Override
+    public void insert(final double timestamp, final double value) {
+        this.count++;
+        final double timeDeviation = timestamp - this.meanTime;
+        this.meanTime += timeDeviation / this.count;
+        this.meanValue += (value - this.meanValue) / this.count;
+        this.timeMoment += timeDeviation * (timestamp - this.meanTime);
+        this.coMoment += timeDeviation * (value - this.meanValue);
+    }
+
+    @Override
+    public void evict(final double timestamp, final double value) {
+        this.count--;
+        if (this.count == 0) {
+            this.reset();
+            return;
+        }
+        final double timeDeviation = timestamp - this.meanTime;
+        this.meanTime -= timeDeviation / this.count;
+        this.meanValue -= (value - this.meanValue) / this.count;
+        this.timeMoment -= timeDeviation * (timestamp - this.meanTime);
+        this.coMoment -= timeDeviation * (value - this.meanValue);
+    }
+
+    @Override
+    public void reset() {
+        this.count = 0;
+        this.meanTime = 0.0;
+        this.meanValue = 0.0;
+        this.timeMoment = 0.0;
+        this.coMoment = 0.0;
+    }
+
+    @Override
+    public double getValue() {
+        if (this.count == 0) {
+            return 0.0;
+        }
+        if (this.count < 2 || this.timeMoment < 10 * Double.MIN_VALUE) {
+            return Double.NaN;
+        }
+        return this.coMoment / this.timeMoment;
+    }
+}
@@ -0,0 +1,44 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
+
+/**
+ * The incremental variant of {@link SumAggregation}.
+ *
+ * @author agent
+ */
+public class IncrementalSumAggregation implements IncrementalWindowFunction {
+
+    private final NeumaierSum sum = new NeumaierSum();
+    private int count;
+
+    @Override
+    public void insert(final double timestamp, final double value) {
+        this.sum.add(value);
+        this.count++;
+    }
+
+    @Override
+    public void evict(final double timestamp, final double value) {
+        this.count--;
+        if (this.count == 0) {
+            // Start from an exact zero whenever the window runs empty
+            this.sum.reset();
+        } else {
+            this.sum.add(-value);
+        }
+    }
+
+    @Override
+    public void reset() {
+        this.sum.reset();
+        this.count = 0;
+    }
+
+    @Override
+    public double getValue() {
+        return this.sum.getValue();
+    }
+
+    protected int getCount() {
+        return this.count;
+    }
+}
@@ -0,0 +1,47 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPointView;
+
+/**
+ * An aggregation function that keeps a running state of the window instead of revisiting all of
+ * its values. The window reports every value that enters and every value that leaves it, so that
+ * {@link #getValue()} is O(1).
+ *
+ * Removing values from a running state accumulates rounding errors over time. Therefore, the window
+ * should {@link #recompute(DataPointView) recompute} the state from its values every so often, e.g.
+ * once per window length of evictions, which keeps the cost O(1) amortized.
+ *
+ * @author agent
+ */
+public interface IncrementalWindowFunction {
+
+    /**
+     * Called when a value enters the window.
+     */
+    void insert(double timestamp, double value);
+
+    /**
+     * Called when a value that was inserted before leaves the window.
+     */
+    void evict(double timestamp, double value);
+
+    /**
+     * @return the aggregate of the values currently in the window.
+     */
+    double getValue();
+
+    /**
+     * Discards the running state, as if the window were empty.
+     */
+    void reset();
+
+    /**
+     * Rebuilds the running state from the values currently in the window.
+     */
+    default void recompute(final DataPointView window) {
+        this.reset();
+        for (int i = 0; i < window.size(); i++) {
+            this.insert(window.getTimestamp(i), window.getValue(i));
+        }
+    }
+}
@@ -1,24 +1,29 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
 
-import java.util.Collection;
 import java.util.NoSuchElementException;
-import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPoint;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPointView;
 
-public class MaxAggregation implements Function<Collection<DataPoint>, Double> {
+public class MaxAggregation implements ToDoubleFunction<DataPointView> {
 
     public MaxAggregation() {
         super();
     }
 
     @Override
-    public Double apply(Collection<DataPoint> t) {
-        // TODO Auto-generated method stub
-        return t.stream()
-            .map(DataPoint::getValue)
-            .max(Double::compare)
-            .orElseThrow(() -> new NoSuchElementException("There are no values to aggregate yet."));
+    public double applyAsDouble(DataPointView t) {
+        if (t.isEmpty()) {
+            throw new NoSuchElementException("There are no values to aggregate yet.");
+        }
+        double max = t.getValue(0);
+        for (int i = 1; i < t.size(); i++) {
+            final double value = t.getValue(i);
+            if (Double.compare(value, max) > 0) {
+                max = value;
+            }
+        }
+        return max;
     }
 
 }
@@ -1,24 +1,22 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
 
-import java.util.Collection;
-import java.util.function.Function;
+import java.util.NoSuchElementException;
+import java.util.function.ToDoubleFunction;
 
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPoint;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPointView;
 
-public class MeanAggregation implements Function<Collection<DataPoint>, Double> {
+public class MeanAggregation implements ToDoubleFunction<DataPointView> {
 
     public MeanAggregation() {
         super();
     }
 
     @Override
-    public Double apply(Collection<DataPoint> t) {
-        // TODO Auto-generated method stub
-        return t.stream()
-            .map(DataPoint::getValue)
-            .mapToDouble(Double::doubleValue)
-            .average()
-            .orElseThrow();
+    public double applyAsDouble(DataPointView t) {
+        if (t.isEmpty()) {
+            throw new NoSuchElementException("No value present");
+        }
+        return SumAggregation.sum(t) / t.size();
     }
 
 }
@@ -1,28 +1,24 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
 
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPoint;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPointView;
 
-public class MedianAggregation implements Function<Collection<DataPoint>, Double> {
+public class MedianAggregation implements ToDoubleFunction<DataPointView> {
 
     public MedianAggregation() {
         super();
     }
 
     @Override
-    public Double apply(Collection<DataPoint> t) {
+    public double applyAsDouble(DataPointView t) {
 
         if (t.size() == 0) {
             return 0.0;
         }
 
-        final Double[] values = t.stream()
-            .map(DataPoint::getValue)
-            .toList()
-            .toArray(new Double[0]);
+        final double[] values = t.toValueArray();
         Arrays.sort(values);
         final int i = values.length;
 
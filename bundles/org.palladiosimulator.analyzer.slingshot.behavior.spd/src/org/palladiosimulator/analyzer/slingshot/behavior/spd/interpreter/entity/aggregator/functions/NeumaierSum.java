@@ -0,0 +1,33 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
+
+/**
+ * A running sum with Neumaier's compensated summation. The rounding error of every addition is
+ * accumulated separately, so that adding and subtracting values over a long simulation does not
+ * let the sum drift.
+ *
+ * @author agent
+ */
+final class NeumaierSum {
+
+    private double sum;
+    private double compensation;
+
+    void add(final double value) {
+        final double total = this.sum + value;
+        if (Math.abs(this.sum) >= Math.abs(value)) {
+            this.compensation += (this.sum - total) + value;
+        } else {
+            this.compensation += (value - total) + this.sum;
+        }
+        this.sum = total;
+    }
+
+    void reset() {
+        this.sum = 0.0;
+        this.compensation = 0.0;
+    }
+
+    double getValue() {
+        return this.sum + this.compensation;
+    }
+}
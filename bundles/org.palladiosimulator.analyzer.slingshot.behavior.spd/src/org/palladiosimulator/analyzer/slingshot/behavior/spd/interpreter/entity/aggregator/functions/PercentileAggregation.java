@@ -1,10 +1,9 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
 
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPoint;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPointView;
 
 /**
  * This aggregation calculates the defined percentile of the collected DataPoints using the
@@ -13,7 +12,7 @@ import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.
  * @author Jens Berberich
  *
  */
-public class PercentileAggregation implements Function<Collection<DataPoint>, Double> {
+public class PercentileAggregation implements ToDoubleFunction<DataPointView> {
 
     private final double percentile;
 
@@ -23,15 +22,12 @@ public class PercentileAggregation implements Function<Collection<DataPoint>, Do
     }
 
     @Override
-    public Double apply(final Collection<DataPoint> t) {
+    public double applyAsDouble(final DataPointView t) {
         if (t.isEmpty()) {
             return 0.0;
         }
 
-        final Double[] values = t.stream()
-            .map(DataPoint::getValue)
-            .toList()
-            .toArray(new Double[0]);
+        final double[] values = t.toValueArray();
         Arrays.sort(values);
         double calculatedPercentile = values[(int) Math.ceil(values.length * this.percentile) - 1];
 
@@ -1,27 +1,27 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
 
-import java.util.Collection;
-import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import org.apache.commons.math3.stat.regression.SimpleRegression;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPoint;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPointView;
 
-public class RateOfChangeAggregation implements Function<Collection<DataPoint>, Double> {
+public class RateOfChangeAggregation implements ToDoubleFunction<DataPointView> {
 
     public RateOfChangeAggregation() {
         super();
     }
 
     @Override
-    public Double apply(Collection<DataPoint> t) {
+    public double applyAsDouble(DataPointView t) {
 
         if (t.isEmpty()) {
             return 0.0;
         }
 
         SimpleRegression regression = new SimpleRegression();
-        t.stream()
-            .forEach(dataPoint -> regression.addData(dataPoint.getTimestamp(), dataPoint.getValue()));
+        for (int i = 0; i < t.size(); i++) {
+            regression.addData(t.getTimestamp(i), t.getValue(i));
+        }
         return regression.getSlope();
     }
 }
@@ -1,22 +1,26 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
 
-import java.util.Collection;
-import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPoint;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPointView;
 
-public class SumAggregation implements Function<Collection<DataPoint>, Double> {
+public class SumAggregation implements ToDoubleFunction<DataPointView> {
 
     public SumAggregation() {
         super();
     }
 
     @Override
-    public Double apply(Collection<DataPoint> t) {
-        // TODO Auto-generated method stub
-        return t.stream()
-            .map(DataPoint::getValue)
-            .reduce(0.0d, Double::sum);
+    public double applyAsDouble(DataPointView t) {
+        return sum(t);
+    }
+
+    static double sum(final DataPointView t) {
+        double sum = 0.0d;
+        for (int i = 0; i < t.size(); i++) {
+            sum += t.getValue(i);
+        }
+        return sum;
     }
 
 }
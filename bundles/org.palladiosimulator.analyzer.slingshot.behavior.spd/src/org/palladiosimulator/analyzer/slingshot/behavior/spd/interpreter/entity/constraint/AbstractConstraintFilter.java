@@ -22,6 +22,14 @@ public abstract class AbstractConstraintFilter<T extends AbstractConstraint> imp
 		this.constraint = constraint;
 	}
 
+	/**
+	 * Constraints only read the state, which is changed by the {@code Adjustor}.
+	 */
+	@Override
+	public boolean isSideEffectFree() {
+		return true;
+	}
+
 	public static Filter createAbstractConstraintFilter(final AbstractConstraint constraint) {
 		if (constraint instanceof final CooldownConstraint cooldownConstraint) {
 			return new CooldownConstraintFilter(cooldownConstraint);
@@ -8,8 +8,11 @@ import java.util.concurrent.ThreadLocalRandom;
 
 import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.ModelInterpreter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DecodedMeasurement;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.ModelAggregatorWrapper;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableException;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatedValue;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableReason;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.spd.models.FuzzyLearningModel;
@@ -25,12 +28,6 @@ public abstract class AbstractFuzzyLearningModelEvaluator extends LearningBasedM
         private static double GAMMA = 0.65;
         private static double DELTA = 0.9;
 
-        static State createFromModelAggregators(final AbstractFuzzyLearningModelEvaluator fqlmeval)
-                throws NotEmittableException {
-            return new State(fqlmeval.workloadAggregator.getResult(), fqlmeval.responseTimeAggregator.getResult(),
-                    fqlmeval.targetResponseTime);
-        }
-
         double[] getFuzzyUtil() {
             final double[] fuzzyValues = { 0.0, 0.0, 0.0 };
             if (this.utilization < State.ALPHA) {
@@ -107,6 +104,8 @@ public abstract class AbstractFuzzyLearningModelEvaluator extends LearningBasedM
     final NumberFormat nf = NumberFormat.getNumberInstance(new Locale("en"));
     long containerCount;
     long previousContainerCount = -1;
+    private final MeasurementDecoder decoder;
+    private final int containerCountMetricId;
     private static final Logger LOGGER = Logger.getLogger(AbstractFuzzyLearningModelEvaluator.class);
 
     protected int[][] partialActions;
@@ -129,6 +128,9 @@ public abstract class AbstractFuzzyLearningModelEvaluator extends LearningBasedM
         this.nf.setMinimumFractionDigits(3);
         this.nf.setRoundingMode(RoundingMode.UP);
         this.initializationType = model.getInitializationType();
+        this.decoder = MeasurementDecoder.getInstance();
+        this.containerCountMetricId = this.decoder
+            .metricId(MetricDescriptionConstants.NUMBER_OF_RESOURCE_CONTAINERS_OVER_TIME);
     }
 
     double calculateValueFunction(final double[][][] qValues) {
@@ -227,13 +229,9 @@ public abstract class AbstractFuzzyLearningModelEvaluator extends LearningBasedM
     public void recordUsage(final MeasurementMade measurement) {
         this.responseTimeAggregator.aggregateMeasurement(measurement);
         this.workloadAggregator.aggregateMeasurement(measurement);
-        if (measurement.getEntity()
-            .getMetricDesciption()
-            .getId()
-            .equals(MetricDescriptionConstants.NUMBER_OF_RESOURCE_CONTAINERS_OVER_TIME.getId())) {
-            this.containerCount = (long) measurement.getEntity()
-                .getMeasureForMetric(MetricDescriptionConstants.NUMBER_OF_RESOURCE_CONTAINERS)
-                .getValue();
+        final DecodedMeasurement decoded = this.decoder.decode(measurement);
+        if (decoded.metricId() == this.containerCountMetricId) {
+            this.containerCount = (long) decoded.value();
             if (this.previousContainerCount == -1) {
                 this.previousContainerCount = this.containerCount;
             }
@@ -241,9 +239,30 @@ public abstract class AbstractFuzzyLearningModelEvaluator extends LearningBasedM
     }
 
     @Override
-    public int getDecision() throws NotEmittableException {
+    public ModelDecision getDecision() {
+        if (this.previousAction == null) {
+            return ModelDecision.notAvailable(NotEmittableReason.NO_DECISION);
+        }
         this.previousContainerCount = this.containerCount;
-        return this.previousAction;
+        return ModelDecision.of(this.previousAction);
+    }
+
+    /**
+     * Observes the current state from the aggregators into {@link #currentState}.
+     *
+     * @return the reason why the state cannot be observed yet, or {@code null} if it was observed.
+     */
+    NotEmittableReason observeCurrentState() {
+        final AggregatedValue utilization = this.workloadAggregator.getResult();
+        if (!utilization.isPresent()) {
+            return utilization.getReason();
+        }
+        final AggregatedValue responseTime = this.responseTimeAggregator.getResult();
+        if (!responseTime.isPresent()) {
+            return responseTime.getReason();
+        }
+        this.currentState = new State(utilization.getAsDouble(), responseTime.getAsDouble(), this.targetResponseTime);
+        return null;
     }
 
     double[][][] getQValuesWithKnowledge() {
@@ -2,7 +2,7 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 
 import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.ModelInterpreter;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableException;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableReason;
 import org.palladiosimulator.spd.models.FuzzyQLearningModel;
 
 public class FuzzyQLearningModelEvaluator extends AbstractFuzzyLearningModelEvaluator {
@@ -19,8 +19,11 @@ public class FuzzyQLearningModelEvaluator extends AbstractFuzzyLearningModelEval
     }
 
     @Override
-    public void update() throws NotEmittableException {
-        this.currentState = State.createFromModelAggregators(this);
+    public ModelDecision update() {
+        final NotEmittableReason notObservable = this.observeCurrentState();
+        if (notObservable != null) {
+            return ModelDecision.notAvailable(notObservable);
+        }
         final double currentEpsilon = Math.max(Math.exp(-this.epsilon * this.iterationCount), 0.05);
         LOGGER.info("Utilization: " + this.nf.format(this.currentState.utilization()) + " ("
                 + this.arrayToString(this.currentState.getFuzzyUtil()) + ")" + ", current Epsilon = "
@@ -75,6 +78,7 @@ public class FuzzyQLearningModelEvaluator extends AbstractFuzzyLearningModelEval
         // Step 5: Take action a and let system go to next state (-> in next iteration)
         this.previousAction = (int) Math.round(a);
         this.previousState = this.currentState;
+        return ModelDecision.of(this.previousAction);
     }
 
     @Override
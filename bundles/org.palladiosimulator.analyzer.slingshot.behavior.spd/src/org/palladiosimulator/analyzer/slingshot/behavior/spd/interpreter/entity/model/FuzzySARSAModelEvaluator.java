@@ -4,7 +4,7 @@ import java.util.HashMap;
 
 import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.ModelInterpreter;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableException;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableReason;
 import org.palladiosimulator.spd.models.FuzzySARSAModel;
 
 public class FuzzySARSAModelEvaluator extends AbstractFuzzyLearningModelEvaluator {
@@ -21,8 +21,11 @@ public class FuzzySARSAModelEvaluator extends AbstractFuzzyLearningModelEvaluato
     }
 
     @Override
-    public void update() throws NotEmittableException {
-        this.currentState = State.createFromModelAggregators(this);
+    public ModelDecision update() {
+        final NotEmittableReason notObservable = this.observeCurrentState();
+        if (notObservable != null) {
+            return ModelDecision.notAvailable(notObservable);
+        }
         this.qValues.putIfAbsent(this.containerCount, this.getQValuesWithKnowledge());
         this.iterationCount += 1;
         final double currentEpsilon = Math.max(Math.exp(-this.epsilon * this.iterationCount), 0.05);
@@ -81,6 +84,7 @@ public class FuzzySARSAModelEvaluator extends AbstractFuzzyLearningModelEvaluato
         // Step 5: Take action a and let system go to next state (-> in next iteration)
         this.previousAction = (int) Math.round(a);
         this.previousState = this.currentState;
+        return ModelDecision.of(this.previousAction);
     }
 
     @Override
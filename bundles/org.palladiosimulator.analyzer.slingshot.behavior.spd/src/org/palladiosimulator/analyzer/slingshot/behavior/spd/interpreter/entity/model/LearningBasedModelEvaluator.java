@@ -4,7 +4,6 @@ import java.util.Collections;
 import java.util.List;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.ModelAggregatorWrapper;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableException;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 
 public abstract class LearningBasedModelEvaluator extends ModelEvaluator {
@@ -44,7 +43,12 @@ public abstract class LearningBasedModelEvaluator extends ModelEvaluator {
         }
     }
 
-    public abstract void update() throws NotEmittableException;
+    /**
+     * Updates the model with the current observations and decides on the next action.
+     *
+     * @return the new decision, or the reason why the model could not be updated.
+     */
+    public abstract ModelDecision update();
 
     abstract void recordRewardMeasurement(MeasurementMade measurement);
 
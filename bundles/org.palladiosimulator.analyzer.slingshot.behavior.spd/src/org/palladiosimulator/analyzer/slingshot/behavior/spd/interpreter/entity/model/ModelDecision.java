@@ -0,0 +1,74 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableReason;
+
+/**
+ * The scaling decision of a {@link ModelEvaluator}. Similar to {@link java.util.OptionalInt}, it
+ * either holds the adjustment or, if the model cannot decide yet, the {@link NotEmittableReason}
+ * why.
+ *
+ * @author agent
+ */
+public final class ModelDecision {
+
+    private static final Map<NotEmittableReason, ModelDecision> NOT_AVAILABLE = new EnumMap<>(
+            NotEmittableReason.class);
+
+    static {
+        for (final NotEmittableReason reason : NotEmittableReason.values()) {
+            NOT_AVAILABLE.put(reason, new ModelDecision(0, reason));
+        }
+    }
+
+    private final int adjustment;
+    private final NotEmittableReason reason;
+
+    private ModelDecision(final int adjustment, final NotEmittableReason reason) {
+        this.adjustment = adjustment;
+        this.reason = reason;
+    }
+
+    public static ModelDecision of(final int adjustment) {
+        return new ModelDecision(adjustment, null);
+    }
+
+    public static ModelDecision notAvailable(final NotEmittableReason reason) {
+        return NOT_AVAILABLE.get(reason);
+    }
+
+    /**
+     * @return true iff a decision was made.
+     */
+    public boolean isPresent() {
+        return this.reason == null;
+    }
+
+    /**
+     * @return the adjustment that was decided.
+     * @throws NoSuchElementException
+     *             if no decision was made, i.e. {@link #isPresent()} returns false.
+     */
+    public int getAsInt() {
+        if (this.reason != null) {
+            throw new NoSuchElementException("No decision present: " + this.reason);
+        }
+        return this.adjustment;
+    }
+
+    /**
+     * @return the reason why no decision was made, or {@code null} if {@link #isPresent()}.
+     */
+    public NotEmittableReason getReason() {
+        return this.reason;
+    }
+
+    @Override
+    public String toString() {
+        return this.isPresent() ? "ModelDecision[" + this.adjustment + "]"
+                : "ModelDecision.notAvailable[" + this.reason + "]";
+    }
+}
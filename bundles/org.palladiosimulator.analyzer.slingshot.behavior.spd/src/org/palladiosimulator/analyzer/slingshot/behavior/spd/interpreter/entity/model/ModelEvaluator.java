@@ -1,13 +1,15 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.model;
 
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableException;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 
 public abstract class ModelEvaluator {
     boolean changeOnInterval = true;
     boolean changeOnStimulus = false;
 
-    public abstract int getDecision() throws NotEmittableException;
+    /**
+     * @return the scaling decision, or the reason why the model cannot decide yet.
+     */
+    public abstract ModelDecision getDecision();
 
     public abstract void recordUsage(MeasurementMade measurement);
 
@@ -19,11 +19,11 @@ public class RandomModelEvaluator extends ModelEvaluator {
     }
 
     @Override
-    public int getDecision() {
+    public ModelDecision getDecision() {
         if (Math.random() >= this.probability) {
-            return 0;
+            return ModelDecision.of(0);
         }
-        return this.scalingDecisions.nextInt();
+        return ModelDecision.of(this.scalingDecisions.nextInt());
     }
 
     @Override
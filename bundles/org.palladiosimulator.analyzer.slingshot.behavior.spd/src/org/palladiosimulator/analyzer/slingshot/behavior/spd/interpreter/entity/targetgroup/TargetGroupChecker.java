@@ -2,14 +2,17 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 
 import java.util.Objects;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.RepeatedSimulationTimeReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementBatch;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasuringPointInsideTargetGroup;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.spd.targets.TargetGroup;
 import org.palladiosimulator.spdmeasuringpoint.ElasticInfrastructureMeasuringPoint;
 
@@ -27,16 +30,27 @@ public class TargetGroupChecker implements Filter {
     public FilterResult doProcess(final FilterObjectWrapper objectWrapper) {
         final DESEvent event = objectWrapper.getEventToFilter();
         if (event instanceof final MeasurementMade mm) {
-            if (mm.getEntity()
-                .getMeasuringPoint() instanceof ElasticInfrastructureMeasuringPoint) {
-                return FilterResult.success(event);
-            }
-            if (this.measuringPointInsideTargetGroupSwitch.doSwitch(mm.getEntity()
+            if (this.isRelevant(mm.getEntity()
                 .getMeasuringPoint())) {
                 return FilterResult.success(event);
             }
             return FilterResult.disregard("The measurement is not inside this target group");
         }
+        if (event instanceof final MeasurementBatch batch) {
+            /* The measurements of a batch are already routed to this target group. */
+            if (batch.getTargetGroupId()
+                .equals(targetGroup.getId())) {
+                return FilterResult.success(event);
+            }
+            return FilterResult.disregard("The target group does not match the batch.");
+        }
+        if (event instanceof final EvaluationTickReached tick) {
+            if (tick.getTargetGroupId()
+                .equals(targetGroup.getId())) {
+                return FilterResult.success(event);
+            }
+            return FilterResult.disregard("The target group does not match the tick.");
+        }
         final SimulationTimeReached simulationTimeReached;
         if (event instanceof RepeatedSimulationTimeReached repeatedSimulationTimeReached) {
             simulationTimeReached = new SimulationTimeReached(repeatedSimulationTimeReached.getTargetGroupId(),
@@ -53,4 +67,22 @@ public class TargetGroupChecker implements Filter {
         }
         return FilterResult.disregard("The target group does not match the event.");
     }
+
+    @Override
+    public boolean isSideEffectFree() {
+        return true;
+    }
+
+    /**
+     * Checks whether measurements taken at the given measuring point concern this target group.
+     * Measurements of an {@link ElasticInfrastructureMeasuringPoint} are always relevant.
+     *
+     * @param measuringPoint
+     *            the measuring point of a measurement.
+     * @return true iff the measuring point is inside the target group.
+     */
+    public boolean isRelevant(final MeasuringPoint measuringPoint) {
+        return measuringPoint instanceof ElasticInfrastructureMeasuringPoint
+                || this.measuringPointInsideTargetGroupSwitch.isInside(measuringPoint);
+    }
 }
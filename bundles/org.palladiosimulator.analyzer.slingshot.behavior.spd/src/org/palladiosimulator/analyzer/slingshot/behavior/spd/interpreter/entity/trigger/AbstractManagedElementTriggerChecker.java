@@ -3,25 +3,37 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 import java.util.Set;
 
 import javax.measure.Measure;
-import javax.measure.quantity.Dimensionless;
-import javax.measure.quantity.Duration;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DecodedMeasurement;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementBatch;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatedValue;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorKey;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorKey.WindowType;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.ElementWiseAggregation;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.FixedLengthWindowSimpleAggregation;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.SlidingTimeWindowAggregationBasedOnEMA;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.HoltForecaster;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.RollupSeries;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.SharedWindowAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.TimeWeightedAverageAggregation;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowFactory;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.targetgroup.TargetGroupChecker;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.metricspec.BaseMetricDescription;
 import org.palladiosimulator.metricspec.MetricSetDescription;
-import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.spd.targets.TargetGroup;
 import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
 import org.palladiosimulator.spd.triggers.BaseTrigger;
+import org.palladiosimulator.spd.triggers.SimpleFireOnTrend;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedPrimitive;
 import org.palladiosimulator.spd.triggers.stimuli.ManagedElementsStateStimulus;
 
@@ -37,39 +49,130 @@ import org.palladiosimulator.spd.triggers.stimuli.ManagedElementsStateStimulus;
  * coming from, are inside the target group. This is done in the
  * {@link TargetGroupChecker} filter, that should be placed before this filter.
  * 
+ * The window is created by the {@link WindowFactory}: if enabled in the
+ * settings, an {@link ElementWiseAggregation} applies the aggregation method
+ * across the elements of the target group; otherwise, the window may be shared
+ * with the other policies and models watching the same stimulus of the target
+ * group. If selected in the settings, the utilization is averaged by a
+ * {@link TimeWeightedAverageAggregation} instead of an exponential moving
+ * average.
+ * 
+ * The measurements are read as decoded by the {@link MeasurementDecoder}. If
+ * evaluation ticks are enabled in the settings, the measurements are only
+ * aggregated, and the value is checked on each {@link EvaluationTickReached}
+ * of the target group instead.
+ * 
+ * For a {@link SimpleFireOnTrend}, the least-squares slope of the measurements
+ * over a sliding time window is aggregated incrementally, and its change over
+ * the window is compared to the trend.
+ * 
+ * If a forecast horizon is set in the settings, the aggregated value of each
+ * tick updates a {@link HoltForecaster}, and the value forecast for the horizon
+ * after the tick is compared instead of the current one. A tick without an
+ * aggregated value is disregarded like without a forecast.
+ * 
  * @author Julijan Katic
  *
  * @param <T> The concrete element the class is checking for.
  */
 public abstract class AbstractManagedElementTriggerChecker<T extends ManagedElementsStateStimulus>
 		extends TriggerChecker<T> {
+
+	/** The size in seconds of the time windows, i.e. for averages, trends and over elements. */
+	public static final double WINDOW_SIZE = 60;
+
+	/** The duration in seconds after an emitted average in which no other one is emitted. */
+	public static final double NO_EMIT_DURATION = 10;
 	
 	protected final TargetGroup targetGroup;
 	protected final T managedElementsStateStimulus;
 	protected final MetricSetDescription metricSetDescription;
 	protected final BaseMetricDescription baseMetricDescription;
 	protected final WindowAggregation aggregator;
+	protected final MeasurementDecoder decoder;
+	/** The id of the metric set description as interned by the decoder. */
+	private final int metricId;
+	/** Whether the decoded value is the value of the base metric description. */
+	private final boolean decodedValue;
+	/** Whether the value is only evaluated on {@link EvaluationTickReached} events. */
+	private final boolean tickDriven;
+	/** Whether the aggregator is a window shared through, and fed by, the {@link AggregatorRegistry}. */
+	private final boolean fedByRegistry;
+	/** Whether the trigger is a {@link SimpleFireOnTrend}, for which the slope is aggregated. */
+	private final boolean trend;
+	/** The forecaster of the aggregated value, or {@code null} if the current value is compared. */
+	private final HoltForecaster forecaster;
+	private final double forecastHorizon;
 	
-	@SuppressWarnings("unchecked")
 	public AbstractManagedElementTriggerChecker(final BaseTrigger trigger, 
 												final T stimulus,
 												final TargetGroup targetGroup,
 												final Set<Class<? extends ExpectedPrimitive>> allowedExpectedPrimitives,
 												final MetricSetDescription metricSetDescription,
 												final BaseMetricDescription baseMetricDescription) {
+		this(trigger, stimulus, targetGroup, allowedExpectedPrimitives, metricSetDescription, baseMetricDescription,
+				new WindowFactory());
+	}
+
+	/**
+	 * @param windows the factory of the window, which may share it with the
+	 *                other consumers of the same stimulus and target group.
+	 */
+	@SuppressWarnings("unchecked")
+	public AbstractManagedElementTriggerChecker(final BaseTrigger trigger, 
+												final T stimulus,
+												final TargetGroup targetGroup,
+												final Set<Class<? extends ExpectedPrimitive>> allowedExpectedPrimitives,
+												final MetricSetDescription metricSetDescription,
+												final BaseMetricDescription baseMetricDescription,
+												final WindowFactory windows) {
 		super(trigger, (Class<T>) stimulus.getClass(), allowedExpectedPrimitives);
 		
 		this.targetGroup = targetGroup;
 		this.managedElementsStateStimulus = stimulus;
 		this.metricSetDescription = metricSetDescription;
 		this.baseMetricDescription = baseMetricDescription;
+		this.decoder = MeasurementDecoder.getInstance();
+		this.metricId = this.decoder.metricId(metricSetDescription);
+		this.decodedValue = this.decoder.isValueMetric(this.metricId, baseMetricDescription);
+		final SpdInterpreterSettings settings = windows.getSettings();
+		this.tickDriven = settings.isEvaluationTickEnabled();
 		
-		if(stimulus.getAggregationOverElements().equals(AGGREGATIONMETHOD.AVERAGE)) {
-		    this.aggregator = new SlidingTimeWindowAggregationBasedOnEMA(60,10,0.2);		    
-		}else {
-		    this.aggregator = FixedLengthWindowSimpleAggregation.getFromAggregationMethod(stimulus.getAggregationOverElements());
-		}
+		final AGGREGATIONMETHOD aggregationMethod = stimulus.getAggregationOverElements();
+		final boolean average = aggregationMethod.equals(AGGREGATIONMETHOD.AVERAGE);
+		this.trend = trigger instanceof SimpleFireOnTrend;
+		this.forecaster = !this.trend && settings.isForecastEnabled() ? new HoltForecaster() : null;
+		this.forecastHorizon = settings.getForecastHorizon();
 		
+		final double noEmitDuration = this.trend || average ? NO_EMIT_DURATION : AggregatorRegistry.NO_RATE_LIMIT;
+		final ElementWiseAggregation elementWise = this.trend ? null
+				: windows.elementWise(WINDOW_SIZE, noEmitDuration, aggregationMethod);
+		if (elementWise != null) {
+			this.aggregator = elementWise;
+		} else {
+			this.aggregator = windows.acquire(this.getWindowKey(windows, aggregationMethod), noEmitDuration);
+		}
+		this.fedByRegistry = this.aggregator instanceof SharedWindowAggregation;
+	}
+
+	/**
+	 * Describes the window of the stimulus: the slope over a sliding time window
+	 * for a trend, an average over a time window, and otherwise the last values.
+	 */
+	private AggregatorKey getWindowKey(final WindowFactory windows, final AGGREGATIONMETHOD aggregationMethod) {
+		final RollupSeries series = new RollupSeries(this.metricSetDescription.getId(), this.baseMetricDescription, null);
+		if (this.trend) {
+			return new AggregatorKey(series, this.targetGroup.getId(), WindowType.SLIDING_TIME, WINDOW_SIZE,
+					AGGREGATIONMETHOD.RATEOFCHANGE);
+		}
+		if (aggregationMethod.equals(AGGREGATIONMETHOD.AVERAGE)) {
+			final WindowType windowType = windows.isTimeWeighted(this.managedElementsStateStimulus)
+					? WindowType.TIME_WEIGHTED_AVERAGE
+					: WindowType.EXPONENTIAL_MOVING_AVERAGE;
+			return new AggregatorKey(series, this.targetGroup.getId(), windowType, WINDOW_SIZE, aggregationMethod);
+		}
+		return new AggregatorKey(series, this.targetGroup.getId(), WindowType.FIXED_LENGTH,
+				FixedLengthWindowSimpleAggregation.DEFAULT_WINDOW_SIZE, aggregationMethod);
 	}
 
 	@Override
@@ -80,7 +183,9 @@ public abstract class AbstractManagedElementTriggerChecker<T extends ManagedElem
 			 * specifications, and count them only once!
 			 */
 			aggregateMeasurement(measurementMade);
-
+			if (this.tickDriven) {
+				return FilterResult.disregard("The value is evaluated on the next evaluation tick.");
+			}
 
 			/*
 			 * If all the values are collected, then check whether the expected percentage
@@ -89,6 +194,21 @@ public abstract class AbstractManagedElementTriggerChecker<T extends ManagedElem
 			return getResult(measurementMade);
 
 		}
+		if (event.getEventToFilter() instanceof final MeasurementBatch batch) {
+			/*
+			 * Aggregate the whole batch first, then check once.
+			 */
+			for (final MeasurementMade measurementMade : batch.getMeasurements()) {
+				aggregateMeasurement(measurementMade);
+			}
+			if (this.tickDriven) {
+				return FilterResult.disregard("The value is evaluated on the next evaluation tick.");
+			}
+			return getResult(batch);
+		}
+		if (this.tickDriven && event.getEventToFilter() instanceof final EvaluationTickReached tick) {
+			return getResult(tick);
+		}
 
 
 		return FilterResult.disregard("Not a measurement made event.");
@@ -101,12 +221,21 @@ public abstract class AbstractManagedElementTriggerChecker<T extends ManagedElem
 	 * disregard.
 	 */
 	protected FilterResult getResult(final DESEvent event) {
-		if (!this.aggregator.isEmittable()) {
-			return FilterResult.disregard("Values not emittable.");
+		AggregatedValue aggregatedValue = this.aggregator.getCurrentValue();
+		if (!aggregatedValue.isPresent()) {
+			return FilterResult.disregard(aggregatedValue.getReason());
+		}
+		if (this.forecaster != null && event instanceof EvaluationTickReached) {
+			this.forecaster.update(event.time(), aggregatedValue.getAsDouble());
+			aggregatedValue = this.forecaster.forecastAt(event.time() + this.forecastHorizon);
+			if (!aggregatedValue.isPresent()) {
+				return FilterResult.disregard(aggregatedValue.getReason());
+			}
 		}
 		
-		final double aggregatedValue = this.aggregator.getCurrentValue();
-		if (this.compareToTrigger(aggregatedValue) == ComparatorResult.IN_ACCORDANCE) {
+		/* For a trend, the slope is compared as the change over the window. */
+		final double value = this.trend ? aggregatedValue.getAsDouble() * WINDOW_SIZE : aggregatedValue.getAsDouble();
+		if (this.compareToTrigger(value) == ComparatorResult.IN_ACCORDANCE) {
 			return FilterResult.success(event);
 		}
 		return FilterResult.disregard("Value and Expectation not in accordance.");
@@ -117,21 +246,25 @@ public abstract class AbstractManagedElementTriggerChecker<T extends ManagedElem
 	 * from one of the resource containers in the target group.
 	 */
 	protected void aggregateMeasurement(final MeasurementMade measurementMade) {
-		if (measurementMade.getEntity().getMetricDesciption().getId().equals(this.metricSetDescription.getId())) {
-			aggregator.aggregate(getPointInTime(measurementMade.getEntity()),getValueForAggregation(measurementMade.getEntity()));
+		if (this.fedByRegistry) {
+			return;
+		}
+		final DecodedMeasurement decoded = this.decoder.decode(measurementMade);
+		if (decoded.metricId() == this.metricId) {
+			final SlingshotMeasuringValue smv = measurementMade.getEntity();
+			final double value = this.decodedValue ? decoded.value() : getValueForAggregation(smv);
+			aggregator.aggregate(decoded.measuringPointId(), decoded.time(), value);
 		}
 	}
 	
-	protected double getPointInTime(final SlingshotMeasuringValue smv) {
-		final Measure<Double, Duration>  pointInTime = smv.getMeasureForMetric(MetricDescriptionConstants.POINT_IN_TIME_METRIC);
-		final double value = pointInTime.getValue();
-		return value;		
-	}
-	
+	/**
+	 * Reads the value of the base metric description from the measurement. Only
+	 * needed if the {@link MeasurementDecoder} decodes another metric of the
+	 * metric set description. The value may be of any numeric type.
+	 */
 	protected double getValueForAggregation(final SlingshotMeasuringValue smv) {
-		final Measure<Double, Dimensionless> measure = smv.getMeasureForMetric(this.baseMetricDescription);
-		final double value = measure.getValue();
-		return value;
+		final Measure<?, ?> measure = smv.getMeasureForMetric(this.baseMetricDescription);
+		return ((Number) measure.getValue()).doubleValue();
 	}
 	
 }
@@ -0,0 +1,93 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger;
+
+import java.util.Set;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementBatch;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatedValue;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AnyStimulusAggregator;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowFactory;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.spd.targets.TargetGroup;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+import org.palladiosimulator.spd.triggers.BaseTrigger;
+import org.palladiosimulator.spd.triggers.expectations.ExpectedTime;
+import org.palladiosimulator.spd.triggers.stimuli.OperationResponseTime;
+
+/**
+ * Checks the response times of an operation aggregated over a window, e.g. as
+ * their 95th percentile, instead of comparing each response time on its own
+ * like the {@link OperationResponseTimeTriggerChecker}. The response times are
+ * aggregated by an {@link AnyStimulusAggregator}, whose window the
+ * {@link WindowFactory} may share with other consumers.
+ *
+ * If evaluation ticks are enabled, the measurements are only aggregated, and
+ * the aggregated value is compared on the {@link EvaluationTickReached} events.
+ * Otherwise, the value is compared at most once per half window, so that the
+ * trigger does not fire on every response time while the value stays in
+ * accordance. An average is the plain mean of the window.
+ *
+ * @author agent
+ */
+public final class AggregatedOperationResponseTimeTriggerChecker extends TriggerChecker<OperationResponseTime> {
+
+	private final AnyStimulusAggregator<OperationResponseTime> aggregator;
+	/** Whether the value is only evaluated on {@link EvaluationTickReached} events. */
+	private final boolean tickDriven;
+
+	/**
+	 * @param windows the factory of the window, which may share it with other
+	 *                consumers.
+	 */
+	public AggregatedOperationResponseTimeTriggerChecker(final BaseTrigger trigger,
+														 final OperationResponseTime stimulus,
+														 final TargetGroup targetGroup,
+														 final AGGREGATIONMETHOD aggregationMethod,
+														 final double windowSize,
+														 final WindowFactory windows) {
+		super(trigger, OperationResponseTime.class, Set.of(ExpectedTime.class));
+		this.tickDriven = windows.getSettings().isEvaluationTickEnabled();
+		this.aggregator = new AnyStimulusAggregator<>(stimulus, windowSize, aggregationMethod, windows,
+				targetGroup.getId(), this.tickDriven ? AggregatorRegistry.NO_RATE_LIMIT : windowSize / 2);
+	}
+
+	@Override
+	public FilterResult doProcess(final FilterObjectWrapper objectWrapper) {
+		final DESEvent event = objectWrapper.getEventToFilter();
+		if (event instanceof final MeasurementMade measurementMade) {
+			this.aggregator.aggregateMeasurement(measurementMade);
+		} else if (event instanceof final MeasurementBatch batch) {
+			for (final MeasurementMade measurementMade : batch.getMeasurements()) {
+				this.aggregator.aggregateMeasurement(measurementMade);
+			}
+		} else if (this.tickDriven && event instanceof EvaluationTickReached) {
+			return this.getResult(event);
+		} else {
+			return FilterResult.disregard("Not a measurement made event.");
+		}
+
+		if (this.tickDriven) {
+			return FilterResult.disregard("The value is evaluated on the next evaluation tick.");
+		}
+		return this.getResult(event);
+	}
+
+	/**
+	 * Compares the aggregated response time to the trigger, if enough response
+	 * times were aggregated.
+	 */
+	private FilterResult getResult(final DESEvent event) {
+		final AggregatedValue aggregatedValue = this.aggregator.getResult();
+		if (!aggregatedValue.isPresent()) {
+			return FilterResult.disregard(aggregatedValue.getReason());
+		}
+		if (this.compareToTrigger(aggregatedValue.getAsDouble()) == ComparatorResult.IN_ACCORDANCE) {
+			return FilterResult.success(event);
+		}
+		return FilterResult.disregard("Value and Expectation not in accordance.");
+	}
+}
@@ -2,6 +2,7 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 
 import java.util.Set;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowFactory;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.spd.targets.TargetGroup;
 import org.palladiosimulator.spd.triggers.BaseTrigger;
@@ -14,12 +15,20 @@ public class CPUUtilizationTriggerChecker extends AbstractManagedElementTriggerC
 	public CPUUtilizationTriggerChecker(final BaseTrigger trigger,
 										final CPUUtilization stimulus,
 								 		final TargetGroup targetGroup) {
+		this(trigger, stimulus, targetGroup, new WindowFactory());
+	}
+
+	public CPUUtilizationTriggerChecker(final BaseTrigger trigger,
+										final CPUUtilization stimulus,
+								 		final TargetGroup targetGroup,
+								 		final WindowFactory windows) {
 		super(trigger, 
 				stimulus, 
 				targetGroup,
 				Set.of(ExpectedPercentage.class),
 				MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE,
-				MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE);
+				MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE,
+				windows);
 	}
 
 }
@@ -5,8 +5,9 @@ import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.RepeatedSimula
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableException;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementBatch;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.model.LearningBasedModelEvaluator;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.model.ModelDecision;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.model.ModelEvaluator;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.core.events.SimulationFinished;
@@ -23,7 +24,8 @@ import org.palladiosimulator.spd.ModelBasedScalingPolicy;
  *
  * - Events of type {@link MeasurementMade} will also be forwarded to
  * {@link ModelEvaluator#recordUsage(MeasurementMade)}, where they will be recorded (both for input
- * aggregation and for the reward)
+ * aggregation and for the reward). The measurements of a {@link MeasurementBatch} are recorded all
+ * at once, and the decision is made once for the whole batch.
  *
  * @author Jens Berberich
  *
@@ -43,36 +45,38 @@ public class ModelBasedTriggerChecker implements Filter {
         if (filteredEvent instanceof final MeasurementMade measurementMade) {
             LOGGER.debug("Received a datapoint collection event!");
             this.model.recordUsage(measurementMade);
+        } else if (filteredEvent instanceof final MeasurementBatch batch) {
+            batch.getMeasurements()
+                .forEach(this.model::recordUsage);
         } else if (filteredEvent instanceof SimulationFinished
                 && this.model instanceof final LearningBasedModelEvaluator learningBasedModelEvaluator) {
             learningBasedModelEvaluator.printTrainedModel();
         }
         if (filteredEvent instanceof RepeatedSimulationTimeReached
                 && this.model instanceof final LearningBasedModelEvaluator learningBasedModelEvaluator) {
-            try {
-                LOGGER.info("Asking model for scaling action at time " + filteredEvent.time());
-                learningBasedModelEvaluator.update();
-            } catch (final NotEmittableException e) {
-                LOGGER.warn(e.getMessage());
-                return FilterResult.disregard(filteredEvent);
+            LOGGER.info("Asking model for scaling action at time " + filteredEvent.time());
+            final ModelDecision update = learningBasedModelEvaluator.update();
+            if (!update.isPresent()) {
+                LOGGER.warn("Model cannot be updated yet: " + update.getReason());
+                return FilterResult.disregard(update.getReason());
             }
         }
         if ((filteredEvent instanceof RepeatedSimulationTimeReached && this.model.getChangeOnInterval())
-                || (filteredEvent instanceof MeasurementMade && this.model.getChangeOnStimulus())) {
-            int value;
-            try {
-                value = this.model.getDecision();
-            } catch (final NotEmittableException e) {
-                LOGGER.warn(e.getMessage());
-                return FilterResult.disregard(filteredEvent);
+                || ((filteredEvent instanceof MeasurementMade || filteredEvent instanceof MeasurementBatch)
+                        && this.model.getChangeOnStimulus())) {
+            final ModelDecision decision = this.model.getDecision();
+            if (!decision.isPresent()) {
+                LOGGER.warn("Model cannot decide yet: " + decision.getReason());
+                return FilterResult.disregard(decision.getReason());
             }
+            final int value = decision.getAsInt();
             LOGGER.info("Model scaling decision: " + value);
             if (event.getState()
                 .getScalingPolicy() instanceof final ModelBasedScalingPolicy modelBasedScalingPolicy) {
                 modelBasedScalingPolicy.setAdjustment(value);
             }
             return FilterResult.success(filteredEvent);
-        } else if (!(filteredEvent instanceof MeasurementMade
+        } else if (!(filteredEvent instanceof MeasurementMade || filteredEvent instanceof MeasurementBatch
                 || filteredEvent instanceof RepeatedSimulationTimeReached)) {
             LOGGER.debug("Received an unexpected event");
             return FilterResult.disregard(filteredEvent);
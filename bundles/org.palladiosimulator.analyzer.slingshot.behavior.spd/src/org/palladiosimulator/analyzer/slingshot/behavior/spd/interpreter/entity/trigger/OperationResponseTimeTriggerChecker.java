@@ -8,6 +8,8 @@ import javax.measure.unit.SI;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementBatch;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
@@ -22,35 +24,66 @@ import org.palladiosimulator.spd.triggers.stimuli.OperationResponseTime;
 
 public final class OperationResponseTimeTriggerChecker extends TriggerChecker<OperationResponseTime> {
 
+	private final MeasurementDecoder decoder;
+	private final int responseTimeMetricId;
+
 	public OperationResponseTimeTriggerChecker(final BaseTrigger trigger) {
 		super(trigger, OperationResponseTime.class, Set.of(ExpectedTime.class));
+		this.decoder = MeasurementDecoder.getInstance();
+		this.responseTimeMetricId = this.decoder.metricId(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE);
+	}
+
+	/**
+	 * Each response time is compared on its own, nothing is aggregated.
+	 */
+	@Override
+	public boolean isSideEffectFree() {
+		return true;
 	}
 
 	@Override
 	public FilterResult doProcess(final FilterObjectWrapper objectWrapper) {
 		final DESEvent event = objectWrapper.getEventToFilter();
+		if (event instanceof final MeasurementBatch batch) {
+			/* A batch triggers as soon as one of its response times does. */
+			for (final MeasurementMade measurementMade : batch.getMeasurements()) {
+				if (this.decoder.decode(measurementMade).metricId() == this.responseTimeMetricId
+						&& this.checkMeasurement(measurementMade) instanceof FilterResult.Success) {
+					return FilterResult.success(event);
+				}
+			}
+			return FilterResult.disregard("No response time of the batch is in accordance");
+		}
 		if (event instanceof final MeasurementMade measurementMade) {
-			final SlingshotMeasuringValue measuringValue = measurementMade.getEntity();
-
-			final MeasuringPoint point = measuringValue.getMeasuringPoint();
-			if (point instanceof final OperationReference reference) {
-				final OperationSignature referencedSignature = reference.getOperationSignature();
-				final OperationSignature thisSignature = getStimulus().getOperationSignature();
-
-				if(thisSignature.getId().equals(referencedSignature.getId())) {
-					final Measure<Double,Duration> measure = measuringValue.getMeasureForMetric(MetricDescriptionConstants.RESPONSE_TIME_METRIC);
-					final double operationTime = measure.doubleValue(SI.SECOND);
-
-					if (this.compareToTrigger(operationTime) == ComparatorResult.IN_ACCORDANCE) {
-						return FilterResult.success(event);
-					}
-				} else {
-					return FilterResult.disregard("The signatures do not match");
+			return this.checkMeasurement(measurementMade);
+		}
+
+		return FilterResult.disregard();
+	}
+
+	/**
+	 * Compares a single response time of the stimulus' operation to the trigger.
+	 */
+	private FilterResult checkMeasurement(final MeasurementMade measurementMade) {
+		final SlingshotMeasuringValue measuringValue = measurementMade.getEntity();
+
+		final MeasuringPoint point = measuringValue.getMeasuringPoint();
+		if (point instanceof final OperationReference reference) {
+			final OperationSignature referencedSignature = reference.getOperationSignature();
+			final OperationSignature thisSignature = getStimulus().getOperationSignature();
+
+			if(thisSignature.getId().equals(referencedSignature.getId())) {
+				final Measure<Double,Duration> measure = measuringValue.getMeasureForMetric(MetricDescriptionConstants.RESPONSE_TIME_METRIC);
+				final double operationTime = measure.doubleValue(SI.SECOND);
+
+				if (this.compareToTrigger(operationTime) == ComparatorResult.IN_ACCORDANCE) {
+					return FilterResult.success(measurementMade);
 				}
+			} else {
+				return FilterResult.disregard("The signatures do not match");
 			}
 		}
-		
-		
+
 		return FilterResult.disregard();
 	}
-}
\ No newline at end of file
+}
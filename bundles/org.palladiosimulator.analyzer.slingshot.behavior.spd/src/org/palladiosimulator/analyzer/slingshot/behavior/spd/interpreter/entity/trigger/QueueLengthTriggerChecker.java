@@ -2,15 +2,23 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 
 import java.util.Set;
 
-import javax.measure.Measure;
-import javax.measure.quantity.Dimensionless;
-
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementBatch;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatedValue;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AnyStimulusAggregator;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowFactory;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.pcmmeasuringpoint.PassiveResourceReference;
+import org.palladiosimulator.spd.targets.TargetGroup;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
 import org.palladiosimulator.spd.triggers.BaseTrigger;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedCount;
 import org.palladiosimulator.spd.triggers.stimuli.QueueLength;
@@ -22,28 +30,83 @@ import org.palladiosimulator.spd.triggers.stimuli.QueueLength;
  * corresponds to the passive resource returned by
  * {@link QueueLength#getPassiveResource()}.
  * 
+ * If an aggregation method is set in the settings, the queue lengths are
+ * aggregated over a window by an {@link AnyStimulusAggregator} instead, and the
+ * aggregated value is compared. If evaluation ticks are enabled as well, it is
+ * only compared on the {@link EvaluationTickReached} events, otherwise at most
+ * once per half window.
+ * 
  * @author Julijan Katic
  *
  */
 public class QueueLengthTriggerChecker extends TriggerChecker<QueueLength> {
 
 	private final QueueLength queueLength;
+	private final MeasurementDecoder decoder;
+	private final int queueLengthMetricId;
+	/** The aggregator of the queue lengths, or {@code null} if each is compared on its own. */
+	private final AnyStimulusAggregator<QueueLength> aggregator;
+	/** Whether the aggregated value is only evaluated on {@link EvaluationTickReached} events. */
+	private final boolean tickDriven;
 
 	public QueueLengthTriggerChecker(final BaseTrigger trigger, final QueueLength queueLength) {
+		this(trigger, queueLength, null, new WindowFactory());
+	}
+
+	/**
+	 * @param targetGroup the target group of the policy, or {@code null} if each
+	 *                    queue length is compared on its own.
+	 * @param windows     the factory of the window, which may share it with other
+	 *                    consumers.
+	 */
+	public QueueLengthTriggerChecker(final BaseTrigger trigger, final QueueLength queueLength,
+			final TargetGroup targetGroup, final WindowFactory windows) {
 		super(trigger, QueueLength.class, Set.of(ExpectedCount.class));
 		this.queueLength = queueLength;
+		this.decoder = MeasurementDecoder.getInstance();
+		this.queueLengthMetricId = this.decoder
+				.metricId(MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC_TUPLE);
+		final SpdInterpreterSettings settings = windows.getSettings();
+		final AGGREGATIONMETHOD aggregationMethod = settings.getQueueLengthAggregation();
+		final double windowSize = settings.getQueueLengthWindow();
+		this.tickDriven = targetGroup != null && aggregationMethod != null && settings.isEvaluationTickEnabled();
+		this.aggregator = targetGroup == null || aggregationMethod == null ? null
+				: new AnyStimulusAggregator<>(queueLength, windowSize, aggregationMethod, windows,
+						targetGroup.getId(), this.tickDriven ? AggregatorRegistry.NO_RATE_LIMIT : windowSize / 2);
+	}
+
+	/**
+	 * Each queue length is compared on its own, unless they are aggregated.
+	 */
+	@Override
+	public boolean isSideEffectFree() {
+		return this.aggregator == null;
 	}
 
 	@Override
 	public FilterResult doProcess(final FilterObjectWrapper event) {
+		if (this.aggregator != null) {
+			return this.doProcessAggregated(event.getEventToFilter());
+		}
+		if (event.getEventToFilter() instanceof final MeasurementBatch batch) {
+			/* Like the single measurements, a batch triggers as soon as one of its queue lengths does. */
+			ComparatorResult result = null;
+			for (final MeasurementMade measurementMade : batch.getMeasurements()) {
+				if (isQueueLengthMeasurement(measurementMade)) {
+					result = this.compareToTrigger(this.decoder.decode(measurementMade).value());
+					if (result == ComparatorResult.IN_ACCORDANCE) {
+						return FilterResult.success(batch);
+					}
+				}
+			}
+			return result == null ? FilterResult.disregard()
+					: FilterResult.disregard("Cannot trigger, since the result is not in accordance: " + result);
+		}
 		if (event.getEventToFilter() instanceof final MeasurementMade measurementMade
-				&& isCorrectPassiveResource(measurementMade.getEntity().getMeasuringPoint())
-				&& measurementMade.getEntity().getMetricDesciption()
-						.equals(MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC_TUPLE)) {
+				&& isQueueLengthMeasurement(measurementMade)) {
 
-			final Measure<Long, Dimensionless> value = measurementMade.getEntity()
-					.getMeasureForMetric(MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC);
-			final ComparatorResult result = this.compareToTrigger(value.getValue());
+			final double value = this.decoder.decode(measurementMade).value();
+			final ComparatorResult result = this.compareToTrigger(value);
 
 			if (result == ComparatorResult.IN_ACCORDANCE) {
 				return FilterResult.success(measurementMade);
@@ -55,6 +118,40 @@ public class QueueLengthTriggerChecker extends TriggerChecker<QueueLength> {
 		return FilterResult.disregard();
 	}
 
+	/**
+	 * Aggregates the queue lengths, and compares the aggregated value unless it is
+	 * evaluated on the ticks.
+	 */
+	private FilterResult doProcessAggregated(final DESEvent event) {
+		if (event instanceof final MeasurementMade measurementMade) {
+			this.aggregator.aggregateMeasurement(measurementMade);
+		} else if (event instanceof final MeasurementBatch batch) {
+			for (final MeasurementMade measurementMade : batch.getMeasurements()) {
+				this.aggregator.aggregateMeasurement(measurementMade);
+			}
+		} else if (!(this.tickDriven && event instanceof EvaluationTickReached)) {
+			return FilterResult.disregard();
+		}
+		if (this.tickDriven && !(event instanceof EvaluationTickReached)) {
+			return FilterResult.disregard("The value is evaluated on the next evaluation tick.");
+		}
+
+		final AggregatedValue aggregatedValue = this.aggregator.getResult();
+		if (!aggregatedValue.isPresent()) {
+			return FilterResult.disregard(aggregatedValue.getReason());
+		}
+		final ComparatorResult result = this.compareToTrigger(aggregatedValue.getAsDouble());
+		if (result == ComparatorResult.IN_ACCORDANCE) {
+			return FilterResult.success(event);
+		}
+		return FilterResult.disregard("Cannot trigger, since the result is not in accordance: " + result);
+	}
+
+	private boolean isQueueLengthMeasurement(final MeasurementMade measurementMade) {
+		return this.decoder.decode(measurementMade).metricId() == this.queueLengthMetricId
+				&& isCorrectPassiveResource(measurementMade.getEntity().getMeasuringPoint());
+	}
+
 	/**
 	 * Checks whether the measuring point is of type
 	 * {@link PassiveResourceReference} and the referenced passive resource matches
@@ -2,10 +2,18 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 
 import org.palladiosimulator.spd.triggers.SimpleFireOnTrend;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedValue;
+import org.palladiosimulator.spd.triggers.expectations.NoExpectation;
 
-/*
- * TODO: Compare values for simpleFireOnTrend! This class is just added
- * now for completeness, but is not implemented yet.
+/**
+ * Compares the change of a stimulus over the trend window to the trend of a
+ * {@link SimpleFireOnTrend}. The actual value is the change, i.e. the slope of
+ * the values times the length of the window. The trend is in accordance if the
+ * change has the direction of the trend and is at least as large as the
+ * expected value, which is interpreted like by the
+ * {@link SimpleFireOnValueComparator}. Without an expectation, any change in
+ * the direction of the trend is in accordance.
+ * 
+ * @author agent
  */
 public class SimpleFireOnTrendComparator implements ValueComparator {
 	
@@ -16,8 +24,35 @@ public class SimpleFireOnTrendComparator implements ValueComparator {
 	}
 	
 	@Override
-	public ComparatorResult compare(double actualValue, ExpectedValue expectedValue) {
-		throw new UnsupportedOperationException("This is not yet implemented and only exist as a placeholder right now");
+	public ComparatorResult compare(final double actualValue, final ExpectedValue expectedValue) {
+		if (Double.isNaN(actualValue)) {
+			/* The window does not span enough time for a trend yet. */
+			return ComparatorResult.WAIT;
+		}
+		final double minimalChange = expectedValue == null || expectedValue instanceof NoExpectation ? 0
+				: Math.abs(SimpleFireOnValueComparator.getValue(expectedValue));
+		
+		final boolean result = switch (this.simpleFireOnTrend.getTrend()) {
+			case INCREASING -> isInAccordance(actualValue, true, minimalChange);
+			case DECREASING -> isInAccordance(actualValue, false, minimalChange);
+			default -> false;
+		};
+		
+		if (result) {
+			return ComparatorResult.IN_ACCORDANCE;
+		} else {
+			return ComparatorResult.DISREGARD;
+		}
 	}
 
+	/**
+	 * @param change        the change over the trend window.
+	 * @param increasing    whether the trend is increasing rather than decreasing.
+	 * @param minimalChange the least absolute change in accordance with the trend.
+	 * @return true iff the change has the direction of the trend and is at least
+	 *         the minimal change.
+	 */
+	static boolean isInAccordance(final double change, final boolean increasing, final double minimalChange) {
+		return increasing ? change > 0 && change >= minimalChange : change < 0 && -change >= minimalChange;
+	}
 }
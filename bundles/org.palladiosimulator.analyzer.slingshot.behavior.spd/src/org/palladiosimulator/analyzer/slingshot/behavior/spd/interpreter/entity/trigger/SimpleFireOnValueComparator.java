@@ -36,7 +36,11 @@ public class SimpleFireOnValueComparator implements ValueComparator {
 		}
 	}
 	
-	private double getValue(final ExpectedValue primitive) {
+	/**
+	 * @return the expected value as a number, where percentages are given as a
+	 *         fraction.
+	 */
+	static double getValue(final ExpectedValue primitive) {
 		if (primitive instanceof ExpectedTime) {
 			return ((ExpectedTime) primitive).getValue();
 		} else if (primitive instanceof ExpectedCount) {
@@ -18,6 +18,11 @@ public final class SimulationTimeChecker extends TriggerChecker<SimulationTime>
 		super(trigger, SimulationTime.class, Set.of(ExpectedTime.class));
 	}
 
+	@Override
+	public boolean isSideEffectFree() {
+		return true;
+	}
+
 	@Override
 	public FilterResult doProcess(final FilterObjectWrapper objectWrapper) {
 		final DESEvent event = objectWrapper.getEventToFilter();
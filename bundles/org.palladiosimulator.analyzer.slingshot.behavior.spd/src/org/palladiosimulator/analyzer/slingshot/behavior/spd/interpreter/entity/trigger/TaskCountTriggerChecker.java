@@ -5,6 +5,7 @@ import java.util.Set;
 import javax.measure.Measure;
 import javax.measure.quantity.Dimensionless;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowFactory;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.spd.targets.TargetGroup;
@@ -15,12 +16,18 @@ import org.palladiosimulator.spd.triggers.stimuli.TaskCount;
 public class TaskCountTriggerChecker extends AbstractManagedElementTriggerChecker<TaskCount> {
 
 	public TaskCountTriggerChecker(final BaseTrigger trigger, final TaskCount stimulus, final TargetGroup targetGroup) {
+		this(trigger, stimulus, targetGroup, new WindowFactory());
+	}
+
+	public TaskCountTriggerChecker(final BaseTrigger trigger, final TaskCount stimulus, final TargetGroup targetGroup,
+			final WindowFactory windows) {
 		super(trigger, 
 				stimulus,
 				targetGroup, 
 				Set.of(ExpectedCount.class), 
 				MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC_TUPLE,
-				MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC);
+				MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC,
+				windows);
 	}
 	
 	/* We need to retrieve the correct type (Long) instead of Double */
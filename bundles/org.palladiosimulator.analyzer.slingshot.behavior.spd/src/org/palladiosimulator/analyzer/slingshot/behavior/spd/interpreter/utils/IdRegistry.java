@@ -0,0 +1,65 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns keys, such as the ids of metric descriptions, as dense integer ids
+ * starting at {@code 0}, so that they can be compared by {@code ==} and used as
+ * array indices.
+ *
+ * The registry is not thread-safe. Keys are interned while interpreting the
+ * SPD model and by the simulation thread; during a parallel evaluation, the
+ * registry is only read.
+ *
+ * @author agent
+ *
+ * @param <K> The type of the keys, compared by {@link Object#equals(Object)}.
+ */
+public final class IdRegistry<K> {
+
+	/** The id returned for keys that are not interned. */
+	public static final int UNKNOWN = -1;
+
+	private final Map<K, Integer> ids = new HashMap<>();
+	private final List<K> keys = new ArrayList<>();
+
+	/**
+	 * @return the id of the key, which is assigned if the key is new.
+	 */
+	public int intern(final K key) {
+		final Integer id = this.ids.get(key);
+		if (id != null) {
+			return id;
+		}
+		final int newId = this.keys.size();
+		this.keys.add(key);
+		this.ids.put(key, newId);
+		return newId;
+	}
+
+	/**
+	 * @return the id of the key, or {@link #UNKNOWN} if it is not interned.
+	 */
+	public int lookup(final K key) {
+		final Integer id = this.ids.get(key);
+		return id == null ? UNKNOWN : id;
+	}
+
+	/**
+	 * @return the key of the id.
+	 * @throws IndexOutOfBoundsException if no key has the id.
+	 */
+	public K keyOf(final int id) {
+		return this.keys.get(id);
+	}
+
+	/**
+	 * @return the number of interned keys, which is one more than the largest id.
+	 */
+	public int size() {
+		return this.keys.size();
+	}
+}
@@ -0,0 +1,294 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.measure.Measure;
+import javax.measure.quantity.Duration;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DecodedMeasurement;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.BaseMetricDescription;
+import org.palladiosimulator.metricspec.MetricDescription;
+import org.palladiosimulator.metricspec.MetricSetDescription;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.pcmmeasuringpoint.ActiveResourceMeasuringPoint;
+import org.palladiosimulator.pcmmeasuringpoint.ResourceContainerMeasuringPoint;
+
+/**
+ * Decodes each {@link MeasurementMade} once into a {@link DecodedMeasurement},
+ * so that the dispatcher, the trigger checkers and the aggregators compare
+ * interned integer ids instead of the ids of the metric descriptions, and read
+ * the point in time and the value without looking up the measures again.
+ *
+ * The value of a measurement is that of its value metric: the first base
+ * metric of the metric set description that is not the point in time, e.g. the
+ * utilization of a {@code UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE}. Consumers
+ * aggregating another metric of the set have to read it from the measurement
+ * themselves (see {@link #isValueMetric(int, BaseMetricDescription)}).
+ *
+ * The decoded measurements of the current simulation time are kept, so that
+ * every consumer of the same measurement gets the same record. The decoder is
+ * not thread-safe: every measurement has to be decoded before the contexts
+ * evaluate it in parallel, and a write during a
+ * {@linkplain #beginParallelEvaluation() parallel evaluation} fails with an
+ * {@link IllegalStateException} instead of racing with the readers. Since the
+ * filter chains turn the exceptions of their filters into disregards, the
+ * failure is raised again on the calling thread when the evaluation ends.
+ *
+ * There is one decoder per simulation (see {@link #getInstance()}), which is
+ * {@linkplain #reset() reset} before the SPD model is interpreted, so that the
+ * ids interned by the consumers and the decoded ones are the same.
+ *
+ * @author agent
+ */
+public final class MeasurementDecoder {
+
+	/** The container index of measuring points not referring to a container. */
+	public static final int NO_CONTAINER = IdRegistry.UNKNOWN;
+
+	private static final String WRITE_REJECTED = "The measurement decoder must not be written during a parallel evaluation. "
+			+ "Decode the measurements before the evaluation is forked.";
+
+	private static volatile MeasurementDecoder instance = new MeasurementDecoder();
+
+	private final IdRegistry<String> metrics = new IdRegistry<>();
+	private final IdRegistry<MeasuringPoint> measuringPoints = new IdRegistry<>();
+	private final IdRegistry<String> containers = new IdRegistry<>();
+
+	/** metric id -> how its measurements are decoded. */
+	private final List<MetricLayout> layouts = new ArrayList<>();
+
+	/** measuring point id -> the container index. */
+	private int[] containerIndices = new int[16];
+
+	/** The decoded measurements of {@link #decodedTime}. */
+	private final Map<MeasurementMade, DecodedMeasurement> decoded = new IdentityHashMap<>();
+	private double decodedTime = Double.NaN;
+
+	/** Whether the decoder is read by several threads, see {@link #beginParallelEvaluation()}. */
+	private volatile boolean readOnly = false;
+	/** Whether a write was rejected since {@link #beginParallelEvaluation()}. */
+	private volatile boolean writeRejected = false;
+
+	private MeasurementDecoder() {
+		// Use getInstance()
+	}
+
+	/**
+	 * @return the decoder of the current simulation.
+	 */
+	public static MeasurementDecoder getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Replaces the decoder by a new one, dropping every interned id. Must be
+	 * called before the consumers of the next simulation are created.
+	 */
+	public static void reset() {
+		instance = new MeasurementDecoder();
+	}
+
+	/**
+	 * Makes the decoder read-only until {@link #endParallelEvaluation()}, so that
+	 * a consumer decoding a measurement that was not decoded before the contexts
+	 * were forked fails fast.
+	 */
+	public void beginParallelEvaluation() {
+		this.readOnly = true;
+	}
+
+	/**
+	 * Makes the decoder writable again after a parallel evaluation.
+	 *
+	 * @throws IllegalStateException if a write was rejected during the
+	 *                               evaluation.
+	 */
+	public void endParallelEvaluation() {
+		this.readOnly = false;
+		if (this.writeRejected) {
+			this.writeRejected = false;
+			throw new IllegalStateException(WRITE_REJECTED);
+		}
+	}
+
+	/**
+	 * @return the id of the metric description, interned if new.
+	 */
+	public int metricId(final MetricDescription metricDescription) {
+		final int id = this.metricId(metricDescription.getId());
+		if (this.layouts.get(id) == null) {
+			this.checkWritable();
+			this.layouts.set(id, MetricLayout.of(metricDescription));
+		}
+		return id;
+	}
+
+	/**
+	 * @return the id of the metric description with the given id, interned if
+	 *         new.
+	 */
+	public int metricId(final String metricDescriptionId) {
+		final int known = this.metrics.lookup(metricDescriptionId);
+		if (known != IdRegistry.UNKNOWN) {
+			return known;
+		}
+		this.checkWritable();
+		final int id = this.metrics.intern(metricDescriptionId);
+		if (id == this.layouts.size()) {
+			// Only known once a measurement or the metric description itself is seen
+			this.layouts.add(null);
+		}
+		return id;
+	}
+
+	/**
+	 * @return the id of the metric description with the given id, or
+	 *         {@link IdRegistry#UNKNOWN} if no such measurement was decoded or
+	 *         interned yet.
+	 */
+	public int lookupMetricId(final String metricDescriptionId) {
+		return this.metrics.lookup(metricDescriptionId);
+	}
+
+	/**
+	 * @return the id of the metric description the id was interned for.
+	 */
+	public String getMetricDescriptionId(final int metricId) {
+		return this.metrics.keyOf(metricId);
+	}
+
+	/**
+	 * @return the metric whose value is decoded, or {@code null} if there is
+	 *         none or the metric description was only interned by its id yet.
+	 */
+	public BaseMetricDescription getValueMetric(final int metricId) {
+		final MetricLayout layout = this.layouts.get(metricId);
+		return layout == null ? null : layout.valueMetric;
+	}
+
+	/**
+	 * @return true iff the decoded value of the metric is that of the given base
+	 *         metric.
+	 */
+	public boolean isValueMetric(final int metricId, final BaseMetricDescription baseMetricDescription) {
+		final BaseMetricDescription valueMetric = this.getValueMetric(metricId);
+		return valueMetric != null && valueMetric.getId().equals(baseMetricDescription.getId());
+	}
+
+	/**
+	 * @return the number of interned measuring points, which is one more than
+	 *         the largest measuring point id.
+	 */
+	public int getMeasuringPointCount() {
+		return this.measuringPoints.size();
+	}
+
+	/**
+	 * Decodes the measurement, or returns the record if the measurement was
+	 * already decoded.
+	 *
+	 * @throws IllegalStateException if the measurement was not decoded before a
+	 *                               parallel evaluation started.
+	 */
+	public DecodedMeasurement decode(final MeasurementMade measurementMade) {
+		if (Double.compare(measurementMade.time(), this.decodedTime) != 0) {
+			this.checkWritable();
+			this.decoded.clear();
+			this.decodedTime = measurementMade.time();
+		}
+		DecodedMeasurement decodedMeasurement = this.decoded.get(measurementMade);
+		if (decodedMeasurement == null) {
+			this.checkWritable();
+			decodedMeasurement = this.doDecode(measurementMade);
+			this.decoded.put(measurementMade, decodedMeasurement);
+		}
+		return decodedMeasurement;
+	}
+
+	private DecodedMeasurement doDecode(final MeasurementMade measurementMade) {
+		final SlingshotMeasuringValue measuringValue = measurementMade.getEntity();
+		final int metricId = this.metricId(measuringValue.getMetricDesciption());
+		final MetricLayout layout = this.layouts.get(metricId);
+
+		final double time;
+		if (layout.hasPointInTime) {
+			final Measure<Double, Duration> pointInTime = measuringValue
+					.getMeasureForMetric(MetricDescriptionConstants.POINT_IN_TIME_METRIC);
+			time = pointInTime.getValue();
+		} else {
+			time = measurementMade.time();
+		}
+
+		final double value;
+		if (layout.valueMetric != null) {
+			final Measure<?, ?> measure = measuringValue.getMeasureForMetric(layout.valueMetric);
+			value = ((Number) measure.getValue()).doubleValue();
+		} else {
+			value = Double.NaN;
+		}
+
+		final MeasuringPoint measuringPoint = measuringValue.getMeasuringPoint();
+		final int measuringPointId = this.measuringPoints.intern(measuringPoint);
+		if (measuringPointId >= this.containerIndices.length) {
+			this.containerIndices = Arrays.copyOf(this.containerIndices, this.containerIndices.length * 2);
+		}
+		if (measuringPointId == this.measuringPoints.size() - 1) {
+			this.containerIndices[measuringPointId] = this.containerIndexOf(measuringPoint);
+		}
+
+		return new DecodedMeasurement(time, value, metricId, measuringPointId,
+				this.containerIndices[measuringPointId]);
+	}
+
+	private void checkWritable() {
+		if (this.readOnly) {
+			this.writeRejected = true;
+			throw new IllegalStateException(WRITE_REJECTED);
+		}
+	}
+
+	private int containerIndexOf(final MeasuringPoint measuringPoint) {
+		final ResourceContainer container;
+		if (measuringPoint instanceof final ActiveResourceMeasuringPoint activeResourceMeasuringPoint) {
+			container = activeResourceMeasuringPoint.getActiveResource()
+					.getResourceContainer_ProcessingResourceSpecification();
+		} else if (measuringPoint instanceof final ResourceContainerMeasuringPoint resourceContainerMeasuringPoint) {
+			container = resourceContainerMeasuringPoint.getResourceContainer();
+		} else {
+			container = null;
+		}
+		return container == null ? NO_CONTAINER : this.containers.intern(container.getId());
+	}
+
+	/**
+	 * Which metrics of the measurements of a metric description are decoded.
+	 */
+	private record MetricLayout(BaseMetricDescription valueMetric, boolean hasPointInTime) {
+
+		private static MetricLayout of(final MetricDescription metricDescription) {
+			if (metricDescription instanceof final BaseMetricDescription baseMetricDescription) {
+				return new MetricLayout(baseMetricDescription, false);
+			}
+			BaseMetricDescription valueMetric = null;
+			boolean hasPointInTime = false;
+			if (metricDescription instanceof final MetricSetDescription metricSetDescription) {
+				for (final MetricDescription subsumed : metricSetDescription.getSubsumedMetrics()) {
+					if (subsumed.getId().equals(MetricDescriptionConstants.POINT_IN_TIME_METRIC.getId())) {
+						hasPointInTime = true;
+					} else if (valueMetric == null && subsumed instanceof final BaseMetricDescription base) {
+						valueMetric = base;
+					}
+				}
+			}
+			return new MetricLayout(valueMetric, hasPointInTime);
+		}
+	}
+}
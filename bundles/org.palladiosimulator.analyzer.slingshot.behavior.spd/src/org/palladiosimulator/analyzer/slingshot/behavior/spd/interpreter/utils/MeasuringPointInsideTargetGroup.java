@@ -1,6 +1,10 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.pcmmeasuringpoint.ActiveResourceMeasuringPoint;
 import org.palladiosimulator.pcmmeasuringpoint.AssemblyReference;
 import org.palladiosimulator.pcmmeasuringpoint.OperationReference;
@@ -23,10 +27,31 @@ public class MeasuringPointInsideTargetGroup extends PcmmeasuringpointSwitch<Boo
 
 	private final TargetGroup targetGroup;
 
+	/** Memoized results of {@link #doSwitch(EObject)}, valid for {@link #cacheVersion}. */
+	private final Map<MeasuringPoint, Boolean> cache = new HashMap<>();
+	private long cacheVersion = -1;
+
 	public MeasuringPointInsideTargetGroup(final TargetGroup targetGroup) {
 		this.targetGroup = targetGroup;
 	}
 
+	/**
+	 * Memoized variant of {@link #doSwitch(EObject)}. The answers are kept until
+	 * the topology changes (see {@link TargetGroupUtils#topologyChanged()}), so in
+	 * steady state the check is a single lookup.
+	 * 
+	 * @param measuringPoint The measuring point to check.
+	 * @return true iff the measuring point is inside the target group.
+	 */
+	public boolean isInside(final MeasuringPoint measuringPoint) {
+		final long version = TargetGroupUtils.getTopologyVersion();
+		if (version != this.cacheVersion) {
+			this.cache.clear();
+			this.cacheVersion = version;
+		}
+		return this.cache.computeIfAbsent(measuringPoint, this::doSwitch);
+	}
+
 	@Override
 	public Boolean caseActiveResourceMeasuringPoint(final ActiveResourceMeasuringPoint object) {
 		return TargetGroupUtils.isContainerInTargetGroup(
@@ -0,0 +1,437 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils;
+
+import java.util.Locale;
+import java.util.Properties;
+
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * The switches of the SPD interpreter. Each switch is read from a system
+ * property prefixed with {@value #PREFIX}, e.g.
+ * {@code -Dslingshot.spd.filterchain.compiled=true}. The properties are read
+ * once per simulation by {@link #fromSystemProperties()}, and the resulting
+ * immutable settings are handed to the parts of the interpreter that need
+ * them.
+ *
+ * @author agent
+ */
+public final class SpdInterpreterSettings {
+
+	public static final String PREFIX = "slingshot.spd.";
+
+	/**
+	 * Whether the adjustor contexts use a {@code CompiledFilterChain} instead of
+	 * the recursive {@code FilterChain}. Disabled by default.
+	 */
+	public static final String COMPILED_FILTER_CHAIN = PREFIX + "filterchain.compiled";
+
+	/**
+	 * Whether measurements and the other events of the SPD interpretation are
+	 * routed by a single dispatcher to the interested adjustor contexts, instead
+	 * of registering subscribers per context. Disabled by default.
+	 */
+	public static final String MEASUREMENT_DISPATCHER = PREFIX + "dispatcher.measurements";
+
+	/**
+	 * Whether the dispatcher collects the measurements of a target group made at
+	 * the same simulation time into one {@code MeasurementBatch}. Disabled by
+	 * default; only effective if the dispatcher is enabled.
+	 */
+	public static final String MEASUREMENT_BATCHING = PREFIX + "dispatcher.batching";
+
+	/**
+	 * Whether the side-effect-free filters of the chains and compound triggers are
+	 * reordered by a {@code CostBasedFilterPlanner}. Disabled by default.
+	 */
+	public static final String FILTER_PLANNER = PREFIX + "planner.enabled";
+
+	/**
+	 * Whether the dispatcher evaluates the contexts of different target groups
+	 * in parallel. Disabled by default; only effective if the dispatcher is
+	 * enabled.
+	 */
+	public static final String PARALLEL_EVALUATION = PREFIX + "dispatcher.parallel";
+
+	/**
+	 * The number of threads for the parallel evaluation. Defaults to the number
+	 * of available processors.
+	 */
+	public static final String PARALLELISM = PREFIX + "dispatcher.parallelism";
+
+	/**
+	 * Whether the filter chains of the adjustor contexts are profiled, and a
+	 * report is written at the end of the simulation. Disabled by default.
+	 */
+	public static final String PROFILING = PREFIX + "profiling.enabled";
+
+	/**
+	 * The file the profiling report is written to. If not set, the report is
+	 * logged instead.
+	 */
+	public static final String PROFILING_REPORT = PREFIX + "profiling.report";
+
+	/**
+	 * How the percentile and median windows estimate their value: {@code exact}
+	 * keeps every value of the window, {@code approximate} keeps a histogram with
+	 * bounded memory. Defaults to {@code exact}.
+	 */
+	public static final String QUANTILE_MODE = PREFIX + "quantile.mode";
+
+	/**
+	 * The relative accuracy of the approximate quantiles. Defaults to
+	 * {@value #DEFAULT_QUANTILE_ACCURACY}.
+	 */
+	public static final String QUANTILE_ACCURACY = PREFIX + "quantile.accuracy";
+
+	/**
+	 * The number of time slices a window with approximate quantiles expires in.
+	 * Defaults to {@value #DEFAULT_QUANTILE_SLICES}.
+	 */
+	public static final String QUANTILE_SLICES = PREFIX + "quantile.slices";
+
+	/**
+	 * Whether the aggregators of the model-based policies are answered from
+	 * rollup stores shared per target group and metric, which the dispatcher
+	 * feeds. Their averages are then the mean of the window instead of an
+	 * exponential moving average. Disabled by default; only effective if the
+	 * dispatcher is enabled.
+	 */
+	public static final String ROLLUPS = PREFIX + "rollup.enabled";
+
+	/**
+	 * Whether the trigger checkers and model aggregators that watch the same
+	 * stimulus of the same target group with the same window share one window
+	 * through an {@code AggregatorRegistry}, which the dispatcher feeds, so that
+	 * every measurement is aggregated once. Disabled by default; only effective
+	 * if the dispatcher is enabled.
+	 */
+	public static final String AGGREGATOR_SHARING = PREFIX + "aggregator.sharing";
+
+	/**
+	 * Whether the managed element stimuli are aggregated in two levels by an
+	 * {@code ElementWiseAggregation}: {@code latest} keeps the latest value per
+	 * element, {@code mean} a time-weighted mean per element, and the
+	 * aggregation method is applied across the elements. If not set, the values
+	 * of all elements go into one window.
+	 */
+	public static final String ELEMENT_WISE = PREFIX + "aggregator.elementwise";
+
+	/**
+	 * How the CPU and HDD utilization is averaged: {@code ema} by an exponential
+	 * moving average, {@code timeweighted} by the time-weighted average over the
+	 * window of the mean utilization across the elements of the target group.
+	 * Defaults to {@code ema}.
+	 */
+	public static final String AVERAGE_MODE = PREFIX + "aggregator.average";
+
+	/**
+	 * The period in seconds of the {@code EvaluationTickReached} events. If set,
+	 * the trigger checkers of the managed element stimuli only aggregate the
+	 * measurements, and evaluate the aggregated value once per period and target
+	 * group. If not set, they evaluate on every measurement.
+	 */
+	public static final String EVALUATION_TICK = PREFIX + "evaluation.tick";
+
+	/**
+	 * Whether the {@code SimulationTimeReached}, {@code RepeatedSimulationTimeReached}
+	 * and {@code EvaluationTickReached} events are kept by an
+	 * {@code SpdTimerService}, which schedules only one {@code SpdTimerReached}
+	 * per distinct simulation time and hands the due events directly to the
+	 * policies of their target groups. Disabled by default; only effective if the
+	 * dispatcher is enabled.
+	 */
+	public static final String TIMER_COALESCING = PREFIX + "timer.coalesced";
+
+	/**
+	 * How the operation response time triggers aggregate the response times
+	 * before comparing them, as the name of an {@code AGGREGATIONMETHOD}, e.g.
+	 * {@code PERCENTILE95}. The average is the mean of the window. Without
+	 * evaluation ticks, the aggregated value is compared at most once per half
+	 * window. If not set, each response time is compared on its own.
+	 */
+	public static final String RESPONSE_TIME_AGGREGATION = PREFIX + "trigger.responsetime.aggregation";
+
+	/**
+	 * The size in seconds of the window the response times are aggregated over.
+	 * Defaults to {@value #DEFAULT_RESPONSE_TIME_WINDOW}.
+	 */
+	public static final String RESPONSE_TIME_WINDOW = PREFIX + "trigger.responsetime.window";
+
+	/**
+	 * How the queue length triggers aggregate the queue lengths before comparing
+	 * them, as the name of an {@code AGGREGATIONMETHOD}. The average is weighted
+	 * by the time each queue length holds. If not set, each queue length is
+	 * compared on its own.
+	 */
+	public static final String QUEUE_LENGTH_AGGREGATION = PREFIX + "trigger.queuelength.aggregation";
+
+	/**
+	 * The size in seconds of the window the queue lengths are aggregated over.
+	 * Defaults to {@value #DEFAULT_QUEUE_LENGTH_WINDOW}.
+	 */
+	public static final String QUEUE_LENGTH_WINDOW = PREFIX + "trigger.queuelength.window";
+
+	/**
+	 * The horizon in seconds the trigger checkers of the managed element stimuli
+	 * forecast their aggregated value for, by a {@code HoltForecaster} updated on
+	 * each evaluation tick. The forecast value is compared to the trigger instead
+	 * of the current one, so that a policy scales before the threshold is
+	 * breached. If not set, the current value is compared; only effective if
+	 * evaluation ticks are enabled.
+	 */
+	public static final String FORECAST_HORIZON = PREFIX + "trigger.forecast.horizon";
+
+	public static final double DEFAULT_RESPONSE_TIME_WINDOW = 60;
+	public static final double DEFAULT_QUEUE_LENGTH_WINDOW = 60;
+
+	public static final double DEFAULT_QUANTILE_ACCURACY = 0.01;
+	public static final int DEFAULT_QUANTILE_SLICES = 60;
+
+	/** The settings if none of the properties is set. */
+	public static final SpdInterpreterSettings DEFAULTS = fromProperties(new Properties());
+
+	private final boolean compiledFilterChain;
+	private final boolean measurementDispatcher;
+	private final boolean measurementBatching;
+	private final boolean filterPlanner;
+	private final boolean parallelEvaluation;
+	private final int parallelism;
+	private final boolean profiling;
+	private final String profilingReportPath;
+	private final boolean rollups;
+	private final boolean aggregatorSharing;
+	private final boolean elementWiseAggregation;
+	private final boolean elementWiseTimeWeighted;
+	private final boolean timeWeightedAverage;
+	private final double evaluationTickPeriod;
+	private final boolean timerCoalescing;
+	private final double forecastHorizon;
+	private final AGGREGATIONMETHOD responseTimeAggregation;
+	private final double responseTimeWindow;
+	private final AGGREGATIONMETHOD queueLengthAggregation;
+	private final double queueLengthWindow;
+	private final boolean approximateQuantile;
+	private final double quantileAccuracy;
+	private final int quantileSlices;
+
+	private SpdInterpreterSettings(final Properties properties) {
+		this.compiledFilterChain = getBoolean(properties, COMPILED_FILTER_CHAIN, false);
+		this.measurementDispatcher = getBoolean(properties, MEASUREMENT_DISPATCHER, false);
+		this.measurementBatching = this.measurementDispatcher && getBoolean(properties, MEASUREMENT_BATCHING, false);
+		this.filterPlanner = getBoolean(properties, FILTER_PLANNER, false);
+		this.parallelEvaluation = this.measurementDispatcher && getBoolean(properties, PARALLEL_EVALUATION, false);
+		this.parallelism = getCount(properties, PARALLELISM, Runtime.getRuntime().availableProcessors());
+		this.profiling = getBoolean(properties, PROFILING, false);
+		final String reportPath = properties.getProperty(PROFILING_REPORT);
+		this.profilingReportPath = reportPath == null || reportPath.isBlank() ? null : reportPath.trim();
+		this.rollups = this.measurementDispatcher && getBoolean(properties, ROLLUPS, false);
+		this.aggregatorSharing = this.measurementDispatcher && getBoolean(properties, AGGREGATOR_SHARING, false);
+		final String elementWise = properties.getProperty(ELEMENT_WISE, "").trim();
+		this.elementWiseTimeWeighted = "mean".equalsIgnoreCase(elementWise);
+		this.elementWiseAggregation = this.elementWiseTimeWeighted || "latest".equalsIgnoreCase(elementWise);
+		this.timeWeightedAverage = "timeweighted".equalsIgnoreCase(properties.getProperty(AVERAGE_MODE, "").trim());
+		this.evaluationTickPeriod = getWindow(properties, EVALUATION_TICK, 0);
+		this.timerCoalescing = this.measurementDispatcher && getBoolean(properties, TIMER_COALESCING, false);
+		this.forecastHorizon = getWindow(properties, FORECAST_HORIZON, 0);
+		this.responseTimeAggregation = getAggregationMethod(properties, RESPONSE_TIME_AGGREGATION);
+		this.responseTimeWindow = getWindow(properties, RESPONSE_TIME_WINDOW, DEFAULT_RESPONSE_TIME_WINDOW);
+		this.queueLengthAggregation = getAggregationMethod(properties, QUEUE_LENGTH_AGGREGATION);
+		this.queueLengthWindow = getWindow(properties, QUEUE_LENGTH_WINDOW, DEFAULT_QUEUE_LENGTH_WINDOW);
+		this.approximateQuantile = "approximate".equalsIgnoreCase(properties.getProperty(QUANTILE_MODE, "").trim());
+		this.quantileAccuracy = getAccuracy(properties, QUANTILE_ACCURACY, DEFAULT_QUANTILE_ACCURACY);
+		this.quantileSlices = getCount(properties, QUANTILE_SLICES, DEFAULT_QUANTILE_SLICES);
+	}
+
+	/**
+	 * Reads the settings from the system properties. Meant to be called once per
+	 * simulation.
+	 */
+	public static SpdInterpreterSettings fromSystemProperties() {
+		return fromProperties(System.getProperties());
+	}
+
+	/**
+	 * Reads the settings from the given properties. Invalid values fall back to
+	 * the defaults.
+	 */
+	public static SpdInterpreterSettings fromProperties(final Properties properties) {
+		return new SpdInterpreterSettings(properties);
+	}
+
+	public boolean isCompiledFilterChainEnabled() {
+		return this.compiledFilterChain;
+	}
+
+	public boolean isMeasurementDispatcherEnabled() {
+		return this.measurementDispatcher;
+	}
+
+	public boolean isMeasurementBatchingEnabled() {
+		return this.measurementBatching;
+	}
+
+	public boolean isFilterPlannerEnabled() {
+		return this.filterPlanner;
+	}
+
+	public boolean isParallelEvaluationEnabled() {
+		return this.parallelEvaluation;
+	}
+
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	public boolean isProfilingEnabled() {
+		return this.profiling;
+	}
+
+	/**
+	 * @return the path of the profiling report, or {@code null} if not set.
+	 */
+	public String getProfilingReportPath() {
+		return this.profilingReportPath;
+	}
+
+	public boolean isRollupEnabled() {
+		return this.rollups;
+	}
+
+	public boolean isAggregatorSharingEnabled() {
+		return this.aggregatorSharing;
+	}
+
+	public boolean isElementWiseAggregationEnabled() {
+		return this.elementWiseAggregation;
+	}
+
+	public boolean isElementWiseTimeWeighted() {
+		return this.elementWiseTimeWeighted;
+	}
+
+	public boolean isTimeWeightedAverageEnabled() {
+		return this.timeWeightedAverage;
+	}
+
+	public boolean isEvaluationTickEnabled() {
+		return this.evaluationTickPeriod > 0;
+	}
+
+	/**
+	 * @return the period of the evaluation ticks, or {@code 0} if disabled.
+	 */
+	public double getEvaluationTickPeriod() {
+		return this.evaluationTickPeriod;
+	}
+
+	public boolean isTimerCoalescingEnabled() {
+		return this.timerCoalescing;
+	}
+
+	public boolean isForecastEnabled() {
+		return this.isEvaluationTickEnabled() && this.forecastHorizon > 0;
+	}
+
+	/**
+	 * @return the forecast horizon of the trigger checkers, or {@code 0} if
+	 *         disabled.
+	 */
+	public double getForecastHorizon() {
+		return this.forecastHorizon;
+	}
+
+	/**
+	 * @return the aggregation method of the response time triggers, or
+	 *         {@code null} if each response time is compared on its own.
+	 */
+	public AGGREGATIONMETHOD getResponseTimeAggregation() {
+		return this.responseTimeAggregation;
+	}
+
+	public double getResponseTimeWindow() {
+		return this.responseTimeWindow;
+	}
+
+	/**
+	 * @return the aggregation method of the queue length triggers, or
+	 *         {@code null} if each queue length is compared on its own.
+	 */
+	public AGGREGATIONMETHOD getQueueLengthAggregation() {
+		return this.queueLengthAggregation;
+	}
+
+	public double getQueueLengthWindow() {
+		return this.queueLengthWindow;
+	}
+
+	public boolean isApproximateQuantileEnabled() {
+		return this.approximateQuantile;
+	}
+
+	public double getQuantileAccuracy() {
+		return this.quantileAccuracy;
+	}
+
+	public int getQuantileSlices() {
+		return this.quantileSlices;
+	}
+
+	private static AGGREGATIONMETHOD getAggregationMethod(final Properties properties, final String key) {
+		final String value = properties.getProperty(key);
+		if (value != null && !value.isBlank()) {
+			try {
+				return AGGREGATIONMETHOD.valueOf(value.trim().toUpperCase(Locale.ROOT));
+			} catch (final IllegalArgumentException e) {
+				// fall through to disabled
+			}
+		}
+		return null;
+	}
+
+	private static double getWindow(final Properties properties, final String key, final double defaultValue) {
+		final String value = properties.getProperty(key);
+		if (value != null) {
+			try {
+				final double window = Double.parseDouble(value.trim());
+				if (window > 0 && Double.isFinite(window)) {
+					return window;
+				}
+			} catch (final NumberFormatException e) {
+				// fall through to the default
+			}
+		}
+		return defaultValue;
+	}
+
+	private static double getAccuracy(final Properties properties, final String key, final double defaultValue) {
+		final String value = properties.getProperty(key);
+		if (value != null) {
+			try {
+				final double accuracy = Double.parseDouble(value.trim());
+				if (accuracy > 0 && accuracy < 1) {
+					return accuracy;
+				}
+			} catch (final NumberFormatException e) {
+				// fall through to the default
+			}
+		}
+		return defaultValue;
+	}
+
+	private static int getCount(final Properties properties, final String key, final int defaultValue) {
+		final String value = properties.getProperty(key);
+		if (value != null) {
+			try {
+				return Math.max(1, Integer.parseInt(value.trim()));
+			} catch (final NumberFormatException e) {
+				// fall through to the default
+			}
+		}
+		return defaultValue;
+	}
+
+	private static boolean getBoolean(final Properties properties, final String key, final boolean defaultValue) {
+		final String value = properties.getProperty(key);
+		return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+	}
+}
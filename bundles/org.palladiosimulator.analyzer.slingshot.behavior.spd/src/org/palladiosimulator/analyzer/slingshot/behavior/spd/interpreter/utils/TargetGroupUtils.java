@@ -1,21 +1,14 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils;
 
-import java.util.List;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Collection;
+
 import org.palladiosimulator.analyzer.slingshot.core.Slingshot;
 import org.palladiosimulator.pcm.allocation.Allocation;
 import org.palladiosimulator.pcm.allocation.AllocationContext;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
-import org.palladiosimulator.pcm.repository.OperationProvidedRole;
 import org.palladiosimulator.pcm.repository.OperationSignature;
 import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
-import org.palladiosimulator.semanticspd.CompetingConsumersGroupCfg;
 import org.palladiosimulator.semanticspd.Configuration;
-import org.palladiosimulator.semanticspd.ElasticInfrastructureCfg;
-import org.palladiosimulator.semanticspd.ServiceGroupCfg;
-import org.palladiosimulator.semanticspd.TargetGroupCfg;
 import org.palladiosimulator.spd.targets.CompetingConsumersGroup;
 import org.palladiosimulator.spd.targets.ElasticInfrastructure;
 import org.palladiosimulator.spd.targets.ServiceGroup;
@@ -26,12 +19,91 @@ import org.palladiosimulator.spd.targets.TargetGroup;
  * to the target group. They can be used to check whether the measurements from
  * that component should be considered for triggering a policy.
  * 
+ * The questions are answered by a {@link TopologyIndex}, which is updated with
+ * the changes of each adjustment, see
+ * {@link #topologyChanged(Collection, Collection)}.
+ * 
  * @author Julijan Katic
  */
 public class TargetGroupUtils {
 	
 	private static final Allocation allocation = Slingshot.getInstance().getInstance(Allocation.class);
 	private static final Configuration configuration = Slingshot.getInstance().getInstance(Configuration.class);
+
+	/**
+	 * Incremented whenever resource containers or allocation contexts change, so
+	 * that cached membership answers can be dropped. Volatile, since adjustor
+	 * contexts may be evaluated in parallel.
+	 */
+	private static volatile long topologyVersion = 0;
+
+	/**
+	 * Returns the current version of the topology. Any membership answer computed
+	 * under a different version must not be reused.
+	 * 
+	 * @return the current topology version.
+	 */
+	public static long getTopologyVersion() {
+		return topologyVersion;
+	}
+
+	private static volatile TopologyIndex topologyIndex;
+
+	/**
+	 * Returns the index answering the membership questions. It is built on first
+	 * use after the start of the simulation or a change of the topology.
+	 * 
+	 * @return the topology index.
+	 */
+	public static TopologyIndex getTopologyIndex() {
+		TopologyIndex index = topologyIndex;
+		if (index == null) {
+			synchronized (TargetGroupUtils.class) {
+				index = topologyIndex;
+				if (index == null) {
+					index = new TopologyIndex(allocation, configuration);
+					topologyIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Drops the topology index, so that it is rebuilt from the models on next
+	 * use, and invalidates every cached membership answer.
+	 */
+	public static synchronized void topologyChanged() {
+		topologyIndex = null;
+		topologyVersion++;
+	}
+
+	/**
+	 * Updates the topology index with the changes of an adjustment, and
+	 * invalidates every cached membership answer. Adjustments are not
+	 * interleaved with the evaluation of the adjustor contexts, so the index is
+	 * updated in place.
+	 * 
+	 * @param newAllocationContexts The allocation contexts added by the
+	 *                              adjustment.
+	 * @param deletedContainers     The containers removed by the adjustment.
+	 */
+	public static synchronized void topologyChanged(final Collection<AllocationContext> newAllocationContexts,
+			final Collection<ResourceContainer> deletedContainers) {
+		final TopologyIndex index = topologyIndex;
+		if (index != null) {
+			index.update(configuration, newAllocationContexts, deletedContainers);
+		}
+		topologyVersion++;
+	}
+
+	/**
+	 * Drops the topology index of a previous simulation. Must be called before
+	 * the interpretation of the SPD model starts.
+	 */
+	public static synchronized void reset() {
+		topologyChanged();
+	}
 	
 	/**
 	 * Checks whether the container is part of the elastic infrastructure.
@@ -42,17 +114,7 @@ public class TargetGroupUtils {
 	 * @return true iff the container is part of the environment.
 	 */
 	public static boolean isContainerInElasticInfrastructure(final ResourceContainer container, final ElasticInfrastructure targetGroup) {
-		
-		List<ElasticInfrastructureCfg> elasticInfraCfgs = configuration.getTargetCfgs().stream()
-														  .filter(cfg->cfg instanceof ElasticInfrastructureCfg c)
-														  .map(c -> (ElasticInfrastructureCfg)c)
-														  .filter(c -> c.getUnit().getId().equals(targetGroup.getUnit().getId()))
-														  .collect(Collectors.toList());
-		
-		assert elasticInfraCfgs.size() == 1;
-		
-		return elasticInfraCfgs.get(0).getElements().stream().anyMatch(rc -> rc.getId().equals(container.getId()));
-												
+		return getTopologyIndex().isContainerInTargetGroup(container, targetGroup);
 	}
 	
 	/**
@@ -68,7 +130,7 @@ public class TargetGroupUtils {
 	 */
 	public static boolean isContainerInServiceGroup(final ResourceContainer container,
 			final ServiceGroup serviceGroup) {
-		return isResourceContainerInContextsToConsider(container, () -> getAllContextsToConsider(serviceGroup));
+		return getTopologyIndex().isContainerInTargetGroup(container, serviceGroup);
 	}
 
 	/**
@@ -86,8 +148,7 @@ public class TargetGroupUtils {
 	 */
 	public static boolean isContainerInCompetingConsumersGroup(final ResourceContainer container,
 			final CompetingConsumersGroup competingConsumersGroup) {
-		return isResourceContainerInContextsToConsider(container,
-				() -> getAllContextsToConsider(competingConsumersGroup));
+		return getTopologyIndex().isContainerInTargetGroup(container, competingConsumersGroup);
 	}
 
 	/**
@@ -136,19 +197,7 @@ public class TargetGroupUtils {
 	 *         referneced by a container).
 	 */
 	public static boolean isAssemblyInTargetGroup(final AssemblyContext context, final TargetGroup targetGroup) {
-		if (targetGroup instanceof final ServiceGroup serviceGroup) {
-			return getAllContextsToConsider(serviceGroup).anyMatch(ac -> ac.getId().equals(context.getId()));
-		}
-		if (targetGroup instanceof final ElasticInfrastructure elasticInfrastructure) {
-			return elasticInfrastructure.getPCM_ResourceEnvironment().getResourceContainer_ResourceEnvironment()
-					.stream().anyMatch(rc -> getContainerRelatedToContext(context)
-							.anyMatch(rcp -> rcp.getId().equals(rc.getId())));
-		}
-		if (targetGroup instanceof final CompetingConsumersGroup competingConsumers) {
-			return getAllContextsToConsider(competingConsumers).anyMatch(ac -> ac.getId().equals(context.getId()));
-		}
-
-		return false;
+		return getTopologyIndex().isAssemblyInTargetGroup(context, targetGroup);
 	}
 
 	/**
@@ -166,102 +215,6 @@ public class TargetGroupUtils {
 	 */
 	public static boolean isOperationSinatureRelatedToTargetGroup(final OperationSignature operationSignature,
 			final TargetGroup targetGroup) {
-		if (targetGroup instanceof final CompetingConsumersGroup competingConsumers) {
-			return anyContextHasSignature(getAllContextsToConsider(competingConsumers), operationSignature);
-		}
-		if (targetGroup instanceof final ServiceGroup serviceGroup) {
-			return anyContextHasSignature(getAllContextsToConsider(serviceGroup), operationSignature);
-		}
-		if (targetGroup instanceof final ElasticInfrastructure infrastructure) {
-			return anyContextHasSignature(getRelatedAssemblyContextFromInfrastructure(infrastructure), operationSignature);
-		}
-
-		return false;
-	}
-
-	/**
-	 * Helper method for retrieving assembly contexts that reference any of the
-	 * resource containers in the Elastic Infrastructure.
-	 * 
-	 * @param infrastructure The infrastructure of containers.
-	 * @return A stream of assembly context is reference
-	 */
-	private static Stream<AssemblyContext> getRelatedAssemblyContextFromInfrastructure(
-			final ElasticInfrastructure infrastructure) {
-		return infrastructure.getPCM_ResourceEnvironment().getResourceContainer_ResourceEnvironment().stream()
-				.flatMap(rc -> allocation.getAllocationContexts_Allocation().stream()
-						.filter(ac -> ac.getResourceContainer_AllocationContext().getId().equals(rc.getId()))
-						.map(AllocationContext::getAssemblyContext_AllocationContext));
-	}
-
-	/**
-	 * Checks whether any of the given assembly contexts has operation provided role
-	 * that contains the given signature.
-	 * 
-	 * @param assemblyContexts   The stream of assembly contexts to consider.
-	 * @param operationSignature The signature to search for.
-	 * @return True if the siganture appears in any of the assembly contexts.
-	 */
-	private static boolean anyContextHasSignature(final Stream<AssemblyContext> assemblyContexts,
-			final OperationSignature operationSignature) {
-		return assemblyContexts.map(AssemblyContext::getEncapsulatedComponent__AssemblyContext)
-				.flatMap(rc -> rc.getProvidedRoles_InterfaceProvidingEntity().stream())
-				.filter(OperationProvidedRole.class::isInstance).map(OperationProvidedRole.class::cast)
-				.flatMap(opr -> opr.getProvidedInterface__OperationProvidedRole().getSignatures__OperationInterface()
-						.stream())
-				.anyMatch(sig -> operationSignature.getId().equals(sig.getId()));
-	}
-
-	/**
-	 * Helper method that returns all the resource containers that are related to
-	 * the assembly context through some allocation context.
-	 * 
-	 * @return stream of resource containers related to the assembly context.
-	 */
-	private static Stream<ResourceContainer> getContainerRelatedToContext(final AssemblyContext context) {
-		return allocation.getAllocationContexts_Allocation().stream()
-				.filter(ac -> ac.getAssemblyContext_AllocationContext().getId().equals(context.getId()))
-				.map(AllocationContext::getResourceContainer_AllocationContext)
-				.flatMap(rc -> rc.getResourceEnvironment_ResourceContainer().getResourceContainer_ResourceEnvironment()
-						.stream());
-	}
-
-	/**
-	 * Helper method to retrieve the assembly contexts that need to be considered
-	 * when checking whether the container is part of the target group. This includes
-	 * the replicated contexts as well.
-	 */
-	private static Stream<AssemblyContext> getAllContextsToConsider(final ServiceGroup serviceGroup) {
-		return configuration.getTargetCfgs().stream()
-					.filter(ServiceGroupCfg.class::isInstance)
-					.map(ServiceGroupCfg.class::cast)
-					.filter(sgc -> sgc.getUnit().getId().equals(serviceGroup.getUnitAssembly().getId()))
-					.flatMap(sgc -> sgc.getElements().stream());
-	}
-
-	private static Stream<AssemblyContext> getAllContextsToConsider(
-			final CompetingConsumersGroup competingConsumersGroup) {
-		return configuration.getTargetCfgs().stream().filter(CompetingConsumersGroupCfg.class::isInstance)
-				.map(CompetingConsumersGroupCfg.class::cast)
-				.filter(ccgc -> ccgc.getUnit().getId().equals(competingConsumersGroup.getUnitAssembly().getId()))
-				.flatMap(ccgc -> Stream.concat(Stream.of(ccgc.getBrokerAssembly()), ccgc.getElements().stream()));
-	}
-
-	/**
-	 * Checks whether the container is related by any of the assembly contexts given
-	 * by the stream.
-	 * 
-	 * An assembly context is related to the resource container if there is an
-	 * allocation context referencing the assembly context and the resource
-	 * container.
-	 */
-	private static boolean isResourceContainerInContextsToConsider(final ResourceContainer container,
-			final Supplier<Stream<AssemblyContext>> contextsToConsider) {
-		return allocation.getAllocationContexts_Allocation().stream()
-				.filter(ac -> contextsToConsider
-						.get()
-						.anyMatch(asc -> ac.getAssemblyContext_AllocationContext().getId().equals(asc.getId())))
-				.map(AllocationContext::getResourceContainer_AllocationContext)
-				.anyMatch(rc -> rc.getId().equals(container.getId()));
+		return getTopologyIndex().isSignatureRelatedToTargetGroup(operationSignature, targetGroup);
 	}
 }
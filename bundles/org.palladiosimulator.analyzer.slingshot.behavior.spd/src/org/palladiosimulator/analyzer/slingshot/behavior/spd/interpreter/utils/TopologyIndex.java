@@ -0,0 +1,379 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.pcm.allocation.AllocationContext;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.semanticspd.CompetingConsumersGroupCfg;
+import org.palladiosimulator.semanticspd.Configuration;
+import org.palladiosimulator.semanticspd.ElasticInfrastructureCfg;
+import org.palladiosimulator.semanticspd.ServiceGroupCfg;
+import org.palladiosimulator.semanticspd.TargetGroupCfg;
+import org.palladiosimulator.spd.targets.CompetingConsumersGroup;
+import org.palladiosimulator.spd.targets.ElasticInfrastructure;
+import org.palladiosimulator.spd.targets.ServiceGroup;
+import org.palladiosimulator.spd.targets.TargetGroup;
+
+/**
+ * An index over the {@link Allocation} and the {@link Configuration} that
+ * answers the membership questions of {@link TargetGroupUtils} with hash
+ * lookups.
+ *
+ * Target groups are identified by the id of their unit, i.e. the unit container
+ * of an {@link ElasticInfrastructure} and the unit assembly of a
+ * {@link ServiceGroup} or {@link CompetingConsumersGroup}, since this is how the
+ * {@link TargetGroupCfg}s are related to the target groups.
+ *
+ * The index is built once from the models, and then kept up to date by
+ * {@link #update(Configuration, Collection, Collection)} with the changes of
+ * each adjustment. Each membership counts the facts it follows from, e.g. a
+ * container is part of a service group once for every replica of the group
+ * allocated on it. A fact that is removed by a scale-in only drops the
+ * membership if no other fact supports it, so that the index always answers
+ * like an index built anew from the adjusted models.
+ *
+ * @author agent
+ */
+public final class TopologyIndex {
+
+	/** replica (container or assembly context) id -> unit id of its target group. */
+	private final Map<String, String> unitByReplica = new HashMap<>();
+
+	/** assembly context id -> the replicated assembly context. */
+	private final Map<String, AssemblyContext> assemblyReplicas = new HashMap<>();
+
+	/** container id -> unit id of a target group the container is part of -> number of facts. */
+	private final Map<String, Map<String, Integer>> targetGroupsByContainer = new HashMap<>();
+
+	/** assembly context id -> unit id of a target group the assembly is part of -> number of facts. */
+	private final Map<String, Map<String, Integer>> targetGroupsByAssembly = new HashMap<>();
+
+	/** signature id -> unit id of a target group providing the signature -> number of facts. */
+	private final Map<String, Map<String, Integer>> targetGroupsBySignature = new HashMap<>();
+
+	/** allocation context id -> the allocation it was indexed with. */
+	private final Map<String, Link> links = new HashMap<>();
+
+	/** assembly context id -> allocation context id -> the allocations of the assembly. */
+	private final Map<String, Map<String, Link>> linksByAssembly = new HashMap<>();
+
+	/** container id -> allocation context id -> the allocations on the container. */
+	private final Map<String, Map<String, Link>> linksByContainer = new HashMap<>();
+
+	/** resource environment id -> unit ids of the elastic infrastructures in it. */
+	private final Map<String, Set<String>> elasticInfrastructuresByEnvironment = new HashMap<>();
+
+	/**
+	 * An allocation context as it was indexed. The references are kept, since a
+	 * removed allocation context or container may not reference its assembly or
+	 * resource environment anymore.
+	 */
+	private record Link(AllocationContext allocationContext, AssemblyContext assembly, ResourceContainer container,
+			String environmentId) {
+	}
+
+	/**
+	 * Builds the index from the current state of the models.
+	 *
+	 * @param allocation    The allocation to index.
+	 * @param configuration The semantic configuration of the target groups.
+	 */
+	public TopologyIndex(final Allocation allocation, final Configuration configuration) {
+		for (final TargetGroupCfg cfg : configuration.getTargetCfgs()) {
+			if (cfg instanceof final ElasticInfrastructureCfg eiCfg) {
+				final ResourceContainer unit = eiCfg.getUnit();
+				this.elasticInfrastructuresByEnvironment
+						.computeIfAbsent(unit.getResourceEnvironment_ResourceContainer().getId(), id -> new HashSet<>())
+						.add(unit.getId());
+			}
+		}
+
+		for (final AllocationContext allocationContext : allocation.getAllocationContexts_Allocation()) {
+			this.link(allocationContext);
+		}
+
+		this.updateReplicas(configuration);
+	}
+
+	public boolean isContainerInTargetGroup(final ResourceContainer container, final TargetGroup targetGroup) {
+		return contains(this.targetGroupsByContainer, container.getId(), getUnitId(targetGroup));
+	}
+
+	public boolean isAssemblyInTargetGroup(final AssemblyContext assemblyContext, final TargetGroup targetGroup) {
+		return contains(this.targetGroupsByAssembly, assemblyContext.getId(), getUnitId(targetGroup));
+	}
+
+	public boolean isSignatureRelatedToTargetGroup(final OperationSignature signature, final TargetGroup targetGroup) {
+		return contains(this.targetGroupsBySignature, signature.getId(), getUnitId(targetGroup));
+	}
+
+	/**
+	 * Returns the id of the unit the given replica belongs to.
+	 *
+	 * @param replicaId The id of a replicated container or assembly context.
+	 * @return The id of the unit, or {@code null} if it is not a replica.
+	 */
+	public String getUnitOfReplica(final String replicaId) {
+		return this.unitByReplica.get(replicaId);
+	}
+
+	/**
+	 * Applies the changes of an adjustment. The allocation contexts on the
+	 * deleted containers are removed, and the new allocation contexts are added.
+	 * The replicas are taken from the adjusted configuration, as the changes do not
+	 * tell which target group a new replica belongs to, nor which replicated
+	 * assembly contexts were removed. The allocation contexts of a removed
+	 * assembly replica are removed if they are not part of an allocation anymore.
+	 *
+	 * @param configuration         The adjusted semantic configuration.
+	 * @param newAllocationContexts The allocation contexts added by the
+	 *                              adjustment.
+	 * @param deletedContainers     The containers removed by the adjustment.
+	 */
+	public void update(final Configuration configuration, final Collection<AllocationContext> newAllocationContexts,
+			final Collection<ResourceContainer> deletedContainers) {
+		for (final ResourceContainer container : deletedContainers) {
+			for (final Link link : linksOf(this.linksByContainer, container.getId())) {
+				this.unlink(link);
+			}
+		}
+
+		for (final AssemblyContext removed : this.updateReplicas(configuration)) {
+			for (final Link link : linksOf(this.linksByAssembly, removed.getId())) {
+				if (link.allocationContext().getAllocation_AllocationContext() == null) {
+					this.unlink(link);
+				}
+			}
+		}
+
+		for (final AllocationContext allocationContext : newAllocationContexts) {
+			this.link(allocationContext);
+		}
+	}
+
+	/**
+	 * Registers that the assembly context is allocated on the container, and
+	 * propagates the memberships that follow from it: The container becomes part
+	 * of the assembly's service group, and the assembly becomes part of the
+	 * elastic infrastructures of the container's resource environment.
+	 */
+	private void link(final AllocationContext allocationContext) {
+		if (this.links.containsKey(allocationContext.getId())) {
+			return;
+		}
+		final AssemblyContext assembly = allocationContext.getAssemblyContext_AllocationContext();
+		final ResourceContainer container = allocationContext.getResourceContainer_AllocationContext();
+		final Link link = new Link(allocationContext, assembly, container,
+				container.getResourceEnvironment_ResourceContainer().getId());
+
+		this.links.put(allocationContext.getId(), link);
+		this.linksByAssembly.computeIfAbsent(assembly.getId(), id -> new LinkedHashMap<>())
+				.put(allocationContext.getId(), link);
+		this.linksByContainer.computeIfAbsent(container.getId(), id -> new LinkedHashMap<>())
+				.put(allocationContext.getId(), link);
+
+		final String unitOfAssembly = this.unitByReplica.get(assembly.getId());
+		if (unitOfAssembly != null) {
+			increment(this.targetGroupsByContainer, container.getId(), unitOfAssembly);
+		}
+		for (final String infrastructure : this.elasticInfrastructuresByEnvironment.getOrDefault(link.environmentId(),
+				Collections.emptySet())) {
+			this.addAssemblyToTargetGroup(assembly, infrastructure);
+		}
+	}
+
+	/**
+	 * Reverts {@link #link(AllocationContext)}.
+	 */
+	private void unlink(final Link link) {
+		final String id = link.allocationContext().getId();
+		this.links.remove(id);
+		removeLink(this.linksByAssembly, link.assembly().getId(), id);
+		removeLink(this.linksByContainer, link.container().getId(), id);
+
+		final String unitOfAssembly = this.unitByReplica.get(link.assembly().getId());
+		if (unitOfAssembly != null) {
+			decrement(this.targetGroupsByContainer, link.container().getId(), unitOfAssembly);
+		}
+		for (final String infrastructure : this.elasticInfrastructuresByEnvironment.getOrDefault(link.environmentId(),
+				Collections.emptySet())) {
+			this.removeAssemblyFromTargetGroup(link.assembly(), infrastructure);
+		}
+	}
+
+	/**
+	 * Brings the replicas in line with the configuration, adding the new ones and
+	 * removing those that are not part of their target group anymore.
+	 *
+	 * @return The assembly contexts that are no replica anymore.
+	 */
+	private List<AssemblyContext> updateReplicas(final Configuration configuration) {
+		final Map<String, String> units = new HashMap<>();
+		final Map<String, ResourceContainer> containers = new LinkedHashMap<>();
+		final Map<String, AssemblyContext> assemblies = new LinkedHashMap<>();
+		for (final TargetGroupCfg cfg : configuration.getTargetCfgs()) {
+			if (cfg instanceof final ElasticInfrastructureCfg eiCfg) {
+				for (final ResourceContainer container : eiCfg.getElements()) {
+					units.put(container.getId(), eiCfg.getUnit().getId());
+					containers.put(container.getId(), container);
+				}
+			} else if (cfg instanceof final ServiceGroupCfg sgCfg) {
+				for (final AssemblyContext assembly : sgCfg.getElements()) {
+					units.put(assembly.getId(), sgCfg.getUnit().getId());
+					assemblies.put(assembly.getId(), assembly);
+				}
+			} else if (cfg instanceof final CompetingConsumersGroupCfg ccgCfg) {
+				units.put(ccgCfg.getBrokerAssembly().getId(), ccgCfg.getUnit().getId());
+				assemblies.put(ccgCfg.getBrokerAssembly().getId(), ccgCfg.getBrokerAssembly());
+				for (final AssemblyContext assembly : ccgCfg.getElements()) {
+					units.put(assembly.getId(), ccgCfg.getUnit().getId());
+					assemblies.put(assembly.getId(), assembly);
+				}
+			}
+		}
+
+		final List<AssemblyContext> removed = new ArrayList<>();
+		for (final Map.Entry<String, String> replica : new ArrayList<>(this.unitByReplica.entrySet())) {
+			if (replica.getValue().equals(units.get(replica.getKey()))) {
+				continue;
+			}
+			final AssemblyContext assembly = this.assemblyReplicas.get(replica.getKey());
+			if (assembly != null) {
+				this.removeAssemblyReplica(assembly, replica.getValue());
+				removed.add(assembly);
+			} else {
+				this.removeContainerReplica(replica.getKey(), replica.getValue());
+			}
+		}
+
+		containers.forEach((id, container) -> {
+			if (!this.unitByReplica.containsKey(id)) {
+				this.addContainerReplica(container, units.get(id));
+			}
+		});
+		assemblies.forEach((id, assembly) -> {
+			if (!this.unitByReplica.containsKey(id)) {
+				this.addAssemblyReplica(assembly, units.get(id));
+			}
+		});
+		return removed;
+	}
+
+	private void addContainerReplica(final ResourceContainer container, final String unitId) {
+		this.unitByReplica.put(container.getId(), unitId);
+		increment(this.targetGroupsByContainer, container.getId(), unitId);
+	}
+
+	private void removeContainerReplica(final String containerId, final String unitId) {
+		this.unitByReplica.remove(containerId);
+		decrement(this.targetGroupsByContainer, containerId, unitId);
+	}
+
+	private void addAssemblyReplica(final AssemblyContext assembly, final String unitId) {
+		this.unitByReplica.put(assembly.getId(), unitId);
+		this.assemblyReplicas.put(assembly.getId(), assembly);
+		this.addAssemblyToTargetGroup(assembly, unitId);
+		for (final Link link : linksOf(this.linksByAssembly, assembly.getId())) {
+			increment(this.targetGroupsByContainer, link.container().getId(), unitId);
+		}
+	}
+
+	private void removeAssemblyReplica(final AssemblyContext assembly, final String unitId) {
+		this.unitByReplica.remove(assembly.getId());
+		this.assemblyReplicas.remove(assembly.getId());
+		this.removeAssemblyFromTargetGroup(assembly, unitId);
+		for (final Link link : linksOf(this.linksByAssembly, assembly.getId())) {
+			decrement(this.targetGroupsByContainer, link.container().getId(), unitId);
+		}
+	}
+
+	private void addAssemblyToTargetGroup(final AssemblyContext assembly, final String unitId) {
+		increment(this.targetGroupsByAssembly, assembly.getId(), unitId);
+		for (final OperationSignature signature : providedSignatures(assembly)) {
+			increment(this.targetGroupsBySignature, signature.getId(), unitId);
+		}
+	}
+
+	private void removeAssemblyFromTargetGroup(final AssemblyContext assembly, final String unitId) {
+		decrement(this.targetGroupsByAssembly, assembly.getId(), unitId);
+		for (final OperationSignature signature : providedSignatures(assembly)) {
+			decrement(this.targetGroupsBySignature, signature.getId(), unitId);
+		}
+	}
+
+	private static List<OperationSignature> providedSignatures(final AssemblyContext assembly) {
+		return assembly.getEncapsulatedComponent__AssemblyContext().getProvidedRoles_InterfaceProvidingEntity().stream()
+				.filter(OperationProvidedRole.class::isInstance)
+				.map(OperationProvidedRole.class::cast)
+				.flatMap(opr -> opr.getProvidedInterface__OperationProvidedRole().getSignatures__OperationInterface()
+						.stream())
+				.toList();
+	}
+
+	/**
+	 * Returns the id by which the target group is identified in this index.
+	 */
+	private static String getUnitId(final TargetGroup targetGroup) {
+		if (targetGroup instanceof final ElasticInfrastructure elasticInfrastructure) {
+			return elasticInfrastructure.getUnit().getId();
+		}
+		if (targetGroup instanceof final ServiceGroup serviceGroup) {
+			return serviceGroup.getUnitAssembly().getId();
+		}
+		if (targetGroup instanceof final CompetingConsumersGroup competingConsumersGroup) {
+			return competingConsumersGroup.getUnitAssembly().getId();
+		}
+		return null;
+	}
+
+	/**
+	 * @return a copy of the links of the key, so that they can be unlinked while
+	 *         iterating.
+	 */
+	private static List<Link> linksOf(final Map<String, Map<String, Link>> map, final String key) {
+		final Map<String, Link> links = map.get(key);
+		return links == null ? List.of() : new ArrayList<>(links.values());
+	}
+
+	private static void removeLink(final Map<String, Map<String, Link>> map, final String key, final String id) {
+		final Map<String, Link> links = map.get(key);
+		if (links != null) {
+			links.remove(id);
+			if (links.isEmpty()) {
+				map.remove(key);
+			}
+		}
+	}
+
+	private static void increment(final Map<String, Map<String, Integer>> map, final String key, final String value) {
+		map.computeIfAbsent(key, k -> new HashMap<>()).merge(value, 1, Integer::sum);
+	}
+
+	private static void decrement(final Map<String, Map<String, Integer>> map, final String key, final String value) {
+		final Map<String, Integer> values = map.get(key);
+		if (values != null) {
+			values.computeIfPresent(value, (v, count) -> count > 1 ? count - 1 : null);
+			if (values.isEmpty()) {
+				map.remove(key);
+			}
+		}
+	}
+
+	private static boolean contains(final Map<String, Map<String, Integer>> map, final String key,
+			final String value) {
+		final Map<String, Integer> values = map.get(key);
+		return values != null && value != null && values.containsKey(value);
+	}
+}
@@ -0,0 +1,166 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.ModelAdjustmentRequested;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.SPDAdjustorContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.TargetGroupState;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.spd.ScalingPolicy;
+import org.palladiosimulator.spd.SpdFactory;
+import org.palladiosimulator.spd.targets.ElasticInfrastructure;
+import org.palladiosimulator.spd.targets.TargetsFactory;
+
+/**
+ * Evaluates the same event sequence with fresh contexts sequentially and with a
+ * {@link ParallelContextEvaluator}, and compares the resulting events. The policies of a target
+ * group share a counter, so that a result depends on the order in which the contexts of the group
+ * are evaluated.
+ */
+class ParallelContextEvaluatorTest {
+
+    private static final int TARGET_GROUPS = 4;
+
+    private ParallelContextEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        MeasurementDecoder.reset();
+        this.evaluator = new ParallelContextEvaluator(TARGET_GROUPS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.evaluator.shutdown();
+    }
+
+    @Test
+    void parallelEvaluationIsIdenticalToSequentialEvaluation() {
+        final List<DESEvent> events = events(1000, 42);
+
+        final List<SPDAdjustorContext> sequentialContexts = contexts();
+        final List<String> sequential = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            final List<DESEvent> results = new ArrayList<>();
+            for (final SPDAdjustorContext context : sequentialContexts) {
+                context.process(events.get(i))
+                    .ifPresent(results::add);
+            }
+            record(sequential, i, results);
+        }
+
+        final List<SPDAdjustorContext> parallelContexts = contexts();
+        final List<String> parallel = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            record(parallel, i, this.evaluator.evaluate(parallelContexts, events.get(i)));
+        }
+
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void writingTheDecoderDuringTheEvaluationFails() {
+        final List<SPDAdjustorContext> contexts = new ArrayList<>();
+        for (int group = 0; group < 2; group++) {
+            final ElasticInfrastructure targetGroup = targetGroup(group);
+            final TargetGroupState state = new TargetGroupState(targetGroup);
+            final Filter trigger = event -> {
+                MeasurementDecoder.getInstance()
+                    .metricId("notDecodedBeforehand");
+                return FilterResult.success(event.getEventToFilter());
+            };
+            contexts.add(new SPDAdjustorContext(policy("policy" + group, targetGroup, false), trigger, List.of(),
+                    state));
+        }
+
+        assertThrows(IllegalStateException.class,
+                () -> this.evaluator.evaluate(contexts, new SimulationTimeReached("targetGroup1", 1.0)));
+
+        // The decoder is writable again afterwards
+        assertTrue(MeasurementDecoder.getInstance()
+            .metricId("notDecodedBeforehand") >= 0);
+    }
+
+    /**
+     * Two policies for each target group, the last of which also has a model-based policy that is
+     * evaluated on the calling thread.
+     */
+    private static List<SPDAdjustorContext> contexts() {
+        final List<SPDAdjustorContext> contexts = new ArrayList<>();
+        final Map<String, int[]> counters = new HashMap<>();
+        for (int group = 0; group < TARGET_GROUPS; group++) {
+            final ElasticInfrastructure targetGroup = targetGroup(group);
+            final TargetGroupState state = new TargetGroupState(targetGroup);
+            final int[] counter = counters.computeIfAbsent(targetGroup.getId(), id -> new int[1]);
+            for (int i = 0; i < 2; i++) {
+                final ScalingPolicy policy = policy("policy" + group + "." + i, targetGroup, false);
+                contexts.add(new SPDAdjustorContext(policy, countingTrigger(counter, 3 + i), List.of(), state));
+            }
+            if (group == TARGET_GROUPS - 1) {
+                final ScalingPolicy policy = policy("model" + group, targetGroup, true);
+                contexts.add(new SPDAdjustorContext(policy, countingTrigger(counter, 5), List.of(), state));
+            }
+        }
+        return contexts;
+    }
+
+    /**
+     * A trigger that increments the counter shared by its target group, and fires whenever the
+     * counter is a multiple of the period.
+     */
+    private static Filter countingTrigger(final int[] counter, final int period) {
+        return event -> {
+            counter[0]++;
+            return counter[0] % period == 0 ? FilterResult.success(event.getEventToFilter())
+                    : FilterResult.disregard("Not yet");
+        };
+    }
+
+    private static List<DESEvent> events(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final List<DESEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(new SimulationTimeReached("targetGroup" + random.nextInt(TARGET_GROUPS), i));
+        }
+        return events;
+    }
+
+    private static void record(final List<String> log, final int eventIndex, final List<DESEvent> results) {
+        for (final DESEvent result : results) {
+            log.add(eventIndex + ":" + ((ModelAdjustmentRequested) result).getScalingPolicy()
+                .getId());
+        }
+    }
+
+    private static ElasticInfrastructure targetGroup(final int group) {
+        final ElasticInfrastructure targetGroup = TargetsFactory.eINSTANCE.createElasticInfrastructure();
+        targetGroup.setId("targetGroup" + group);
+        return targetGroup;
+    }
+
+    private static ScalingPolicy policy(final String id, final ElasticInfrastructure targetGroup,
+            final boolean modelBased) {
+        final ScalingPolicy policy = modelBased ? SpdFactory.eINSTANCE.createModelBasedScalingPolicy()
+                : SpdFactory.eINSTANCE.createTriggerBasedScalingPolicy();
+        policy.setId(id);
+        policy.setTargetGroup(targetGroup);
+        return policy;
+    }
+}
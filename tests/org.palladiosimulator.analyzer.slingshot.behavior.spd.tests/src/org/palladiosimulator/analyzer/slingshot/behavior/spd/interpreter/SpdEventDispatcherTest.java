@@ -0,0 +1,157 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.ModelAdjustmentRequested;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.RepeatedSimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.SPDAdjustorContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.TargetGroupState;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.spd.ScalingPolicy;
+import org.palladiosimulator.spd.SpdFactory;
+import org.palladiosimulator.spd.targets.ElasticInfrastructure;
+import org.palladiosimulator.spd.targets.TargetsFactory;
+
+/**
+ * Passes the same event sequence to the contexts the way their own subscribers did, i.e. to every
+ * context listening to the event type in order of interpretation, and through the
+ * {@link SpdEventDispatcher}, and compares the resulting events. The policies of a target group
+ * share a counter, so that a result also depends on which contexts of the group see an event.
+ */
+class SpdEventDispatcherTest {
+
+    private static final int TARGET_GROUPS = 3;
+
+    @BeforeEach
+    void resetDecoder() {
+        MeasurementDecoder.reset();
+    }
+
+    @Test
+    void dispatcherFansOutLikeTheSubscribers() {
+        this.assertDispatchesLikeTheSubscribers(SpdInterpreterSettings.DEFAULTS);
+    }
+
+    @Test
+    void parallelDispatcherFansOutLikeTheSubscribers() {
+        final Properties properties = new Properties();
+        properties.setProperty(SpdInterpreterSettings.PARALLEL_EVALUATION, "true");
+        this.assertDispatchesLikeTheSubscribers(SpdInterpreterSettings.fromProperties(properties));
+    }
+
+    private void assertDispatchesLikeTheSubscribers(final SpdInterpreterSettings settings) {
+        final List<SpdBasedEvent> events = events(1000, 42);
+
+        final Map<SPDAdjustorContext, Set<Class<? extends DESEvent>>> subscribed = contexts();
+        final List<String> subscribers = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            final List<DESEvent> results = new ArrayList<>();
+            for (final Map.Entry<SPDAdjustorContext, Set<Class<? extends DESEvent>>> context : subscribed
+                .entrySet()) {
+                if (context.getValue()
+                    .contains(events.get(i)
+                        .getClass())) {
+                    context.getKey()
+                        .process(events.get(i))
+                        .ifPresent(results::add);
+                }
+            }
+            record(subscribers, i, results);
+        }
+
+        final Map<SPDAdjustorContext, Set<Class<? extends DESEvent>>> dispatched = contexts();
+        final Map<SPDAdjustorContext, Set<String>> measuredMetrics = new LinkedHashMap<>();
+        dispatched.keySet()
+            .forEach(context -> measuredMetrics.put(context, Set.of()));
+        final SpdEventDispatcher dispatcher = new SpdEventDispatcher(measuredMetrics, dispatched, null, null,
+                settings);
+        final List<String> dispatcherLog = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            record(dispatcherLog, i, dispatcher.dispatchTimer(events.get(i)));
+        }
+
+        assertFalse(subscribers.isEmpty());
+        assertEquals(subscribers, dispatcherLog);
+    }
+
+    /**
+     * Three contexts for each target group, listening to different event types.
+     */
+    private static Map<SPDAdjustorContext, Set<Class<? extends DESEvent>>> contexts() {
+        final Map<SPDAdjustorContext, Set<Class<? extends DESEvent>>> contexts = new LinkedHashMap<>();
+        for (int group = 0; group < TARGET_GROUPS; group++) {
+            final ElasticInfrastructure targetGroup = TargetsFactory.eINSTANCE.createElasticInfrastructure();
+            targetGroup.setId("targetGroup" + group);
+            final TargetGroupState state = new TargetGroupState(targetGroup);
+            final int[] counter = new int[1];
+            contexts.put(context("time" + group, targetGroup, state, counter, 2),
+                    Set.of(SimulationTimeReached.class, RepeatedSimulationTimeReached.class));
+            contexts.put(context("tick" + group, targetGroup, state, counter, 3), Set.of(EvaluationTickReached.class));
+            contexts.put(context("all" + group, targetGroup, state, counter, 5), Set.of(SimulationTimeReached.class,
+                    RepeatedSimulationTimeReached.class, EvaluationTickReached.class));
+        }
+        return contexts;
+    }
+
+    /**
+     * A context whose trigger increments the counter shared by its target group, and fires whenever
+     * the counter is a multiple of the period.
+     */
+    private static SPDAdjustorContext context(final String id, final ElasticInfrastructure targetGroup,
+            final TargetGroupState state, final int[] counter, final int period) {
+        final ScalingPolicy policy = SpdFactory.eINSTANCE.createTriggerBasedScalingPolicy();
+        policy.setId(id);
+        policy.setTargetGroup(targetGroup);
+        final Filter trigger = event -> ++counter[0] % period == 0 ? FilterResult.success(event.getEventToFilter())
+                : FilterResult.disregard("Not yet");
+        return new SPDAdjustorContext(policy, trigger, List.of(), state);
+    }
+
+    /**
+     * Events of every routed type, for the target groups and for a target group without contexts.
+     */
+    private static List<SpdBasedEvent> events(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final List<SpdBasedEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String targetGroupId = "targetGroup" + random.nextInt(TARGET_GROUPS + 1);
+            switch (random.nextInt(3)) {
+            case 0:
+                events.add(new SimulationTimeReached(targetGroupId, i));
+                break;
+            case 1:
+                events.add(new RepeatedSimulationTimeReached(targetGroupId, i, 0, 1));
+                break;
+            default:
+                events.add(new EvaluationTickReached(targetGroupId, i, 1));
+                break;
+            }
+        }
+        return events;
+    }
+
+    private static void record(final List<String> log, final int eventIndex, final List<DESEvent> results) {
+        for (final DESEvent result : results) {
+            log.add(eventIndex + ":" + ((ModelAdjustmentRequested) result).getScalingPolicy()
+                .getId());
+        }
+    }
+}
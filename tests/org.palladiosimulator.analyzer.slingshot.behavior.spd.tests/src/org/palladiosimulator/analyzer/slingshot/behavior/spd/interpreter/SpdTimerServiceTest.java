@@ -0,0 +1,223 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.EvaluationTickReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.ModelAdjustmentRequested;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.RepeatedSimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdTimerReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.SPDAdjustorContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.TargetGroupState;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasurementDecoder;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.spd.ScalingPolicy;
+import org.palladiosimulator.spd.SpdFactory;
+import org.palladiosimulator.spd.targets.ElasticInfrastructure;
+import org.palladiosimulator.spd.targets.TargetsFactory;
+
+/**
+ * Runs the same time events once scheduled each on their own, and repeated the way the
+ * {@link RepeatedSimulationTimeReachedRepeater} and {@link EvaluationTickRepeater} do, and once kept
+ * by the {@link SpdTimerService}. Both runs process the scheduled events in the order of a
+ * discrete-event simulation, i.e. by simulation time and, at the same time, in the order they were
+ * scheduled. The resulting events must be the same and in the same order. The policies of a target
+ * group share a counter, so that a result also depends on the order in which the contexts see the
+ * events.
+ */
+class SpdTimerServiceTest {
+
+    private static final int TARGET_GROUPS = 3;
+    private static final double END_OF_SIMULATION = 500;
+
+    @BeforeEach
+    void resetDecoder() {
+        MeasurementDecoder.reset();
+    }
+
+    @Test
+    void coalescedTimersFireLikeIndividuallyScheduledEvents() {
+        final List<SpdBasedEvent> events = events(200, 25);
+
+        final List<String> individual = new ArrayList<>();
+        final SpdEventDispatcher individualDispatcher = dispatcher();
+        final Simulation individualSimulation = new Simulation();
+        events.forEach(individualSimulation::schedule);
+        for (DESEvent event = individualSimulation.next(); event != null; event = individualSimulation.next()) {
+            record(individual, event.time(), individualDispatcher.dispatchTimer((SpdBasedEvent) event));
+            final SpdBasedEvent next = repeat(event);
+            if (next != null) {
+                individualSimulation.schedule(next);
+            }
+        }
+
+        final List<String> coalesced = new ArrayList<>();
+        final SpdTimerService timers = new SpdTimerService(dispatcher());
+        final Simulation coalescedSimulation = new Simulation();
+        for (final SpdBasedEvent event : events) {
+            final SpdTimerReached timerReached = timers.schedule(event);
+            if (timerReached != null) {
+                coalescedSimulation.schedule(timerReached);
+            }
+        }
+        for (DESEvent event = coalescedSimulation.next(); event != null; event = coalescedSimulation.next()) {
+            final List<DESEvent> results = new ArrayList<>();
+            for (final DESEvent result : timers.fire((SpdTimerReached) event)) {
+                if (result instanceof SpdTimerReached) {
+                    coalescedSimulation.schedule(result);
+                } else {
+                    results.add(result);
+                }
+            }
+            record(coalesced, event.time(), results);
+        }
+
+        assertFalse(individual.isEmpty());
+        assertEquals(individual, coalesced);
+        assertTrue(coalescedSimulation.scheduled < individualSimulation.scheduled / 2,
+                coalescedSimulation.scheduled + " of " + individualSimulation.scheduled);
+    }
+
+    @Test
+    void onlyTimeEventsWithoutDelayAreKept() {
+        assertTrue(SpdTimerService.isTimer(new SimulationTimeReached("targetGroup0", 1)));
+        assertTrue(SpdTimerService.isTimer(new RepeatedSimulationTimeReached("targetGroup0", 1, 0, 1)));
+        assertTrue(SpdTimerService.isTimer(new EvaluationTickReached("targetGroup0", 1, 1)));
+        assertFalse(SpdTimerService.isTimer(new RepeatedSimulationTimeReached("targetGroup0", 1, 2, 1)));
+        assertFalse(SpdTimerService.isTimer(new SpdTimerReached(1)));
+    }
+
+    /**
+     * @return the next occurrence of the event as scheduled by its repeater, or {@code null} if the
+     *         event does not repeat.
+     */
+    private static SpdBasedEvent repeat(final DESEvent event) {
+        if (event instanceof final RepeatedSimulationTimeReached repeated) {
+            return new RepeatedSimulationTimeReached(repeated.getTargetGroupId(),
+                    repeated.time() + repeated.getRepetitionTime(), repeated.delay(), repeated.getRepetitionTime());
+        }
+        if (event instanceof final EvaluationTickReached tick) {
+            return new EvaluationTickReached(tick.getTargetGroupId(), tick.time() + tick.getPeriod(),
+                    tick.getPeriod());
+        }
+        return null;
+    }
+
+    private static SpdEventDispatcher dispatcher() {
+        final Map<SPDAdjustorContext, Set<Class<? extends DESEvent>>> contexts = contexts();
+        final Map<SPDAdjustorContext, Set<String>> measuredMetrics = new LinkedHashMap<>();
+        contexts.keySet()
+            .forEach(context -> measuredMetrics.put(context, Set.of()));
+        return new SpdEventDispatcher(measuredMetrics, contexts, null, null, SpdInterpreterSettings.DEFAULTS);
+    }
+
+    /**
+     * Three contexts for each target group, listening to different event types.
+     */
+    private static Map<SPDAdjustorContext, Set<Class<? extends DESEvent>>> contexts() {
+        final Map<SPDAdjustorContext, Set<Class<? extends DESEvent>>> contexts = new LinkedHashMap<>();
+        for (int group = 0; group < TARGET_GROUPS; group++) {
+            final ElasticInfrastructure targetGroup = TargetsFactory.eINSTANCE.createElasticInfrastructure();
+            targetGroup.setId("targetGroup" + group);
+            final TargetGroupState state = new TargetGroupState(targetGroup);
+            final int[] counter = new int[1];
+            contexts.put(context("time" + group, targetGroup, state, counter, 2),
+                    Set.of(SimulationTimeReached.class, RepeatedSimulationTimeReached.class));
+            contexts.put(context("tick" + group, targetGroup, state, counter, 3), Set.of(EvaluationTickReached.class));
+            contexts.put(context("all" + group, targetGroup, state, counter, 5), Set.of(SimulationTimeReached.class,
+                    RepeatedSimulationTimeReached.class, EvaluationTickReached.class));
+        }
+        return contexts;
+    }
+
+    /**
+     * A context whose trigger increments the counter shared by its target group, and fires whenever
+     * the counter is a multiple of the period.
+     */
+    private static SPDAdjustorContext context(final String id, final ElasticInfrastructure targetGroup,
+            final TargetGroupState state, final int[] counter, final int period) {
+        final ScalingPolicy policy = SpdFactory.eINSTANCE.createTriggerBasedScalingPolicy();
+        policy.setId(id);
+        policy.setTargetGroup(targetGroup);
+        final Filter trigger = event -> ++counter[0] % period == 0 ? FilterResult.success(event.getEventToFilter())
+                : FilterResult.disregard("Not yet");
+        return new SPDAdjustorContext(policy, trigger, List.of(), state);
+    }
+
+    /**
+     * Time events of every kind, for the target groups and for a target group without contexts. The
+     * times and periods are multiples of half a second, so that many events are due at the same
+     * time.
+     */
+    private static List<SpdBasedEvent> events(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final List<SpdBasedEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String targetGroupId = "targetGroup" + random.nextInt(TARGET_GROUPS + 1);
+            final double time = random.nextInt(2 * (int) END_OF_SIMULATION) / 2.0;
+            final double period = (1 + random.nextInt(20)) / 2.0;
+            switch (random.nextInt(3)) {
+            case 0:
+                events.add(new SimulationTimeReached(targetGroupId, time));
+                break;
+            case 1:
+                events.add(new RepeatedSimulationTimeReached(targetGroupId, time, 0, period));
+                break;
+            default:
+                events.add(new EvaluationTickReached(targetGroupId, time, period));
+                break;
+            }
+        }
+        return events;
+    }
+
+    private static void record(final List<String> log, final double time, final List<DESEvent> results) {
+        for (final DESEvent result : results) {
+            log.add(time + ":" + ((ModelAdjustmentRequested) result).getScalingPolicy()
+                .getId());
+        }
+    }
+
+    /**
+     * The event queue of a discrete-event simulation until {@link #END_OF_SIMULATION}: events are
+     * taken by their simulation time and, at the same time, in the order they were scheduled.
+     */
+    private static final class Simulation {
+
+        private final PriorityQueue<Scheduled> queue = new PriorityQueue<>(
+                Comparator.comparingDouble((final Scheduled scheduled) -> scheduled.event()
+                    .time())
+                    .thenComparingInt(Scheduled::order));
+        private int scheduled;
+
+        private void schedule(final DESEvent event) {
+            this.queue.add(new Scheduled(event, this.scheduled++));
+        }
+
+        private DESEvent next() {
+            final Scheduled next = this.queue.poll();
+            return next == null || next.event()
+                .time() > END_OF_SIMULATION ? null : next.event();
+        }
+    }
+
+    private record Scheduled(DESEvent event, int order) {
+    }
+}
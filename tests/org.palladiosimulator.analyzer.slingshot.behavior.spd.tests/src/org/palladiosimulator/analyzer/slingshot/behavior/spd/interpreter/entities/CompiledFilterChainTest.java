@@ -0,0 +1,97 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+
+/**
+ * Passes the same event sequence through a {@link FilterChain} and a
+ * {@link CompiledFilterChain} of equal filters, and compares the results and
+ * the disregard callbacks of every event.
+ */
+class CompiledFilterChainTest {
+
+	@Test
+	void compiledChainBehavesLikeTheRecursiveChain() {
+		final List<String> recursive = run(log -> new FilterChain(reason -> log.add("callback " + reason), null));
+		final List<String> compiled = run(
+				log -> new CompiledFilterChain(reason -> log.add("callback " + reason), null));
+
+		assertEquals(recursive, compiled);
+	}
+
+	@Test
+	void compiledChainIsNotInUseAfterAnEvent() {
+		final CompiledFilterChain chain = new CompiledFilterChain(reason -> {
+		}, null);
+		chain.add(event -> FilterResult.success(event.getEventToFilter()));
+		chain.add(event -> FilterResult.disregard("stop"));
+
+		chain.next(new SimulationTimeReached("targetGroup", 1.0));
+
+		assertFalse(chain.filterIsBeingUsed());
+	}
+
+	/**
+	 * Builds a chain of side-effect-free, stateful, transforming and throwing
+	 * filters, and logs the outcome of a random event sequence. The filters do
+	 * not use the state of the chain.
+	 */
+	private static List<String> run(final ChainFactory factory) {
+		final List<String> log = new ArrayList<>();
+		final FilterChain chain = factory.create(log);
+		chain.add(new Filter() {
+			@Override
+			public FilterResult doProcess(final FilterObjectWrapper event) {
+				return event.getEventToFilter().time() % 2 == 0 ? FilterResult.success(event.getEventToFilter())
+						: FilterResult.disregard("odd");
+			}
+
+			@Override
+			public boolean isSideEffectFree() {
+				return true;
+			}
+		});
+		final int[] count = new int[1];
+		chain.add(event -> ++count[0] % 3 == 0 ? FilterResult.disregard("every third")
+				: FilterResult.success(event.getEventToFilter()));
+		chain.add(event -> FilterResult
+				.success(new SimulationTimeReached("transformed", event.getEventToFilter().time() + 1)));
+		chain.add(event -> {
+			if (event.getEventToFilter().time() % 5 == 0) {
+				throw new IllegalArgumentException("multiple of five");
+			}
+			return FilterResult.success(event.getEventToFilter());
+		});
+
+		final Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			chain.next(new SimulationTimeReached("targetGroup", random.nextInt(100)));
+			log.add(describe(chain.getLatestResult()) + ", in use: " + chain.filterIsBeingUsed());
+		}
+		return log;
+	}
+
+	private static String describe(final FilterResult result) {
+		if (result instanceof final FilterResult.Success success) {
+			final DESEvent event = success.nextEvent();
+			return "success " + ((SimulationTimeReached) event).getTargetGroupId() + "@" + event.time();
+		}
+		if (result instanceof final FilterResult.Disregard disregard) {
+			return "disregard " + disregard.reason();
+		}
+		return String.valueOf(result);
+	}
+
+	@FunctionalInterface
+	private interface ChainFactory {
+		FilterChain create(List<String> log);
+	}
+}
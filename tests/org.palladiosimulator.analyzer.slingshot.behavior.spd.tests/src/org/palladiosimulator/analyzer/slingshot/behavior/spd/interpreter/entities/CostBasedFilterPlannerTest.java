@@ -0,0 +1,184 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+
+/**
+ * Passes the same event sequence through planned and unplanned filters, and
+ * compares the outcome of every event as well as the events seen by the
+ * filters with side effects. The sequence is long enough for the planner to
+ * re-plan several times. The disregard reasons are not compared, as they
+ * depend on which of the side-effect-free filters disregards first.
+ */
+class CostBasedFilterPlannerTest {
+
+	private static final int EVENTS = 5000;
+
+	@Test
+	void plannerMovesCheapSelectiveFiltersForwardWithinARun() {
+		final CostBasedFilterPlanner planner = CostBasedFilterPlanner.forChain();
+		final Filter[] filters = { sideEffectFree("expensive", 7, 1000), sideEffectFree("cheap", 2, 0),
+				event -> FilterResult.success(event.getEventToFilter()), sideEffectFree("last", 3, 0) };
+		planner.setFilters(filters);
+		assertArrayEquals(new int[] { 0, 1, 2, 3 }, planner.order());
+
+		for (int i = 1; i < 1024; i++) {
+			planner.beginPass();
+			planner.record(0, true, 1000);
+			planner.record(1, false, 10);
+			planner.record(2, true, 10);
+			planner.record(3, false, 1);
+		}
+		planner.beginPass();
+
+		assertArrayEquals(new int[] { 1, 0, 2, 3 }, planner.order());
+	}
+
+	@Test
+	void plannedChainBehavesLikeTheUnplannedChain() {
+		final List<String> unplanned = runChain(false);
+		final List<String> planned = runChain(true);
+
+		assertEquals(unplanned, planned);
+	}
+
+	@Test
+	void plannedConjunctionBehavesLikeModelOrder() {
+		final List<String> reference = runCompound(null, true);
+		final List<String> planned = runCompound(new LogicalANDComboundFilter(true), true);
+
+		assertFalse(reference.isEmpty());
+		assertEquals(reference, planned);
+	}
+
+	@Test
+	void plannedDisjunctionBehavesLikeModelOrder() {
+		final List<String> reference = runCompound(null, false);
+		final List<String> planned = runCompound(new LogicalORCompoundFilter(true), false);
+
+		assertFalse(reference.isEmpty());
+		assertEquals(reference, planned);
+	}
+
+	private static List<String> runChain(final boolean planned) {
+		final List<String> log = new ArrayList<>();
+		final CompiledFilterChain chain = new CompiledFilterChain(reason -> log.add("callback"), null, planned);
+		for (final Filter filter : filters(log)) {
+			chain.add(filter);
+		}
+
+		final Random random = new Random(42);
+		for (int i = 0; i < EVENTS; i++) {
+			chain.next(new SimulationTimeReached("targetGroup", random.nextInt(100)));
+			log.add(describe(chain.getLatestResult()));
+		}
+		return log;
+	}
+
+	/**
+	 * Passes the events through the compound filter, or through an explicit
+	 * evaluation of the children in model order if the compound is null.
+	 */
+	private static List<String> runCompound(final ComboundFilter compound, final boolean conjunctive) {
+		final List<String> log = new ArrayList<>();
+		final List<Filter> children = filters(log);
+		if (compound != null) {
+			children.forEach(compound::add);
+		}
+
+		final Random random = new Random(42);
+		for (int i = 0; i < EVENTS; i++) {
+			final FilterObjectWrapper event = new FilterObjectWrapper(
+					new SimulationTimeReached("targetGroup", random.nextInt(100)), null);
+			final FilterResult result = compound != null ? compound.doProcess(event)
+					: modelOrder(children, event, conjunctive);
+			log.add(describe(result));
+		}
+		return log;
+	}
+
+	private static FilterResult modelOrder(final List<Filter> children, final FilterObjectWrapper event,
+			final boolean conjunctive) {
+		Object reason = null;
+		for (final Filter child : children) {
+			final FilterResult result = child.doProcess(event);
+			if (result instanceof final FilterResult.Disregard disregard) {
+				reason = disregard.reason();
+			}
+			if ((result instanceof FilterResult.Success) != conjunctive) {
+				return conjunctive ? result : FilterResult.success(event.getEventToFilter());
+			}
+		}
+		return conjunctive ? FilterResult.success(event.getEventToFilter()) : FilterResult.disregard(reason);
+	}
+
+	/**
+	 * Runs of side-effect-free filters of different cost and selectivity,
+	 * separated by filters that log the events they see.
+	 */
+	private static List<Filter> filters(final List<String> log) {
+		final List<Filter> filters = new ArrayList<>();
+		filters.add(sideEffectFree("expensive", 2, 20000));
+		filters.add(sideEffectFree("selective", 9, 0));
+		filters.add(sideEffectFree("medium", 3, 2000));
+		filters.add(logging("first", log, 2));
+		filters.add(sideEffectFree("rare", 11, 5000));
+		filters.add(sideEffectFree("cheap", 5, 0));
+		filters.add(logging("second", log, 3));
+		return filters;
+	}
+
+	/**
+	 * A side-effect-free filter that passes every event whose time is not a
+	 * multiple of the modulus, after spinning for the given number of rounds.
+	 */
+	private static Filter sideEffectFree(final String name, final int modulus, final int rounds) {
+		return new Filter() {
+			@Override
+			public FilterResult doProcess(final FilterObjectWrapper event) {
+				double spin = event.getEventToFilter().time();
+				for (int i = 0; i < rounds; i++) {
+					spin = Math.sqrt(spin + i);
+				}
+				return spin >= 0 && event.getEventToFilter().time() % modulus != 0
+						? FilterResult.success(event.getEventToFilter())
+						: FilterResult.disregard(name);
+			}
+
+			@Override
+			public boolean isSideEffectFree() {
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * A filter with side effects that logs every event it sees, and disregards
+	 * every event of which it sees a multiple of the period.
+	 */
+	private static Filter logging(final String name, final List<String> log, final int period) {
+		final int[] count = new int[1];
+		return event -> {
+			log.add(name + " sees " + event.getEventToFilter().time());
+			return ++count[0] % period == 0 ? FilterResult.disregard(name)
+					: FilterResult.success(event.getEventToFilter());
+		};
+	}
+
+	private static String describe(final FilterResult result) {
+		if (result instanceof final FilterResult.Success success) {
+			final DESEvent event = success.nextEvent();
+			return "success " + event.time();
+		}
+		return result instanceof FilterResult.Disregard ? "disregard" : String.valueOf(result);
+	}
+}
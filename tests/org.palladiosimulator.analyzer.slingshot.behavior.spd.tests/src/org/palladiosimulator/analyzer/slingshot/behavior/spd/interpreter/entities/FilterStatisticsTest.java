@@ -0,0 +1,67 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.NotEmittableReason;
+
+class FilterStatisticsTest {
+
+	@Test
+	void messagesShareTheSlotOfTheirTemplate() {
+		assertEquals("Max number scales reached: # >= #", FilterStatistics.template("Max number scales reached: 3 >= 2"));
+		assertEquals("Value # is below #", FilterStatistics.template("Value -0.5 is below 1e-3"));
+		assertEquals("[[...]] is outside of Object@#", FilterStatistics.template("[[Event 12]] is outside of Object@1f2e3d"));
+
+		final FilterStatistics statistics = new FilterStatistics("test");
+		statistics.record(10, FilterResult.disregard("Max number scales reached: 3 >= 2"));
+		statistics.record(20, FilterResult.disregard("Max number scales reached: 4 >= 2"));
+
+		assertEquals(Map.of("Max number scales reached: # >= #", 2L), statistics.getDisregardReasons());
+		assertEquals(2, statistics.getDisregards());
+		assertEquals(30, statistics.getNanos());
+	}
+
+	@Test
+	void constantsAndExceptionsAreKeyedByTheirType() {
+		final FilterStatistics statistics = new FilterStatistics("test");
+		statistics.record(0, FilterResult.disregard(NotEmittableReason.RATE_LIMITED));
+		statistics.record(0, FilterResult.disregard(NotEmittableReason.RATE_LIMITED));
+		statistics.recordDisregard(0, new IllegalStateException("at 12.5"));
+		statistics.record(0, null);
+
+		final Map<String, Long> reasons = statistics.getDisregardReasons();
+		// The most frequent reason comes first
+		assertEquals("NotEmittableReason.RATE_LIMITED", reasons.keySet().iterator().next());
+		assertEquals(2L, reasons.get("NotEmittableReason.RATE_LIMITED"));
+		assertEquals(1L, reasons.get("exception java.lang.IllegalStateException"));
+		assertEquals(1L, reasons.get(FilterStatistics.NO_RESULT));
+	}
+
+	@Test
+	void furtherCategoriesAreCountedAsOther() {
+		final FilterStatistics statistics = new FilterStatistics("test");
+		for (int i = 0; i < FilterStatistics.MAX_REASONS + 10; i++) {
+			statistics.recordDisregard(0, "reason " + (char) ('A' + i % 26) + (char) ('a' + i / 26));
+		}
+
+		final Map<String, Long> reasons = statistics.getDisregardReasons();
+		assertEquals(FilterStatistics.MAX_REASONS + 1, reasons.size());
+		assertEquals(10L, reasons.get(FilterStatistics.OTHER_REASONS));
+	}
+
+	@Test
+	void successesAreNotDisregards() {
+		final FilterStatistics statistics = new FilterStatistics("test");
+		statistics.record(5, FilterResult.success(null));
+		statistics.record(5, FilterResult.disregard("no"));
+
+		assertEquals(2, statistics.getInvocations());
+		assertEquals(1, statistics.getSuccesses());
+		assertEquals(1, statistics.getDisregards());
+		assertTrue(statistics.getDisregardReasons().containsKey("no"));
+	}
+}
@@ -0,0 +1,153 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorKey.WindowType;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MaxAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MeanAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MedianAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MinAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.PercentileAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.SumAggregation;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Compares the window of an aggregated response time trigger, as acquired by its
+ * {@link AnyStimulusAggregator}, to the {@link SortingWindowAggregation}, which recomputes the
+ * aggregate of all response times of the window on every emit. The window is compared with the
+ * rate limit of half a window used without evaluation ticks, and without rate limit as read on
+ * evaluation ticks. A window that only ever holds the latest response time must emit every response
+ * time unchanged, as compared by the per-sample trigger.
+ */
+class AggregatedResponseTimeWindowTest {
+
+    private static final double WINDOW_SIZE = 60;
+    /** The value of {@link AggregatorRegistry#NO_RATE_LIMIT}. */
+    private static final double NO_RATE_LIMIT = Double.NEGATIVE_INFINITY;
+    private static final double TICK_INTERVAL = 5;
+
+    private static final Map<AGGREGATIONMETHOD, ToDoubleFunction<DataPointView>> BASELINES = Map.of(
+            AGGREGATIONMETHOD.AVERAGE, new MeanAggregation(), AGGREGATIONMETHOD.MEDIAN, new MedianAggregation(),
+            AGGREGATIONMETHOD.PERCENTILE95, new PercentileAggregation(0.95), AGGREGATIONMETHOD.PERCENTILE90,
+            new PercentileAggregation(0.90), AGGREGATIONMETHOD.MAX, new MaxAggregation(), AGGREGATIONMETHOD.MIN,
+            new MinAggregation(), AGGREGATIONMETHOD.SUM, new SumAggregation());
+
+    @Test
+    void rateLimitedWindowEmitsTheRecomputedAggregate() {
+        BASELINES.forEach((method, baseline) -> {
+            final WindowAggregation window = acquire(method, WINDOW_SIZE, WINDOW_SIZE / 2);
+            final WindowAggregation recomputed = new SortingWindowAggregation(WINDOW_SIZE, WINDOW_SIZE / 2,
+                    baseline);
+            final Random random = new Random(22);
+            double time = 0;
+            double lastEmit = Double.NEGATIVE_INFINITY;
+            int emitted = 0;
+            for (int i = 0; i < 5000; i++) {
+                time += responseTimeGap(random);
+                final double responseTime = responseTime(random, time);
+                window.aggregate(time, responseTime);
+                recomputed.aggregate(time, responseTime);
+
+                final AggregatedValue expected = recomputed.getCurrentValue();
+                final AggregatedValue actual = window.getCurrentValue();
+                assertEqualValues(expected, actual, method + " at " + time);
+                if (actual.isPresent()) {
+                    assertTrue(time - lastEmit > WINDOW_SIZE / 2, method + " at " + time);
+                    lastEmit = time;
+                    emitted++;
+                }
+            }
+            assertTrue(emitted > 50, method.toString());
+        });
+    }
+
+    @Test
+    void windowReadOnTicksHoldsTheRecomputedAggregate() {
+        BASELINES.forEach((method, baseline) -> {
+            final WindowAggregation window = acquire(method, WINDOW_SIZE, NO_RATE_LIMIT);
+            final WindowAggregation recomputed = new SortingWindowAggregation(WINDOW_SIZE, NO_RATE_LIMIT, baseline);
+            final Random random = new Random(22);
+            double time = 0;
+            double nextTick = TICK_INTERVAL;
+            int emitted = 0;
+            for (int i = 0; i < 5000; i++) {
+                time += responseTimeGap(random);
+                for (; nextTick < time; nextTick += TICK_INTERVAL) {
+                    final AggregatedValue expected = recomputed.getCurrentValue();
+                    assertEqualValues(expected, window.getCurrentValue(), method + " at tick " + nextTick);
+                    emitted += expected.isPresent() ? 1 : 0;
+                }
+                final double responseTime = responseTime(random, time);
+                window.aggregate(time, responseTime);
+                recomputed.aggregate(time, responseTime);
+            }
+            assertTrue(emitted > 500, method.toString());
+        });
+    }
+
+    @Test
+    void windowOfOneResponseTimeEmitsEachResponseTime() {
+        for (final AGGREGATIONMETHOD method : BASELINES.keySet()) {
+            // The response times are at least a second apart
+            final WindowAggregation window = acquire(method, 0.5, NO_RATE_LIMIT);
+            final Random random = new Random(22);
+            double time = 0;
+            for (int i = 0; i < 1000; i++) {
+                time += 1 + responseTimeGap(random);
+                final double responseTime = responseTime(random, time);
+                window.aggregate(time, responseTime);
+
+                assertEquals(responseTime, window.getCurrentValue()
+                    .getAsDouble(), 1e-12 * responseTime, method + " at " + time);
+            }
+        }
+    }
+
+    /**
+     * Acquires the window like the {@link AnyStimulusAggregator} of an aggregated response time
+     * trigger without shared windows.
+     */
+    private static WindowAggregation acquire(final AGGREGATIONMETHOD method, final double windowSize,
+            final double noEmitDuration) {
+        return new WindowFactory().acquire(
+                new AggregatorKey(null, "targetGroup", WindowType.SLIDING_TIME, windowSize, method), noEmitDuration);
+    }
+
+    /**
+     * Gaps between response times, with occasional bursts at the same timestamp and idle periods
+     * longer than the window.
+     */
+    private static double responseTimeGap(final Random random) {
+        final int kind = random.nextInt(100);
+        if (kind < 10) {
+            return 0;
+        }
+        return kind == 99 ? 2 * WINDOW_SIZE : random.nextDouble();
+    }
+
+    /**
+     * Response times with a load-dependent level and a long tail of outliers.
+     */
+    private static double responseTime(final Random random, final double time) {
+        final double level = 0.2 + 0.1 * Math.sin(time / 300);
+        return random.nextInt(50) == 0 ? level * (5 + 20 * random.nextDouble())
+                : level * (1 + 0.2 * random.nextGaussian() * random.nextGaussian());
+    }
+
+    private static void assertEqualValues(final AggregatedValue expected, final AggregatedValue actual,
+            final String message) {
+        assertEquals(expected.isPresent(), actual.isPresent(), message);
+        if (expected.isPresent()) {
+            assertEquals(expected.getAsDouble(), actual.getAsDouble(),
+                    1e-9 * Math.max(1, Math.abs(expected.getAsDouble())), message);
+        } else {
+            assertEquals(expected.getReason(), actual.getReason(), message);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleFunction;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.ElementWiseAggregation.ElementState;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Feeds the same bursts of same-timestamp measurements to the windows the way the trigger checkers
+ * do without batching, i.e. reading the value after every measurement, and with batching, i.e.
+ * reading it once after the whole burst. Both must emit at the same timestamps, and the batch must
+ * emit the value of the window after the whole burst, as read from an equal window without rate
+ * limit.
+ */
+class BatchedAggregationTest {
+
+    private static final double WINDOW_SIZE = 60;
+    private static final double NO_EMIT_DURATION = 10;
+    /** The value of {@link AggregatorRegistry#NO_RATE_LIMIT}. */
+    private static final double NO_RATE_LIMIT = Double.NEGATIVE_INFINITY;
+
+    @Test
+    void slidingWindowsEmitTheBatchLikeSingleMeasurements() {
+        for (final AGGREGATIONMETHOD method : AGGREGATIONMETHOD.values()) {
+            assertBatchesLikeSingleMeasurements(method.toString(),
+                    noEmit -> AbstractSlidingTimeWindowAggregation.getFromAggregationMethod(method, WINDOW_SIZE,
+                            noEmit, SpdInterpreterSettings.DEFAULTS));
+        }
+    }
+
+    @Test
+    void averagesEmitTheBatchLikeSingleMeasurements() {
+        assertBatchesLikeSingleMeasurements("EMA", noEmit -> new SlidingTimeWindowAggregationBasedOnEMA(WINDOW_SIZE,
+                noEmit, SlidingTimeWindowAggregationBasedOnEMA.DEFAULT_SMOOTHING_FACTOR));
+        assertBatchesLikeSingleMeasurements("TWA", noEmit -> new TimeWeightedAverageAggregation(WINDOW_SIZE, noEmit));
+    }
+
+    @Test
+    void elementWiseWindowsEmitTheBatchLikeSingleMeasurements() {
+        for (final AGGREGATIONMETHOD method : AGGREGATIONMETHOD.values()) {
+            if (!ElementWiseAggregation.supports(method)) {
+                continue;
+            }
+            for (final ElementState state : ElementState.values()) {
+                assertBatchesLikeSingleMeasurements(method + " " + state,
+                        noEmit -> new ElementWiseAggregation(WINDOW_SIZE, noEmit, method, state));
+            }
+        }
+    }
+
+    @Test
+    void fixedLengthWindowsEmitTheBatchLikeSingleMeasurements() {
+        for (final AGGREGATIONMETHOD method : List.of(AGGREGATIONMETHOD.MIN, AGGREGATIONMETHOD.AVERAGE,
+                AGGREGATIONMETHOD.MAX, AGGREGATIONMETHOD.MEDIAN, AGGREGATIONMETHOD.SUM,
+                AGGREGATIONMETHOD.RATEOFCHANGE)) {
+            assertBatchesLikeSingleMeasurements(method + " fixed length",
+                    noEmit -> FixedLengthWindowSimpleAggregation.getFromAggregationMethod(method));
+        }
+    }
+
+    private static void assertBatchesLikeSingleMeasurements(final String name,
+            final DoubleFunction<WindowAggregation> windows) {
+        final List<double[]> bursts = bursts(300, 42);
+
+        final List<String> single = new ArrayList<>();
+        final List<String> batched = new ArrayList<>();
+        final WindowAggregation singleWindow = windows.apply(NO_EMIT_DURATION);
+        final WindowAggregation batchedWindow = windows.apply(NO_EMIT_DURATION);
+        final WindowAggregation unlimited = windows.apply(NO_RATE_LIMIT);
+
+        for (final double[] burst : bursts) {
+            final double time = burst[0];
+            boolean singleEmitted = false;
+            double complete = Double.NaN;
+            for (int i = 1; i < burst.length; i++) {
+                final int element = i % 3;
+                singleWindow.aggregate(element, time, burst[i]);
+                singleEmitted |= singleWindow.getCurrentValue()
+                    .isPresent();
+                unlimited.aggregate(element, time, burst[i]);
+                final AggregatedValue value = unlimited.getCurrentValue();
+                complete = value.isPresent() ? value.getAsDouble() : Double.NaN;
+            }
+            if (singleEmitted) {
+                single.add(time + ": " + complete);
+            }
+
+            for (int i = 1; i < burst.length; i++) {
+                batchedWindow.aggregate(i % 3, time, burst[i]);
+            }
+            final AggregatedValue value = batchedWindow.getCurrentValue();
+            if (value.isPresent()) {
+                batched.add(time + ": " + value.getAsDouble());
+            }
+        }
+
+        assertFalse(batched.isEmpty(), name);
+        assertEquals(single, batched, name);
+    }
+
+    /**
+     * Bursts of one to five values, each starting with the common timestamp.
+     */
+    private static List<double[]> bursts(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final List<double[]> bursts = new ArrayList<>(count);
+        double time = 0;
+        for (int i = 0; i < count; i++) {
+            time += 0.5 + random.nextInt(8);
+            final double[] burst = new double[2 + random.nextInt(5)];
+            burst[0] = time;
+            for (int j = 1; j < burst.length; j++) {
+                burst[j] = random.nextDouble();
+            }
+            bursts.add(burst);
+        }
+        return bursts;
+    }
+}
@@ -0,0 +1,75 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class DataPointBufferTest {
+
+    @Test
+    void keepsOrderWhenWrappingAroundAndGrowing() {
+        final DataPointBuffer buffer = new DataPointBuffer(4);
+        for (int i = 0; i < 3; i++) {
+            buffer.addLast(i, i * 10);
+        }
+        buffer.removeFirst();
+        buffer.removeFirst();
+        // The head is at the end of the array now, so the next points wrap around, and the last
+        // ones make the buffer grow
+        for (int i = 3; i < 10; i++) {
+            buffer.addLast(i, i * 10);
+        }
+
+        assertEquals(8, buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(i + 2, buffer.getTimestamp(i));
+            assertEquals((i + 2) * 10, buffer.getValue(i));
+        }
+        assertEquals(2, buffer.getFirstTimestamp());
+        assertEquals(90, buffer.getLastValue());
+        assertArrayEquals(new double[] { 20, 30, 40, 50, 60, 70, 80, 90 }, buffer.toValueArray());
+    }
+
+    @Test
+    void removesFromBothEnds() {
+        final DataPointBuffer buffer = new DataPointBuffer(2);
+        buffer.addLast(1, 10);
+        buffer.addLast(2, 20);
+        buffer.addLast(3, 30);
+
+        assertEquals(30, buffer.removeLast());
+        assertEquals(10, buffer.removeFirst());
+        assertEquals(1, buffer.size());
+        assertEquals(2, buffer.getFirstTimestamp());
+        assertEquals(2, buffer.getLastTimestamp());
+    }
+
+    @Test
+    void accessOutsideTheBufferThrows() {
+        final DataPointBuffer buffer = new DataPointBuffer();
+        assertThrows(NoSuchElementException.class, buffer::removeFirst);
+        assertThrows(NoSuchElementException.class, buffer::getLastValue);
+
+        buffer.addLast(1, 10);
+        assertThrows(NoSuchElementException.class, () -> buffer.getValue(1));
+        assertThrows(NoSuchElementException.class, () -> buffer.getTimestamp(-1));
+    }
+
+    @Test
+    void clearEmptiesTheBuffer() {
+        final DataPointBuffer buffer = new DataPointBuffer();
+        buffer.addLast(1, 10);
+        buffer.addLast(2, 20);
+
+        buffer.clear();
+
+        assertTrue(buffer.isEmpty());
+        buffer.addLast(3, 30);
+        assertEquals(30, buffer.getFirstValue());
+    }
+}
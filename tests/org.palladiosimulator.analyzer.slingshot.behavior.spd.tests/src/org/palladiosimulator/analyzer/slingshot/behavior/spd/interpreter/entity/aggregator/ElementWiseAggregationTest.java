@@ -0,0 +1,83 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.ElementWiseAggregation.ElementState;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+class ElementWiseAggregationTest {
+
+    @Test
+    void busyElementsCountAsMuchAsIdleOnes() {
+        final ElementWiseAggregation aggregation = new ElementWiseAggregation(10, 0.0, AGGREGATIONMETHOD.AVERAGE,
+                ElementState.LATEST);
+        for (int i = 0; i < 10; i++) {
+            aggregation.aggregate(0, 11 + i * 0.1, 1);
+        }
+
+        assertEquals(0.5, aggregation.aggregate(1, 12, 0));
+        assertEquals(0.5, aggregation.getCurrentValue()
+            .getAsDouble());
+        assertEquals(2, aggregation.getElementCount());
+    }
+
+    @Test
+    void elementsLeaveWhenTheyHaveNotReportedWithinTheWindow() {
+        final ElementWiseAggregation aggregation = new ElementWiseAggregation(10, 0.0, AGGREGATIONMETHOD.MAX,
+                ElementState.LATEST);
+        aggregation.aggregate(0, 1, 5);
+        aggregation.aggregate(1, 2, 3);
+        aggregation.aggregate(4, 7);
+
+        assertEquals(7, aggregation.aggregate(1, 13, 2));
+        assertEquals(2, aggregation.getElementCount());
+
+        assertEquals(2, aggregation.aggregate(1, 15, 2));
+        assertEquals(1, aggregation.getElementCount());
+
+        // An element that left enters again with its next value
+        assertEquals(9, aggregation.aggregate(0, 16, 9));
+        assertEquals(2, aggregation.getElementCount());
+    }
+
+    @Test
+    void ranksTheStatesOfTheElements() {
+        final ElementWiseAggregation median = new ElementWiseAggregation(10, 0.0, AGGREGATIONMETHOD.MEDIAN,
+                ElementState.LATEST);
+        final ElementWiseAggregation percentile = new ElementWiseAggregation(10, 0.0,
+                AGGREGATIONMETHOD.PERCENTILE90, ElementState.LATEST);
+        for (int element = 0; element < 10; element++) {
+            median.aggregate(element, 11, 10 - element);
+            percentile.aggregate(element, 11, 10 - element);
+        }
+
+        assertEquals(5.5, median.getCurrentValue()
+            .getAsDouble());
+        assertEquals(9, percentile.getCurrentValue()
+            .getAsDouble());
+
+        // Updating an element moves its state
+        median.aggregate(9, 12, 100);
+        assertEquals(6.5, median.getCurrentValue()
+            .getAsDouble());
+    }
+
+    @Test
+    void timeWeightedMeanWeighsTheHeldValue() {
+        final ElementWiseAggregation aggregation = new ElementWiseAggregation(10, 0.0, AGGREGATIONMETHOD.SUM,
+                ElementState.TIME_WEIGHTED_MEAN);
+        aggregation.aggregate(0, 0, 0);
+        aggregation.aggregate(0, 9, 1);
+
+        // The value 1 was held for 9 seconds, i.e. 0.9 time constants
+        assertEquals(1 - Math.exp(-0.9), aggregation.aggregate(0, 18, 1), 1e-9);
+    }
+
+    @Test
+    void rateOfChangeIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ElementWiseAggregation(10, 0.0, AGGREGATIONMETHOD.RATEOFCHANGE, ElementState.LATEST));
+    }
+}
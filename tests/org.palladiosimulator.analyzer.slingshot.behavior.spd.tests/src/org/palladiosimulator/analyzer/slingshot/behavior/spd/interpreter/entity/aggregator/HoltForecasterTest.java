@@ -0,0 +1,53 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class HoltForecasterTest {
+
+    @Test
+    void forecastsALinearSeriesExactly() {
+        final HoltForecaster forecaster = new HoltForecaster();
+        for (int time = 0; time <= 5; time++) {
+            forecaster.update(time, 2 * time);
+        }
+
+        assertEquals(16, forecaster.forecast(3).getAsDouble(), 1e-9);
+        assertEquals(18, forecaster.forecastAt(9).getAsDouble(), 1e-9);
+    }
+
+    @Test
+    void scalesTheTrendByTheTimeInBetween() {
+        final HoltForecaster forecaster = new HoltForecaster();
+        forecaster.update(0, 0);
+        forecaster.update(4, 8);
+        forecaster.update(5, 10);
+
+        assertEquals(12, forecaster.forecastAt(6).getAsDouble(), 1e-9);
+    }
+
+    @Test
+    void needsTwoObservations() {
+        final HoltForecaster forecaster = new HoltForecaster();
+        assertEquals(NotEmittableReason.NO_DATA, forecaster.forecast(1).getReason());
+
+        forecaster.update(1, 5);
+        assertEquals(NotEmittableReason.WINDOW_NOT_FILLED, forecaster.forecast(1).getReason());
+
+        // Not after the previous observation, hence ignored
+        forecaster.update(1, 7);
+        assertEquals(NotEmittableReason.WINDOW_NOT_FILLED, forecaster.forecast(1).getReason());
+
+        forecaster.update(2, 6);
+        assertEquals(7, forecaster.forecast(1).getAsDouble(), 1e-9);
+    }
+
+    @Test
+    void rejectsInvalidSmoothingFactors() {
+        assertThrows(IllegalArgumentException.class, () -> new HoltForecaster(0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new HoltForecaster(0.5, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new HoltForecaster(Double.NaN, 0.5));
+    }
+}
@@ -0,0 +1,73 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+class RollupStoreTest {
+
+    @Test
+    void windowConsistsOfTheLastBuckets() {
+        final RollupStore store = new RollupStore();
+        store.require(20, false);
+        store.require(60, false);
+
+        store.record(5, 1);
+        store.record(12, 2);
+        store.record(25, 3);
+
+        // The window of 20 seconds is answered from the buckets [10, 20) and [20, 30)
+        assertEquals(2, store.count(20));
+        assertEquals(5, store.aggregate(20, AGGREGATIONMETHOD.SUM));
+        assertEquals(2.5, store.aggregate(20, AGGREGATIONMETHOD.AVERAGE));
+        assertEquals(2, store.aggregate(20, AGGREGATIONMETHOD.MIN));
+        assertEquals(3, store.aggregate(20, AGGREGATIONMETHOD.MAX));
+        assertEquals(6, store.aggregate(60, AGGREGATIONMETHOD.SUM));
+
+        store.record(47, 4);
+
+        assertEquals(1, store.count(20));
+        assertEquals(4, store.aggregate(20, AGGREGATIONMETHOD.MAX));
+    }
+
+    @Test
+    void quantilesAreWithinTheRelativeAccuracy() {
+        final RollupStore store = new RollupStore();
+        store.require(60, true);
+        final QuantileEstimator exact = QuantileEstimator.exact();
+        final Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            final double time = i * 0.05;
+            final double value = 0.001 + 10 * random.nextDouble();
+            store.record(time, value);
+            exact.add(time, value);
+        }
+
+        assertEquals(exact.median(), store.aggregate(60, AGGREGATIONMETHOD.MEDIAN), exact.median() * 0.01);
+        assertEquals(exact.quantile(0.90), store.aggregate(60, AGGREGATIONMETHOD.PERCENTILE90),
+                exact.quantile(0.90) * 0.01);
+        assertEquals(exact.quantile(0.95), store.aggregate(60, AGGREGATIONMETHOD.PERCENTILE95),
+                exact.quantile(0.95) * 0.01);
+    }
+
+    @Test
+    void rejectsWindowsThatAreNotAnswerable() {
+        assertFalse(RollupStore.supportsWindow(0.5));
+        assertTrue(RollupStore.supportsWindow(15));
+        assertFalse(RollupStore.supportsMethod(AGGREGATIONMETHOD.RATEOFCHANGE));
+
+        final RollupStore store = new RollupStore();
+        assertThrows(IllegalArgumentException.class, () -> store.require(0.5, false));
+
+        store.require(20, false);
+        store.record(1, 1);
+        assertThrows(IllegalArgumentException.class, () -> store.count(30));
+        assertThrows(IllegalStateException.class, () -> store.aggregate(20, AGGREGATIONMETHOD.MEDIAN));
+    }
+}
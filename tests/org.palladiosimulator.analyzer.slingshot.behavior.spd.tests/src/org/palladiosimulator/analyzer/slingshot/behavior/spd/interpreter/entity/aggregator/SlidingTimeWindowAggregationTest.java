@@ -0,0 +1,130 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MaxAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MeanAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MinAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.RateOfChangeAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.SumAggregation;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Checks the expiry and emitting semantics of the sliding time windows, and compares the
+ * incremental windows to the {@link SortingWindowAggregation}, which revisits the whole window on
+ * every emit.
+ */
+class SlidingTimeWindowAggregationTest {
+
+    private static final double WINDOW_SIZE = 10;
+
+    @Test
+    void emptyWindowHasNoData() {
+        final WindowAggregation window = AbstractSlidingTimeWindowAggregation
+            .getFromAggregationMethod(AGGREGATIONMETHOD.SUM, WINDOW_SIZE, 0.0);
+
+        assertEquals(NotEmittableReason.NO_DATA, window.getCurrentValue()
+            .getReason());
+    }
+
+    @Test
+    void windowIsFilledOnceTheLastTimestampExceedsItsSize() {
+        final WindowAggregation window = AbstractSlidingTimeWindowAggregation
+            .getFromAggregationMethod(AGGREGATIONMETHOD.SUM, WINDOW_SIZE, 0.0);
+
+        window.aggregate(5, 1);
+        assertEquals(NotEmittableReason.WINDOW_NOT_FILLED, window.getCurrentValue()
+            .getReason());
+        window.aggregate(10, 1);
+        assertEquals(NotEmittableReason.WINDOW_NOT_FILLED, window.getCurrentValue()
+            .getReason());
+        window.aggregate(10.5, 1);
+        assertTrue(window.getCurrentValue()
+            .isPresent());
+    }
+
+    @Test
+    void emitsAtMostOncePerNoEmitDuration() {
+        final WindowAggregation window = AbstractSlidingTimeWindowAggregation
+            .getFromAggregationMethod(AGGREGATIONMETHOD.MAX, WINDOW_SIZE, 5);
+
+        window.aggregate(11, 1);
+        assertTrue(window.getCurrentValue()
+            .isPresent());
+        window.aggregate(16, 2);
+        assertEquals(NotEmittableReason.RATE_LIMITED, window.getCurrentValue()
+            .getReason());
+        window.aggregate(16.5, 3);
+        assertEquals(3, window.getCurrentValue()
+            .getAsDouble());
+    }
+
+    @Test
+    void valuesAtOrBeforeTheHorizonAreEvicted() {
+        final WindowAggregation sum = AbstractSlidingTimeWindowAggregation
+            .getFromAggregationMethod(AGGREGATIONMETHOD.SUM, WINDOW_SIZE, AggregatorRegistry.NO_RATE_LIMIT);
+        final WindowAggregation min = AbstractSlidingTimeWindowAggregation
+            .getFromAggregationMethod(AGGREGATIONMETHOD.MIN, WINDOW_SIZE, AggregatorRegistry.NO_RATE_LIMIT);
+
+        for (final WindowAggregation window : new WindowAggregation[] { sum, min }) {
+            window.aggregate(1, 1);
+            window.aggregate(5, 2);
+            window.aggregate(11, 4);
+        }
+
+        // The value at 1 is at the horizon 11 - 10 and has left the window
+        assertEquals(6, sum.getCurrentValue()
+            .getAsDouble());
+        assertEquals(2, min.getCurrentValue()
+            .getAsDouble());
+
+        sum.aggregate(30, 8);
+        min.aggregate(30, 8);
+
+        assertEquals(8, sum.getCurrentValue()
+            .getAsDouble());
+        assertEquals(8, min.getCurrentValue()
+            .getAsDouble());
+    }
+
+    @Test
+    void incrementalWindowsEqualBaseline() {
+        this.assertEqualsBaseline(AGGREGATIONMETHOD.SUM, new SumAggregation());
+        this.assertEqualsBaseline(AGGREGATIONMETHOD.AVERAGE, new MeanAggregation());
+        this.assertEqualsBaseline(AGGREGATIONMETHOD.MIN, new MinAggregation());
+        this.assertEqualsBaseline(AGGREGATIONMETHOD.MAX, new MaxAggregation());
+        this.assertEqualsBaseline(AGGREGATIONMETHOD.RATEOFCHANGE, new RateOfChangeAggregation());
+    }
+
+    private void assertEqualsBaseline(final AGGREGATIONMETHOD aggregationMethod,
+            final ToDoubleFunction<DataPointView> function) {
+        final WindowAggregation window = AbstractSlidingTimeWindowAggregation
+            .getFromAggregationMethod(aggregationMethod, WINDOW_SIZE, 0.0);
+        final WindowAggregation baseline = new SortingWindowAggregation(WINDOW_SIZE, 0.0, function);
+        final Random random = new Random(11);
+        double time = 1000;
+        for (int i = 0; i < 2000; i++) {
+            // Irregular gaps, some longer than the window
+            time += random.nextInt(50) == 0 ? 15 : random.nextDouble();
+            final double value = random.nextGaussian() * 100;
+            window.aggregate(time, value);
+            baseline.aggregate(time, value);
+
+            final AggregatedValue expected = baseline.getCurrentValue();
+            final AggregatedValue actual = window.getCurrentValue();
+            assertEquals(expected.isPresent(), actual.isPresent());
+            if (expected.isPresent() && !Double.isNaN(expected.getAsDouble())) {
+                assertEquals(expected.getAsDouble(), actual.getAsDouble(),
+                        1e-9 * Math.max(1, Math.abs(expected.getAsDouble())), aggregationMethod + " at " + time);
+            } else if (expected.isPresent()) {
+                assertFalse(Double.isFinite(actual.getAsDouble()), aggregationMethod + " at " + time);
+            }
+        }
+    }
+}
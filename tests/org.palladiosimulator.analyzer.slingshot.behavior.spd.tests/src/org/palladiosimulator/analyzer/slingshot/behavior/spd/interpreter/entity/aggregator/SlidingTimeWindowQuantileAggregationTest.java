@@ -0,0 +1,98 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MedianAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.PercentileAggregation;
+
+/**
+ * Compares the quantile windows to the {@link SortingWindowAggregation}, which sorts the whole
+ * window on every emit.
+ */
+class SlidingTimeWindowQuantileAggregationTest {
+
+    private static final double WINDOW_SIZE = 30;
+
+    @Test
+    void exactPercentileEqualsSortingBaseline() {
+        this.assertEqualsBaseline(
+                SlidingTimeWindowQuantileAggregation.percentile(WINDOW_SIZE, 0.0, 0.95, QuantileEstimator.exact()),
+                new SortingWindowAggregation(WINDOW_SIZE, 0.0, new PercentileAggregation(0.95)));
+        this.assertEqualsBaseline(
+                SlidingTimeWindowQuantileAggregation.percentile(WINDOW_SIZE, 0.0, 0.90, QuantileEstimator.exact()),
+                new SortingWindowAggregation(WINDOW_SIZE, 0.0, new PercentileAggregation(0.90)));
+    }
+
+    @Test
+    void exactMedianEqualsSortingBaseline() {
+        this.assertEqualsBaseline(SlidingTimeWindowQuantileAggregation.median(WINDOW_SIZE, 0.0, QuantileEstimator.exact()),
+                new SortingWindowAggregation(WINDOW_SIZE, 0.0, new MedianAggregation()));
+    }
+
+    @Test
+    void approximatePercentileIsWithinRelativeAccuracy() {
+        final double accuracy = 0.01;
+        final QuantileEstimator exact = QuantileEstimator.exact();
+        final QuantileEstimator approximate = QuantileEstimator.approximate(accuracy, WINDOW_SIZE, 30);
+        final Random random = new Random(7);
+        // All values stay inside the window, so both estimators hold the same values
+        for (int i = 0; i < 1000; i++) {
+            final double value = 0.001 + 10 * random.nextDouble();
+            exact.add(i * 0.01, value);
+            approximate.add(i * 0.01, value);
+        }
+        for (final double quantile : new double[] { 0.5, 0.9, 0.95, 0.99 }) {
+            final double expected = exact.quantile(quantile);
+            assertEquals(expected, approximate.quantile(quantile), expected * accuracy, "quantile " + quantile);
+        }
+    }
+
+    @Test
+    void valuesAtTheHorizonLeaveTheWindow() {
+        final QuantileEstimator estimator = QuantileEstimator.exact();
+        estimator.add(1, 10);
+        estimator.add(2, 20);
+        estimator.add(3, 30);
+
+        estimator.evict(2);
+
+        assertEquals(1, estimator.size());
+        assertEquals(30, estimator.valueAtRank(1));
+    }
+
+    @Test
+    void percentileOutsideTheUnitIntervalIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SlidingTimeWindowQuantileAggregation.percentile(WINDOW_SIZE, 0.0, 1.5, QuantileEstimator.exact()));
+    }
+
+    /**
+     * Feeds both windows the same random values, several per timestamp, and compares every value
+     * they emit.
+     */
+    private void assertEqualsBaseline(final WindowAggregation window, final WindowAggregation baseline) {
+        final Random random = new Random(42);
+        int emitted = 0;
+        for (int step = 0; step < 400; step++) {
+            final double time = step * 0.5;
+            for (int i = 0; i < 3; i++) {
+                final double value = Math.floor(random.nextDouble() * 100) / 10;
+                window.aggregate(time, value);
+                baseline.aggregate(time, value);
+            }
+            final AggregatedValue expected = baseline.getCurrentValue();
+            final AggregatedValue actual = window.getCurrentValue();
+            assertEquals(expected.isPresent(), actual.isPresent(), "emittable at " + time);
+            if (expected.isPresent()) {
+                assertEquals(expected.getAsDouble(), actual.getAsDouble(), "value at " + time);
+                emitted++;
+            }
+        }
+        assertTrue(emitted > 300);
+    }
+}
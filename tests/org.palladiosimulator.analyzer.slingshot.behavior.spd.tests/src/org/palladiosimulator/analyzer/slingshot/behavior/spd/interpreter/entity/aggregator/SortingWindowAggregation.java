@@ -0,0 +1,54 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The baseline of the sliding time windows: keeps every value of the window, and applies the
+ * aggregation function to all of them on every emit. Emits under the same conditions as an
+ * {@link AbstractSlidingTimeWindowAggregation}.
+ */
+class SortingWindowAggregation extends AbstractWindowAggregation {
+
+    private final DataPointBuffer window = new DataPointBuffer();
+    private final double windowSizeInSeconds;
+    private final double durationNoEmit;
+    private final ToDoubleFunction<DataPointView> aggregationFunction;
+    private double emitTime;
+
+    SortingWindowAggregation(final double winSizeSeconds, final double noEmitDuration,
+            final ToDoubleFunction<DataPointView> aggregationFunction) {
+        this.windowSizeInSeconds = winSizeSeconds;
+        this.durationNoEmit = noEmitDuration;
+        this.aggregationFunction = aggregationFunction;
+    }
+
+    @Override
+    public double aggregate(final double time, final double newValue) {
+        while (!this.window.isEmpty() && this.window.getFirstTimestamp() <= time - this.windowSizeInSeconds) {
+            this.window.removeFirst();
+        }
+        this.window.addLast(time, newValue);
+        return this.aggregationFunction.applyAsDouble(this.window);
+    }
+
+    @Override
+    protected NotEmittableReason getNotEmittableReason() {
+        if (this.window.isEmpty()) {
+            return NotEmittableReason.NO_DATA;
+        }
+        final double lastTimestamp = this.window.getLastTimestamp();
+        if (lastTimestamp <= this.windowSizeInSeconds) {
+            return NotEmittableReason.WINDOW_NOT_FILLED;
+        }
+        if (lastTimestamp - this.emitTime <= this.durationNoEmit) {
+            return NotEmittableReason.RATE_LIMITED;
+        }
+        return null;
+    }
+
+    @Override
+    protected double getCurrentVal() {
+        this.emitTime = this.window.getLastTimestamp();
+        return this.aggregationFunction.applyAsDouble(this.window);
+    }
+}
@@ -0,0 +1,80 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class TimeWeightedAverageAggregationTest {
+
+    @Test
+    void integratesTheStepFunction() {
+        final TimeWeightedAverageAggregation aggregation = new TimeWeightedAverageAggregation(10, 0.0, 5);
+        aggregation.aggregate(0, 1);
+        aggregation.aggregate(3, 0);
+
+        // The window [1, 11] starts in the middle of the oldest bucket [0, 2), which is prorated
+        assertEquals(0.2, aggregation.aggregate(11, 0), 1e-9);
+        assertEquals(0.2, aggregation.getCurrentValue()
+            .getAsDouble(), 1e-9);
+    }
+
+    @Test
+    void proratedOldestBucketIsWithinOneBucketOfTheExactAverage() {
+        final TimeWeightedAverageAggregation aggregation = new TimeWeightedAverageAggregation(10, 0.0, 5);
+        aggregation.aggregate(0, 1);
+        aggregation.aggregate(1.5, 0);
+
+        // Exactly, the value 1 is held for 0.5 seconds of the window [1, 11]
+        final double exact = 0.05;
+        assertEquals(exact, aggregation.aggregate(11, 0), 2.0 / 10);
+    }
+
+    @Test
+    void averagesTheMeanAcrossElements() {
+        final TimeWeightedAverageAggregation aggregation = new TimeWeightedAverageAggregation(10, 0.0, 10);
+        for (int time = 0; time <= 10; time += 5) {
+            aggregation.aggregate(0, time, 1);
+            aggregation.aggregate(1, time, 0);
+        }
+
+        // The values of the elements do not overwrite each other
+        assertEquals(0.5, aggregation.aggregate(0, 11, 1), 1e-9);
+        assertEquals(2, aggregation.getElementCount());
+    }
+
+    @Test
+    void elementsLeaveWhenTheyHaveNotReportedWithinTheWindow() {
+        final TimeWeightedAverageAggregation aggregation = new TimeWeightedAverageAggregation(10, 0.0, 10);
+        aggregation.aggregate(1, 0, 0);
+        for (int time = 0; time <= 30; time += 2) {
+            aggregation.aggregate(0, time, 1);
+        }
+
+        assertEquals(1, aggregation.getElementCount());
+        assertEquals(1.0, aggregation.getCurrentValue()
+            .getAsDouble(), 1e-9);
+    }
+
+    @Test
+    void timeWithoutElementsIsNotPartOfTheWindow() {
+        final TimeWeightedAverageAggregation aggregation = new TimeWeightedAverageAggregation(10, 0.0, 10);
+        aggregation.aggregate(0, 1);
+        aggregation.aggregate(5, 1);
+        // The element leaves at 15, so only [10, 15] of the window [10, 20] is covered
+        aggregation.aggregate(20, 0);
+
+        assertEquals(1.0, aggregation.getCurrentValue()
+            .getAsDouble(), 1e-9);
+    }
+
+    @Test
+    void emptyAggregationHasNoData() {
+        final TimeWeightedAverageAggregation aggregation = new TimeWeightedAverageAggregation(10, 0.0);
+
+        assertEquals(NotEmittableReason.NO_DATA, aggregation.getCurrentValue()
+            .getReason());
+        aggregation.aggregate(5, 1);
+        assertEquals(NotEmittableReason.WINDOW_NOT_FILLED, aggregation.getCurrentValue()
+            .getReason());
+    }
+}
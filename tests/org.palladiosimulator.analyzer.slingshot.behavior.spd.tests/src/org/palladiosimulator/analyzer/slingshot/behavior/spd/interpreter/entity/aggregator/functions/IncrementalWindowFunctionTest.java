@@ -0,0 +1,95 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPointBuffer;
+
+class IncrementalWindowFunctionTest {
+
+    @Test
+    void compensatedSumKeepsSmallValues() {
+        final NeumaierSum sum = new NeumaierSum();
+        sum.add(1e16);
+        sum.add(1);
+        sum.add(-1e16);
+
+        assertEquals(1, sum.getValue());
+
+        sum.reset();
+        assertEquals(0, sum.getValue());
+    }
+
+    @Test
+    void sumAndMeanFollowInsertionsAndEvictions() {
+        final IncrementalSumAggregation sum = new IncrementalSumAggregation();
+        final IncrementalMeanAggregation mean = new IncrementalMeanAggregation();
+        for (final IncrementalWindowFunction function : new IncrementalWindowFunction[] { sum, mean }) {
+            function.insert(1, 0.1);
+            function.insert(2, 0.2);
+            function.insert(3, 0.6);
+            function.evict(1, 0.1);
+        }
+
+        assertEquals(0.8, sum.getValue(), 1e-15);
+        assertEquals(0.4, mean.getValue(), 1e-15);
+
+        sum.evict(2, 0.2);
+        sum.evict(3, 0.6);
+        // An empty window sums to exactly zero
+        assertEquals(0.0, sum.getValue());
+    }
+
+    @Test
+    void meanOfEmptyWindowThrows() {
+        final IncrementalMeanAggregation mean = new IncrementalMeanAggregation();
+
+        assertThrows(NoSuchElementException.class, mean::getValue);
+    }
+
+    @Test
+    void rateOfChangeEqualsRegressionAfterEvictions() {
+        final IncrementalRateOfChangeAggregation rateOfChange = new IncrementalRateOfChangeAggregation();
+        final DataPointBuffer window = new DataPointBuffer();
+        final Random random = new Random(5);
+        // Late simulation times, where raw sums of the timestamps would cancel
+        double time = 1e6;
+        for (int i = 0; i < 500; i++) {
+            time += random.nextDouble();
+            final double value = 3 * (time - 1e6) + random.nextGaussian();
+            rateOfChange.insert(time, value);
+            window.addLast(time, value);
+            while (window.getFirstTimestamp() <= time - 10) {
+                rateOfChange.evict(window.getFirstTimestamp(), window.getFirstValue());
+                window.removeFirst();
+            }
+        }
+
+        final double expected = new RateOfChangeAggregation().applyAsDouble(window);
+        assertEquals(expected, rateOfChange.getValue(), 1e-6);
+        assertEquals(3, rateOfChange.getValue(), 0.5);
+
+        rateOfChange.recompute(window);
+        assertEquals(expected, rateOfChange.getValue(), 1e-9);
+    }
+
+    @Test
+    void rateOfChangeWithoutVaryingTimestamps() {
+        final IncrementalRateOfChangeAggregation rateOfChange = new IncrementalRateOfChangeAggregation();
+        assertEquals(0.0, rateOfChange.getValue());
+
+        rateOfChange.insert(1, 5);
+        assertTrue(Double.isNaN(rateOfChange.getValue()));
+
+        rateOfChange.insert(2, 7);
+        assertEquals(2, rateOfChange.getValue(), 1e-12);
+
+        rateOfChange.evict(1, 5);
+        assertTrue(Double.isNaN(rateOfChange.getValue()));
+    }
+}
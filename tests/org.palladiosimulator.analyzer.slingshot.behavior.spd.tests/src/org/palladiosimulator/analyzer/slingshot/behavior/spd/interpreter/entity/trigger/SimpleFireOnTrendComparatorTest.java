@@ -0,0 +1,91 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AbstractSlidingTimeWindowAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatedValue;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DataPointBuffer;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.RateOfChangeAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.SpdInterpreterSettings;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Passes the same measurements to the incremental slope window of a trend
+ * trigger and to a least-squares fit of the whole window, as done before the
+ * slope was maintained incrementally, and compares the trend decisions on every
+ * emit. The measurements are made at large simulation times, where the
+ * incremental slope must not lose precision.
+ */
+class SimpleFireOnTrendComparatorTest {
+
+	private static final double WINDOW_SIZE = AbstractManagedElementTriggerChecker.WINDOW_SIZE;
+	private static final double[] MINIMAL_CHANGES = { 0, 0.05, 0.5 };
+
+	@Test
+	void incrementalSlopeDecidesLikeARefit() {
+		final WindowAggregation window = AbstractSlidingTimeWindowAggregation.getFromAggregationMethod(
+				AGGREGATIONMETHOD.RATEOFCHANGE, WINDOW_SIZE, AbstractManagedElementTriggerChecker.NO_EMIT_DURATION,
+				SpdInterpreterSettings.DEFAULTS);
+		final DataPointBuffer refit = new DataPointBuffer();
+		final RateOfChangeAggregation regression = new RateOfChangeAggregation();
+
+		final List<String> incremental = new ArrayList<>();
+		final List<String> refitted = new ArrayList<>();
+		final Random random = new Random(21);
+		double time = 1e6;
+		for (int i = 0; i < 5000; i++) {
+			time += 0.2 + 0.8 * random.nextDouble();
+			/* The slope changes its direction and steepness every 200 seconds. */
+			final double slope = new double[] { 0.01, -0.002, 0, -0.02, 0.0005 }[(int) (time / 200) % 5];
+			final double value = slope * (time % 200) + 0.01 * random.nextGaussian();
+
+			window.aggregate(time, value);
+			while (!refit.isEmpty() && refit.getFirstTimestamp() <= time - WINDOW_SIZE) {
+				refit.removeFirst();
+			}
+			refit.addLast(time, value);
+
+			final AggregatedValue slopeValue = window.getCurrentValue();
+			if (slopeValue.isPresent()) {
+				record(incremental, time, slopeValue.getAsDouble() * WINDOW_SIZE);
+				record(refitted, time, regression.applyAsDouble(refit) * WINDOW_SIZE);
+			}
+		}
+
+		assertTrue(incremental.size() > 100);
+		assertEquals(refitted, incremental);
+	}
+
+	@Test
+	void changeMustHaveTheDirectionOfTheTrend() {
+		assertTrue(SimpleFireOnTrendComparator.isInAccordance(0.1, true, 0));
+		assertFalse(SimpleFireOnTrendComparator.isInAccordance(0, true, 0));
+		assertFalse(SimpleFireOnTrendComparator.isInAccordance(-0.1, true, 0));
+
+		assertTrue(SimpleFireOnTrendComparator.isInAccordance(-0.1, false, 0.1));
+		assertFalse(SimpleFireOnTrendComparator.isInAccordance(-0.09, false, 0.1));
+		assertFalse(SimpleFireOnTrendComparator.isInAccordance(0.2, false, 0.1));
+	}
+
+	/**
+	 * Logs the decisions on the change for both directions and every minimal
+	 * change.
+	 */
+	private static void record(final List<String> log, final double time, final double change) {
+		final StringBuilder decisions = new StringBuilder().append(time).append(':');
+		for (final double minimalChange : MINIMAL_CHANGES) {
+			decisions.append(' ')
+					.append(SimpleFireOnTrendComparator.isInAccordance(change, true, minimalChange) ? '+' : '.')
+					.append(SimpleFireOnTrendComparator.isInAccordance(change, false, minimalChange) ? '-' : '.');
+		}
+		log.add(decisions.toString());
+	}
+}
@@ -0,0 +1,29 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class IdRegistryTest {
+
+	@Test
+	void internsDenseIds() {
+		final IdRegistry<String> registry = new IdRegistry<>();
+
+		assertEquals(0, registry.intern("a"));
+		assertEquals(1, registry.intern("b"));
+		assertEquals(0, registry.intern(new String("a")));
+		assertEquals(2, registry.size());
+		assertEquals("b", registry.keyOf(1));
+	}
+
+	@Test
+	void lookupDoesNotIntern() {
+		final IdRegistry<String> registry = new IdRegistry<>();
+
+		assertEquals(IdRegistry.UNKNOWN, registry.lookup("a"));
+		assertEquals(0, registry.size());
+		assertThrows(IndexOutOfBoundsException.class, () -> registry.keyOf(0));
+	}
+}
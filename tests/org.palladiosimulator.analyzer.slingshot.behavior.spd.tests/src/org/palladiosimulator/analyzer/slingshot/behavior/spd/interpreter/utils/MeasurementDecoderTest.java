@@ -0,0 +1,76 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+
+class MeasurementDecoderTest {
+
+	private MeasurementDecoder decoder;
+
+	@BeforeEach
+	void resetDecoder() {
+		MeasurementDecoder.reset();
+		this.decoder = MeasurementDecoder.getInstance();
+	}
+
+	@Test
+	void valueMetricIsTheFirstMetricBesidesThePointInTime() {
+		final int utilization = this.decoder.metricId(MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE);
+		final int responseTime = this.decoder.metricId(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE);
+
+		assertTrue(this.decoder.isValueMetric(utilization, MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE));
+		assertTrue(this.decoder.isValueMetric(responseTime, MetricDescriptionConstants.RESPONSE_TIME_METRIC));
+		assertFalse(this.decoder.isValueMetric(responseTime, MetricDescriptionConstants.POINT_IN_TIME_METRIC));
+	}
+
+	@Test
+	void idsAreSharedBetweenDescriptionsAndTheirIds() {
+		final String descriptionId = MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE.getId();
+
+		assertEquals(IdRegistry.UNKNOWN, this.decoder.lookupMetricId(descriptionId));
+
+		final int byId = this.decoder.metricId(descriptionId);
+		// Interned by its id only, the layout is not known yet
+		assertNull(this.decoder.getValueMetric(byId));
+
+		assertEquals(byId, this.decoder.metricId(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE));
+		assertEquals(byId, this.decoder.lookupMetricId(descriptionId));
+		assertEquals(descriptionId, this.decoder.getMetricDescriptionId(byId));
+		assertEquals(MetricDescriptionConstants.RESPONSE_TIME_METRIC.getId(), this.decoder.getValueMetric(byId).getId());
+	}
+
+	@Test
+	void resetDropsTheInternedIds() {
+		this.decoder.metricId(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE);
+
+		MeasurementDecoder.reset();
+
+		assertNotSame(this.decoder, MeasurementDecoder.getInstance());
+		assertEquals(IdRegistry.UNKNOWN, MeasurementDecoder.getInstance()
+				.lookupMetricId(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE.getId()));
+	}
+
+	@Test
+	void parallelEvaluationOnlyReads() {
+		final int known = this.decoder.metricId(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE);
+
+		this.decoder.beginParallelEvaluation();
+		assertEquals(known, this.decoder.metricId(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE));
+		assertThrows(IllegalStateException.class,
+				() -> this.decoder.metricId(MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE));
+		// The rejected write fails the evaluation, even if the exception was caught
+		assertThrows(IllegalStateException.class, this.decoder::endParallelEvaluation);
+
+		this.decoder.metricId(MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE);
+		this.decoder.beginParallelEvaluation();
+		this.decoder.endParallelEvaluation();
+	}
+}
@@ -0,0 +1,240 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.pcm.allocation.AllocationContext;
+import org.palladiosimulator.pcm.allocation.AllocationFactory;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.core.composition.CompositionFactory;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.OperationInterface;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.repository.RepositoryFactory;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceenvironmentFactory;
+import org.palladiosimulator.semanticspd.Configuration;
+import org.palladiosimulator.semanticspd.ElasticInfrastructureCfg;
+import org.palladiosimulator.semanticspd.SemanticspdFactory;
+import org.palladiosimulator.semanticspd.ServiceGroupCfg;
+import org.palladiosimulator.spd.targets.ElasticInfrastructure;
+import org.palladiosimulator.spd.targets.ServiceGroup;
+import org.palladiosimulator.spd.targets.TargetGroup;
+import org.palladiosimulator.spd.targets.TargetsFactory;
+
+/**
+ * Builds an elastic infrastructure of a unit container and a replica, each
+ * running an assembly of a component that provides one signature, and a service
+ * group of the unit's assembly. The updates of the index are compared to an
+ * index built anew from the adjusted models.
+ */
+class TopologyIndexTest {
+
+	private ResourceEnvironment environment;
+	private ResourceContainer unit;
+	private ResourceContainer replica;
+	private ResourceContainer outsider;
+	private BasicComponent component;
+	private AssemblyContext unitAssembly;
+	private AssemblyContext replicaAssembly;
+	private OperationSignature signature;
+	private Allocation allocation;
+	private AllocationContext replicaAllocation;
+	private ElasticInfrastructureCfg cfg;
+	private ServiceGroupCfg serviceGroupCfg;
+	private Configuration configuration;
+	private ElasticInfrastructure targetGroup;
+	private ServiceGroup serviceGroup;
+
+	@BeforeEach
+	void buildTopology() {
+		this.environment = ResourceenvironmentFactory.eINSTANCE.createResourceEnvironment();
+		this.environment.setId("environment");
+		this.unit = this.container("unit", this.environment);
+		this.replica = this.container("replica", this.environment);
+		final ResourceEnvironment otherEnvironment = ResourceenvironmentFactory.eINSTANCE.createResourceEnvironment();
+		otherEnvironment.setId("otherEnvironment");
+		this.outsider = this.container("outsider", otherEnvironment);
+
+		this.signature = RepositoryFactory.eINSTANCE.createOperationSignature();
+		this.signature.setId("signature");
+		final OperationInterface operationInterface = RepositoryFactory.eINSTANCE.createOperationInterface();
+		operationInterface.setId("interface");
+		operationInterface.getSignatures__OperationInterface().add(this.signature);
+		final OperationProvidedRole role = RepositoryFactory.eINSTANCE.createOperationProvidedRole();
+		role.setId("role");
+		role.setProvidedInterface__OperationProvidedRole(operationInterface);
+		this.component = RepositoryFactory.eINSTANCE.createBasicComponent();
+		this.component.setId("component");
+		this.component.getProvidedRoles_InterfaceProvidingEntity().add(role);
+
+		this.allocation = AllocationFactory.eINSTANCE.createAllocation();
+		this.unitAssembly = this.assembly("unitAssembly");
+		this.allocate(this.unitAssembly, this.unit);
+		this.replicaAssembly = this.assembly("replicaAssembly");
+		this.replicaAllocation = this.allocate(this.replicaAssembly, this.replica);
+
+		this.cfg = SemanticspdFactory.eINSTANCE.createElasticInfrastructureCfg();
+		this.cfg.setResourceEnvironment(this.environment);
+		this.cfg.setUnit(this.unit);
+		this.cfg.getElements().add(this.unit);
+		this.cfg.getElements().add(this.replica);
+		this.serviceGroupCfg = SemanticspdFactory.eINSTANCE.createServiceGroupCfg();
+		this.serviceGroupCfg.setUnit(this.unitAssembly);
+		this.serviceGroupCfg.getElements().add(this.unitAssembly);
+		this.configuration = SemanticspdFactory.eINSTANCE.createConfiguration();
+		this.configuration.getTargetCfgs().add(this.cfg);
+		this.configuration.getTargetCfgs().add(this.serviceGroupCfg);
+
+		this.targetGroup = TargetsFactory.eINSTANCE.createElasticInfrastructure();
+		this.targetGroup.setUnit(this.unit);
+		this.serviceGroup = TargetsFactory.eINSTANCE.createServiceGroup();
+		this.serviceGroup.setUnitAssembly(this.unitAssembly);
+	}
+
+	@Test
+	void answersTheMembershipsOfTheTargetGroup() {
+		final TopologyIndex index = new TopologyIndex(this.allocation, this.configuration);
+
+		assertTrue(index.isContainerInTargetGroup(this.unit, this.targetGroup));
+		assertTrue(index.isContainerInTargetGroup(this.replica, this.targetGroup));
+		assertFalse(index.isContainerInTargetGroup(this.outsider, this.targetGroup));
+		assertTrue(index.isAssemblyInTargetGroup(this.replicaAssembly, this.targetGroup));
+		assertTrue(index.isSignatureRelatedToTargetGroup(this.signature, this.targetGroup));
+		assertEquals("unit", index.getUnitOfReplica("replica"));
+		assertNull(index.getUnitOfReplica("outsider"));
+
+		assertTrue(index.isContainerInTargetGroup(this.unit, this.serviceGroup));
+		assertFalse(index.isContainerInTargetGroup(this.replica, this.serviceGroup));
+		assertTrue(index.isAssemblyInTargetGroup(this.unitAssembly, this.serviceGroup));
+		assertFalse(index.isAssemblyInTargetGroup(this.replicaAssembly, this.serviceGroup));
+	}
+
+	@Test
+	void updateDropsTheReplicasOfAScaleIn() {
+		final TopologyIndex index = new TopologyIndex(this.allocation, this.configuration);
+
+		// Scale in by removing the replica, as the adjustment does
+		this.cfg.getElements().remove(this.replica);
+		this.allocation.getAllocationContexts_Allocation().remove(this.replicaAllocation);
+		this.environment.getResourceContainer_ResourceEnvironment().remove(this.replica);
+		index.update(this.configuration, List.of(), List.of(this.replica));
+
+		assertFalse(index.isContainerInTargetGroup(this.replica, this.targetGroup));
+		assertFalse(index.isAssemblyInTargetGroup(this.replicaAssembly, this.targetGroup));
+		assertNull(index.getUnitOfReplica("replica"));
+		assertTrue(index.isContainerInTargetGroup(this.unit, this.targetGroup));
+		assertTrue(index.isSignatureRelatedToTargetGroup(this.signature, this.targetGroup));
+		this.assertAnswersLikeARebuild(index);
+	}
+
+	@Test
+	void updateAddsTheReplicasOfAScaleOut() {
+		final TopologyIndex index = new TopologyIndex(this.allocation, this.configuration);
+
+		final ResourceContainer newReplica = this.container("newReplica", this.environment);
+		final AssemblyContext newAssembly = this.assembly("newAssembly");
+		final AllocationContext newAllocation = this.allocate(newAssembly, newReplica);
+		this.cfg.getElements().add(newReplica);
+		index.update(this.configuration, List.of(newAllocation), List.of());
+
+		assertTrue(index.isContainerInTargetGroup(newReplica, this.targetGroup));
+		assertTrue(index.isAssemblyInTargetGroup(newAssembly, this.targetGroup));
+		assertEquals("unit", index.getUnitOfReplica("newReplica"));
+		this.assertAnswersLikeARebuild(index, newReplica, newAssembly);
+	}
+
+	@Test
+	void updateFollowsTheServiceGroupThroughScaleOutAndScaleIn() {
+		final TopologyIndex index = new TopologyIndex(this.allocation, this.configuration);
+
+		// Scale out by replicating the unit assembly onto the replica container
+		final AssemblyContext newAssembly = this.assembly("newAssembly");
+		final AllocationContext newAllocation = this.allocate(newAssembly, this.replica);
+		this.serviceGroupCfg.getElements().add(newAssembly);
+		index.update(this.configuration, List.of(newAllocation), List.of());
+
+		assertTrue(index.isAssemblyInTargetGroup(newAssembly, this.serviceGroup));
+		assertTrue(index.isContainerInTargetGroup(this.replica, this.serviceGroup));
+		assertEquals("unitAssembly", index.getUnitOfReplica("newAssembly"));
+		this.assertAnswersLikeARebuild(index, newAssembly);
+
+		// Scale in by removing the replicated assembly again
+		this.serviceGroupCfg.getElements().remove(newAssembly);
+		this.allocation.getAllocationContexts_Allocation().remove(newAllocation);
+		index.update(this.configuration, List.of(), List.of());
+
+		assertFalse(index.isAssemblyInTargetGroup(newAssembly, this.serviceGroup));
+		assertFalse(index.isContainerInTargetGroup(this.replica, this.serviceGroup));
+		assertFalse(index.isAssemblyInTargetGroup(newAssembly, this.targetGroup));
+		assertNull(index.getUnitOfReplica("newAssembly"));
+		this.assertAnswersLikeARebuild(index, newAssembly);
+	}
+
+	/**
+	 * Asserts that the index answers every membership of the fixture, and of the
+	 * given additional elements, like an index built from the current models.
+	 */
+	private void assertAnswersLikeARebuild(final TopologyIndex index, final Object... additional) {
+		final TopologyIndex rebuilt = new TopologyIndex(this.allocation, this.configuration);
+		final List<ResourceContainer> containers = new ArrayList<>(
+				List.of(this.unit, this.replica, this.outsider));
+		final List<AssemblyContext> assemblies = new ArrayList<>(
+				List.of(this.unitAssembly, this.replicaAssembly));
+		for (final Object element : additional) {
+			if (element instanceof final ResourceContainer container) {
+				containers.add(container);
+			} else if (element instanceof final AssemblyContext assembly) {
+				assemblies.add(assembly);
+			}
+		}
+
+		for (final TargetGroup group : List.of(this.targetGroup, this.serviceGroup)) {
+			for (final ResourceContainer container : containers) {
+				assertEquals(rebuilt.isContainerInTargetGroup(container, group),
+						index.isContainerInTargetGroup(container, group), container.getId());
+				assertEquals(rebuilt.getUnitOfReplica(container.getId()), index.getUnitOfReplica(container.getId()));
+			}
+			for (final AssemblyContext assembly : assemblies) {
+				assertEquals(rebuilt.isAssemblyInTargetGroup(assembly, group),
+						index.isAssemblyInTargetGroup(assembly, group), assembly.getId());
+				assertEquals(rebuilt.getUnitOfReplica(assembly.getId()), index.getUnitOfReplica(assembly.getId()));
+			}
+			assertEquals(rebuilt.isSignatureRelatedToTargetGroup(this.signature, group),
+					index.isSignatureRelatedToTargetGroup(this.signature, group));
+		}
+	}
+
+	private ResourceContainer container(final String id, final ResourceEnvironment environment) {
+		final ResourceContainer container = ResourceenvironmentFactory.eINSTANCE.createResourceContainer();
+		container.setId(id);
+		environment.getResourceContainer_ResourceEnvironment().add(container);
+		return container;
+	}
+
+	private AssemblyContext assembly(final String id) {
+		final AssemblyContext assembly = CompositionFactory.eINSTANCE.createAssemblyContext();
+		assembly.setId(id);
+		assembly.setEncapsulatedComponent__AssemblyContext(this.component);
+		return assembly;
+	}
+
+	private AllocationContext allocate(final AssemblyContext assembly, final ResourceContainer container) {
+		final AllocationContext allocationContext = AllocationFactory.eINSTANCE.createAllocationContext();
+		allocationContext.setId(assembly.getId() + "@" + container.getId());
+		allocationContext.setAssemblyContext_AllocationContext(assembly);
+		allocationContext.setResourceContainer_AllocationContext(container);
+		this.allocation.getAllocationContexts_Allocation().add(allocationContext);
+		return allocationContext;
+	}
+}